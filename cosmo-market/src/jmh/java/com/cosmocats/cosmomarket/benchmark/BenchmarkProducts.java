@@ -0,0 +1,35 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+final class BenchmarkProducts {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private BenchmarkProducts() {
+    }
+
+    static Product product(int number) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name("Galaxy item " + number)
+                .description("Shipped from sector " + (number % 100))
+                .category(CATEGORIES[number % CATEGORIES.length])
+                .availableQuantity(number % 50)
+                .price(BigDecimal.valueOf(100 + number % 10_000, 2))
+                .build();
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.cart.CartItem;
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.InMemoryCartRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CartOrderTotalsBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int itemCount;
+
+    private Cart cart;
+    private Cart storedCart;
+    private Order order;
+    private InMemoryCartRepository carts;
+    private UUID storedCartId;
+    private Product changedProduct;
+
+    @Setup(Level.Trial)
+    public void createCartAndOrder() {
+        List<Product> products = BenchmarkProducts.products(itemCount);
+        carts = new InMemoryCartRepository(Duration.ofHours(1), 10, new SimpleMeterRegistry());
+        storedCartId = carts.create().getId();
+        Cart.CartBuilder cartBuilder = Cart.builder();
+        Order.OrderBuilder orderBuilder = Order.builder();
+        for (Product product : products) {
+            int quantity = 1 + product.getAvailableQuantity() % 5;
+            cartBuilder.item(CartItem.builder().product(product).quantity(quantity).build());
+            orderBuilder.item(OrderItem.builder().product(product).quantity(quantity).itemPrice(product.getPrice()).build());
+            carts.addItem(storedCartId, product, quantity);
+        }
+        cart = cartBuilder.build();
+        storedCart = carts.findById(storedCartId).orElseThrow();
+        order = orderBuilder.build();
+        changedProduct = products.get(itemCount / 2);
+    }
+
+    // changeLineAndReadTotal adds a unit per call; starting each iteration from one unit keeps the quantity in range.
+    @Setup(Level.Iteration)
+    public void resetChangedLine() {
+        carts.removeItem(storedCartId, changedProduct.getId());
+        carts.addItem(storedCartId, changedProduct, 1);
+    }
+
+    // Walks every line with BigDecimal multiply and add.
+    @Benchmark
+    public BigDecimal totalCartPrice() {
+        return cart.totalCartPrice();
+    }
+
+    // Reads the running total the cart store keeps in cents.
+    @Benchmark
+    public BigDecimal runningCartTotal() {
+        return storedCart.totalCartPrice();
+    }
+
+    // One quantity change plus reading the new total; the snapshot copies the lines but does no price math.
+    @Benchmark
+    public BigDecimal changeLineAndReadTotal() {
+        return carts.addItem(storedCartId, changedProduct, 1).totalCartPrice();
+    }
+
+    @Benchmark
+    public BigDecimal totalOrderPrice() {
+        return order.totalOrderPrice();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import com.cosmocats.cosmomarket.repository.search.FullTextIndex;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Every benchmark product is a "Galaxy item" "Shipped from sector" one, so "galaxy" and "gal" match the whole catalog.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FullTextSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    @Param({"galaxy", "gal", "galaxy shipped", "sector 42"})
+    private String query;
+
+    private FullTextIndex index;
+
+    @Setup(Level.Trial)
+    public void fillIndex() {
+        index = new FullTextIndex();
+        BenchmarkProducts.products(catalogSize).forEach(product -> index.update(null, product));
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> search() {
+        return index.search(query, LIMIT);
+    }
+}
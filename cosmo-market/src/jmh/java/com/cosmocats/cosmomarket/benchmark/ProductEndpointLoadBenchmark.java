@@ -0,0 +1,131 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.CosmoMarketApplication;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Load test of the ProductController endpoints over real HTTP, platform against virtual request threads.
+// 256 clients share a Tomcat pool of 32 platform threads, and every reserve/release waits for its own fsync,
+// so in platform mode requests queue behind threads that are parked on the disk.
+// Throughput and the SampleTime p0.99 line are the figures to compare. "virtual" needs a Java 21 runtime:
+// ./gradlew jmh -PjavaVersion=21 -PjmhIncludes=ProductEndpointLoad
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(256)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class ProductEndpointLoadBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int INITIAL_STOCK = 1_000_000;
+    private static final int PLATFORM_THREADS = 32;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private Path dataDirectory;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUri;
+    private UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+        dataDirectory = Files.createTempDirectory("cosmo-load");
+        SpringApplication application = new SpringApplication(CosmoMarketApplication.class);
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "server.tomcat.threads.max", String.valueOf(PLATFORM_THREADS),
+                "spring.threads.virtual.enabled", String.valueOf(virtual),
+                "cosmo.repository.persistence.enabled", "true",
+                "cosmo.repository.persistence.directory", dataDirectory.toString(),
+                "cosmo.repository.persistence.durability", "per-write",
+                "cosmo.repository.persistence.snapshot-interval", "0s",
+                "logging.level.root", "WARN"));
+        context = application.run();
+
+        List<Product> products = BenchmarkProducts.products(CATALOG_SIZE).stream()
+                .map(product -> product.toBuilder().availableQuantity(INITIAL_STOCK).build())
+                .toList();
+        context.getBean(ProductRepositoryInterface.class).saveAll(products);
+        ids = products.stream().map(Product::getId).toArray(UUID[]::new);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = "http://localhost:" + port + "/api/products";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int getProduct() {
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "/" + randomId())).GET());
+    }
+
+    @Benchmark
+    public int listProducts() {
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "?limit=50")).GET());
+    }
+
+    // Two durable writes per call; stock stays where it started.
+    @Benchmark
+    public int reserveAndRelease() {
+        UUID id = randomId();
+        int reserved = send(HttpRequest.newBuilder(URI.create(baseUri + "/" + id + "/reserve?qty=1")).POST(HttpRequest.BodyPublishers.noBody()));
+        int released = send(HttpRequest.newBuilder(URI.create(baseUri + "/" + id + "/release?qty=1")).POST(HttpRequest.BodyPublishers.noBody()));
+        return reserved + released;
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private int send(HttpRequest.Builder request) {
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(request.build().uri() + " answered " + response.statusCode());
+            }
+            return response.body().length;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.service.mapper.ProductMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductMapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int listSize;
+
+    private final ProductMapper mapper = Mappers.getMapper(ProductMapper.class);
+    private final ProductUpdateDto update = ProductUpdateDto.builder()
+            .name("Updated Galaxy item")
+            .price(new BigDecimal("19.99"))
+            .build();
+
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void createProducts() {
+        products = BenchmarkProducts.products(listSize);
+    }
+
+    @Benchmark
+    public List<ProductReturnDto> makeListProductReturnDto() {
+        return mapper.makeListProductReturnDto(products);
+    }
+
+    @Benchmark
+    public Product applyUpdate() {
+        return mapper.applyUpdate(products.get(0), update);
+    }
+}
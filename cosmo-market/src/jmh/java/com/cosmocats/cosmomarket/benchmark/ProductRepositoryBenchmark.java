@@ -0,0 +1,51 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.ColumnarProductRepository;
+import com.cosmocats.cosmomarket.repository.InMemoryProductRepository;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int catalogSize;
+
+    @Param({"map", "columnar"})
+    private String store;
+
+    private ProductRepositoryInterface repository;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void fillCatalog() {
+        repository = "columnar".equals(store) ? new ColumnarProductRepository() : new InMemoryProductRepository();
+        products = BenchmarkProducts.products(catalogSize);
+        repository.saveAll(products);
+    }
+
+    // Re-saves an existing product with a new quantity, so the catalog size stays fixed.
+    @Benchmark
+    public Product saveProduct() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Product product = products.get(random.nextInt(catalogSize));
+        return repository.saveProduct(product.toBuilder().availableQuantity(random.nextInt(100)).build());
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById(products.get(ThreadLocalRandom.current().nextInt(catalogSize)).getId());
+    }
+
+    @Benchmark
+    public List<Product> getAllProducts() {
+        return repository.getAllProducts();
+    }
+}
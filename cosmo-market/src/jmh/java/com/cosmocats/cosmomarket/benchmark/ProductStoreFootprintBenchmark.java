@@ -0,0 +1,37 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.repository.ColumnarProductRepository;
+import com.cosmocats.cosmomarket.repository.InMemoryProductRepository;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+import java.util.concurrent.TimeUnit;
+
+// Reports the bytes each store retains for a catalog, walked by JOL, next to the time it took to fill it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ProductStoreFootprintBenchmark {
+
+    @Param({"100000"})
+    private int catalogSize;
+
+    @Param({"map", "columnar"})
+    private String store;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    public ProductRepositoryInterface fillCatalog(Footprint footprint) {
+        ProductRepositoryInterface repository = "columnar".equals(store) ? new ColumnarProductRepository() : new InMemoryProductRepository();
+        repository.saveAll(BenchmarkProducts.products(catalogSize));
+        footprint.retainedBytes = GraphLayout.parseInstance(repository).totalSize();
+        return repository;
+    }
+}
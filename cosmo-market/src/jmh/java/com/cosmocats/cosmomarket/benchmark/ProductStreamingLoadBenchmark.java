@@ -0,0 +1,143 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.CosmoMarketApplication;
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The product API on Spring MVC/Tomcat against the WebFlux router on Reactor Netty, over real HTTP.
+// heldStreams exports are opened first and never read, so they stay stalled on backpressure for the whole run:
+// on MVC each one keeps a Tomcat worker blocked in a socket write, on WebFlux it costs a connection and no thread.
+// 64 clients then drive the endpoints; compare Throughput and the SampleTime p0.99 line across the two stacks.
+// ./gradlew jmh -PjmhIncludes=ProductStreamingLoad
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class ProductStreamingLoadBenchmark {
+
+    // Large enough that an unread export fills the socket buffers and stalls.
+    private static final int CATALOG_SIZE = 50_000;
+
+    @Param({"mvc", "reactive"})
+    private String stack;
+
+    @Param({"0", "150"})
+    private int heldStreams;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUri;
+    private UUID[] ids;
+    private final List<CompletableFuture<HttpResponse<InputStream>>> held = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(CosmoMarketApplication.class);
+        if ("reactive".equals(stack)) {
+            application.setAdditionalProfiles(ReactiveProductWebConfiguration.PROFILE);
+        }
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "logging.level.root", "WARN"));
+        context = application.run();
+
+        List<Product> products = BenchmarkProducts.products(CATALOG_SIZE);
+        context.getBean(ProductRepositoryInterface.class).saveAll(products);
+        ids = products.stream().map(Product::getId).toArray(UUID[]::new);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = "http://localhost:" + port + "/api/products";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpClient stalledClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (int i = 0; i < heldStreams; i++) {
+            held.add(stalledClient.sendAsync(HttpRequest.newBuilder(URI.create(baseUri + "/export")).GET().build(),
+                    HttpResponse.BodyHandlers.ofInputStream()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        for (CompletableFuture<HttpResponse<InputStream>> stream : held) {
+            stream.cancel(true);
+            if (stream.isDone() && !stream.isCompletedExceptionally()) {
+                try {
+                    stream.join().body().close();
+                } catch (IOException ignored) {
+                    // The server is going away as well.
+                }
+            }
+        }
+        held.clear();
+        context.close();
+    }
+
+    @Benchmark
+    public int getProduct() {
+        return send(baseUri + "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public int listProducts() {
+        return send(baseUri + "?limit=50");
+    }
+
+    @Benchmark
+    public int searchProducts() {
+        return send(baseUri + "/search?q=sector&limit=20");
+    }
+
+    // A full catalog walk per call, read as fast as the client can.
+    @Benchmark
+    public long exportCatalog() {
+        try {
+            HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(baseUri + "/export")).GET().build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                return body.transferTo(OutputStream.nullOutputStream());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private int send(String uri) {
+        try {
+            HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(uri + " answered " + response.statusCode());
+            }
+            return response.body().length;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
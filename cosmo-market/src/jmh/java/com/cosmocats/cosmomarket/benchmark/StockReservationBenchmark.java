@@ -0,0 +1,63 @@
+package com.cosmocats.cosmomarket.benchmark;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.repository.ColumnarProductRepository;
+import com.cosmocats.cosmomarket.repository.InMemoryProductRepository;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 64 threads hammer a few hot products: half reserve, half release, so stock hovers around its start level.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StockReservationBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    @Param({"1", "16"})
+    private int hotProducts;
+
+    @Param({"map", "columnar"})
+    private String store;
+
+    private ProductRepositoryInterface repository;
+    private UUID[] hotIds;
+
+    @Setup(Level.Trial)
+    public void fillCatalog() {
+        repository = "columnar".equals(store) ? new ColumnarProductRepository() : new InMemoryProductRepository();
+        List<Product> products = BenchmarkProducts.products(CATALOG_SIZE).stream()
+                .map(product -> product.toBuilder().availableQuantity(INITIAL_STOCK).build())
+                .toList();
+        repository.saveAll(products);
+        hotIds = products.stream().limit(hotProducts).map(Product::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(32)
+    public Product reserve() {
+        try {
+            return repository.reserve(hotId(), 1);
+        } catch (InsufficientStockException soldOut) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(32)
+    public Product release() {
+        return repository.release(hotId(), 1);
+    }
+
+    private UUID hotId() {
+        return hotIds[ThreadLocalRandom.current().nextInt(hotIds.length)];
+    }
+}
@@ -0,0 +1,18 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.repository.CartRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.InMemoryCartRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CartProperties.class)
+public class CartConfiguration {
+
+    @Bean
+    public CartRepositoryInterface cartRepository(CartProperties properties, MeterRegistry registry) {
+        return new InMemoryCartRepository(properties.ttl(), properties.maxCarts(), registry);
+    }
+}
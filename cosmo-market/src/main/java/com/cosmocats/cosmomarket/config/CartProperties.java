@@ -0,0 +1,11 @@
+package com.cosmocats.cosmomarket.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cosmo.cart")
+public record CartProperties(
+        @DefaultValue("30m") Duration ttl,
+        @DefaultValue("1000000") long maxCarts) {
+}
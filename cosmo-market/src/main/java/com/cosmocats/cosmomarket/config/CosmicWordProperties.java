@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "cosmo.validation.cosmic-words")
+public record CosmicWordProperties(
+        @DefaultValue({"star", "galaxy", "comet", "cosmo", "cosmic", "space", "asteroid"}) List<String> terms,
+        String file,
+        @DefaultValue("10s") Duration reloadInterval) {
+}
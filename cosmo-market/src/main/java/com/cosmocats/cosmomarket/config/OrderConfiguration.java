@@ -0,0 +1,31 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.repository.OrderRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.PartitionedOrderRepository;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.checkout.CheckoutPipeline;
+import com.cosmocats.cosmomarket.service.checkout.OrderPlacedListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({OrderProperties.class, OrderRepositoryProperties.class})
+public class OrderConfiguration {
+
+    @Bean
+    public OrderRepositoryInterface orderRepository(OrderRepositoryProperties properties) {
+        return new PartitionedOrderRepository(properties.segmentLength(), properties.sealDelay(), Clock.systemUTC());
+    }
+
+    @Bean
+    public CheckoutPipeline checkoutPipeline(ProductRepositoryInterface productRepository, OrderRepositoryInterface orderRepository,
+                                             OrderProperties properties, ObjectProvider<OrderPlacedListener> listeners,
+                                             MeterRegistry registry) {
+        return new CheckoutPipeline(productRepository, orderRepository, properties.maxBatchSize(),
+                listeners.orderedStream().toList(), registry);
+    }
+}
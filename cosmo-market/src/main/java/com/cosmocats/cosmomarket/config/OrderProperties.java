@@ -0,0 +1,8 @@
+package com.cosmocats.cosmomarket.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "cosmo.checkout")
+public record OrderProperties(@DefaultValue("256") int maxBatchSize) {
+}
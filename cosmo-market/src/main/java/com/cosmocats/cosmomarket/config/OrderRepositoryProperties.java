@@ -0,0 +1,11 @@
+package com.cosmocats.cosmomarket.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cosmo.order.repository")
+public record OrderRepositoryProperties(
+        @DefaultValue("1h") Duration segmentLength,
+        @DefaultValue("5m") Duration sealDelay) {
+}
@@ -0,0 +1,65 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.repository.ColumnarProductRepository;
+import com.cosmocats.cosmomarket.repository.DurableProductRepository;
+import com.cosmocats.cosmomarket.repository.InMemoryProductRepository;
+import com.cosmocats.cosmomarket.repository.MeteredProductRepository;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.PublishingProductRepository;
+import com.cosmocats.cosmomarket.repository.SampleProducts;
+import com.cosmocats.cosmomarket.repository.ShardedProductRepository;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ProductRepositoryProperties.class)
+public class ProductRepositoryConfiguration {
+
+    @Bean
+    public ProductChangeLog productChangeLog(ProductRepositoryProperties properties) {
+        return new ProductChangeLog(properties.changes().retention());
+    }
+
+    @Bean
+    public ProductRepositoryInterface productRepository(ProductRepositoryProperties properties, ProductChangeLog changeLog,
+                                                        MeterRegistry registry) {
+        ProductRepositoryInterface store = properties.shards() > 1
+                ? newShardedStore(properties.type(), properties.shards())
+                : newStore(properties.type());
+        // Below the write-ahead log, whose stripe locks then cover the publication too; recovery republishes what it replays.
+        ProductRepositoryInterface repository = new PublishingProductRepository(store, changeLog);
+        ProductRepositoryProperties.Persistence persistence = properties.persistence();
+        if (persistence.enabled()) {
+            repository = DurableProductRepository.open(repository, Path.of(persistence.directory()),
+                    persistence.durability(), persistence.snapshotInterval());
+        }
+        // Seed the demo catalog only on a first start, never on top of recovered data.
+        if (repository.findPage(null, 1, ProductSort.ID).products().isEmpty()) {
+            SampleProducts.create().forEach(repository::saveProduct);
+        }
+        // Outermost, so write latencies include the log flush.
+        return new MeteredProductRepository(repository, registry);
+    }
+
+    private static ProductRepositoryInterface newShardedStore(ProductRepositoryProperties.StorageType type, int count) {
+        Map<String, ProductRepositoryInterface> shards = new LinkedHashMap<>();
+        for (int shard = 0; shard < count; shard++) {
+            shards.put("shard-" + shard, newStore(type));
+        }
+        return new ShardedProductRepository(shards);
+    }
+
+    private static ProductRepositoryInterface newStore(ProductRepositoryProperties.StorageType type) {
+        return switch (type) {
+            case MAP -> new InMemoryProductRepository();
+            case COLUMNAR -> new ColumnarProductRepository();
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.repository.persistence.DurabilityMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cosmo.repository")
+public record ProductRepositoryProperties(
+        @DefaultValue("map") StorageType type,
+        @DefaultValue("1") int shards,
+        @DefaultValue Persistence persistence,
+        @DefaultValue Changes changes) {
+
+    public enum StorageType { MAP, COLUMNAR }
+
+    public record Persistence(
+            boolean enabled,
+            @DefaultValue("data/products") String directory,
+            @DefaultValue("group-commit") DurabilityMode durability,
+            @DefaultValue("5m") Duration snapshotInterval) {
+    }
+
+    public record Changes(
+            @DefaultValue("100000") int retention) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import com.cosmocats.cosmomarket.service.cache.ProductCache;
+import com.cosmocats.cosmomarket.service.impl.CachingProductService;
+import com.cosmocats.cosmomarket.service.impl.MeteredProductService;
+import com.cosmocats.cosmomarket.service.impl.ProductServiceImpl;
+import com.cosmocats.cosmomarket.service.mapper.ProductMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProductServiceProperties.class)
+public class ProductServiceConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cosmo.service.cache", name = "enabled", havingValue = "true")
+    public ProductCache productCache(ProductServiceProperties properties, ProductChangeLog changeLog, MeterRegistry registry) {
+        ProductServiceProperties.Cache cache = properties.cache();
+        return new ProductCache(cache.maxSize().toBytes(), cache.expireAfterWrite(),
+                cache.invalidateOnChange() ? changeLog : null, registry);
+    }
+
+    @Bean
+    public ProductServiceInterface productService(ProductRepositoryInterface repository, ProductMapper mapper,
+                                                  Validator validator, ObjectProvider<ProductCache> cache,
+                                                  MeterRegistry registry) {
+        ProductServiceInterface service = new ProductServiceImpl(repository, mapper, validator, registry);
+        ProductCache productCache = cache.getIfAvailable();
+        if (productCache != null) {
+            service = new CachingProductService(service, productCache);
+        }
+        // Outermost, so cache hits show up in the method timers too.
+        return new MeteredProductService(service, registry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cosmocats.cosmomarket.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "cosmo.service")
+public record ProductServiceProperties(@DefaultValue Cache cache) {
+
+    public record Cache(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("64MB") DataSize maxSize,
+            @DefaultValue("10m") Duration expireAfterWrite,
+            @DefaultValue("true") boolean invalidateOnChange) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.web.ProductJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProductWebProperties.class)
+public class ProductWebConfiguration {
+
+    @Bean
+    public ProductJsonCache productJsonCache(ObjectMapper objectMapper, ProductWebProperties properties, MeterRegistry registry) {
+        return new ProductJsonCache(objectMapper, properties.jsonCache().maxSize().toBytes(), registry);
+    }
+}
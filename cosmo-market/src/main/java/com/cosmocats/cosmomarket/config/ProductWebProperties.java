@@ -0,0 +1,15 @@
+package com.cosmocats.cosmomarket.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "cosmo.web")
+public record ProductWebProperties(@DefaultValue JsonCache jsonCache, @DefaultValue ChangeStream changeStream) {
+
+    public record JsonCache(@DefaultValue("16MB") DataSize maxSize) {
+    }
+
+    public record ChangeStream(@DefaultValue("1000") int maxSubscribers) {
+    }
+}
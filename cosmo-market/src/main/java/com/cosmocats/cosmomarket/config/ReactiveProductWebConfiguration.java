@@ -0,0 +1,64 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import com.cosmocats.cosmomarket.service.ReactiveProductServiceInterface;
+import com.cosmocats.cosmomarket.service.cache.ProductCache;
+import com.cosmocats.cosmomarket.service.impl.ReactiveProductServiceImpl;
+import com.cosmocats.cosmomarket.web.ProductHandler;
+import com.cosmocats.cosmomarket.web.ProductJsonCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Profile(ReactiveProductWebConfiguration.PROFILE)
+public class ReactiveProductWebConfiguration {
+
+    public static final String PROFILE = "reactive";
+
+    private static final String PRODUCTS = "/api/products";
+
+    // A cached read that joins a load in flight waits for it, and a sharded read waits for every shard's answer,
+    // so with either of them on reads leave the event loop.
+    @Bean
+    public ReactiveProductServiceInterface reactiveProductService(ProductServiceInterface productService,
+                                                                  ObjectProvider<ProductCache> cache,
+                                                                  ProductRepositoryProperties repository) {
+        boolean readsWait = cache.getIfAvailable() != null || repository.shards() > 1;
+        Scheduler readScheduler = readsWait ? Schedulers.boundedElastic() : Schedulers.immediate();
+        return new ReactiveProductServiceImpl(productService, readScheduler, Schedulers.boundedElastic());
+    }
+
+    @Bean
+    public ProductHandler productHandler(ReactiveProductServiceInterface service, ProductJsonCache jsonCache,
+                                         Validator validator, MeterRegistry registry) {
+        return new ProductHandler(service, jsonCache, validator, registry);
+    }
+
+    // Fixed paths come before /{id}, which would otherwise match "search" and "export".
+    @Bean
+    public RouterFunction<ServerResponse> productRoutes(ProductHandler handler) {
+        return RouterFunctions.route()
+                .GET(PRODUCTS, handler::list)
+                .POST(PRODUCTS, handler::create)
+                .GET(PRODUCTS + "/search", handler::search)
+                .GET(PRODUCTS + "/export", handler::export)
+                .POST(PRODUCTS + "/batch", handler::createBatch)
+                .PATCH(PRODUCTS + "/batch", handler::updateBatch)
+                .GET(PRODUCTS + "/{id}", handler::get)
+                .PUT(PRODUCTS + "/{id}", handler::update)
+                .POST(PRODUCTS + "/{id}/reserve", handler::reserve)
+                .POST(PRODUCTS + "/{id}/release", handler::release)
+                .DELETE(PRODUCTS + "/{id}", handler::delete)
+                .filter(handler::handleErrors)
+                .build();
+    }
+}
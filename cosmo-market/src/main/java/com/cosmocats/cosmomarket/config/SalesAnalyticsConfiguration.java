@@ -0,0 +1,15 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.service.analytics.SalesAggregator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Clock;
+
+@Configuration
+public class SalesAnalyticsConfiguration {
+
+    @Bean
+    public SalesAggregator salesAggregator() {
+        return new SalesAggregator(Clock.systemUTC());
+    }
+}
@@ -0,0 +1,18 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.validation.CosmicTerms;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(CosmicWordProperties.class)
+public class ValidationConfiguration {
+
+    @Bean
+    public CosmicTerms cosmicTerms(CosmicWordProperties properties) {
+        Path file = properties.file() == null || properties.file().isBlank() ? null : Path.of(properties.file());
+        return new CosmicTerms(properties.terms(), file, properties.reloadInterval());
+    }
+}
@@ -1,5 +1,6 @@
 package com.cosmocats.cosmomarket.domain.cart;
 
+import com.cosmocats.cosmomarket.domain.product.PriceCents;
 import lombok.Builder;
 import lombok.Singular;
 import lombok.Value;
@@ -16,7 +17,11 @@ public class Cart {
     @Singular("item")
     List<CartItem> items;
 
+    // Running total kept by the cart store as lines change; null when the cart was built without one.
+    Long totalCents;
+
     public BigDecimal totalCartPrice() {
+        if (totalCents != null) return PriceCents.fromCents(totalCents);
         if (items == null || items.isEmpty()) return BigDecimal.ZERO;
 
         BigDecimal sum = BigDecimal.ZERO;
@@ -2,6 +2,7 @@ package com.cosmocats.cosmomarket.domain.cart;
 
 import lombok.Builder;
 import lombok.Value;
+import com.cosmocats.cosmomarket.domain.product.PriceCents;
 import com.cosmocats.cosmomarket.domain.product.Product;
 import java.math.BigDecimal;
 
@@ -15,4 +16,10 @@ public class CartItem {
         if (product == null || product.getPrice() == null) return BigDecimal.ZERO;
         return product.getPrice().multiply(BigDecimal.valueOf(quantity));
     }
+
+    // Same as totalItemPrice in whole cents; throws ArithmeticException if it does not fit a long.
+    public long totalItemCents() {
+        if (product == null || product.getPrice() == null) return 0;
+        return Math.multiplyExact(PriceCents.toCents(product.getPrice()), quantity);
+    }
 }
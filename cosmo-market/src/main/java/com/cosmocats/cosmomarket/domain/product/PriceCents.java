@@ -0,0 +1,24 @@
+package com.cosmocats.cosmomarket.domain.product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class PriceCents {
+
+    public static final int SCALE = 2;
+
+    private PriceCents() {
+    }
+
+    public static long toCents(BigDecimal price) {
+        try {
+            return price.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException exception) {
+            throw new IllegalArgumentException("Price %s is not a whole number of cents".formatted(price.toPlainString()));
+        }
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
@@ -9,10 +9,17 @@ import java.util.UUID;
 @Value
 @Builder(toBuilder = true)
 public class Product {
+
+    /** Version of a product's first save; every later save adds one. */
+    public static final long FIRST_VERSION = 1;
+
     UUID id;
     String name;
     String description;
     Category category;
     Integer availableQuantity;
     BigDecimal price;
+
+    /** Assigned by the repository on every save; {@code null} until the product is first saved. */
+    Long version;
 }
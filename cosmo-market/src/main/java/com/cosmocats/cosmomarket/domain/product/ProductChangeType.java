@@ -0,0 +1,5 @@
+package com.cosmocats.cosmomarket.domain.product;
+
+public enum ProductChangeType {
+    SAVED, DELETED
+}
@@ -0,0 +1,42 @@
+package com.cosmocats.cosmomarket.domain.product;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import lombok.Builder;
+import lombok.Value;
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class ProductFilter {
+    Category category;
+    BigDecimal minPrice;
+    BigDecimal maxPrice;
+    Boolean inStock;
+
+    public boolean isEmpty() {
+        return category == null && minPrice == null && maxPrice == null && inStock == null;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean matches(Product product) {
+        if (category != null && category != product.getCategory()) {
+            return false;
+        }
+        if (hasPriceRange()) {
+            BigDecimal price = product.getPrice();
+            if (price == null
+                    || (minPrice != null && price.compareTo(minPrice) < 0)
+                    || (maxPrice != null && price.compareTo(maxPrice) > 0)) {
+                return false;
+            }
+        }
+        return inStock == null || inStock == isInStock(product);
+    }
+
+    public static boolean isInStock(Product product) {
+        return product.getAvailableQuantity() != null && product.getAvailableQuantity() > 0;
+    }
+}
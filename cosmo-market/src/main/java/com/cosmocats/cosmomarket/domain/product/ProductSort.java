@@ -0,0 +1,45 @@
+package com.cosmocats.cosmomarket.domain.product;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public enum ProductSort {
+    ID(Comparator.comparing(Product::getId),
+            product -> null,
+            (builder, key) -> builder),
+    NAME(Comparator.comparing(Product::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(Product::getId),
+            Product::getName,
+            (builder, key) -> builder.name(key)),
+    PRICE(Comparator.comparing(Product::getPrice, Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()))
+                    .thenComparing(Product::getId),
+            product -> product.getPrice() == null ? null : product.getPrice().toPlainString(),
+            (builder, key) -> builder.price(key == null ? null : new BigDecimal(key)));
+
+    private final Comparator<Product> comparator;
+    private final Function<Product, String> keyExtractor;
+    private final BiFunction<Product.ProductBuilder, String, Product.ProductBuilder> keyApplier;
+
+    ProductSort(Comparator<Product> comparator,
+                Function<Product, String> keyExtractor,
+                BiFunction<Product.ProductBuilder, String, Product.ProductBuilder> keyApplier) {
+        this.comparator = comparator;
+        this.keyExtractor = keyExtractor;
+        this.keyApplier = keyApplier;
+    }
+
+    public Comparator<Product> comparator() {
+        return comparator;
+    }
+
+    public String keyOf(Product product) {
+        return keyExtractor.apply(product);
+    }
+
+    public Product probe(UUID id, String key) {
+        return keyApplier.apply(Product.builder().id(id), key).build();
+    }
+}
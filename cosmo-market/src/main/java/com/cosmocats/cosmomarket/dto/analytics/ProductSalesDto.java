@@ -0,0 +1,15 @@
+package com.cosmocats.cosmomarket.dto.analytics;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.UUID;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductSalesDto {
+    UUID productId;
+    String window;
+    SalesFigureDto sales;
+}
@@ -0,0 +1,14 @@
+package com.cosmocats.cosmomarket.dto.analytics;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.math.BigDecimal;
+
+@Value
+@Builder
+@Jacksonized
+public class SalesFigureDto {
+    Long units;
+    BigDecimal revenue;
+}
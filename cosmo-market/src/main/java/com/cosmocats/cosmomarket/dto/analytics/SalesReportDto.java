@@ -0,0 +1,16 @@
+package com.cosmocats.cosmomarket.dto.analytics;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.Map;
+
+@Value
+@Builder
+@Jacksonized
+public class SalesReportDto {
+    String window;
+    SalesFigureDto total;
+    Map<Category, SalesFigureDto> categories;
+}
@@ -0,0 +1,23 @@
+package com.cosmocats.cosmomarket.dto.cart;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.UUID;
+
+@Value
+@Builder
+@Jacksonized
+public class CartItemRequestDto {
+
+    @NotNull(message = "productId is required")
+    UUID productId;
+
+    @NotNull
+    @Min(value = 1, message = "quantity must be >= 1")
+    @Max(value = 10_000, message = "quantity must be <= 10000")
+    Integer quantity;
+}
@@ -0,0 +1,16 @@
+package com.cosmocats.cosmomarket.dto.order;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.UUID;
+
+@Value
+@Builder
+@Jacksonized
+public class OrderCreateDto {
+
+    @NotNull(message = "cartId is required")
+    UUID cartId;
+}
@@ -0,0 +1,20 @@
+package com.cosmocats.cosmomarket.dto.product;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.UUID;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductBatchResultDto {
+
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, INVALID }
+
+    int index;
+    Status status;
+    UUID id;
+    ProductReturnDto product;
+    String error;
+}
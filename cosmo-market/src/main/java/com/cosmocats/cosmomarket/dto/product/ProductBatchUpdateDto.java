@@ -0,0 +1,22 @@
+package com.cosmocats.cosmomarket.dto.product;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.UUID;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductBatchUpdateDto {
+
+    @NotNull
+    UUID id;
+
+    boolean delete;
+
+    @Valid
+    ProductUpdateDto changes;
+}
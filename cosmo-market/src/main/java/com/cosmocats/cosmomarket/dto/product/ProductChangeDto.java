@@ -0,0 +1,18 @@
+package com.cosmocats.cosmomarket.dto.product;
+
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.UUID;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductChangeDto {
+    long sequence;
+    String position;
+    ProductChangeType type;
+    UUID productId;
+    ProductReturnDto product;
+}
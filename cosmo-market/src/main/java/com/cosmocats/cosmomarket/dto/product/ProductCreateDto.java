@@ -29,5 +29,6 @@ public class ProductCreateDto {
 
     @NotNull
     @DecimalMin(value = "0.01", message = "price must be >= 0.01")
+    @Digits(integer = 12, fraction = 2, message = "price must have at most 2 decimal places")
     BigDecimal price;
 }
@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.dto.product;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductImportErrorDto {
+    long line;
+    String message;
+}
@@ -0,0 +1,19 @@
+package com.cosmocats.cosmomarket.dto.product;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductImportReportDto {
+    long records;
+    long imported;
+    long rejected;
+    long durationMillis;
+    double productsPerSecond;
+    List<ProductImportErrorDto> errors;
+    boolean errorsTruncated;
+}
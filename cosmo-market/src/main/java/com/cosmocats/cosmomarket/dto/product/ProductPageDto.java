@@ -0,0 +1,14 @@
+package com.cosmocats.cosmomarket.dto.product;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+public class ProductPageDto {
+    List<ProductReturnDto> items;
+    String nextCursor;
+}
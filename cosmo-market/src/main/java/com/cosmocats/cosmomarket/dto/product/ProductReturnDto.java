@@ -8,7 +8,7 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 @Jacksonized
 public class ProductReturnDto {
     UUID id;
@@ -17,4 +17,5 @@ public class ProductReturnDto {
     Category category;
     Integer availableQuantity;
     BigDecimal price;
+    Long version;
 }
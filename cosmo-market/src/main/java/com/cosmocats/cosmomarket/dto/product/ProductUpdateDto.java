@@ -25,5 +25,6 @@ public class ProductUpdateDto {
     Integer availableQuantity;
 
     @DecimalMin("0.01")
+    @Digits(integer = 12, fraction = 2)
     BigDecimal price;
 }
@@ -0,0 +1,12 @@
+package com.cosmocats.cosmomarket.exception;
+
+/**
+ * The request itself is at fault: a malformed cursor or parameter, or input the operation cannot take.
+ * Only this is answered with 400; any other {@link IllegalArgumentException} is a bug and answered with 500.
+ */
+public class BadRequestException extends IllegalArgumentException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
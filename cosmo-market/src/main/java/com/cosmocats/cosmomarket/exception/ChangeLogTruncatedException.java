@@ -0,0 +1,33 @@
+package com.cosmocats.cosmomarket.exception;
+
+import lombok.Getter;
+
+/**
+ * The changes right after a requested sequence are no longer kept, or the sequence is from before a restart.
+ * The consumer has to reload the catalog and follow the changes from {@code latestPosition} on.
+ */
+@Getter
+public class ChangeLogTruncatedException extends RuntimeException {
+
+    private final long requestedSequence;
+    private final long latestSequence;
+    private final String latestPosition;
+
+    public ChangeLogTruncatedException(long requestedSequence, long oldestSequence, long latestSequence, String latestPosition) {
+        this("Changes after sequence %d are not available, the log holds %d to %d"
+                .formatted(requestedSequence, oldestSequence, latestSequence), requestedSequence, latestSequence, latestPosition);
+    }
+
+    public static ChangeLogTruncatedException fromAnotherEpoch(String requestedPosition, long requestedSequence,
+                                                               long latestSequence, String latestPosition) {
+        return new ChangeLogTruncatedException("Position %s is from before a restart".formatted(requestedPosition),
+                requestedSequence, latestSequence, latestPosition);
+    }
+
+    private ChangeLogTruncatedException(String reason, long requestedSequence, long latestSequence, String latestPosition) {
+        super("%s; reload the catalog and resume from %s".formatted(reason, latestPosition));
+        this.requestedSequence = requestedSequence;
+        this.latestSequence = latestSequence;
+        this.latestPosition = latestPosition;
+    }
+}
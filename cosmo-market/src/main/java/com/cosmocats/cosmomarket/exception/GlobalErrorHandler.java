@@ -1,16 +1,64 @@
 package com.cosmocats.cosmomarket.exception;
 
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.*;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import java.util.NoSuchElementException;
 
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
 @RestControllerAdvice
 public class GlobalErrorHandler {
 
+    public static final String ERROR_COUNTER_NAME = "cosmo.errors";
+
+    private final Counter validationErrors;
+    private final Counter constraintErrors;
+    private final Counter notReadableErrors;
+    private final Counter missingParameterErrors;
+    private final Counter typeMismatchErrors;
+    private final Counter badRequestErrors;
+    private final Counter unsupportedMediaTypeErrors;
+    private final Counter notFoundErrors;
+    private final Counter versionConflictErrors;
+    private final Counter insufficientStockErrors;
+    private final Counter changeLogTruncatedErrors;
+    private final Counter tooManySubscribersErrors;
+    private final Counter unexpectedErrors;
+
+    public GlobalErrorHandler(MeterRegistry registry) {
+        this.validationErrors = errorCounter(registry, "validation", HttpStatus.BAD_REQUEST);
+        this.constraintErrors = errorCounter(registry, "constraint", HttpStatus.BAD_REQUEST);
+        this.notReadableErrors = errorCounter(registry, "not_readable", HttpStatus.BAD_REQUEST);
+        this.missingParameterErrors = errorCounter(registry, "missing_parameter", HttpStatus.BAD_REQUEST);
+        this.typeMismatchErrors = errorCounter(registry, "type_mismatch", HttpStatus.BAD_REQUEST);
+        this.badRequestErrors = errorCounter(registry, "bad_request", HttpStatus.BAD_REQUEST);
+        this.unsupportedMediaTypeErrors = errorCounter(registry, "unsupported_media_type", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        this.notFoundErrors = errorCounter(registry, "not_found", HttpStatus.NOT_FOUND);
+        this.versionConflictErrors = errorCounter(registry, "version_conflict", HttpStatus.PRECONDITION_FAILED);
+        this.insufficientStockErrors = errorCounter(registry, "insufficient_stock", HttpStatus.CONFLICT);
+        this.changeLogTruncatedErrors = errorCounter(registry, "change_log_truncated", HttpStatus.GONE);
+        this.tooManySubscribersErrors = errorCounter(registry, "too_many_subscribers", HttpStatus.SERVICE_UNAVAILABLE);
+        this.unexpectedErrors = errorCounter(registry, "unexpected", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static Counter errorCounter(MeterRegistry registry, String handler, HttpStatus status) {
+        return Counter.builder(ERROR_COUNTER_NAME)
+                .description("Errors turned into responses, by handler")
+                .tag("handler", handler)
+                .tag("status", String.valueOf(status.value()))
+                .register(registry);
+    }
+
     private ResponseEntity<ErrorRecord> buildResponse(HttpStatus status, String message, String path) {
         ErrorRecord body = new ErrorRecord(status.value(), status.getReasonPhrase(), message, path);
         return ResponseEntity.status(status).body(body);
@@ -18,6 +66,7 @@ public class GlobalErrorHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorRecord> handleValidation(MethodArgumentNotValidException exception, HttpServletRequest request) {
+        validationErrors.increment();
         var errors = exception.getBindingResult().getFieldErrors();
         var error = errors.isEmpty() ? null : errors.get(0);
         String message = (error == null)
@@ -28,21 +77,73 @@ public class GlobalErrorHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorRecord> handleConstraint(ConstraintViolationException exception, HttpServletRequest request) {
+        constraintErrors.increment();
         return buildResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getRequestURI());
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorRecord> handleNotReadable(HttpMessageNotReadableException exception, HttpServletRequest request) {
+        notReadableErrors.increment();
         return buildResponse(HttpStatus.BAD_REQUEST, "Incorrect JSON body: %s".formatted(exception.getMessage()), request.getRequestURI());
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorRecord> handleMissingParameter(MissingServletRequestParameterException exception, HttpServletRequest request) {
+        missingParameterErrors.increment();
+        return buildResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorRecord> handleTypeMismatch(MethodArgumentTypeMismatchException exception, HttpServletRequest request) {
+        typeMismatchErrors.increment();
+        return buildResponse(HttpStatus.BAD_REQUEST, "Invalid value '%s' for parameter '%s'".formatted(exception.getValue(), exception.getName()), request.getRequestURI());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorRecord> handleBadRequest(BadRequestException exception, HttpServletRequest request) {
+        badRequestErrors.increment();
+        return buildResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ErrorRecord> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException exception, HttpServletRequest request) {
+        unsupportedMediaTypeErrors.increment();
+        return buildResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE, exception.getMessage(), request.getRequestURI());
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ErrorRecord> handleNotFound(NoSuchElementException exception, HttpServletRequest request) {
+        notFoundErrors.increment();
         return buildResponse(HttpStatus.NOT_FOUND, exception.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ErrorRecord> handleVersionConflict(VersionConflictException exception, HttpServletRequest request) {
+        versionConflictErrors.increment();
+        return buildResponse(HttpStatus.PRECONDITION_FAILED, exception.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorRecord> handleInsufficientStock(InsufficientStockException exception, HttpServletRequest request) {
+        insufficientStockErrors.increment();
+        return buildResponse(HttpStatus.CONFLICT, exception.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ChangeLogTruncatedException.class)
+    public ResponseEntity<ErrorRecord> handleChangeLogTruncated(ChangeLogTruncatedException exception, HttpServletRequest request) {
+        changeLogTruncatedErrors.increment();
+        return buildResponse(HttpStatus.GONE, exception.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<ErrorRecord> handleTooManySubscribers(TooManySubscribersException exception, HttpServletRequest request) {
+        tooManySubscribersErrors.increment();
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage(), request.getRequestURI());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorRecord> handleAnyException(Exception exception, HttpServletRequest request) {
+        unexpectedErrors.increment();
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage(), request.getRequestURI());
     }
 }
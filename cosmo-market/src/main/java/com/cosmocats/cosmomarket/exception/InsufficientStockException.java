@@ -0,0 +1,22 @@
+package com.cosmocats.cosmomarket.exception;
+
+import lombok.Getter;
+import java.util.UUID;
+
+/**
+ * A reservation asked for more units than the product has available; nothing was reserved.
+ */
+@Getter
+public class InsufficientStockException extends RuntimeException {
+
+    private final UUID id;
+    private final int requested;
+    private final int available;
+
+    public InsufficientStockException(UUID id, int requested, int available) {
+        super("Product %s has %d available, %d requested".formatted(id, available, requested));
+        this.id = id;
+        this.requested = requested;
+        this.available = available;
+    }
+}
@@ -0,0 +1,17 @@
+package com.cosmocats.cosmomarket.exception;
+
+import lombok.Getter;
+
+/**
+ * As many product change streams are open as the server allows; the client should retry later.
+ */
+@Getter
+public class TooManySubscribersException extends RuntimeException {
+
+    private final int maxSubscribers;
+
+    public TooManySubscribersException(int maxSubscribers) {
+        super("The change feed already has its maximum of %d subscribers, retry later".formatted(maxSubscribers));
+        this.maxSubscribers = maxSubscribers;
+    }
+}
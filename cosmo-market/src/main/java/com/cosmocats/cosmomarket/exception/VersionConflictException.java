@@ -0,0 +1,22 @@
+package com.cosmocats.cosmomarket.exception;
+
+import lombok.Getter;
+import java.util.UUID;
+
+/**
+ * A conditional write found the product at a different version than the caller read.
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+
+    private final UUID id;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public VersionConflictException(UUID id, long expectedVersion, long actualVersion) {
+        super("Product %s is at version %d, expected %d".formatted(id, actualVersion, expectedVersion));
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CartRepositoryInterface {
+
+    Cart create();
+
+    Optional<Cart> findById(UUID id);
+
+    /**
+     * Adds {@code quantity} units of the product; a product already in the cart gets one line with the
+     * quantities summed and the latest product details. Changing a line costs the same however big the cart is.
+     *
+     * @throws java.util.NoSuchElementException if there is no such cart, or it expired
+     */
+    Cart addItem(UUID cartId, Product product, int quantity);
+
+    /**
+     * Drops the product's line; a product that is not in the cart leaves it unchanged.
+     *
+     * @throws java.util.NoSuchElementException if there is no such cart, or it expired
+     */
+    Cart removeItem(UUID cartId, UUID productId);
+
+    /**
+     * Removes the cart and returns its last state in one step, so of two callers taking the same cart only one
+     * gets it. Changes that reach the cart after it was taken fail as if it did not exist.
+     */
+    Optional<Cart> take(UUID id);
+
+    /**
+     * Stores a cart returned by {@link #take} again, unless a cart with its id is already there.
+     */
+    void putBack(Cart cart);
+
+    boolean existsById(UUID id);
+
+    void deleteById(UUID id);
+}
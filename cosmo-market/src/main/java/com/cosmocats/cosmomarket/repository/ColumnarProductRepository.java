@@ -0,0 +1,634 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.PriceCents;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.columnar.StringDictionary;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import com.cosmocats.cosmomarket.repository.search.TermMatcher;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Product store that keeps every field in a primitive column indexed by slot:
+ * ids as two longs, prices as cents, versions as longs, quantities as ints, categories as ordinals and
+ * names/descriptions as codes of a shared {@link StringDictionary}.
+ * Ids are mapped to slots by an open-addressing table of ints; {@link Product} objects are only
+ * built when read. Writes take a single write lock and queries scan the columns, trading the
+ * per-product index objects of {@link InMemoryProductRepository} for a much smaller heap.
+ * There is no sorted index either: every {@link #findPage} scans all live slots under the read lock, keeping
+ * the page in a heap, so a page costs O(n log limit) whatever its position and writers wait for the scan.
+ * Catalogs that are paged often under write load belong in the map store.
+ * Prices are stored in whole cents, so they come back with scale 2.
+ */
+public class ColumnarProductRepository implements ProductRepositoryInterface {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int STREAM_CHUNK_SIZE = 1024;
+    private static final long NULL_PRICE = Long.MIN_VALUE;
+    private static final BigDecimal MIN_PRICE = PriceCents.fromCents(NULL_PRICE + 1);
+    private static final BigDecimal MAX_PRICE = PriceCents.fromCents(Long.MAX_VALUE);
+    private static final BigDecimal ONE_CENT = PriceCents.fromCents(1);
+    private static final int NULL_QUANTITY = Integer.MIN_VALUE;
+    private static final byte NULL_CATEGORY = -1;
+    private static final int EMPTY_ENTRY = 0;
+    private static final int DELETED_ENTRY = -1;
+    private static final long NEXT_VERSION = 0;
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary strings = new StringDictionary();
+
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] nameCodes = new int[INITIAL_CAPACITY];
+    private int[] descriptionCodes = new int[INITIAL_CAPACITY];
+    private byte[] categories = new byte[INITIAL_CAPACITY];
+    private final BitSet liveSlots = new BitSet(INITIAL_CAPACITY);
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private int slotLimit;
+    private volatile int size;
+    private volatile long modifications;
+
+    // Open addressing over slot + 1; EMPTY_ENTRY ends a probe, DELETED_ENTRY keeps it going.
+    private int[] slotTable = new int[INITIAL_CAPACITY * 2];
+    private int slotTableOccupied;
+
+    public Product saveProduct(Product product) {
+        Product newProduct = withId(product);
+        long cents = centsOf(newProduct);
+
+        lock.writeLock().lock();
+        try {
+            return saveLocked(newProduct, cents, NEXT_VERSION);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Converts every price before taking the lock, so a bad price rejects the batch before anything is written.
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> newProducts = new ArrayList<>(products.size());
+        long[] cents = new long[products.size()];
+        for (Product product : products) {
+            Product newProduct = withId(product);
+            cents[newProducts.size()] = centsOf(newProduct);
+            newProducts.add(newProduct);
+        }
+
+        List<Product> saved = new ArrayList<>(newProducts.size());
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < newProducts.size(); i++) {
+                saved.add(saveLocked(newProducts.get(i), cents[i], NEXT_VERSION));
+            }
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        long cents = centsOf(product);
+        UUID id = product.getId();
+
+        lock.writeLock().lock();
+        try {
+            int slot = liveSlot(id);
+            if (versions[slot] != expectedVersion) {
+                throw new VersionConflictException(id, expectedVersion, versions[slot]);
+            }
+            return saveLocked(product, cents, expectedVersion + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Product reserve(UUID id, int quantity) {
+        lock.writeLock().lock();
+        try {
+            int slot = liveSlot(id);
+            quantities[slot] = StockLevels.afterReserve(id, quantityAt(slot), quantity);
+            versions[slot]++;
+            modifications++;
+            return materialise(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Product release(UUID id, int quantity) {
+        lock.writeLock().lock();
+        try {
+            int slot = liveSlot(id);
+            quantities[slot] = StockLevels.afterRelease(id, quantityAt(slot), quantity);
+            versions[slot]++;
+            modifications++;
+            return materialise(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // One write lock for the whole batch; every order is checked in full before any of its lines changes,
+    // so no reader ever sees an order half reserved.
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        List<StockReservation> results = new ArrayList<>(orders.size());
+        lock.writeLock().lock();
+        try {
+            for (Map<UUID, Integer> order : orders) {
+                results.add(reserveLocked(order));
+            }
+            return results;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restore(Product product) {
+        long cents = centsOf(product);
+
+        lock.writeLock().lock();
+        try {
+            saveLocked(product, cents, product.getVersion());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Product> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(materialise(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Product> getAllProducts() {
+        lock.readLock().lock();
+        try {
+            List<Product> products = new ArrayList<>(size);
+            for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+                products.add(materialise(slot));
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stream<Product> streamAll() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new SlotIterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public ProductPage findPage(ProductCursor cursor, int limit, ProductSort sort) {
+        Product after = null;
+        if (cursor != null) {
+            cursor.checkSort(sort);
+            after = cursor.probe();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Max-heap holding the limit + 1 smallest slots after the cursor; the extra one tells whether a next page exists.
+            int capacity = (int) Math.min((long) limit + 1, size + 1L);
+            PriorityQueue<Integer> smallest = new PriorityQueue<>(capacity, (a, b) -> compareSlots(b, a, sort));
+            for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+                if (after != null && compareToProbe(slot, sort, after) <= 0) {
+                    continue;
+                }
+                if (smallest.size() < capacity) {
+                    smallest.offer(slot);
+                } else if (compareSlots(slot, smallest.peek(), sort) < 0) {
+                    smallest.poll();
+                    smallest.offer(slot);
+                }
+            }
+
+            List<Integer> ordered = new ArrayList<>(smallest);
+            ordered.sort((a, b) -> compareSlots(a, b, sort));
+            List<Product> products = new ArrayList<>(Math.min(limit, ordered.size()));
+            for (int i = 0; i < ordered.size() && i < limit; i++) {
+                products.add(materialise(ordered.get(i)));
+            }
+            ProductCursor nextCursor = ordered.size() > limit && !products.isEmpty()
+                    ? ProductCursor.after(products.get(products.size() - 1), sort)
+                    : null;
+            return new ProductPage(products, nextCursor);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Product> findByFilter(ProductFilter filter) {
+        byte category = filter.getCategory() == null ? NULL_CATEGORY : (byte) filter.getCategory().ordinal();
+        long minCents = filter.getMinPrice() == null ? NULL_PRICE + 1 : cents(filter.getMinPrice(), RoundingMode.CEILING);
+        long maxCents = filter.getMaxPrice() == null ? Long.MAX_VALUE : cents(filter.getMaxPrice(), RoundingMode.FLOOR);
+
+        lock.readLock().lock();
+        try {
+            List<Product> matches = new ArrayList<>();
+            for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+                if (category != NULL_CATEGORY && categories[slot] != category) {
+                    continue;
+                }
+                if (filter.hasPriceRange() && (priceCents[slot] < minCents || priceCents[slot] > maxCents)) {
+                    continue;
+                }
+                if (filter.getInStock() != null && filter.getInStock() != (quantities[slot] > 0)) {
+                    continue;
+                }
+                matches.add(materialise(slot));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the columns, matching each distinct dictionary string once per query.
+     * Scores use the field weights of the full-text index without its idf factor.
+     */
+    public List<ProductSearchHit> search(String query, int limit) {
+        TermMatcher matcher = new TermMatcher(query);
+        if (matcher.tokenCount() == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, double[]> matchesByCode = new HashMap<>();
+            PriorityQueue<ProductSearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(ProductSearchHit::score));
+            for (int slot = liveSlots.nextSetBit(0); slot >= 0; slot = liveSlots.nextSetBit(slot + 1)) {
+                double[] name = matchesByCode.computeIfAbsent(nameCodes[slot], code -> matcher.match(strings.value(code)));
+                double[] description = matchesByCode.computeIfAbsent(descriptionCodes[slot], code -> matcher.match(strings.value(code)));
+
+                double score = 0;
+                for (int token = 0; token < name.length; token++) {
+                    double best = Math.max(name[token] * TermMatcher.NAME_WEIGHT, description[token] * TermMatcher.DESCRIPTION_WEIGHT);
+                    if (best == 0) {
+                        score = 0;
+                        break;
+                    }
+                    score += best;
+                }
+
+                if (score > 0 && (top.size() < limit || score > top.peek().score())) {
+                    top.offer(new ProductSearchHit(materialise(slot), score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<ProductSearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(ProductSearchHit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean existsById(UUID id) {
+        lock.readLock().lock();
+        try {
+            return findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // size is volatile so the count can be read without the lock.
+    public long count() {
+        return size;
+    }
+
+    // Only written under the write lock; volatile for the same lock-free read as size.
+    public long modificationCount() {
+        return modifications;
+    }
+
+    public void deleteById(UUID id) {
+        lock.writeLock().lock();
+        try {
+            deleteLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void deleteAll(Collection<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::deleteLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Product withId(Product product) {
+        return product.getId() == null
+                ? product.toBuilder().id(UUID.randomUUID()).build()
+                : product;
+    }
+
+    private static long centsOf(Product product) {
+        return product.getPrice() == null ? NULL_PRICE : PriceCents.toCents(product.getPrice());
+    }
+
+    // version is stored as given, or NEXT_VERSION to count on from the stored one.
+    private Product saveLocked(Product newProduct, long cents, long version) {
+        long high = newProduct.getId().getMostSignificantBits();
+        long low = newProduct.getId().getLeastSignificantBits();
+        int nameCode = strings.acquire(newProduct.getName());
+        int descriptionCode = strings.acquire(newProduct.getDescription());
+        int slot = findSlot(high, low);
+        if (slot < 0) {
+            slot = allocateSlot();
+            idHigh[slot] = high;
+            idLow[slot] = low;
+            insertSlot(slot);
+            liveSlots.set(slot);
+            size++;
+            versions[slot] = Product.FIRST_VERSION - 1;
+        } else {
+            strings.release(nameCodes[slot]);
+            strings.release(descriptionCodes[slot]);
+        }
+
+        nameCodes[slot] = nameCode;
+        descriptionCodes[slot] = descriptionCode;
+        categories[slot] = newProduct.getCategory() == null ? NULL_CATEGORY : (byte) newProduct.getCategory().ordinal();
+        quantities[slot] = newProduct.getAvailableQuantity() == null ? NULL_QUANTITY : newProduct.getAvailableQuantity();
+        priceCents[slot] = cents;
+        versions[slot] = version == NEXT_VERSION ? versions[slot] + 1 : version;
+        modifications++;
+        return materialise(slot);
+    }
+
+    private void deleteLocked(UUID id) {
+        int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            return;
+        }
+
+        removeSlot(slot);
+        strings.release(nameCodes[slot]);
+        strings.release(descriptionCodes[slot]);
+        liveSlots.clear(slot);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        size--;
+        modifications++;
+    }
+
+    private StockReservation reserveLocked(Map<UUID, Integer> lines) {
+        int[] slots = new int[lines.size()];
+        int[] remaining = new int[lines.size()];
+        int line = 0;
+        try {
+            for (Map.Entry<UUID, Integer> entry : lines.entrySet()) {
+                slots[line] = liveSlot(entry.getKey());
+                remaining[line] = StockLevels.afterReserve(entry.getKey(), quantityAt(slots[line]), entry.getValue());
+                line++;
+            }
+        } catch (NoSuchElementException | InsufficientStockException | IllegalArgumentException failure) {
+            return StockReservation.failed(failure);
+        }
+
+        List<Product> reserved = new ArrayList<>(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            quantities[slots[i]] = remaining[i];
+            versions[slots[i]]++;
+            reserved.add(materialise(slots[i]));
+        }
+        modifications++;
+        return StockReservation.reserved(reserved);
+    }
+
+    private int liveSlot(UUID id) {
+        int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            throw new NoSuchElementException("Product not found: " + id);
+        }
+        return slot;
+    }
+
+    private Integer quantityAt(int slot) {
+        return quantities[slot] == NULL_QUANTITY ? null : quantities[slot];
+    }
+
+    private Product materialise(int slot) {
+        return Product.builder()
+                .id(new UUID(idHigh[slot], idLow[slot]))
+                .name(strings.value(nameCodes[slot]))
+                .description(strings.value(descriptionCodes[slot]))
+                .category(categories[slot] == NULL_CATEGORY ? null : CATEGORIES[categories[slot]])
+                .availableQuantity(quantityAt(slot))
+                .price(priceCents[slot] == NULL_PRICE ? null : PriceCents.fromCents(priceCents[slot]))
+                .version(versions[slot])
+                .build();
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotLimit == idHigh.length) {
+            int capacity = slotLimit * 2;
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            nameCodes = Arrays.copyOf(nameCodes, capacity);
+            descriptionCodes = Arrays.copyOf(descriptionCodes, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+        }
+        return slotLimit++;
+    }
+
+    private int findSlot(long high, long low) {
+        int mask = slotTable.length - 1;
+        for (int index = hash(high, low) & mask; ; index = (index + 1) & mask) {
+            int entry = slotTable[index];
+            if (entry == EMPTY_ENTRY) {
+                return -1;
+            }
+            if (entry != DELETED_ENTRY && idHigh[entry - 1] == high && idLow[entry - 1] == low) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insertSlot(int slot) {
+        if ((slotTableOccupied + 1) * 2 > slotTable.length) {
+            rehash();
+        }
+        int mask = slotTable.length - 1;
+        for (int index = hash(idHigh[slot], idLow[slot]) & mask; ; index = (index + 1) & mask) {
+            int entry = slotTable[index];
+            if (entry == EMPTY_ENTRY || entry == DELETED_ENTRY) {
+                if (entry == EMPTY_ENTRY) {
+                    slotTableOccupied++;
+                }
+                slotTable[index] = slot + 1;
+                return;
+            }
+        }
+    }
+
+    private void removeSlot(int slot) {
+        int mask = slotTable.length - 1;
+        for (int index = hash(idHigh[slot], idLow[slot]) & mask; ; index = (index + 1) & mask) {
+            if (slotTable[index] == slot + 1) {
+                slotTable[index] = DELETED_ENTRY;
+                return;
+            }
+        }
+    }
+
+    private void rehash() {
+        int[] previous = slotTable;
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(size, 1) * 4));
+        slotTable = new int[capacity];
+        slotTableOccupied = 0;
+        int mask = capacity - 1;
+        for (int entry : previous) {
+            if (entry > 0) {
+                int index = hash(idHigh[entry - 1], idLow[entry - 1]) & mask;
+                while (slotTable[index] != EMPTY_ENTRY) {
+                    index = (index + 1) & mask;
+                }
+                slotTable[index] = entry;
+                slotTableOccupied++;
+            }
+        }
+    }
+
+    private static int hash(long high, long low) {
+        long mixed = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private int compareSlots(int a, int b, ProductSort sort) {
+        int result = switch (sort) {
+            case ID -> 0;
+            case NAME -> compareNames(strings.value(nameCodes[a]), strings.value(nameCodes[b]));
+            case PRICE -> Long.compare(priceCents[a], priceCents[b]);
+        };
+        return result != 0 ? result : compareIds(idHigh[a], idLow[a], idHigh[b], idLow[b]);
+    }
+
+    private int compareToProbe(int slot, ProductSort sort, Product probe) {
+        int result = switch (sort) {
+            case ID -> 0;
+            case NAME -> compareNames(strings.value(nameCodes[slot]), probe.getName());
+            case PRICE -> comparePrice(priceCents[slot], probe.getPrice());
+        };
+        UUID id = probe.getId();
+        return result != 0 ? result : compareIds(idHigh[slot], idLow[slot], id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static int compareNames(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static int comparePrice(long cents, BigDecimal price) {
+        if (cents == NULL_PRICE || price == null) {
+            return cents == NULL_PRICE ? (price == null ? 0 : -1) : 1;
+        }
+        long floor = cents(price, RoundingMode.FLOOR);
+        if (cents != floor) {
+            return Long.compare(cents, floor);
+        }
+        return price.scale() <= PriceCents.SCALE || price.stripTrailingZeros().scale() <= PriceCents.SCALE ? 0 : -1;
+    }
+
+    private static int compareIds(long highA, long lowA, long highB, long lowB) {
+        int result = Long.compare(highA, highB);
+        return result != 0 ? result : Long.compare(lowA, lowB);
+    }
+
+    // Query bounds and cursor keys come from clients: bounds past the stored range are clamped, and bounds under a
+    // cent are rounded by sign, before setScale could build the huge number an exponent like 1e999999999 asks for.
+    private static long cents(BigDecimal price, RoundingMode rounding) {
+        if (price.compareTo(MIN_PRICE) <= 0) {
+            return NULL_PRICE + 1;
+        }
+        if (price.compareTo(MAX_PRICE) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (price.abs().compareTo(ONE_CENT) < 0) {
+            if (price.signum() == 0) {
+                return 0;
+            }
+            return price.signum() > 0 ? (rounding == RoundingMode.CEILING ? 1 : 0) : (rounding == RoundingMode.FLOOR ? -1 : 0);
+        }
+        return price.setScale(PriceCents.SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    // Materialises live slots in ascending order, one chunk per read lock, so slow consumers never hold the lock.
+    private final class SlotIterator implements Iterator<Product> {
+        private final List<Product> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        private int chunkPosition;
+        private int nextSlot;
+
+        @Override
+        public boolean hasNext() {
+            if (chunkPosition == chunk.size() && nextSlot >= 0) {
+                fillChunk();
+            }
+            return chunkPosition < chunk.size();
+        }
+
+        @Override
+        public Product next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk.get(chunkPosition++);
+        }
+
+        private void fillChunk() {
+            chunk.clear();
+            chunkPosition = 0;
+            lock.readLock().lock();
+            try {
+                int slot = liveSlots.nextSetBit(nextSlot);
+                while (slot >= 0 && chunk.size() < STREAM_CHUNK_SIZE) {
+                    chunk.add(materialise(slot));
+                    slot = liveSlots.nextSetBit(slot + 1);
+                }
+                nextSlot = slot;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
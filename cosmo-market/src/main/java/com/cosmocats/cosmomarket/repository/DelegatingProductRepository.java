@@ -0,0 +1,113 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Base for repositories that add behaviour around another store; every call is forwarded
+ * unchanged unless a subclass overrides it. Closing a wrapper closes its delegate when that holds
+ * resources, so closing the outermost one, as Spring does with the bean, releases the whole chain.
+ */
+public abstract class DelegatingProductRepository implements ProductRepositoryInterface, AutoCloseable {
+
+    protected final ProductRepositoryInterface delegate;
+
+    protected DelegatingProductRepository(ProductRepositoryInterface delegate) {
+        this.delegate = delegate;
+    }
+
+    public Product saveProduct(Product product) {
+        return delegate.saveProduct(product);
+    }
+
+    public List<Product> saveAll(Collection<Product> products) {
+        return delegate.saveAll(products);
+    }
+
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        return delegate.saveProductIfVersion(product, expectedVersion);
+    }
+
+    public void restore(Product product) {
+        delegate.restore(product);
+    }
+
+    public Product reserve(UUID id, int quantity) {
+        return delegate.reserve(id, quantity);
+    }
+
+    public Product release(UUID id, int quantity) {
+        return delegate.release(id, quantity);
+    }
+
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        return delegate.reserveBatch(orders);
+    }
+
+    public Optional<Product> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    public List<Product> getAllProducts() {
+        return delegate.getAllProducts();
+    }
+
+    public Stream<Product> streamAll() {
+        return delegate.streamAll();
+    }
+
+    public ProductPage findPage(ProductCursor cursor, int limit, ProductSort sort) {
+        return delegate.findPage(cursor, limit, sort);
+    }
+
+    public List<Product> findByFilter(ProductFilter filter) {
+        return delegate.findByFilter(filter);
+    }
+
+    public List<ProductSearchHit> search(String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    public long count() {
+        return delegate.count();
+    }
+
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+    }
+
+    public void deleteAll(Collection<UUID> ids) {
+        delegate.deleteAll(ids);
+    }
+
+    @Override
+    public void close() {
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException exception) {
+                throw exception;
+            } catch (Exception exception) {
+                throw new IllegalStateException("Failed to close " + delegate.getClass().getSimpleName(), exception);
+            }
+        }
+    }
+}
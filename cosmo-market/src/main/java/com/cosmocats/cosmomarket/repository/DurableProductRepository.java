@@ -0,0 +1,296 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.persistence.DurabilityMode;
+import com.cosmocats.cosmomarket.repository.persistence.LogRecord;
+import com.cosmocats.cosmomarket.repository.persistence.SnapshotStore;
+import com.cosmocats.cosmomarket.repository.persistence.WriteAheadLog;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Makes another product store survive restarts with a write-ahead log and periodic snapshots.
+ * A mutation is applied to the store and then appended to the log under a per-id stripe lock,
+ * so log order matches apply order for every product; the caller returns once its record is durable.
+ * A snapshot rolls the log to a new segment, then streams the store to disk while writes go on.
+ * The copy may already include some writes from the new segment, which is harmless because
+ * replaying full-state records is idempotent.
+ * Recovery loads the newest snapshot and replays the segments that follow it.
+ */
+@Slf4j
+public class DurableProductRepository extends DelegatingProductRepository {
+
+    private static final long FIRST_GENERATION = 1;
+
+    private final WriteAheadLog writeAheadLog;
+    private final SnapshotStore snapshots;
+    private final ReadWriteLock rollLock = new ReentrantReadWriteLock();
+    private final ProductLockStripes stripes = new ProductLockStripes();
+    private final Lock snapshotLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    private DurableProductRepository(ProductRepositoryInterface delegate, WriteAheadLog writeAheadLog,
+                                     SnapshotStore snapshots, Duration snapshotInterval) {
+        super(delegate);
+        this.writeAheadLog = writeAheadLog;
+        this.snapshots = snapshots;
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            scheduler = null;
+        } else {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "product-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = snapshotInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::snapshotIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Restores {@code delegate} from {@code directory} and starts logging its mutations there.
+     * {@code delegate} is expected to be empty.
+     */
+    public static DurableProductRepository open(ProductRepositoryInterface delegate, Path directory,
+                                                DurabilityMode durability, Duration snapshotInterval) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to create " + directory, exception);
+        }
+        SnapshotStore snapshots = new SnapshotStore(directory);
+        OptionalLong snapshot = snapshots.latestGeneration();
+        snapshot.ifPresent(generation -> snapshots.load(generation, delegate::restore));
+
+        long generation = snapshot.orElse(FIRST_GENERATION);
+        long segmentRecords = 0;
+        for (long segment : WriteAheadLog.segmentGenerations(directory)) {
+            if (segment >= generation) {
+                segmentRecords = WriteAheadLog.replay(directory, segment, record -> apply(delegate, record));
+                generation = segment;
+            }
+        }
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, generation, segmentRecords, durability);
+        writeAheadLog.deleteSegmentsBefore(snapshot.orElse(FIRST_GENERATION));
+        return new DurableProductRepository(delegate, writeAheadLog, snapshots, snapshotInterval);
+    }
+
+    @Override
+    public Product saveProduct(Product product) {
+        return saveAll(List.of(product)).get(0);
+    }
+
+    // The whole batch goes to the delegate's own saveAll under the stripes of every id in it, and what was stored
+    // is logged before the stripes are released. If the delegate fails partway, whatever it did apply is read back
+    // and logged, and the wait for durability happens either way. One fsync wait covers the batch.
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> batch = products.stream()
+                .map(product -> product.getId() == null ? product.toBuilder().id(UUID.randomUUID()).build() : product)
+                .toList();
+        List<UUID> ids = batch.stream().map(Product::getId).distinct().toList();
+        long position = 0;
+        rollLock.readLock().lock();
+        try {
+            int[] locked = stripes.lockIds(ids);
+            try {
+                List<Product> saved;
+                try {
+                    saved = delegate.saveAll(batch);
+                } catch (RuntimeException failure) {
+                    for (UUID id : ids) {
+                        Optional<Product> current = delegate.findById(id);
+                        if (current.isPresent()) {
+                            position = writeAheadLog.append(LogRecord.save(current.get()));
+                        }
+                    }
+                    throw failure;
+                }
+                for (Product stored : saved) {
+                    position = writeAheadLog.append(LogRecord.save(stored));
+                }
+                return saved;
+            } finally {
+                stripes.unlockAll(locked);
+            }
+        } finally {
+            rollLock.readLock().unlock();
+            writeAheadLog.awaitDurable(position);
+        }
+    }
+
+    @Override
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        return applyAndLog(product.getId(), () -> delegate.saveProductIfVersion(product, expectedVersion));
+    }
+
+    @Override
+    public Product reserve(UUID id, int quantity) {
+        return applyAndLog(id, () -> delegate.reserve(id, quantity));
+    }
+
+    @Override
+    public Product release(UUID id, int quantity) {
+        return applyAndLog(id, () -> delegate.release(id, quantity));
+    }
+
+    // Takes the stripes of every product in the batch, in stripe order so concurrent batches cannot deadlock,
+    // lets the delegate reserve the whole batch at once and logs each reserved product before the stripes
+    // are released. One fsync wait covers the batch.
+    @Override
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        List<StockReservation> results;
+        long position = 0;
+        rollLock.readLock().lock();
+        try {
+            int[] locked = stripes.lockAll(orders);
+            try {
+                results = delegate.reserveBatch(orders);
+                for (int i = 0; i < results.size(); i++) {
+                    // A failed order may still have moved versions while the delegate put its lines back.
+                    List<Product> touched = results.get(i).succeeded()
+                            ? results.get(i).products()
+                            : orders.get(i).keySet().stream().map(delegate::findById).flatMap(Optional::stream).toList();
+                    for (Product product : touched) {
+                        position = writeAheadLog.append(LogRecord.save(product));
+                    }
+                }
+            } finally {
+                stripes.unlockAll(locked);
+            }
+        } finally {
+            rollLock.readLock().unlock();
+        }
+        writeAheadLog.awaitDurable(position);
+        return results;
+    }
+
+    @Override
+    public void restore(Product product) {
+        applyAndLog(product.getId(), () -> {
+            delegate.restore(product);
+            return product;
+        });
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        deleteAll(List.of(id));
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        long position = 0;
+        rollLock.readLock().lock();
+        try {
+            for (UUID id : ids) {
+                Lock stripe = stripes.forId(id);
+                stripe.lock();
+                try {
+                    if (delegate.existsById(id)) {
+                        delegate.deleteById(id);
+                        position = writeAheadLog.append(LogRecord.delete(id));
+                    }
+                } finally {
+                    stripe.unlock();
+                }
+            }
+        } finally {
+            rollLock.readLock().unlock();
+            writeAheadLog.awaitDurable(position);
+        }
+    }
+
+    /**
+     * Writes a compacted snapshot and drops the log segments it replaces.
+     *
+     * @return the number of products in the snapshot
+     */
+    public long snapshot() {
+        snapshotLock.lock();
+        try {
+            long generation;
+            rollLock.writeLock().lock();
+            try {
+                generation = writeAheadLog.roll();
+            } finally {
+                rollLock.writeLock().unlock();
+            }
+            long count = snapshots.write(generation, delegate.streamAll().iterator());
+            writeAheadLog.deleteSegmentsBefore(generation);
+            return count;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Snapshots what the log holds, so the next start loads it instead of replaying, then closes the store below.
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        try {
+            snapshotIfChanged();
+            writeAheadLog.close();
+        } finally {
+            super.close();
+        }
+    }
+
+    private void snapshotIfChanged() {
+        try {
+            if (writeAheadLog.segmentRecords() > 0) {
+                snapshot();
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Product snapshot failed, the log is kept until the next attempt", exception);
+        }
+    }
+
+    // Single-product write under the same locks as saveAll; a write that throws logs nothing.
+    private Product applyAndLog(UUID id, Supplier<Product> write) {
+        Product stored;
+        long position;
+        rollLock.readLock().lock();
+        try {
+            Lock stripe = stripes.forId(id);
+            stripe.lock();
+            try {
+                stored = write.get();
+                position = writeAheadLog.append(LogRecord.save(stored));
+            } finally {
+                stripe.unlock();
+            }
+        } finally {
+            rollLock.readLock().unlock();
+        }
+        writeAheadLog.awaitDurable(position);
+        return stored;
+    }
+
+    private static void apply(ProductRepositoryInterface target, LogRecord record) {
+        switch (record.type()) {
+            case SAVE -> target.restore(record.product());
+            case DELETE -> target.deleteById(record.id());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.cart.CartItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Carts kept in a Caffeine cache that expires a cart once it has not been touched for the configured TTL,
+ * so abandoned carts do not pile up. The cache is a striped concurrent map, so requests for different carts
+ * never contend; each cart has its own lock for changes to its lines.
+ */
+public class InMemoryCartRepository implements CartRepositoryInterface {
+
+    public static final String CACHE_NAME = "carts";
+
+    private final Cache<UUID, CartLines> carts;
+
+    public InMemoryCartRepository(Duration ttl, long maxCarts, MeterRegistry registry) {
+        this(ttl, maxCarts, Ticker.systemTicker(), registry);
+    }
+
+    InMemoryCartRepository(Duration ttl, long maxCarts, Ticker ticker, MeterRegistry registry) {
+        this.carts = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxCarts)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, carts, CACHE_NAME);
+    }
+
+    public Cart create() {
+        UUID id = UUID.randomUUID();
+        CartLines lines = new CartLines(id);
+        carts.put(id, lines);
+        return lines.snapshot();
+    }
+
+    public Optional<Cart> findById(UUID id) {
+        return Optional.ofNullable(carts.getIfPresent(id)).map(CartLines::snapshot);
+    }
+
+    public Cart addItem(UUID cartId, Product product, int quantity) {
+        return lines(cartId).add(product, quantity);
+    }
+
+    public Cart removeItem(UUID cartId, UUID productId) {
+        return lines(cartId).remove(productId);
+    }
+
+    public Optional<Cart> take(UUID id) {
+        return Optional.ofNullable(carts.asMap().remove(id)).map(CartLines::close);
+    }
+
+    public void putBack(Cart cart) {
+        carts.asMap().putIfAbsent(cart.getId(), new CartLines(cart));
+    }
+
+    public boolean existsById(UUID id) {
+        return carts.getIfPresent(id) != null;
+    }
+
+    public void deleteById(UUID id) {
+        carts.invalidate(id);
+    }
+
+    private CartLines lines(UUID cartId) {
+        CartLines lines = carts.getIfPresent(cartId);
+        if (lines == null) {
+            throw new NoSuchElementException("Cart not found: " + cartId);
+        }
+        return lines;
+    }
+
+    // Lines keyed by product id in insertion order: a change is one map operation instead of rebuilding
+    // the cart's immutable item list; the list is only built when a snapshot is read. The total is kept
+    // in cents and adjusted by the changed line only, so reading it never walks the lines.
+    private static final class CartLines {
+        private final UUID cartId;
+        private final Map<UUID, CartItem> items = new LinkedHashMap<>();
+        private long totalCents;
+        // Set once the cart is taken out of the store: a change racing the take must fail, not land in a dropped cart.
+        private boolean closed;
+
+        CartLines(UUID cartId) {
+            this.cartId = cartId;
+        }
+
+        CartLines(Cart cart) {
+            this(cart.getId());
+            cart.getItems().forEach(line -> items.put(line.getProduct().getId(), line));
+            totalCents = cart.getTotalCents();
+        }
+
+        synchronized Cart add(Product product, int quantity) {
+            checkOpen();
+            if (quantity <= 0) {
+                throw new BadRequestException("Quantity must be positive: " + quantity);
+            }
+            CartItem previous = items.get(product.getId());
+            int quantityInCart = previous == null ? quantity : previous.getQuantity() + quantity;
+            if (quantityInCart < 0) {
+                throw new BadRequestException("Too many units of product " + product.getId() + " in cart " + cartId);
+            }
+            CartItem line = CartItem.builder().product(product).quantity(quantityInCart).build();
+            long newTotalCents;
+            try {
+                newTotalCents = Math.addExact(totalCents - cents(previous), line.totalItemCents());
+            } catch (ArithmeticException exception) {
+                throw new BadRequestException("Total of cart " + cartId + " is too large");
+            }
+            items.put(product.getId(), line);
+            totalCents = newTotalCents;
+            return snapshot();
+        }
+
+        synchronized Cart remove(UUID productId) {
+            checkOpen();
+            totalCents -= cents(items.remove(productId));
+            return snapshot();
+        }
+
+        synchronized Cart close() {
+            closed = true;
+            return snapshot();
+        }
+
+        synchronized Cart snapshot() {
+            return Cart.builder().id(cartId).items(items.values()).totalCents(totalCents).build();
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new NoSuchElementException("Cart not found: " + cartId);
+            }
+        }
+
+        // Lines in the map were priced when they were added, so this cannot overflow.
+        private static long cents(CartItem line) {
+            return line == null ? 0 : line.totalItemCents();
+        }
+    }
+}
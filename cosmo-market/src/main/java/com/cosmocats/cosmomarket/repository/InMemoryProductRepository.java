@@ -1,44 +1,106 @@
 package com.cosmocats.cosmomarket.repository;
 
 import com.cosmocats.cosmomarket.domain.product.Product;
-import com.cosmocats.cosmomarket.domain.category.Category;
-import org.springframework.stereotype.Repository;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.index.CategoryIndex;
+import com.cosmocats.cosmomarket.repository.index.ProductIndex;
+import com.cosmocats.cosmomarket.repository.index.SortedProductIndex;
+import com.cosmocats.cosmomarket.repository.index.StockIndex;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import com.cosmocats.cosmomarket.repository.search.FullTextIndex;
 
-import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
-@Repository
 public class InMemoryProductRepository implements ProductRepositoryInterface {
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID HIGHEST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
     private final Map<UUID, Product> productStorage = new ConcurrentHashMap<>();
+    private final Map<ProductSort, SortedProductIndex> sortedIndexes = new EnumMap<>(ProductSort.class);
+    private final CategoryIndex categoryIndex = new CategoryIndex();
+    private final StockIndex stockIndex = new StockIndex();
+    private final FullTextIndex fullTextIndex = new FullTextIndex();
+    private final List<ProductIndex> indexes = new ArrayList<>();
+    private final LongAdder modifications = new LongAdder();
 
     public InMemoryProductRepository() {
-        UUID id1 = UUID.randomUUID();
-        UUID id2 = UUID.randomUUID();
-        productStorage.put(id1, Product.builder()
-                .id(id1)
-                .name("Cosmo Coffee Example")
-                .description("Space beans")
-                .category(Category.FOOD)
-                .availableQuantity(42)
-                .price(new BigDecimal("9.99"))
-                .build());
-        productStorage.put(id2, Product.builder()
-                .id(id2)
-                .name("Galaxy Coat Example")
-                .description("Beautiful comfy coat")
-                .category(Category.CLOTHES)
-                .availableQuantity(10)
-                .price(new BigDecimal("19.95"))
-                .build());
+        for (ProductSort sort : ProductSort.values()) {
+            SortedProductIndex index = new SortedProductIndex(sort);
+            sortedIndexes.put(sort, index);
+            indexes.add(index);
+        }
+        indexes.add(categoryIndex);
+        indexes.add(stockIndex);
+        indexes.add(fullTextIndex);
     }
 
     public Product saveProduct(Product product) {
-        Product newProduct = product.getId() == null
-                ? product.toBuilder().id(UUID.randomUUID()).build()
-                : product;
-        productStorage.put(newProduct.getId(), newProduct);
-        return newProduct;
+        UUID productId = product.getId() == null ? UUID.randomUUID() : product.getId();
+        return productStorage.compute(productId, (id, previous) -> {
+            Product newProduct = product.toBuilder()
+                    .id(id)
+                    .version(previous == null ? Product.FIRST_VERSION : previous.getVersion() + 1)
+                    .build();
+            updateIndexes(previous, newProduct);
+            return newProduct;
+        });
+    }
+
+    public List<Product> saveAll(Collection<Product> products) {
+        List<Product> saved = new ArrayList<>(products.size());
+        for (Product product : products) {
+            saved.add(saveProduct(product));
+        }
+        return saved;
+    }
+
+    // compute locks only the product's bin, so writers of different products never wait for each other.
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        return productStorage.compute(product.getId(), (id, previous) -> {
+            if (previous == null) {
+                throw new NoSuchElementException("Product not found: " + id);
+            }
+            if (previous.getVersion() != expectedVersion) {
+                throw new VersionConflictException(id, expectedVersion, previous.getVersion());
+            }
+            Product newProduct = product.toBuilder().version(expectedVersion + 1).build();
+            updateIndexes(previous, newProduct);
+            return newProduct;
+        });
+    }
+
+    public void restore(Product product) {
+        productStorage.compute(product.getId(), (id, previous) -> {
+            updateIndexes(previous, product);
+            return product;
+        });
+    }
+
+    // The check and the decrement run inside compute, which locks only this product's bin:
+    // reservations of one product are serialised, reservations of different products never wait.
+    public Product reserve(UUID id, int quantity) {
+        return changeStock(id, previous -> StockLevels.afterReserve(id, previous.getAvailableQuantity(), quantity));
+    }
+
+    public Product release(UUID id, int quantity) {
+        return changeStock(id, previous -> StockLevels.afterRelease(id, previous.getAvailableQuantity(), quantity));
+    }
+
+    // Each line is its own compute; a failed order puts back the lines it already took.
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        List<StockReservation> results = new ArrayList<>(orders.size());
+        for (Map<UUID, Integer> order : orders) {
+            results.add(StockLevels.reserveAll(this, order));
+        }
+        return results;
     }
 
     public Optional<Product> findById(UUID id) {
@@ -49,11 +111,91 @@ public class InMemoryProductRepository implements ProductRepositoryInterface {
         return new ArrayList<>(productStorage.values());
     }
 
+    public Stream<Product> streamAll() {
+        return productStorage.values().stream();
+    }
+
+    public ProductPage findPage(ProductCursor cursor, int limit, ProductSort sort) {
+        return sortedIndexes.get(sort).page(cursor, limit);
+    }
+
+    public List<Product> findByFilter(ProductFilter filter) {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : candidates(filter)) {
+            if (filter.matches(product)) {
+                matches.add(product);
+            }
+        }
+        return matches;
+    }
+
+    public List<ProductSearchHit> search(String query, int limit) {
+        return fullTextIndex.search(query, limit);
+    }
+
     public boolean existsById(UUID id) {
         return productStorage.containsKey(id);
     }
 
+    public long count() {
+        return productStorage.size();
+    }
+
+    public long modificationCount() {
+        return modifications.sum();
+    }
+
     public void deleteById(UUID id) {
-        productStorage.remove(id);
+        productStorage.computeIfPresent(id, (key, previous) -> {
+            updateIndexes(previous, null);
+            return null;
+        });
+    }
+
+    public void deleteAll(Collection<UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    // Starts from the smallest index that covers the filter; findByFilter re-checks every predicate.
+    private Collection<Product> candidates(ProductFilter filter) {
+        Collection<Product> smallest = null;
+        if (filter.getCategory() != null) {
+            smallest = categoryIndex.products(filter.getCategory());
+        }
+        if (Boolean.TRUE.equals(filter.getInStock()) && (smallest == null || stockIndex.size() < categoryIndex.size(filter.getCategory()))) {
+            smallest = stockIndex.products();
+        }
+        if (smallest != null) {
+            return smallest;
+        }
+        if (filter.hasPriceRange()) {
+            ProductSort price = ProductSort.PRICE;
+            return sortedIndexes.get(price).range(
+                    filter.getMinPrice() == null ? null : price.probe(LOWEST_ID, filter.getMinPrice().toPlainString()),
+                    filter.getMaxPrice() == null ? null : price.probe(HIGHEST_ID, filter.getMaxPrice().toPlainString()));
+        }
+        return productStorage.values();
+    }
+
+    private Product changeStock(UUID productId, ToIntFunction<Product> newQuantity) {
+        return productStorage.compute(productId, (id, previous) -> {
+            if (previous == null) {
+                throw new NoSuchElementException("Product not found: " + id);
+            }
+            Product newProduct = previous.toBuilder()
+                    .availableQuantity(newQuantity.applyAsInt(previous))
+                    .version(previous.getVersion() + 1)
+                    .build();
+            updateIndexes(previous, newProduct);
+            return newProduct;
+        });
+    }
+
+    // Counted after the indexes changed, so a reader that sees the new count also sees the write.
+    private void updateIndexes(Product previous, Product current) {
+        for (ProductIndex index : indexes) {
+            index.update(previous, current);
+        }
+        modifications.increment();
     }
 }
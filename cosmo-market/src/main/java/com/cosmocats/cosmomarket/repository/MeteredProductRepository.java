@@ -0,0 +1,182 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.metrics.OperationTimers;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records a latency histogram per repository operation ({@value #TIMER_NAME}) and exposes the
+ * catalog size as a gauge ({@value #SIZE_GAUGE_NAME}). {@code streamAll} is lazy and is not timed;
+ * the export endpoint's request timer covers it. {@code restore} only runs while a store is rebuilt.
+ */
+public class MeteredProductRepository extends DelegatingProductRepository {
+
+    public static final String TIMER_NAME = "cosmo.repository.operations";
+    public static final String SIZE_GAUGE_NAME = "cosmo.catalog.size";
+
+    enum Operation {
+        SAVE_PRODUCT, SAVE_ALL, SAVE_PRODUCT_IF_VERSION, RESERVE, RELEASE, RESERVE_BATCH, FIND_BY_ID, GET_ALL_PRODUCTS,
+        FIND_PAGE, FIND_BY_FILTER, SEARCH, EXISTS_BY_ID, DELETE_BY_ID, DELETE_ALL
+    }
+
+    private final OperationTimers<Operation> timers;
+
+    public MeteredProductRepository(ProductRepositoryInterface delegate, MeterRegistry registry) {
+        super(delegate);
+        this.timers = new OperationTimers<>(registry, TIMER_NAME, "Latency of product repository operations", "operation", Operation.class);
+        Gauge.builder(SIZE_GAUGE_NAME, delegate, ProductRepositoryInterface::count)
+                .description("Number of products in the catalog")
+                .register(registry);
+    }
+
+    @Override
+    public Product saveProduct(Product product) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveProduct(product);
+        } finally {
+            timers.record(Operation.SAVE_PRODUCT, start);
+        }
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveAll(products);
+        } finally {
+            timers.record(Operation.SAVE_ALL, start);
+        }
+    }
+
+    @Override
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.saveProductIfVersion(product, expectedVersion);
+        } finally {
+            timers.record(Operation.SAVE_PRODUCT_IF_VERSION, start);
+        }
+    }
+
+    @Override
+    public Product reserve(UUID id, int quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reserve(id, quantity);
+        } finally {
+            timers.record(Operation.RESERVE, start);
+        }
+    }
+
+    @Override
+    public Product release(UUID id, int quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.release(id, quantity);
+        } finally {
+            timers.record(Operation.RELEASE, start);
+        }
+    }
+
+    @Override
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reserveBatch(orders);
+        } finally {
+            timers.record(Operation.RESERVE_BATCH, start);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findById(id);
+        } finally {
+            timers.record(Operation.FIND_BY_ID, start);
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllProducts();
+        } finally {
+            timers.record(Operation.GET_ALL_PRODUCTS, start);
+        }
+    }
+
+    @Override
+    public ProductPage findPage(ProductCursor cursor, int limit, ProductSort sort) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findPage(cursor, limit, sort);
+        } finally {
+            timers.record(Operation.FIND_PAGE, start);
+        }
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByFilter(filter);
+        } finally {
+            timers.record(Operation.FIND_BY_FILTER, start);
+        }
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.search(query, limit);
+        } finally {
+            timers.record(Operation.SEARCH, start);
+        }
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.existsById(id);
+        } finally {
+            timers.record(Operation.EXISTS_BY_ID, start);
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteById(id);
+        } finally {
+            timers.record(Operation.DELETE_BY_ID, start);
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteAll(ids);
+        } finally {
+            timers.record(Operation.DELETE_ALL, start);
+        }
+    }
+}
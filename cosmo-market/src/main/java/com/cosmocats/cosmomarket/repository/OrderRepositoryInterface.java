@@ -0,0 +1,29 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryInterface {
+
+    Order save(Order order);
+
+    /**
+     * Stores a batch of orders in one call; checkout hands over every order of a group commit at once.
+     */
+    List<Order> saveAll(Collection<Order> orders);
+
+    Optional<Order> findById(UUID id);
+
+    /**
+     * Orders with {@code from <= createdAt < to}, oldest first. The stream is lazy: orders stored while it
+     * is consumed may or may not appear in it.
+     */
+    Stream<Order> findByCreatedAt(OffsetDateTime from, OffsetDateTime to);
+
+    long count();
+}
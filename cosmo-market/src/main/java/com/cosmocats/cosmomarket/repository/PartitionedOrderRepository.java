@@ -0,0 +1,131 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.repository.order.OpenOrderSegment;
+import com.cosmocats.cosmomarket.repository.order.OrderSegment;
+import com.cosmocats.cosmomarket.repository.order.SealedOrderSegment;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Orders split into segments by creation time, one per {@code segmentLength} bucket, so a time range
+ * only visits the segments it overlaps and binary-searches the two at its edges.
+ * Writes go to open skip-list segments. Once a bucket has been over for {@code sealDelay}, which leaves
+ * room for checkouts still in flight, its segment is compacted into sorted arrays and never written again.
+ * Writers share a read lock that sealing takes exclusively, so no order can land in a segment
+ * while it is being copied; readers take no lock at all.
+ */
+public class PartitionedOrderRepository implements OrderRepositoryInterface {
+
+    private final long segmentNanos;
+    private final long sealDelayNanos;
+    private final Clock clock;
+    private final ConcurrentSkipListMap<Long, OrderSegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Order> orderById = new ConcurrentHashMap<>();
+    private final ReadWriteLock sealLock = new ReentrantReadWriteLock();
+    private volatile long sealedBefore = Long.MIN_VALUE;
+
+    public PartitionedOrderRepository(Duration segmentLength, Duration sealDelay, Clock clock) {
+        if (segmentLength.isNegative() || segmentLength.isZero()) {
+            throw new IllegalArgumentException("Segment length must be positive: " + segmentLength);
+        }
+        this.segmentNanos = segmentLength.toNanos();
+        this.sealDelayNanos = sealDelay.toNanos();
+        this.clock = clock;
+    }
+
+    public Order save(Order order) {
+        sealExpiredSegments();
+        long bucket = bucketOf(OrderSegment.epochNanos(order.getCreatedAt()));
+        sealLock.readLock().lock();
+        try {
+            if (bucket >= sealedBefore) {
+                ((OpenOrderSegment) segments.computeIfAbsent(bucket, key -> new OpenOrderSegment())).add(order);
+                orderById.put(order.getId(), order);
+                return order;
+            }
+        } finally {
+            sealLock.readLock().unlock();
+        }
+        addLate(bucket, order);
+        return order;
+    }
+
+    public List<Order> saveAll(Collection<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            saved.add(save(order));
+        }
+        return saved;
+    }
+
+    public Optional<Order> findById(UUID id) {
+        return Optional.ofNullable(orderById.get(id));
+    }
+
+    public Stream<Order> findByCreatedAt(OffsetDateTime from, OffsetDateTime to) {
+        long fromNanos = OrderSegment.epochNanos(from);
+        long toNanos = OrderSegment.epochNanos(to);
+        if (fromNanos >= toNanos) {
+            return Stream.empty();
+        }
+        Collection<OrderSegment> overlapping = segments.subMap(bucketOf(fromNanos), true, bucketOf(toNanos), true).values();
+        return overlapping.stream().flatMap(segment -> segment.range(fromNanos, toNanos));
+    }
+
+    public long count() {
+        return orderById.size();
+    }
+
+    long sealedSegmentCount() {
+        return segments.values().stream().filter(OrderSegment::sealed).count();
+    }
+
+    // Checked on every write but locks only when a bucket has newly expired, about once per segment length.
+    private void sealExpiredSegments() {
+        long cutoff = bucketOf(OrderSegment.epochNanos(clock.instant()) - sealDelayNanos);
+        if (cutoff <= sealedBefore) {
+            return;
+        }
+        sealLock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, OrderSegment> entry : segments.headMap(cutoff).entrySet()) {
+                if (entry.getValue() instanceof OpenOrderSegment open) {
+                    segments.put(entry.getKey(), open.seal());
+                }
+            }
+            sealedBefore = Math.max(sealedBefore, cutoff);
+        } finally {
+            sealLock.writeLock().unlock();
+        }
+    }
+
+    // An order stored after its bucket was sealed, such as a checkout that straddled the seal delay:
+    // the sealed copy is rebuilt with it. Buckets below sealedBefore never get an open segment.
+    private void addLate(long bucket, Order order) {
+        sealLock.writeLock().lock();
+        try {
+            OrderSegment sealed = segments.get(bucket);
+            segments.put(bucket, sealed == null ? SealedOrderSegment.of(List.of(order)) : ((SealedOrderSegment) sealed).with(order));
+            orderById.put(order.getId(), order);
+        } finally {
+            sealLock.writeLock().unlock();
+        }
+    }
+
+    private long bucketOf(long epochNanos) {
+        return Math.floorDiv(epochNanos, segmentNanos) * segmentNanos;
+    }
+}
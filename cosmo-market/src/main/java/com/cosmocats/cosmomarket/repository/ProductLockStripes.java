@@ -0,0 +1,61 @@
+package com.cosmocats.cosmomarket.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks picked by product id, for decorators that must keep a write and what they do
+ * about it (logging, publishing) in the same order for every product, without a lock per product.
+ */
+final class ProductLockStripes {
+
+    private static final int STRIPES = 64;
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    ProductLockStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    Lock forId(UUID id) {
+        return locks[index(id)];
+    }
+
+    /**
+     * Locks the stripes of every product in {@code orders} in stripe order, so concurrent batches cannot deadlock.
+     *
+     * @return the locked stripes, to be passed to {@link #unlockAll}
+     */
+    int[] lockAll(List<Map<UUID, Integer>> orders) {
+        return lockIds(orders.stream().map(Map::keySet).flatMap(Collection::stream).toList());
+    }
+
+    // The same for the products of a batch save.
+    int[] lockIds(Collection<UUID> ids) {
+        int[] indexes = ids.stream()
+                .mapToInt(ProductLockStripes::index)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int index : indexes) {
+            locks[index].lock();
+        }
+        return indexes;
+    }
+
+    void unlockAll(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            locks[indexes[i]].unlock();
+        }
+    }
+
+    private static int index(UUID id) {
+        return id.hashCode() & (STRIPES - 1);
+    }
+}
@@ -1,14 +1,93 @@
 package com.cosmocats.cosmomarket.repository;
 
 import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ProductRepositoryInterface {
+
+    /**
+     * Upserts the product and stamps it with the next version: one more than the stored product's,
+     * or {@link Product#FIRST_VERSION} for a new one. The version on the argument is ignored.
+     */
     Product saveProduct(Product product);
+
+    List<Product> saveAll(Collection<Product> products);
+
+    /**
+     * Like {@link #saveProduct} but only if the stored product is still at {@code expectedVersion};
+     * the check and the write are one atomic step.
+     *
+     * @throws java.util.NoSuchElementException if there is no product with that id
+     * @throws VersionConflictException if the stored product is at another version
+     */
+    Product saveProductIfVersion(Product product, long expectedVersion);
+
+    /**
+     * Stores the product exactly as given, version included. Used to rebuild a store from a snapshot or log.
+     */
+    void restore(Product product);
+
+    /**
+     * Takes {@code quantity} units off the available quantity and bumps the version in one atomic step,
+     * so concurrent reservations can never take more than there is.
+     *
+     * @throws java.util.NoSuchElementException if there is no product with that id
+     * @throws InsufficientStockException if fewer units are available; nothing is taken
+     */
+    Product reserve(UUID id, int quantity);
+
+    /**
+     * Puts {@code quantity} units back, atomically like {@link #reserve}.
+     *
+     * @throws java.util.NoSuchElementException if there is no product with that id
+     */
+    Product release(UUID id, int quantity);
+
+    /**
+     * Reserves stock for several orders, each given as quantities by product id. Every order is all-or-nothing
+     * on its own: either all of its lines are reserved, or none stays reserved and its result holds the
+     * failure ({@link java.util.NoSuchElementException}, {@link InsufficientStockException} or
+     * {@link IllegalArgumentException}). Orders are served in list order, so an earlier order wins contested stock.
+     */
+    List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders);
+
     Optional<Product> findById(UUID id);
     List<Product> getAllProducts();
+
+    /**
+     * Lazily walks every product without copying the catalog first. The walk is weakly consistent:
+     * products changed while it runs may or may not be seen.
+     */
+    Stream<Product> streamAll();
+
+    ProductPage findPage(ProductCursor cursor, int limit, ProductSort sort);
+    List<Product> findByFilter(ProductFilter filter);
+    List<ProductSearchHit> search(String query, int limit);
     boolean existsById(UUID id);
+
+    /**
+     * Number of stored products, read without locking the whole store; cheap enough for a metrics gauge.
+     */
+    long count();
+
+    /**
+     * Counter that grows on every write, read without locking. Two equal readings mean the catalog did not
+     * change in between, which lets callers answer conditional reads without touching any product.
+     */
+    long modificationCount();
+
     void deleteById(UUID id);
+    void deleteAll(Collection<UUID> ids);
 }
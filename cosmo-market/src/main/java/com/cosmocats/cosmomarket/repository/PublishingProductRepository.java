@@ -0,0 +1,111 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Publishes every product write to a {@link ProductChangeLog}. A write and its publication happen under the
+ * product's stripe lock, so the log holds each product's changes in the order they were applied and a
+ * consumer replaying it ends up with the store's state. A write that throws publishes nothing.
+ */
+public class PublishingProductRepository extends DelegatingProductRepository {
+
+    private final ProductChangeLog changes;
+    private final ProductLockStripes stripes = new ProductLockStripes();
+
+    public PublishingProductRepository(ProductRepositoryInterface delegate, ProductChangeLog changes) {
+        super(delegate);
+        this.changes = changes;
+    }
+
+    @Override
+    public Product saveProduct(Product product) {
+        Product withId = product.getId() == null ? product.toBuilder().id(UUID.randomUUID()).build() : product;
+        return applyAndPublish(withId.getId(), () -> delegate.saveProduct(withId));
+    }
+
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        return products.stream().map(this::saveProduct).toList();
+    }
+
+    @Override
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        return applyAndPublish(product.getId(), () -> delegate.saveProductIfVersion(product, expectedVersion));
+    }
+
+    @Override
+    public void restore(Product product) {
+        applyAndPublish(product.getId(), () -> {
+            delegate.restore(product);
+            return product;
+        });
+    }
+
+    @Override
+    public Product reserve(UUID id, int quantity) {
+        return applyAndPublish(id, () -> delegate.reserve(id, quantity));
+    }
+
+    @Override
+    public Product release(UUID id, int quantity) {
+        return applyAndPublish(id, () -> delegate.release(id, quantity));
+    }
+
+    // A failed order may still have moved versions while the delegate put its lines back, so its current state is published.
+    @Override
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        int[] locked = stripes.lockAll(orders);
+        try {
+            List<StockReservation> results = delegate.reserveBatch(orders);
+            for (int i = 0; i < results.size(); i++) {
+                List<Product> touched = results.get(i).succeeded()
+                        ? results.get(i).products()
+                        : orders.get(i).keySet().stream().map(delegate::findById).flatMap(Optional::stream).toList();
+                touched.forEach(product -> changes.publish(ProductChangeType.SAVED, product.getId(), product));
+            }
+            return results;
+        } finally {
+            stripes.unlockAll(locked);
+        }
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        Lock stripe = stripes.forId(id);
+        stripe.lock();
+        try {
+            if (delegate.existsById(id)) {
+                delegate.deleteById(id);
+                changes.publish(ProductChangeType.DELETED, id, null);
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    private Product applyAndPublish(UUID id, Supplier<Product> write) {
+        Lock stripe = stripes.forId(id);
+        stripe.lock();
+        try {
+            Product stored = write.get();
+            changes.publish(ProductChangeType.SAVED, stored.getId(), stored);
+            return stored;
+        } finally {
+            stripe.unlock();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Demo catalog loaded into an empty store on startup.
+ */
+public final class SampleProducts {
+
+    private SampleProducts() {
+    }
+
+    public static List<Product> create() {
+        return List.of(
+                Product.builder()
+                        .name("Cosmo Coffee Example")
+                        .description("Space beans")
+                        .category(Category.FOOD)
+                        .availableQuantity(42)
+                        .price(new BigDecimal("9.99"))
+                        .build(),
+                Product.builder()
+                        .name("Galaxy Coat Example")
+                        .description("Beautiful comfy coat")
+                        .category(Category.CLOTHES)
+                        .availableQuantity(10)
+                        .price(new BigDecimal("19.95"))
+                        .build());
+    }
+}
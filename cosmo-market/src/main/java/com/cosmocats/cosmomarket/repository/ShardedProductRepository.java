@@ -0,0 +1,347 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import com.cosmocats.cosmomarket.repository.shard.ConsistentHashRing;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Spreads the catalog over several stores, each owning the ids a {@link ConsistentHashRing} maps to it.
+ * A shard is any {@link ProductRepositoryInterface}: a local store, or a client for a store on another node.
+ * Calls for one id go to its owner; listings, filters and searches ask every shard at once and merge the
+ * answers. Search scores come from each shard's own term statistics, which hashing keeps close to the
+ * catalog's, so the merged ranking is near but not exactly the single-store one.
+ * {@link #addShard} moves the products the new shard now owns while writers and scatter reads wait;
+ * reads by id carry on, since a moved product stays in its old shard until the ring has switched over.
+ * Orders spanning shards are reserved line by line and put back on failure, as the single stores do.
+ * <p>
+ * A scatter read asks the first shard on the calling thread and the others on a fixed pool of
+ * {@code scatterThreads}; once the pool and its queue are full, callers ask the shards themselves.
+ * The caller waits for every answer, so reactive callers have to leave the event loop first.
+ */
+public class ShardedProductRepository implements ProductRepositoryInterface, AutoCloseable {
+
+    public static final int POINTS_PER_SHARD = 128;
+
+    private static final int QUEUED_PER_THREAD = 64;
+
+    private static final Comparator<ProductSearchHit> BY_SCORE = Comparator.comparingDouble(ProductSearchHit::score).reversed()
+            .thenComparing(hit -> hit.product().getId());
+
+    private final Map<String, ProductRepositoryInterface> shards = new ConcurrentHashMap<>();
+    private final ReadWriteLock rebalanceLock = new ReentrantReadWriteLock();
+    private final ExecutorService scatter;
+    private volatile ConsistentHashRing ring;
+
+    public ShardedProductRepository(Map<String, ? extends ProductRepositoryInterface> shards) {
+        this(shards, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedProductRepository(Map<String, ? extends ProductRepositoryInterface> shards, int scatterThreads) {
+        if (scatterThreads < 1) {
+            throw new IllegalArgumentException("scatterThreads must be positive");
+        }
+        this.ring = new ConsistentHashRing(shards.keySet(), POINTS_PER_SHARD);
+        this.shards.putAll(shards);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(scatterThreads, scatterThreads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(scatterThreads * QUEUED_PER_THREAD),
+                task -> {
+                    Thread thread = new Thread(task, "product-shard-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.scatter = pool;
+    }
+
+    /**
+     * Puts {@code shard} on the ring and moves into it, versions included, every product it now owns.
+     * If a copy fails, the ones already made are deleted from {@code shard} and the ring stays as it was.
+     * Nothing calls this while the application runs: the shard count is fixed at startup by
+     * {@code cosmo.repository.shards}, and recovery or seeding spreads the products over that ring.
+     *
+     * @return how many products moved
+     */
+    public long addShard(String name, ProductRepositoryInterface shard) {
+        Lock lock = rebalanceLock.writeLock();
+        lock.lock();
+        try {
+            ConsistentHashRing current = ring;
+            ConsistentHashRing next = current.with(name);
+            Map<String, List<UUID>> moved = new LinkedHashMap<>();
+            try {
+                for (String source : current.shards()) {
+                    List<UUID> leaving = new ArrayList<>();
+                    moved.put(source, leaving);
+                    try (Stream<Product> products = shards.get(source).streamAll()) {
+                        products.filter(product -> name.equals(next.owner(product.getId())))
+                                .forEach(product -> {
+                                    leaving.add(product.getId());
+                                    shard.restore(product);
+                                });
+                    }
+                }
+            } catch (RuntimeException | Error failure) {
+                // The ring still routes to the old owners, so only the copies have to go.
+                try {
+                    shard.deleteAll(moved.values().stream().flatMap(List::stream).toList());
+                } catch (RuntimeException cleanup) {
+                    failure.addSuppressed(cleanup);
+                }
+                throw failure;
+            }
+            shards.put(name, shard);
+            ring = next;
+            moved.forEach((source, ids) -> shards.get(source).deleteAll(ids));
+            return moved.values().stream().mapToLong(List::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Long> shardSizes() {
+        Lock lock = rebalanceLock.readLock();
+        lock.lock();
+        try {
+            Map<String, Long> sizes = new LinkedHashMap<>();
+            ring.shards().forEach(name -> sizes.put(name, shards.get(name).count()));
+            return sizes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Product saveProduct(Product product) {
+        Product withId = withId(product);
+        return write(withId.getId(), shard -> shard.saveProduct(withId));
+    }
+
+    // Each shard saves its part of the batch in one call; results come back in argument order.
+    @Override
+    public List<Product> saveAll(Collection<Product> products) {
+        Lock lock = rebalanceLock.readLock();
+        lock.lock();
+        try {
+            List<Product> withIds = products.stream().map(ShardedProductRepository::withId).toList();
+            Map<String, List<Integer>> positions = new LinkedHashMap<>();
+            for (int i = 0; i < withIds.size(); i++) {
+                positions.computeIfAbsent(ring.owner(withIds.get(i).getId()), name -> new ArrayList<>()).add(i);
+            }
+            Product[] saved = new Product[withIds.size()];
+            positions.forEach((name, indexes) -> {
+                List<Product> stored = shards.get(name).saveAll(indexes.stream().map(withIds::get).toList());
+                for (int i = 0; i < indexes.size(); i++) {
+                    saved[indexes.get(i)] = stored.get(i);
+                }
+            });
+            return List.of(saved);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Product saveProductIfVersion(Product product, long expectedVersion) {
+        return write(product.getId(), shard -> shard.saveProductIfVersion(product, expectedVersion));
+    }
+
+    @Override
+    public void restore(Product product) {
+        write(product.getId(), shard -> {
+            shard.restore(product);
+            return null;
+        });
+    }
+
+    @Override
+    public Product reserve(UUID id, int quantity) {
+        return write(id, shard -> shard.reserve(id, quantity));
+    }
+
+    @Override
+    public Product release(UUID id, int quantity) {
+        return write(id, shard -> shard.release(id, quantity));
+    }
+
+    @Override
+    public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+        List<StockReservation> results = new ArrayList<>(orders.size());
+        for (Map<UUID, Integer> order : orders) {
+            results.add(StockLevels.reserveAll(this, order));
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return shardFor(id).findById(id);
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return gather(ProductRepositoryInterface::getAllProducts).stream().flatMap(List::stream).toList();
+    }
+
+    // Lazy like the shards' own walks; a product moved by a rebalance during the walk may be missed.
+    @Override
+    public Stream<Product> streamAll() {
+        ConsistentHashRing current = ring;
+        return current.shards().stream()
+                .flatMap(name -> shards.get(name).streamAll().filter(product -> name.equals(current.owner(product.getId()))));
+    }
+
+    // Each shard returns its first page after the cursor, so the first page overall is among them.
+    @Override
+    public ProductPage findPage(ProductCursor cursor, int limit, ProductSort sort) {
+        List<ProductPage> pages = gather(shard -> shard.findPage(cursor, limit, sort));
+        List<Product> merged = pages.stream()
+                .flatMap(page -> page.products().stream())
+                .sorted(sort.comparator())
+                .toList();
+        boolean more = merged.size() > limit || pages.stream().anyMatch(page -> page.nextCursor() != null);
+        List<Product> page = merged.size() > limit ? merged.subList(0, limit) : merged;
+        return new ProductPage(page, more && !page.isEmpty() ? ProductCursor.after(page.get(page.size() - 1), sort) : null);
+    }
+
+    @Override
+    public List<Product> findByFilter(ProductFilter filter) {
+        return gather(shard -> shard.findByFilter(filter)).stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String query, int limit) {
+        return gather(shard -> shard.search(query, limit)).stream()
+                .flatMap(List::stream)
+                .sorted(BY_SCORE)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return shardFor(id).existsById(id);
+    }
+
+    // Under the read lock, so a rebalance never shows its moved products twice or not at all.
+    @Override
+    public long count() {
+        Lock lock = rebalanceLock.readLock();
+        lock.lock();
+        try {
+            return ring.shards().stream().mapToLong(name -> shards.get(name).count()).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every shard's counter only grows and shards are never removed, so neither does the sum.
+    @Override
+    public long modificationCount() {
+        return shards.values().stream().mapToLong(ProductRepositoryInterface::modificationCount).sum();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        write(id, shard -> {
+            shard.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<UUID> ids) {
+        Lock lock = rebalanceLock.readLock();
+        lock.lock();
+        try {
+            Map<String, List<UUID>> byShard = new LinkedHashMap<>();
+            ids.forEach(id -> byShard.computeIfAbsent(ring.owner(id), name -> new ArrayList<>()).add(id));
+            byShard.forEach((name, shardIds) -> shards.get(name).deleteAll(shardIds));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        scatter.shutdownNow();
+    }
+
+    private ProductRepositoryInterface shardFor(UUID id) {
+        return shards.get(ring.owner(id));
+    }
+
+    private <T> T write(UUID id, Function<ProductRepositoryInterface, T> operation) {
+        Lock lock = rebalanceLock.readLock();
+        lock.lock();
+        try {
+            return operation.apply(shardFor(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Runs the query on every shard in parallel, the first one on the calling thread, and returns the answers in ring order.
+    private <T> List<T> gather(Function<ProductRepositoryInterface, T> query) {
+        Lock lock = rebalanceLock.readLock();
+        lock.lock();
+        try {
+            List<ProductRepositoryInterface> targets = ring.shards().stream().map(shards::get).toList();
+            if (targets.size() == 1) {
+                return List.of(query.apply(targets.get(0)));
+            }
+            List<CompletableFuture<T>> answers = targets.subList(1, targets.size()).stream()
+                    .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), scatter))
+                    .toList();
+            List<T> results = new ArrayList<>(targets.size());
+            results.add(query.apply(targets.get(0)));
+            for (CompletableFuture<T> answer : answers) {
+                results.add(await(answer));
+            }
+            return results;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> answer) {
+        try {
+            return answer.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private static Product withId(Product product) {
+        return product.getId() == null ? product.toBuilder().id(UUID.randomUUID()).build() : product;
+    }
+}
@@ -0,0 +1,61 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Stock arithmetic shared by the stores; a missing quantity counts as zero.
+ */
+final class StockLevels {
+
+    private StockLevels() {
+    }
+
+    static int afterReserve(UUID id, Integer available, int quantity) {
+        checkPositive(quantity);
+        int current = available == null ? 0 : available;
+        if (current < quantity) {
+            throw new InsufficientStockException(id, quantity, current);
+        }
+        return current - quantity;
+    }
+
+    static int afterRelease(UUID id, Integer available, int quantity) {
+        checkPositive(quantity);
+        int current = available == null ? 0 : available;
+        if (current > Integer.MAX_VALUE - quantity) {
+            throw new IllegalArgumentException("Releasing %d units would overflow the stock of product %s".formatted(quantity, id));
+        }
+        return current + quantity;
+    }
+
+    /**
+     * Reserves the lines one by one through {@code repository} and puts back what was taken as soon as one
+     * fails, so the order as a whole is all-or-nothing even though other writers may see it half way.
+     */
+    static StockReservation reserveAll(ProductRepositoryInterface repository, Map<UUID, Integer> lines) {
+        List<Product> reserved = new ArrayList<>(lines.size());
+        for (Map.Entry<UUID, Integer> line : lines.entrySet()) {
+            try {
+                reserved.add(repository.reserve(line.getKey(), line.getValue()));
+            } catch (NoSuchElementException | InsufficientStockException | IllegalArgumentException failure) {
+                for (Product product : reserved) {
+                    repository.release(product.getId(), lines.get(product.getId()));
+                }
+                return StockReservation.failed(failure);
+            }
+        }
+        return StockReservation.reserved(reserved);
+    }
+
+    private static void checkPositive(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+    }
+}
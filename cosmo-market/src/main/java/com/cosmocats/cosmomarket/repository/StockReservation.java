@@ -0,0 +1,23 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.util.List;
+
+/**
+ * Outcome of reserving one order's lines: the reserved products as they are after the reservation,
+ * or the failure that left every line untouched.
+ */
+public record StockReservation(List<Product> products, RuntimeException failure) {
+
+    public static StockReservation reserved(List<Product> products) {
+        return new StockReservation(List.copyOf(products), null);
+    }
+
+    public static StockReservation failed(RuntimeException failure) {
+        return new StockReservation(List.of(), failure);
+    }
+
+    public boolean succeeded() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cosmocats.cosmomarket.repository.change;
+
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+
+/**
+ * A consumer's place in a {@link ProductChangeLog}, written {@code <epoch>:<sequence>}. Sequences start
+ * over with every process; the epoch tells them apart, so a position from before a restart is never
+ * mistaken for one of the current log.
+ */
+public record ChangePosition(String epoch, long sequence) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * @throws BadRequestException if {@code value} is not an epoch and a non-negative sequence
+     */
+    public static ChangePosition parse(String value) {
+        int separator = value.lastIndexOf(SEPARATOR);
+        if (separator > 0) {
+            try {
+                long sequence = Long.parseLong(value, separator + 1, value.length(), 10);
+                if (sequence >= 0) {
+                    return new ChangePosition(value.substring(0, separator), sequence);
+                }
+            } catch (NumberFormatException ignored) {
+                // Reported below with the rest of the malformed positions.
+            }
+        }
+        throw new BadRequestException("Invalid change position '%s', expected <epoch>:<sequence>".formatted(value));
+    }
+
+    @Override
+    public String toString() {
+        return epoch + SEPARATOR + sequence;
+    }
+}
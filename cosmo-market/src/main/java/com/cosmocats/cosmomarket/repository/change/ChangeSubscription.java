@@ -0,0 +1,50 @@
+package com.cosmocats.cosmomarket.repository.change;
+
+import com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One consumer's position in a {@link ProductChangeLog}, read by a single thread with {@link #poll}.
+ * It reads the ring from its cursor on every poll, so a slow consumer costs writers nothing and only
+ * fails once it falls further behind than the log keeps.
+ */
+public class ChangeSubscription implements AutoCloseable {
+
+    private final ProductChangeLog log;
+    private volatile boolean closed;
+    private long cursor;
+
+    ChangeSubscription(ProductChangeLog log, long cursor) {
+        this.log = log;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Up to {@code max} changes after the last one returned, oldest first. Waits up to {@code timeout}
+     * when there are none and returns an empty list if none arrived or the subscription was closed.
+     *
+     * @throws ChangeLogTruncatedException if the consumer fell further behind than the log keeps
+     */
+    public List<ProductChange> poll(int max, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<ProductChange> batch = log.readAfter(cursor, max);
+        while (batch.isEmpty()) {
+            if (closed || !log.awaitAfter(cursor, deadline - System.nanoTime())) {
+                return List.of();
+            }
+            batch = log.readAfter(cursor, max);
+        }
+        cursor = batch.get(batch.size() - 1).sequence();
+        return batch;
+    }
+
+    public long cursor() {
+        return cursor;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
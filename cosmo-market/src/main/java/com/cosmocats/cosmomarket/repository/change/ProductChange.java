@@ -0,0 +1,11 @@
+package com.cosmocats.cosmomarket.repository.change;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import java.util.UUID;
+
+/**
+ * One published write: the product as stored after a save, or only its id after a delete.
+ */
+public record ProductChange(long sequence, ProductChangeType type, UUID productId, Product product) {
+}
@@ -0,0 +1,194 @@
+package com.cosmocats.cosmomarket.repository.change;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process log of product writes, numbered from 1 in the order they were published.
+ * Numbering starts over with every process, so positions handed out to consumers also carry the log's
+ * {@link #epoch()}, taken from its start time; a position from another epoch is refused rather than
+ * read as one of this log's sequences. The last {@code retention} changes are kept in a ring, so a
+ * consumer can resume after the last position it saw; older changes are gone and the consumer has to reload.
+ * <p>
+ * Writers take no lock: a sequence comes from an atomic counter and the change goes into its ring slot,
+ * which carries the sequence so a reader can tell a slot not yet written from one already overwritten.
+ * Subscribers read the ring from their own cursor, so a write costs the same however many follow the log.
+ * A subscriber with nothing to read waits on a condition that a notifier thread signals after writes,
+ * woken by the writers only while someone waits; the signalling never runs on a writer's thread.
+ */
+public class ProductChangeLog implements AutoCloseable {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicReferenceArray<ProductChange> ring;
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Lock waitLock = new ReentrantLock();
+    private final Condition published = waitLock.newCondition();
+    private final Thread notifier;
+    private volatile boolean closed;
+
+    public ProductChangeLog(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Retention must be positive: " + retention);
+        }
+        this.ring = new AtomicReferenceArray<>(retention);
+        this.notifier = new Thread(this::notifyWaiters, "product-change-notifier");
+        notifier.setDaemon(true);
+        notifier.start();
+    }
+
+    /**
+     * Appends a change; a subscriber reads it on its next poll.
+     *
+     * @return its sequence
+     */
+    public long publish(ProductChangeType type, UUID productId, Product product) {
+        ProductChange change = new ProductChange(lastSequence.incrementAndGet(), type, productId, product);
+        int slot = slot(change.sequence());
+        ProductChange current = ring.get(slot);
+        // A writer that lapped this one may already hold the slot; its newer change stays.
+        while ((current == null || current.sequence() < change.sequence()) && !ring.compareAndSet(slot, current, change)) {
+            current = ring.get(slot);
+        }
+        if (waiting.get() > 0) {
+            LockSupport.unpark(notifier);
+        }
+        return change.sequence();
+    }
+
+    /**
+     * The highest sequence handed out; a concurrent write may still be filling in its change.
+     */
+    public long lastSequence() {
+        return lastSequence.get();
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public ChangePosition position(long sequence) {
+        return new ChangePosition(epoch, sequence);
+    }
+
+    /**
+     * Subscribes to the changes after {@code since}, or after the latest one when it is {@code null}.
+     *
+     * @throws ChangeLogTruncatedException if {@code since} is from another epoch or its changes are no longer kept
+     */
+    public ChangeSubscription resume(ChangePosition since) {
+        if (since != null && !epoch.equals(since.epoch())) {
+            long latest = lastSequence();
+            throw ChangeLogTruncatedException.fromAnotherEpoch(since.toString(), since.sequence(), latest, position(latest).toString());
+        }
+        return subscribe(since == null ? null : since.sequence());
+    }
+
+    /**
+     * Subscribes to the changes after sequence {@code since} of this epoch, or after the latest one when it is {@code null}.
+     *
+     * @throws ChangeLogTruncatedException if the changes right after {@code since} are no longer kept
+     */
+    public ChangeSubscription subscribe(Long since) {
+        long start = since == null ? lastSequence() : since;
+        checkAvailable(start, lastSequence());
+        return new ChangeSubscription(this, start);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(notifier);
+    }
+
+    // Stops at the first change not yet written, so the changes come out gap-free and in sequence order.
+    List<ProductChange> readAfter(long after, int max) {
+        long latest = lastSequence();
+        checkAvailable(after, latest);
+        int count = (int) Math.min(max, latest - after);
+        List<ProductChange> changes = new ArrayList<>(count);
+        for (long sequence = after + 1; sequence <= after + count; sequence++) {
+            ProductChange change = ring.get(slot(sequence));
+            if (change == null || change.sequence() < sequence) {
+                break;
+            }
+            if (change.sequence() > sequence) {
+                // Lapped by writers while this reader was behind.
+                throw truncated(after, lastSequence());
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    /**
+     * Waits until the change after {@code after} is written, or {@code nanos} pass.
+     *
+     * @return whether it was written
+     */
+    boolean awaitAfter(long after, long nanos) throws InterruptedException {
+        // Counted before the ring is checked, so a writer either sees the waiter or the waiter sees its change.
+        waiting.incrementAndGet();
+        waitLock.lock();
+        try {
+            while (!isWritten(after + 1)) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = published.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            waitLock.unlock();
+            waiting.decrementAndGet();
+        }
+    }
+
+    // One wake-up may cover many writes; waiters re-check the ring themselves.
+    private void notifyWaiters() {
+        while (!closed) {
+            LockSupport.park(this);
+            waitLock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private boolean isWritten(long sequence) {
+        ProductChange change = ring.get(slot(sequence));
+        return change != null && change.sequence() >= sequence;
+    }
+
+    // The sequence is of this epoch; resume has already refused those of any other.
+    private void checkAvailable(long after, long latest) {
+        if (after < oldest(latest) - 1 || after > latest) {
+            throw truncated(after, latest);
+        }
+    }
+
+    private ChangeLogTruncatedException truncated(long after, long latest) {
+        return new ChangeLogTruncatedException(after, oldest(latest), latest, position(latest).toString());
+    }
+
+    private long oldest(long latest) {
+        return Math.max(1, latest - ring.length() + 1);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length());
+    }
+}
@@ -0,0 +1,65 @@
+package com.cosmocats.cosmomarket.repository.columnar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reference-counted dictionary encoding of strings into dense int codes.
+ * Equal strings share one code and one instance; codes are recycled once unused.
+ * Not thread-safe: callers guard it with their own lock.
+ */
+public class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[64];
+    private int[] referenceCounts = new int[64];
+    private int[] freeCodes = new int[16];
+    private int freeCount;
+    private int nextCode;
+
+    public int acquire(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            referenceCounts[existing]++;
+            return existing;
+        }
+
+        int code = freeCount > 0 ? freeCodes[--freeCount] : nextCode++;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+            referenceCounts = Arrays.copyOf(referenceCounts, code * 2);
+        }
+        values[code] = value;
+        referenceCounts[code] = 1;
+        codes.put(value, code);
+        return code;
+    }
+
+    public void release(int code) {
+        if (code == NULL_CODE || --referenceCounts[code] > 0) {
+            return;
+        }
+
+        codes.remove(values[code]);
+        values[code] = null;
+        if (freeCount == freeCodes.length) {
+            freeCodes = Arrays.copyOf(freeCodes, freeCount * 2);
+        }
+        freeCodes[freeCount++] = code;
+    }
+
+    public String value(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    public int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.cosmocats.cosmomarket.repository.index;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Products bucketed by category. The enum map is filled once in the constructor and only
+ * its concurrent buckets change afterwards, so it is safe to read without locking.
+ */
+public class CategoryIndex implements ProductIndex {
+
+    private final Map<Category, Map<UUID, Product>> buckets = new EnumMap<>(Category.class);
+
+    public CategoryIndex() {
+        for (Category category : Category.values()) {
+            buckets.put(category, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void update(Product previous, Product current) {
+        if (previous != null && previous.getCategory() != null) {
+            buckets.get(previous.getCategory()).remove(previous.getId());
+        }
+        if (current != null && current.getCategory() != null) {
+            buckets.get(current.getCategory()).put(current.getId(), current);
+        }
+    }
+
+    public Collection<Product> products(Category category) {
+        return buckets.get(category).values();
+    }
+
+    public int size(Category category) {
+        return buckets.get(category).size();
+    }
+}
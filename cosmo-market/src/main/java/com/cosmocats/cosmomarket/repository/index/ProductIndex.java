@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.repository.index;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+
+/**
+ * Secondary structure kept in sync with the primary product storage.
+ * The repository calls {@link #update} from inside the per-id compute of its storage map,
+ * so updates for the same product never interleave. Either argument may be {@code null}
+ * for an insert ({@code previous}) or a delete ({@code current}).
+ */
+public interface ProductIndex {
+    void update(Product previous, Product current);
+}
@@ -0,0 +1,80 @@
+package com.cosmocats.cosmomarket.repository.index;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Products ordered by a {@link ProductSort}, keyed by their sort key and id. Pages are read with keyset
+ * pagination from the last returned key, so concurrent writes never shift or duplicate items of unchanged products.
+ * <p>
+ * A write that keeps the sort key, such as a reserve, replaces the product in its entry, so a reader never
+ * misses it. A write that moves the product adds its new entry before removing the old one: a reader walking
+ * the index meanwhile may briefly see the product twice, once at each position, but never loses it.
+ */
+public class SortedProductIndex implements ProductIndex {
+
+    private final ProductSort sort;
+    private final NavigableMap<Product, Product> entries;
+
+    public SortedProductIndex(ProductSort sort) {
+        this.sort = sort;
+        this.entries = new ConcurrentSkipListMap<>(sort.comparator());
+    }
+
+    @Override
+    public void update(Product previous, Product current) {
+        if (current != null) {
+            entries.put(keyOf(current), current);
+        }
+        if (previous != null && (current == null || sort.comparator().compare(previous, current) != 0)) {
+            entries.remove(keyOf(previous));
+        }
+    }
+
+    public Collection<Product> range(Product fromInclusive, Product toInclusive) {
+        if (fromInclusive == null && toInclusive == null) {
+            return entries.values();
+        }
+        if (fromInclusive == null) {
+            return entries.headMap(toInclusive, true).values();
+        }
+        if (toInclusive == null) {
+            return entries.tailMap(fromInclusive, true).values();
+        }
+        if (sort.comparator().compare(fromInclusive, toInclusive) > 0) {
+            return List.of();
+        }
+        return entries.subMap(fromInclusive, true, toInclusive, true).values();
+    }
+
+    public ProductPage page(ProductCursor cursor, int limit) {
+        if (cursor != null) {
+            cursor.checkSort(sort);
+        }
+
+        NavigableMap<Product, Product> view = cursor == null ? entries : entries.tailMap(cursor.probe(), false);
+        Iterator<Product> iterator = view.values().iterator();
+        List<Product> products = new ArrayList<>(Math.min(limit, 64));
+        while (products.size() < limit && iterator.hasNext()) {
+            products.add(iterator.next());
+        }
+
+        ProductCursor nextCursor = iterator.hasNext() && !products.isEmpty()
+                ? ProductCursor.after(products.get(products.size() - 1), sort)
+                : null;
+        return new ProductPage(products, nextCursor);
+    }
+
+    // Holds only the id and the sort key, so an entry keeps no stale copy of the product it orders.
+    private Product keyOf(Product product) {
+        return sort.probe(product.getId(), sort.keyOf(product));
+    }
+}
@@ -0,0 +1,34 @@
+package com.cosmocats.cosmomarket.repository.index;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Membership set of products with {@code availableQuantity > 0}.
+ */
+public class StockIndex implements ProductIndex {
+
+    private final Map<UUID, Product> inStock = new ConcurrentHashMap<>();
+
+    @Override
+    public void update(Product previous, Product current) {
+        if (previous != null && (current == null || !ProductFilter.isInStock(current))) {
+            inStock.remove(previous.getId());
+        }
+        if (current != null && ProductFilter.isInStock(current)) {
+            inStock.put(current.getId(), current);
+        }
+    }
+
+    public Collection<Product> products() {
+        return inStock.values();
+    }
+
+    public int size() {
+        return inStock.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.cosmocats.cosmomarket.repository.order;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * The segment orders are still being written to. A skip list keeps it sorted while writers and
+ * range readers work on it at the same time.
+ */
+public class OpenOrderSegment implements OrderSegment {
+
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    record Key(long createdAtNanos, UUID id) {
+        static final Comparator<Key> ORDER = Comparator.comparingLong(Key::createdAtNanos).thenComparing(Key::id);
+    }
+
+    private final ConcurrentSkipListMap<Key, Order> orders = new ConcurrentSkipListMap<>(Key.ORDER);
+
+    public void add(Order order) {
+        orders.put(new Key(OrderSegment.epochNanos(order.getCreatedAt()), order.getId()), order);
+    }
+
+    public Stream<Order> range(long fromNanos, long toNanos) {
+        if (fromNanos >= toNanos) {
+            return Stream.empty();
+        }
+        ConcurrentNavigableMap<Key, Order> window = orders.subMap(new Key(fromNanos, LOWEST_ID), true, new Key(toNanos, LOWEST_ID), false);
+        return window.values().stream();
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    public boolean sealed() {
+        return false;
+    }
+
+    /**
+     * Copies the segment into its compact, immutable form. Callers must stop writers first.
+     */
+    public SealedOrderSegment seal() {
+        return SealedOrderSegment.of(orders.values());
+    }
+}
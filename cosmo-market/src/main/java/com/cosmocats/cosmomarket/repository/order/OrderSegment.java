@@ -0,0 +1,30 @@
+package com.cosmocats.cosmomarket.repository.order;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Orders created within one time bucket, ordered by {@code createdAt} and then id.
+ */
+public interface OrderSegment {
+
+    /**
+     * Orders with {@code from <= createdAt < to}, oldest first.
+     */
+    Stream<Order> range(long fromNanos, long toNanos);
+
+    int size();
+
+    boolean sealed();
+
+    // Epoch nanoseconds fit a long until 2262, which keeps both segment kinds on primitive keys.
+    static long epochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    static long epochNanos(OffsetDateTime time) {
+        return epochNanos(time.toInstant());
+    }
+}
@@ -0,0 +1,72 @@
+package com.cosmocats.cosmomarket.repository.order;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A segment whose time bucket is over: two parallel arrays sorted by creation time, so a range is
+ * two binary searches and a slice, with no per-entry nodes left behind from the skip list.
+ * It never changes; a late order produces a new segment with the order merged in.
+ */
+public final class SealedOrderSegment implements OrderSegment {
+
+    private static final Comparator<Order> BY_CREATION = Comparator
+            .comparingLong((Order order) -> OrderSegment.epochNanos(order.getCreatedAt()))
+            .thenComparing(Order::getId);
+
+    private final long[] createdAtNanos;
+    private final Order[] orders;
+
+    private SealedOrderSegment(Order[] sortedOrders) {
+        this.orders = sortedOrders;
+        this.createdAtNanos = new long[sortedOrders.length];
+        for (int i = 0; i < sortedOrders.length; i++) {
+            createdAtNanos[i] = OrderSegment.epochNanos(sortedOrders[i].getCreatedAt());
+        }
+    }
+
+    public static SealedOrderSegment of(Collection<Order> orders) {
+        Order[] sorted = orders.toArray(Order[]::new);
+        Arrays.sort(sorted, BY_CREATION);
+        return new SealedOrderSegment(sorted);
+    }
+
+    public SealedOrderSegment with(Order late) {
+        Order[] merged = Arrays.copyOf(orders, orders.length + 1);
+        merged[orders.length] = late;
+        Arrays.sort(merged, BY_CREATION);
+        return new SealedOrderSegment(merged);
+    }
+
+    public Stream<Order> range(long fromNanos, long toNanos) {
+        int from = firstAtOrAfter(fromNanos);
+        int to = firstAtOrAfter(toNanos);
+        return from >= to ? Stream.empty() : IntStream.range(from, to).mapToObj(i -> orders[i]);
+    }
+
+    public int size() {
+        return orders.length;
+    }
+
+    public boolean sealed() {
+        return true;
+    }
+
+    private int firstAtOrAfter(long nanos) {
+        int low = 0;
+        int high = createdAtNanos.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (createdAtNanos[middle] < nanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,11 @@
+package com.cosmocats.cosmomarket.repository.persistence;
+
+/**
+ * When a logged mutation is forced to disk before the write returns.
+ */
+public enum DurabilityMode {
+    /** Every append is followed by its own fsync. */
+    PER_WRITE,
+    /** Writers waiting at the same time share one fsync of everything appended so far. */
+    GROUP_COMMIT
+}
@@ -0,0 +1,142 @@
+package com.cosmocats.cosmomarket.repository.persistence;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * One product mutation as stored in the write-ahead log and in snapshots.
+ * A save carries the full product, so replaying a record twice leaves the same state.
+ * On disk a record is framed as {@code [payload length][CRC32 of payload][payload]}.
+ */
+public record LogRecord(Type type, UUID id, Product product) {
+
+    public enum Type { SAVE, DELETE }
+
+    static final int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final Category[] CATEGORIES = Category.values();
+    private static final int ABSENT = -1;
+
+    public static LogRecord save(Product product) {
+        return new LogRecord(Type.SAVE, product.getId(), product);
+    }
+
+    public static LogRecord delete(UUID id) {
+        return new LogRecord(Type.DELETE, id, null);
+    }
+
+    public ByteBuffer encode() {
+        byte[] name = bytesOf(product == null ? null : product.getName());
+        byte[] description = bytesOf(product == null ? null : product.getDescription());
+        byte[] unscaledPrice = product == null || product.getPrice() == null
+                ? null
+                : product.getPrice().unscaledValue().toByteArray();
+
+        int payloadLength = Byte.BYTES + 2 * Long.BYTES;
+        if (type == Type.SAVE) {
+            payloadLength += sizeOf(name) + sizeOf(description) + Byte.BYTES + Byte.BYTES + Integer.BYTES
+                    + Integer.BYTES + sizeOf(unscaledPrice) + Long.BYTES;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payloadLength);
+        frame.position(FRAME_HEADER_BYTES);
+        frame.put((byte) type.ordinal());
+        frame.putLong(id.getMostSignificantBits());
+        frame.putLong(id.getLeastSignificantBits());
+        if (type == Type.SAVE) {
+            putBytes(frame, name);
+            putBytes(frame, description);
+            frame.put(product.getCategory() == null ? ABSENT : (byte) product.getCategory().ordinal());
+            frame.put((byte) (product.getAvailableQuantity() == null ? 0 : 1));
+            frame.putInt(product.getAvailableQuantity() == null ? 0 : product.getAvailableQuantity());
+            frame.putInt(product.getPrice() == null ? 0 : product.getPrice().scale());
+            putBytes(frame, unscaledPrice);
+            frame.putLong(product.getVersion() == null ? Product.FIRST_VERSION : product.getVersion());
+        }
+        frame.putInt(0, payloadLength);
+        frame.putInt(Integer.BYTES, (int) checksum(frame, FRAME_HEADER_BYTES, payloadLength));
+        return frame.rewind();
+    }
+
+    /**
+     * Reads the record at the buffer position and moves past it.
+     * Returns {@code null}, leaving the position unchanged, when the bytes there are not a complete
+     * frame with a matching checksum, which is how a torn tail write looks after a crash.
+     */
+    public static LogRecord read(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < FRAME_HEADER_BYTES) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(start);
+        int expectedChecksum = buffer.getInt(start + Integer.BYTES);
+        if (payloadLength <= 0 || payloadLength > buffer.remaining() - FRAME_HEADER_BYTES
+                || (int) checksum(buffer, start + FRAME_HEADER_BYTES, payloadLength) != expectedChecksum) {
+            return null;
+        }
+        buffer.position(start + FRAME_HEADER_BYTES);
+        Type type = Type.values()[buffer.get()];
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        if (type == Type.DELETE) {
+            return delete(id);
+        }
+        String name = getString(buffer);
+        String description = getString(buffer);
+        byte category = buffer.get();
+        boolean hasQuantity = buffer.get() == 1;
+        int quantity = buffer.getInt();
+        int scale = buffer.getInt();
+        byte[] unscaledPrice = getBytes(buffer);
+        long version = buffer.getLong();
+        return save(Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .category(category == ABSENT ? null : CATEGORIES[category])
+                .availableQuantity(hasQuantity ? quantity : null)
+                .price(unscaledPrice == null ? null : new BigDecimal(new BigInteger(unscaledPrice), scale))
+                .version(version)
+                .build());
+    }
+
+    private static long checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return crc.getValue();
+    }
+
+    private static byte[] bytesOf(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes == null ? ABSENT : bytes.length);
+        if (bytes != null) {
+            buffer.put(bytes);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == ABSENT) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = getBytes(buffer);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+package com.cosmocats.cosmomarket.repository.persistence;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compacted snapshots of the whole catalog, one file per log generation.
+ * A snapshot of generation {@code N} holds the products as of the start of log segment {@code N};
+ * it is written to a temporary file and atomically renamed, so a visible snapshot is always complete.
+ * Loading maps the file read-only and decodes records straight from the mapping.
+ */
+public class SnapshotStore {
+
+    private static final String SNAPSHOT_PREFIX = "products-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int MAGIC = 0x434D5350;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int COUNT_OFFSET = Integer.BYTES + Long.BYTES;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final long MAX_MAPPING_BYTES = 1L << 30;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public OptionalLong latestGeneration() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .mapToLong(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .max();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to list " + directory, exception);
+        }
+    }
+
+    /**
+     * Writes {@code products} as the snapshot of {@code generation} and removes older snapshots.
+     *
+     * @return the number of products written
+     */
+    public long write(long generation, Iterator<Product> products) {
+        Path target = snapshotPath(generation);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putLong(generation).putLong(0);
+            long count = 0;
+            while (products.hasNext()) {
+                ByteBuffer frame = LogRecord.save(products.next()).encode();
+                if (buffer.remaining() < frame.remaining()) {
+                    flush(channel, buffer);
+                }
+                if (buffer.remaining() < frame.remaining()) {
+                    writeFully(channel, frame);
+                } else {
+                    buffer.put(frame);
+                }
+                count++;
+            }
+            flush(channel, buffer);
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, count), COUNT_OFFSET);
+            channel.force(true);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteOtherSnapshots(generation);
+            return count;
+        } catch (IOException exception) {
+            WriteAheadLog.deleteQuietly(temporary);
+            throw new UncheckedIOException("Failed to write snapshot " + target, exception);
+        }
+    }
+
+    /**
+     * Feeds every product of the snapshot of {@code generation} to {@code consumer}.
+     *
+     * @return the number of products loaded
+     */
+    public long load(long generation, Consumer<Product> consumer) {
+        Path path = snapshotPath(generation);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC || header.getLong(Integer.BYTES) != generation) {
+                throw new IllegalStateException("Not a snapshot of generation " + generation + ": " + path);
+            }
+            long count = header.getLong(COUNT_OFFSET);
+            long mappedFrom = HEADER_BYTES;
+            MappedByteBuffer records = map(channel, mappedFrom, size);
+            for (long loaded = 0; loaded < count; loaded++) {
+                LogRecord record = LogRecord.read(records);
+                if (record == null && records.position() > 0) {
+                    // The record straddles the end of this mapping window; remap starting at it.
+                    mappedFrom += records.position();
+                    records = map(channel, mappedFrom, size);
+                    record = LogRecord.read(records);
+                }
+                if (record == null) {
+                    throw new IllegalStateException("Corrupt record " + loaded + " in " + path);
+                }
+                consumer.accept(record.product());
+            }
+            return count;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to load snapshot " + path, exception);
+        }
+    }
+
+    private void deleteOtherSnapshots(long generation) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                        && !path.equals(snapshotPath(generation));
+            }).forEach(WriteAheadLog::deleteQuietly);
+        }
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve("%s%016d%s".formatted(SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(size - from, MAX_MAPPING_BYTES));
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.cosmocats.cosmomarket.repository.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of product mutations split into numbered segment files.
+ * {@link #append} writes a framed record through a {@link FileChannel} and returns the log position
+ * after it; {@link #awaitDurable} returns once that position is on disk. In
+ * {@link DurabilityMode#GROUP_COMMIT} the first waiter forces everything appended so far while
+ * later writers keep appending, so one fsync covers every writer that queued behind it.
+ * {@link #roll} starts a new segment so a snapshot can replace the older ones.
+ * Both locks are {@link ReentrantLock}s rather than monitors: a virtual thread waiting on an fsync
+ * inside one then unmounts instead of pinning its carrier thread.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "products-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final DurabilityMode durability;
+    private final Lock flushLock = new ReentrantLock();
+    private final Lock appendLock = new ReentrantLock();
+
+    // Guarded by appendLock; positions count bytes across all segments written by this instance.
+    private FileChannel channel;
+    private long generation;
+    private long appendedPosition;
+    private long segmentRecords;
+
+    private volatile long durablePosition;
+
+    /**
+     * Opens segment {@code generation} for appending after the {@code segmentRecords} records it already holds.
+     */
+    public WriteAheadLog(Path directory, long generation, long segmentRecords, DurabilityMode durability) {
+        this.directory = directory;
+        this.durability = durability;
+        this.generation = generation;
+        this.segmentRecords = segmentRecords;
+        this.channel = openSegment(generation);
+    }
+
+    public long append(LogRecord record) {
+        ByteBuffer frame = record.encode();
+        appendLock.lock();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            appendedPosition += frame.limit();
+            segmentRecords++;
+            if (durability == DurabilityMode.PER_WRITE) {
+                channel.force(false);
+                durablePosition = appendedPosition;
+            }
+            return appendedPosition;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to append to segment " + generation, exception);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void awaitDurable(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if (durablePosition >= position) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            appendLock.lock();
+            try {
+                target = appendedPosition;
+                current = channel;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                current.force(false);
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Failed to sync segment " + generation, exception);
+            }
+            durablePosition = target;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Syncs and closes the current segment and starts the next one.
+     *
+     * @return the generation of the new segment
+     */
+    public long roll() {
+        flushLock.lock();
+        appendLock.lock();
+        try {
+            closeChannel();
+            generation++;
+            segmentRecords = 0;
+            channel = openSegment(generation);
+            return generation;
+        } finally {
+            appendLock.unlock();
+            flushLock.unlock();
+        }
+    }
+
+    public long generation() {
+        appendLock.lock();
+        try {
+            return generation;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long segmentRecords() {
+        appendLock.lock();
+        try {
+            return segmentRecords;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Removes segments fully covered by a snapshot of {@code generation}.
+     */
+    public void deleteSegmentsBefore(long generation) {
+        for (long older : segmentGenerations(directory)) {
+            if (older < generation) {
+                deleteQuietly(segmentPath(directory, older));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flushLock.lock();
+        appendLock.lock();
+        try {
+            closeChannel();
+        } finally {
+            appendLock.unlock();
+            flushLock.unlock();
+        }
+    }
+
+    public static List<Long> segmentGenerations(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to list " + directory, exception);
+        }
+    }
+
+    /**
+     * Feeds every intact record of a segment to {@code consumer}. Anything after the first torn
+     * or corrupt record is cut off so new appends start from a clean frame boundary.
+     *
+     * @return the number of records replayed
+     */
+    public static long replay(Path directory, long generation, Consumer<LogRecord> consumer) {
+        Path path = segmentPath(directory, generation);
+        try (FileChannel segment = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+            long records = 0;
+            LogRecord record;
+            while ((record = LogRecord.read(buffer)) != null) {
+                consumer.accept(record);
+                records++;
+            }
+            if (buffer.hasRemaining()) {
+                segment.truncate(buffer.position());
+                segment.force(true);
+            }
+            return records;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to replay " + path, exception);
+        }
+    }
+
+    static Path segmentPath(Path directory, long generation) {
+        return directory.resolve("%s%016d%s".formatted(SEGMENT_PREFIX, generation, SEGMENT_SUFFIX));
+    }
+
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // A leftover file is replayed or skipped on the next recovery, so it is safe to keep.
+        }
+    }
+
+    // Callers hold both locks.
+    private void closeChannel() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to close segment " + generation, exception);
+        }
+        durablePosition = appendedPosition;
+    }
+
+    private FileChannel openSegment(long generation) {
+        Path path = segmentPath(directory, generation);
+        try {
+            FileChannel segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            segment.position(segment.size());
+            return segment;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to open " + path, exception);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.cosmocats.cosmomarket.repository.query;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+public record ProductCursor(ProductSort sort, UUID id, String key) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductCursor after(Product product, ProductSort sort) {
+        return new ProductCursor(sort, product.getId(), sort.keyOf(product));
+    }
+
+    public void checkSort(ProductSort expected) {
+        if (sort != expected) {
+            throw new BadRequestException("Cursor was issued for sort %s, not %s".formatted(sort, expected));
+        }
+    }
+
+    public Product probe() {
+        return sort.probe(id, key);
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + (key == null ? "" : SEPARATOR + key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("missing cursor parts");
+            }
+            ProductCursor cursor = new ProductCursor(ProductSort.valueOf(parts[0]), UUID.fromString(parts[1]),
+                    parts.length == 3 ? parts[2] : null);
+            cursor.probe();
+            return cursor;
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
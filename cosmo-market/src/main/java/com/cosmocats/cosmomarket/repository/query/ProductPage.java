@@ -0,0 +1,34 @@
+package com.cosmocats.cosmomarket.repository.query;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public record ProductPage(
+    List<Product> products,
+    ProductCursor nextCursor
+) {
+
+    public static ProductPage slice(Collection<Product> products, ProductCursor cursor, int limit, ProductSort sort) {
+        Comparator<Product> comparator = sort.comparator();
+        Product after = null;
+        if (cursor != null) {
+            cursor.checkSort(sort);
+            after = cursor.probe();
+        }
+
+        Product lowerBound = after;
+        List<Product> remaining = products.stream()
+                .filter(product -> lowerBound == null || comparator.compare(product, lowerBound) > 0)
+                .sorted(comparator)
+                .toList();
+        if (remaining.size() <= limit) {
+            return new ProductPage(remaining, null);
+        }
+
+        List<Product> page = remaining.subList(0, limit);
+        return new ProductPage(page, ProductCursor.after(page.get(limit - 1), sort));
+    }
+}
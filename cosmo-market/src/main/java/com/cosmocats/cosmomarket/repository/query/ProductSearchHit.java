@@ -0,0 +1,8 @@
+package com.cosmocats.cosmomarket.repository.query;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+
+public record ProductSearchHit(
+    Product product,
+    double score
+) {}
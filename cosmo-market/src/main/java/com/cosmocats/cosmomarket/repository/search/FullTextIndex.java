@@ -0,0 +1,224 @@
+package com.cosmocats.cosmomarket.repository.search;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.index.ProductIndex;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index over product names and descriptions.
+ * Every query token matches its exact term and, from {@link TermMatcher#MIN_PREFIX_LENGTH} characters on,
+ * terms starting with it. A product must match all tokens; its score is the sum over tokens of
+ * the best {@code field weight * idf} among the matched terms, with prefix matches discounted.
+ * <p>
+ * Search walks the products of the rarest token one at a time and keeps only the top {@code limit}.
+ * Each token's posting list knows its highest weight, so a product is dropped as soon as even the
+ * best scores of its remaining tokens could not lift it past the current top hits; a query on a common
+ * term visits every product once but scores only those that can still rank.
+ * A posting list is dropped from the dictionary when it empties, and retired first so a concurrent
+ * writer of the same term starts a new one instead of writing into the dropped list.
+ */
+public class FullTextIndex implements ProductIndex {
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final Comparator<ProductSearchHit> BY_SCORE = Comparator.comparingDouble(ProductSearchHit::score);
+
+    private final ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Product> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public void update(Product previous, Product current) {
+        if (previous != null && current != null
+                && Objects.equals(previous.getName(), current.getName())
+                && Objects.equals(previous.getDescription(), current.getDescription())) {
+            documents.put(current.getId(), current);
+            return;
+        }
+
+        if (previous != null) {
+            for (String term : termWeights(previous).keySet()) {
+                Posting posting = postings.get(term);
+                if (posting != null && posting.remove(previous.getId())) {
+                    postings.remove(term, posting);
+                }
+            }
+            documents.remove(previous.getId());
+        }
+        if (current != null) {
+            termWeights(current).forEach((term, weight) -> {
+                Posting posting = postings.computeIfAbsent(term, key -> new Posting());
+                while (!posting.add(current.getId(), weight)) {
+                    postings.remove(term, posting);
+                    posting = postings.computeIfAbsent(term, key -> new Posting());
+                }
+            });
+            documents.put(current.getId(), current);
+        }
+    }
+
+    public List<ProductSearchHit> search(String query, int limit) {
+        List<List<WeightedPosting>> tokens = new ArrayList<>();
+        int documentCount = Math.max(documents.size(), 1);
+        for (String token : new LinkedHashSet<>(TextTokenizer.tokenize(query))) {
+            tokens.add(matchingPostings(token, documentCount));
+        }
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        tokens.sort(Comparator.comparingLong(FullTextIndex::candidateCount));
+
+        // remainingBounds[i] caps what tokens i.. can still add to a product's score.
+        double[] remainingBounds = new double[tokens.size() + 1];
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            remainingBounds[i] = remainingBounds[i + 1] + upperBound(tokens.get(i));
+        }
+
+        PriorityQueue<ProductSearchHit> top = new PriorityQueue<>(BY_SCORE);
+        List<WeightedPosting> rarest = tokens.get(0);
+        for (int p = 0; p < rarest.size(); p++) {
+            for (UUID id : rarest.get(p).posting().keySet()) {
+                if (seenInEarlierPosting(rarest, p, id)) {
+                    continue;
+                }
+                double threshold = top.size() < limit ? 0 : top.peek().score();
+                double score = score(tokens, remainingBounds, id, threshold);
+                Product product = score > 0 ? documents.get(id) : null;
+                if (product != null) {
+                    top.offer(new ProductSearchHit(product, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+        List<ProductSearchHit> hits = new ArrayList<>(top);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    // Returns 0 once the product misses a token or can no longer score above threshold.
+    private static double score(List<List<WeightedPosting>> tokens, double[] remainingBounds, UUID id, double threshold) {
+        double score = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (score + remainingBounds[i] <= threshold) {
+                return 0;
+            }
+            double best = bestScore(tokens.get(i), id);
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score > threshold ? score : 0;
+    }
+
+    private List<WeightedPosting> matchingPostings(String token, int documentCount) {
+        List<WeightedPosting> matches = new ArrayList<>();
+        addPosting(matches, postings.get(token), documentCount, 1.0);
+        if (token.length() >= TermMatcher.MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (Posting posting : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                if (expansions == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                if (addPosting(matches, posting, documentCount, TermMatcher.PREFIX_MATCH_FACTOR)) {
+                    expansions++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean addPosting(List<WeightedPosting> matches, Posting posting, int documentCount, double boost) {
+        if (posting == null || posting.weights.isEmpty()) {
+            return false;
+        }
+        double idf = Math.log(1.0 + (double) documentCount / posting.weights.size());
+        matches.add(new WeightedPosting(posting.weights, posting.maxWeight, boost * idf));
+        return true;
+    }
+
+    private static double upperBound(List<WeightedPosting> token) {
+        double bound = 0;
+        for (WeightedPosting weighted : token) {
+            bound = Math.max(bound, weighted.factor() * weighted.maxWeight());
+        }
+        return bound;
+    }
+
+    // A prefix query can match one product through several terms; it is scored on the first of them.
+    private static boolean seenInEarlierPosting(List<WeightedPosting> token, int index, UUID id) {
+        for (int i = 0; i < index; i++) {
+            if (token.get(i).posting().containsKey(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double bestScore(List<WeightedPosting> token, UUID id) {
+        double best = 0;
+        for (WeightedPosting weighted : token) {
+            Integer weight = weighted.posting().get(id);
+            if (weight != null) {
+                best = Math.max(best, weighted.factor() * weight);
+            }
+        }
+        return best;
+    }
+
+    private static long candidateCount(List<WeightedPosting> token) {
+        long count = 0;
+        for (WeightedPosting weighted : token) {
+            count += weighted.posting().size();
+        }
+        return count;
+    }
+
+    private static Map<String, Integer> termWeights(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : TextTokenizer.tokenize(product.getName())) {
+            weights.merge(term, TermMatcher.NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : TextTokenizer.tokenize(product.getDescription())) {
+            weights.merge(term, TermMatcher.DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return weights;
+    }
+
+    private record WeightedPosting(Map<UUID, Integer> posting, int maxWeight, double factor) {}
+
+    // The highest weight ever added is kept after its product leaves, which still bounds every weight left.
+    private static final class Posting {
+
+        private final Map<UUID, Integer> weights = new ConcurrentHashMap<>();
+        private volatile int maxWeight;
+        private boolean retired;
+
+        synchronized boolean add(UUID id, int weight) {
+            if (retired) {
+                return false;
+            }
+            weights.put(id, weight);
+            maxWeight = Math.max(maxWeight, weight);
+            return true;
+        }
+
+        // Returns true when the list emptied and was retired, so the caller drops it from the dictionary.
+        synchronized boolean remove(UUID id) {
+            weights.remove(id);
+            retired = weights.isEmpty();
+            return retired;
+        }
+    }
+}
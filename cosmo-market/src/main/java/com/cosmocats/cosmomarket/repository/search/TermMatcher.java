@@ -0,0 +1,44 @@
+package com.cosmocats.cosmomarket.repository.search;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Matches the tokens of one query against free text, using the same exact/prefix rules as {@link FullTextIndex}.
+ */
+public class TermMatcher {
+
+    public static final int NAME_WEIGHT = 3;
+    public static final int DESCRIPTION_WEIGHT = 1;
+    public static final int MIN_PREFIX_LENGTH = 2;
+    public static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private final List<String> queryTokens;
+
+    public TermMatcher(String query) {
+        this.queryTokens = List.copyOf(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+    }
+
+    public int tokenCount() {
+        return queryTokens.size();
+    }
+
+    /**
+     * Returns, per query token, 1 when the text contains it as a term, {@link #PREFIX_MATCH_FACTOR}
+     * when a term of the text only starts with it, and 0 otherwise.
+     */
+    public double[] match(String text) {
+        double[] factors = new double[queryTokens.size()];
+        for (String term : TextTokenizer.tokenize(text)) {
+            for (int i = 0; i < factors.length; i++) {
+                String token = queryTokens.get(i);
+                if (term.equals(token)) {
+                    factors[i] = 1.0;
+                } else if (factors[i] == 0 && token.length() >= MIN_PREFIX_LENGTH && term.startsWith(token)) {
+                    factors[i] = PREFIX_MATCH_FACTOR;
+                }
+            }
+        }
+        return factors;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cosmocats.cosmomarket.repository.search;
+
+import com.cosmocats.cosmomarket.util.TextNormalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = TextNormalizer.normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
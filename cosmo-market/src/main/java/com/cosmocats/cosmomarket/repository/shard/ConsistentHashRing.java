@@ -0,0 +1,67 @@
+package com.cosmocats.cosmomarket.repository.shard;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Maps product ids onto shards by consistent hashing. Each shard owns {@code pointsPerShard} points on a
+ * 64-bit ring and an id belongs to the first point at or after its hash, so the shards get near-even
+ * shares, and adding a shard only moves the ids that now fall in front of its points: about 1/N of them.
+ * Rings are immutable; {@link #with} builds the next one.
+ */
+public final class ConsistentHashRing {
+
+    private final int pointsPerShard;
+    private final Set<String> shards;
+    private final NavigableMap<Long, String> points;
+
+    public ConsistentHashRing(Collection<String> shards, int pointsPerShard) {
+        if (shards.isEmpty() || pointsPerShard <= 0) {
+            throw new IllegalArgumentException("A ring needs at least one shard and one point per shard");
+        }
+        this.pointsPerShard = pointsPerShard;
+        this.shards = Collections.unmodifiableSet(new LinkedHashSet<>(shards));
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String shard : this.shards) {
+            for (int point = 0; point < pointsPerShard; point++) {
+                String previous = ring.putIfAbsent(mix(((long) shard.hashCode() << 32) | point), shard);
+                if (previous != null && !previous.equals(shard)) {
+                    throw new IllegalArgumentException("Shards %s and %s hash to the same point".formatted(previous, shard));
+                }
+            }
+        }
+        this.points = Collections.unmodifiableNavigableMap(ring);
+    }
+
+    public ConsistentHashRing with(String shard) {
+        if (shards.contains(shard)) {
+            throw new IllegalArgumentException("Shard already on the ring: " + shard);
+        }
+        LinkedHashSet<String> next = new LinkedHashSet<>(shards);
+        next.add(shard);
+        return new ConsistentHashRing(next, pointsPerShard);
+    }
+
+    public String owner(UUID id) {
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits()));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public Set<String> shards() {
+        return shards;
+    }
+
+    // SplitMix64 finaliser: spreads nearby inputs, such as one shard's point numbers, over the whole ring.
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
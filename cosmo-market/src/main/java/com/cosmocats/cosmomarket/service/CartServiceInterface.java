@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.dto.cart.CartDto;
+import com.cosmocats.cosmomarket.dto.cart.CartItemRequestDto;
+import java.util.UUID;
+
+public interface CartServiceInterface {
+    CartDto createCart();
+    CartDto getCart(UUID id);
+    CartDto addItem(UUID cartId, CartItemRequestDto item);
+    CartDto removeItem(UUID cartId, UUID productId);
+    void deleteCart(UUID id);
+}
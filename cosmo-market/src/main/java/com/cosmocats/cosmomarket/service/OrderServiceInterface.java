@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.dto.order.OrderCreateDto;
+import com.cosmocats.cosmomarket.dto.order.OrderDto;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface OrderServiceInterface {
+    OrderDto placeOrder(OrderCreateDto request);
+    OrderDto getOrder(UUID id);
+    Stream<OrderDto> streamOrders(OffsetDateTime from, OffsetDateTime to);
+}
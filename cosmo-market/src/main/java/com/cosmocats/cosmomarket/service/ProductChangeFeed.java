@@ -0,0 +1,21 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.dto.product.ProductChangeDto;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * An open read of the product change feed, used by one thread at a time.
+ */
+public interface ProductChangeFeed extends AutoCloseable {
+
+    /**
+     * The next changes in sequence order, or an empty list if none arrived within {@code timeout}.
+     *
+     * @throws com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException if the reader fell too far behind
+     */
+    List<ProductChangeDto> next(Duration timeout) throws InterruptedException;
+
+    @Override
+    void close();
+}
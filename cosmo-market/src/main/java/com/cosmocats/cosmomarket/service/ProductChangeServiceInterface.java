@@ -0,0 +1,14 @@
+package com.cosmocats.cosmomarket.service;
+
+public interface ProductChangeServiceInterface {
+
+    /**
+     * Opens a read of the changes after {@code since}, a position of the form {@code <epoch>:<sequence>},
+     * or after the latest change when it is {@code null}.
+     *
+     * @throws com.cosmocats.cosmomarket.exception.BadRequestException if {@code since} is malformed
+     * @throws com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException if {@code since} is from before
+     *         a restart or its changes are no longer kept
+     */
+    ProductChangeFeed openFeed(String since);
+}
@@ -0,0 +1,9 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.dto.product.ProductImportReportDto;
+import com.cosmocats.cosmomarket.service.importer.ImportFormat;
+import java.io.InputStream;
+
+public interface ProductImportServiceInterface {
+    ProductImportReportDto importProducts(InputStream body, ImportFormat format);
+}
@@ -1,15 +1,41 @@
 package com.cosmocats.cosmomarket.service;
 
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
 import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
 import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
 import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ProductServiceInterface {
     ProductReturnDto createNewProduct(ProductCreateDto dto);
+    List<ProductBatchResultDto> createProducts(List<ProductCreateDto> dtos);
     List<ProductReturnDto> getAllProducts();
+    ProductPageDto getProductPage(ProductFilter filter, String cursor, int limit, ProductSort sort);
+    List<ProductReturnDto> searchProducts(String query, int limit);
+    Stream<ProductReturnDto> exportProducts();
     ProductReturnDto getProductById(UUID id);
-    ProductReturnDto updateProduct(UUID id, ProductUpdateDto dto);
+    /**
+     * Current version of the product, without mapping it; lets conditional reads be answered cheaply.
+     */
+    long getProductVersion(UUID id);
+    /**
+     * Catalog-wide counter that changes on every write; equal values mean no product changed in between.
+     */
+    long getCatalogVersion();
+    /**
+     * Applies the update without losing concurrent ones. With a non-null {@code expectedVersion} the
+     * update only succeeds if the product is still at that version, otherwise it throws
+     * {@link com.cosmocats.cosmomarket.exception.VersionConflictException}.
+     */
+    ProductReturnDto updateProduct(UUID id, ProductUpdateDto dto, Long expectedVersion);
+    List<ProductBatchResultDto> updateProducts(List<ProductBatchUpdateDto> items);
+    ProductReturnDto reserveStock(UUID id, int quantity);
+    ProductReturnDto releaseStock(UUID id, int quantity);
     void deleteProduct(UUID id);
 }
@@ -0,0 +1,37 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking view of {@link ProductServiceInterface} for the WebFlux product API.
+ * Nothing runs until the returned publisher is subscribed; failures arrive as error signals.
+ */
+public interface ReactiveProductServiceInterface {
+    Mono<ProductReturnDto> createNewProduct(ProductCreateDto dto);
+    Mono<List<ProductBatchResultDto>> createProducts(List<ProductCreateDto> dtos);
+    Mono<ProductPageDto> getProductPage(ProductFilter filter, String cursor, int limit, ProductSort sort);
+    Mono<List<ProductReturnDto>> searchProducts(String query, int limit);
+    /**
+     * Every product, produced only as fast as the subscriber requests it.
+     */
+    Flux<ProductReturnDto> exportProducts();
+    Mono<ProductReturnDto> getProductById(UUID id);
+    Mono<Long> getProductVersion(UUID id);
+    Mono<Long> getCatalogVersion();
+    Mono<ProductReturnDto> updateProduct(UUID id, ProductUpdateDto dto, Long expectedVersion);
+    Mono<List<ProductBatchResultDto>> updateProducts(List<ProductBatchUpdateDto> items);
+    Mono<ProductReturnDto> reserveStock(UUID id, int quantity);
+    Mono<ProductReturnDto> releaseStock(UUID id, int quantity);
+    Mono<Void> deleteProduct(UUID id);
+}
@@ -0,0 +1,10 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.dto.analytics.ProductSalesDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesReportDto;
+import java.util.UUID;
+
+public interface SalesAnalyticsServiceInterface {
+    SalesReportDto getSalesReport(String window);
+    ProductSalesDto getProductSales(UUID productId, String window);
+}
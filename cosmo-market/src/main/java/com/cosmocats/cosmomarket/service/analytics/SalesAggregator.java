@@ -0,0 +1,98 @@
+package com.cosmocats.cosmomarket.service.analytics;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.PriceCents;
+import com.cosmocats.cosmomarket.service.checkout.OrderPlacedListener;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live sales per product, per category and for the whole shop, fed by the checkout pipeline. Every order
+ * line adds its units and revenue to the sliding counters of its product, its category and the total,
+ * so a read sums a fixed number of slots however many orders came before it. Sales are dated by when
+ * they are recorded, which is within one checkout batch of the order's creation time.
+ * Once per slot of the longest window, recording also drops the counters of products that have sold
+ * nothing for that whole window, so only products with sales still in view are kept.
+ */
+public class SalesAggregator implements OrderPlacedListener {
+
+    private static final SalesWindow RETAINED = SalesWindow.longest();
+
+    private final Clock clock;
+    private final AtomicLong nextSweepMillis = new AtomicLong(Long.MIN_VALUE);
+    private final Map<UUID, SalesCounters> products = new ConcurrentHashMap<>();
+    private final SalesCounters[] categories = new SalesCounters[Category.values().length];
+    private final SalesCounters total = new SalesCounters();
+
+    public SalesAggregator(Clock clock) {
+        this.clock = clock;
+        for (Category category : Category.values()) {
+            categories[category.ordinal()] = new SalesCounters();
+        }
+    }
+
+    @Override
+    public void ordersPlaced(List<Order> orders) {
+        long now = clock.millis();
+        long nextSweep = nextSweepMillis.get();
+        if (now >= nextSweep && nextSweepMillis.compareAndSet(nextSweep, now + RETAINED.slotMillis())) {
+            evictIdle(now - RETAINED.length().toMillis());
+        }
+        for (Order order : orders) {
+            record(order, now);
+        }
+    }
+
+    public SalesFigure total(SalesWindow window) {
+        return total.sum(window, clock.millis());
+    }
+
+    public Map<Category, SalesFigure> byCategory(SalesWindow window) {
+        long now = clock.millis();
+        Map<Category, SalesFigure> figures = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            figures.put(category, categories[category.ordinal()].sum(window, now));
+        }
+        return figures;
+    }
+
+    public SalesFigure product(UUID productId, SalesWindow window) {
+        SalesCounters counters = products.get(productId);
+        return counters == null ? SalesFigure.NONE : counters.sum(window, clock.millis());
+    }
+
+    int trackedProducts() {
+        return products.size();
+    }
+
+    // Checked and removed under the map's lock for the key, so a sale being recorded is never dropped.
+    private void evictIdle(long cutoffMillis) {
+        for (UUID productId : products.keySet()) {
+            products.computeIfPresent(productId, (id, counters) -> counters.idleSince(cutoffMillis) ? null : counters);
+        }
+    }
+
+    private void record(Order order, long now) {
+        for (OrderItem item : order.getItems()) {
+            long units = item.getQuantity();
+            long revenueCents = item.getItemPrice() == null ? 0 : Math.multiplyExact(PriceCents.toCents(item.getItemPrice()), units);
+            products.compute(item.getProduct().getId(), (id, counters) -> {
+                SalesCounters current = counters == null ? new SalesCounters() : counters;
+                current.add(now, units, revenueCents);
+                return current;
+            });
+            Category category = item.getProduct().getCategory();
+            if (category != null) {
+                categories[category.ordinal()].add(now, units, revenueCents);
+            }
+            total.add(now, units, revenueCents);
+        }
+    }
+}
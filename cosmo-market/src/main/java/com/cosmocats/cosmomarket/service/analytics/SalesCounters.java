@@ -0,0 +1,35 @@
+package com.cosmocats.cosmomarket.service.analytics;
+
+/**
+ * One sliding counter per {@link SalesWindow} for a single product, category or the whole shop, and
+ * when it last recorded a sale.
+ */
+final class SalesCounters {
+
+    private final SlidingWindowCounter[] windows;
+    private volatile long lastSaleMillis = Long.MIN_VALUE;
+
+    SalesCounters() {
+        SalesWindow[] all = SalesWindow.values();
+        windows = new SlidingWindowCounter[all.length];
+        for (SalesWindow window : all) {
+            windows[window.ordinal()] = new SlidingWindowCounter(window);
+        }
+    }
+
+    void add(long nowMillis, long units, long revenueCents) {
+        for (SlidingWindowCounter window : windows) {
+            window.add(nowMillis, units, revenueCents);
+        }
+        lastSaleMillis = Math.max(lastSaleMillis, nowMillis);
+    }
+
+    // Nothing recorded at or after the cutoff; once it is a full window back, every window reads empty.
+    boolean idleSince(long cutoffMillis) {
+        return lastSaleMillis < cutoffMillis;
+    }
+
+    SalesFigure sum(SalesWindow window, long nowMillis) {
+        return windows[window.ordinal()].sum(nowMillis);
+    }
+}
@@ -0,0 +1,6 @@
+package com.cosmocats.cosmomarket.service.analytics;
+
+public record SalesFigure(long units, long revenueCents) {
+
+    public static final SalesFigure NONE = new SalesFigure(0, 0);
+}
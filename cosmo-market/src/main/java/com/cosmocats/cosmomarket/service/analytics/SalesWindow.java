@@ -0,0 +1,57 @@
+package com.cosmocats.cosmomarket.service.analytics;
+
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+/**
+ * A sliding window and the number of ring slots it is kept in. A read sums the current, partly filled
+ * slot and the ones before it, so the window actually covered is up to one slot shorter than its length.
+ */
+public enum SalesWindow {
+    ONE_MINUTE("1m", Duration.ofMinutes(1), 60),
+    ONE_HOUR("1h", Duration.ofHours(1), 60),
+    ONE_DAY("24h", Duration.ofHours(24), 96);
+
+    private final String label;
+    private final Duration length;
+    private final int slots;
+
+    SalesWindow(String label, Duration length, int slots) {
+        this.label = label;
+        this.length = length;
+        this.slots = slots;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Duration length() {
+        return length;
+    }
+
+    public int slots() {
+        return slots;
+    }
+
+    public long slotMillis() {
+        return length.toMillis() / slots;
+    }
+
+    public static SalesWindow longest() {
+        return Arrays.stream(values()).max(Comparator.comparing(SalesWindow::length)).orElseThrow();
+    }
+
+    public static SalesWindow ofLabel(String label) {
+        for (SalesWindow window : values()) {
+            if (window.label.equals(label)) {
+                return window;
+            }
+        }
+        throw new BadRequestException("Unknown window '%s', expected one of %s".formatted(label,
+                Arrays.stream(values()).map(SalesWindow::label).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,59 @@
+package com.cosmocats.cosmomarket.service.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Units and revenue over one sliding window, kept in a ring of time slots. Recording adds to the
+ * current slot, first clearing it if it still holds a slot from a previous lap of the ring; nothing
+ * ever has to expire old sales. Writers take the counter's monitor, which only ever contends when
+ * two checkouts sell the same product at once. Readers take no lock: they skip cells whose slot has
+ * left the window, and may miss a sale that is being recorded while they sum.
+ */
+final class SlidingWindowCounter {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long slotMillis;
+    private final int slots;
+    private final AtomicLongArray slotNumbers;
+    private final AtomicLongArray units;
+    private final AtomicLongArray cents;
+
+    SlidingWindowCounter(SalesWindow window) {
+        this.slotMillis = window.slotMillis();
+        this.slots = window.slots();
+        this.slotNumbers = new AtomicLongArray(slots);
+        this.units = new AtomicLongArray(slots);
+        this.cents = new AtomicLongArray(slots);
+        for (int cell = 0; cell < slots; cell++) {
+            slotNumbers.set(cell, EMPTY);
+        }
+    }
+
+    synchronized void add(long nowMillis, long unitCount, long revenueCents) {
+        long slot = Math.floorDiv(nowMillis, slotMillis);
+        int cell = (int) Math.floorMod(slot, (long) slots);
+        if (slotNumbers.get(cell) != slot) {
+            units.set(cell, 0);
+            cents.set(cell, 0);
+            slotNumbers.set(cell, slot);
+        }
+        units.set(cell, units.get(cell) + unitCount);
+        cents.set(cell, cents.get(cell) + revenueCents);
+    }
+
+    SalesFigure sum(long nowMillis) {
+        long current = Math.floorDiv(nowMillis, slotMillis);
+        long oldest = current - slots + 1;
+        long unitTotal = 0;
+        long centTotal = 0;
+        for (int cell = 0; cell < slots; cell++) {
+            long slot = slotNumbers.get(cell);
+            if (slot >= oldest && slot <= current) {
+                unitTotal += units.get(cell);
+                centTotal += cents.get(cell);
+            }
+        }
+        return new SalesFigure(unitTotal, centTotal);
+    }
+}
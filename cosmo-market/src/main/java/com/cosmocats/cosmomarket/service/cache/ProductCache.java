@@ -0,0 +1,178 @@
+package com.cosmocats.cosmomarket.service.cache;
+
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException;
+import com.cosmocats.cosmomarket.repository.change.ChangeSubscription;
+import com.cosmocats.cosmomarket.repository.change.ProductChange;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Node-local read-through cache of mapped products, in front of whatever store the service reads from.
+ * Caffeine bounds the estimated size in bytes and evicts with W-TinyLFU; hits, misses and evictions are
+ * exported as {@value #CACHE_NAME} cache metrics.
+ * Concurrent misses on one id share a single load, whether it finds the product or fails, and the
+ * callers that joined it are counted in {@value #COALESCED_COUNTER_NAME}. A caller that joins a load blocks
+ * until it completes, so {@link #get} must not be called on an event loop; the reactive adapter runs its reads
+ * on a blocking-capable scheduler whenever this cache is in use.
+ * An invalidation also discards a load still in flight, so a read that raced a write never caches the old product.
+ * Given a change log, a background thread invalidates every product written through the repository, so
+ * writes that bypass the service reach this node's cache too; until the event arrives a reader may see the old product.
+ */
+@Slf4j
+public class ProductCache implements AutoCloseable {
+
+    public static final String CACHE_NAME = "products";
+    public static final String COALESCED_COUNTER_NAME = "cosmo.cache.coalesced.loads";
+
+    // Rough heap footprint of a cached product: the object graph plus its two strings.
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final int CHANGES_PER_POLL = 256;
+    private static final Duration CHANGE_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Cache<UUID, ProductReturnDto> cache;
+    private final ConcurrentMap<UUID, Load> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedLoads;
+    private final ProductChangeLog changeLog;
+    private final Thread invalidator;
+    private volatile boolean closed;
+
+    private static final class Load {
+        final CompletableFuture<ProductReturnDto> result = new CompletableFuture<>();
+        volatile boolean stale;
+    }
+
+    /**
+     * @param changeLog repository writes to invalidate on, or {@code null} to rely on writes through the service alone
+     */
+    public ProductCache(long maxBytes, Duration expireAfterWrite, ProductChangeLog changeLog, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<UUID, ProductReturnDto>weigher((id, product) -> weigh(product))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        this.coalescedLoads = Counter.builder(COALESCED_COUNTER_NAME)
+                .description("Cache misses that waited for a load already in flight instead of starting their own")
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        this.changeLog = changeLog;
+        if (changeLog == null) {
+            invalidator = null;
+        } else {
+            // Subscribed before the first read, so no write after that can be missed.
+            ChangeSubscription subscription = changeLog.subscribe(null);
+            invalidator = new Thread(() -> followChanges(subscription), "product-cache-invalidation");
+            invalidator.setDaemon(true);
+            invalidator.start();
+        }
+    }
+
+    /**
+     * The cached product, or the one {@code loader} returns, which is then cached.
+     * A failure of the loader is thrown to every caller that shared the load and nothing is cached.
+     */
+    public ProductReturnDto get(UUID id, Function<UUID, ProductReturnDto> loader) {
+        ProductReturnDto cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        Load load = new Load();
+        Load running = inFlight.putIfAbsent(id, load);
+        if (running != null) {
+            coalescedLoads.increment();
+            return await(running.result);
+        }
+        try {
+            ProductReturnDto product = loader.apply(id);
+            cache.asMap().compute(id, (key, current) -> load.stale ? current : product);
+            load.result.complete(product);
+            return product;
+        } catch (RuntimeException | Error failure) {
+            load.result.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(id, load);
+        }
+    }
+
+    public void invalidate(UUID id) {
+        Load load = inFlight.remove(id);
+        if (load != null) {
+            load.stale = true;
+        }
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        inFlight.values().forEach(load -> load.stale = true);
+        inFlight.clear();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (invalidator != null) {
+            invalidator.interrupt();
+        }
+    }
+
+    private void followChanges(ChangeSubscription initial) {
+        ChangeSubscription subscription = initial;
+        try {
+            while (!closed) {
+                try {
+                    for (ProductChange change : subscription.poll(CHANGES_PER_POLL, CHANGE_POLL_TIMEOUT)) {
+                        invalidate(change.productId());
+                    }
+                } catch (ChangeLogTruncatedException exception) {
+                    // Fell further behind than the log keeps: which products changed is unknown, so drop them all.
+                    log.warn("Product cache missed changes, clearing it: {}", exception.getMessage());
+                    subscription.close();
+                    subscription = changeLog.subscribe(null);
+                    invalidateAll();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscription.close();
+        }
+    }
+
+    private static int weigh(ProductReturnDto product) {
+        return ENTRY_OVERHEAD_BYTES + 2 * (length(product.getName()) + length(product.getDescription()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static ProductReturnDto await(CompletableFuture<ProductReturnDto> result) {
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.cosmocats.cosmomarket.service.checkout;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.OrderRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.StockReservation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Group commit for checkouts. Callers queue their order lines and wait on a future; one worker thread takes
+ * whatever has queued up, up to {@code maxBatchSize}, reserves stock for the whole batch in one repository
+ * call and stores the resulting orders in one more. Under load a batch grows with the queue, so the locking
+ * and log flushing of a reservation is paid once per batch rather than once per order. Each order is still
+ * all-or-nothing: an order that cannot be fully reserved fails on its own and leaves the rest of the batch alone.
+ * Once a batch is answered, its stored orders are handed to the {@link OrderPlacedListener}s.
+ */
+@Slf4j
+public class CheckoutPipeline implements AutoCloseable {
+
+    public static final String BATCH_SIZE_METRIC = "cosmo.checkout.batch.size";
+
+    private record Checkout(Map<UUID, Integer> lines, CompletableFuture<Order> result) {
+    }
+
+    private final ProductRepositoryInterface productRepo;
+    private final OrderRepositoryInterface orderRepo;
+    private final int maxBatchSize;
+    private final List<OrderPlacedListener> listeners;
+    private final BlockingQueue<Checkout> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSizes;
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public CheckoutPipeline(ProductRepositoryInterface productRepo, OrderRepositoryInterface orderRepo,
+                            int maxBatchSize, List<OrderPlacedListener> listeners, MeterRegistry registry) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.productRepo = productRepo;
+        this.orderRepo = orderRepo;
+        this.maxBatchSize = maxBatchSize;
+        this.listeners = List.copyOf(listeners);
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Orders reserved and stored together by one checkout batch")
+                .register(registry);
+        this.worker = new Thread(this::run, "checkout-pipeline");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues an order for {@code lines} (product id to quantity, in the order the items should appear).
+     * The future completes with the stored order, or exceptionally with the reason stock could not be reserved.
+     */
+    public CompletableFuture<Order> submit(Map<UUID, Integer> lines) {
+        CompletableFuture<Order> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new IllegalStateException("Checkout is shutting down"));
+            return result;
+        }
+        queue.add(new Checkout(new LinkedHashMap<>(lines), result));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        List<Checkout> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(checkout -> checkout.result().completeExceptionally(new IllegalStateException("Checkout is shutting down")));
+    }
+
+    private void run() {
+        List<Checkout> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException exception) {
+                return;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<Checkout> batch) {
+        batchSizes.record(batch.size());
+        List<Order> orders = new ArrayList<>(batch.size());
+        List<Checkout> placed = new ArrayList<>(batch.size());
+        List<StockReservation> reservations;
+        try {
+            reservations = productRepo.reserveBatch(batch.stream().map(Checkout::lines).toList());
+        } catch (RuntimeException failure) {
+            log.error("Checkout batch of {} failed to reserve stock", batch.size(), failure);
+            batch.forEach(checkout -> checkout.result().completeExceptionally(failure));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            StockReservation reservation = reservations.get(i);
+            if (reservation.succeeded()) {
+                orders.add(toOrder(batch.get(i).lines(), reservation.products()));
+                placed.add(batch.get(i));
+            } else {
+                batch.get(i).result().completeExceptionally(reservation.failure());
+            }
+        }
+        try {
+            orderRepo.saveAll(orders);
+        } catch (RuntimeException failure) {
+            log.error("Checkout batch of {} failed to store orders, releasing their stock", orders.size(), failure);
+            placed.forEach(checkout -> releaseQuietly(checkout.lines()));
+            placed.forEach(checkout -> checkout.result().completeExceptionally(failure));
+            return;
+        }
+        for (int i = 0; i < placed.size(); i++) {
+            placed.get(i).result().complete(orders.get(i));
+        }
+        if (!orders.isEmpty()) {
+            notifyListeners(orders);
+        }
+    }
+
+    // A failing listener is logged and skipped; the orders are already stored and answered.
+    private void notifyListeners(List<Order> orders) {
+        for (OrderPlacedListener listener : listeners) {
+            try {
+                listener.ordersPlaced(orders);
+            } catch (RuntimeException failure) {
+                log.error("Order listener {} failed on a batch of {} orders", listener, orders.size(), failure);
+            }
+        }
+    }
+
+    // The price is taken from the product as reserved, so the order charges what the stock was sold at.
+    private static Order toOrder(Map<UUID, Integer> lines, List<Product> reserved) {
+        Order.OrderBuilder order = Order.builder();
+        for (Product product : reserved) {
+            order.item(OrderItem.builder()
+                    .product(product)
+                    .quantity(lines.get(product.getId()))
+                    .itemPrice(product.getPrice())
+                    .build());
+        }
+        return order.build();
+    }
+
+    private void releaseQuietly(Map<UUID, Integer> lines) {
+        lines.forEach((id, quantity) -> {
+            try {
+                productRepo.release(id, quantity);
+            } catch (RuntimeException failure) {
+                log.error("Could not release {} units of product {}", quantity, id, failure);
+            }
+        });
+    }
+}
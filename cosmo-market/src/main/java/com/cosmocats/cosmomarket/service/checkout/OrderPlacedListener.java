@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.service.checkout;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import java.util.List;
+
+/**
+ * Told about every batch of orders the checkout pipeline stores, on the pipeline's worker thread
+ * and after the buyers have their answers. Implementations must be quick and must not block.
+ */
+@FunctionalInterface
+public interface OrderPlacedListener {
+    void ordersPlaced(List<Order> orders);
+}
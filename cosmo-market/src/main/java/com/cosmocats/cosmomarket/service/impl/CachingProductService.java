@@ -0,0 +1,123 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import com.cosmocats.cosmomarket.service.cache.ProductCache;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Serves {@code getProductById} and {@code getProductVersion} from a {@link ProductCache}, so a GET by id that
+ * looks up the version first still reads the store once, and concurrent misses for an id share one load.
+ * Writes through this service invalidate the product once they return, failed ones included, since a failure
+ * may come after the store changed. Lists, searches and the catalog version always go to the delegate.
+ */
+public class CachingProductService implements ProductServiceInterface {
+
+    private final ProductServiceInterface delegate;
+    private final ProductCache cache;
+
+    public CachingProductService(ProductServiceInterface delegate, ProductCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public ProductReturnDto createNewProduct(ProductCreateDto dto) {
+        return delegate.createNewProduct(dto);
+    }
+
+    @Override
+    public List<ProductBatchResultDto> createProducts(List<ProductCreateDto> dtos) {
+        return delegate.createProducts(dtos);
+    }
+
+    @Override
+    public List<ProductReturnDto> getAllProducts() {
+        return delegate.getAllProducts();
+    }
+
+    @Override
+    public ProductPageDto getProductPage(ProductFilter filter, String cursor, int limit, ProductSort sort) {
+        return delegate.getProductPage(filter, cursor, limit, sort);
+    }
+
+    @Override
+    public List<ProductReturnDto> searchProducts(String query, int limit) {
+        return delegate.searchProducts(query, limit);
+    }
+
+    @Override
+    public Stream<ProductReturnDto> exportProducts() {
+        return delegate.exportProducts();
+    }
+
+    @Override
+    public ProductReturnDto getProductById(UUID id) {
+        return cache.get(id, delegate::getProductById);
+    }
+
+    @Override
+    public long getProductVersion(UUID id) {
+        return cache.get(id, delegate::getProductById).getVersion();
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return delegate.getCatalogVersion();
+    }
+
+    @Override
+    public ProductReturnDto updateProduct(UUID id, ProductUpdateDto dto, Long expectedVersion) {
+        try {
+            return delegate.updateProduct(id, dto, expectedVersion);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public List<ProductBatchResultDto> updateProducts(List<ProductBatchUpdateDto> items) {
+        try {
+            return delegate.updateProducts(items);
+        } finally {
+            items.stream().map(ProductBatchUpdateDto::getId).filter(Objects::nonNull).forEach(cache::invalidate);
+        }
+    }
+
+    @Override
+    public ProductReturnDto reserveStock(UUID id, int quantity) {
+        try {
+            return delegate.reserveStock(id, quantity);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public ProductReturnDto releaseStock(UUID id, int quantity) {
+        try {
+            return delegate.releaseStock(id, quantity);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public void deleteProduct(UUID id) {
+        try {
+            delegate.deleteProduct(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.dto.cart.CartDto;
+import com.cosmocats.cosmomarket.dto.cart.CartItemRequestDto;
+import com.cosmocats.cosmomarket.repository.CartRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.CartServiceInterface;
+import com.cosmocats.cosmomarket.service.mapper.CartMapper;
+import org.springframework.stereotype.Service;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+@Service
+public class CartServiceImpl implements CartServiceInterface {
+
+    private final CartRepositoryInterface cartRepo;
+    private final ProductRepositoryInterface productRepo;
+    private final CartMapper cartMapper;
+
+    public CartServiceImpl(CartRepositoryInterface cartRepo, ProductRepositoryInterface productRepo, CartMapper cartMapper) {
+        this.cartRepo = cartRepo;
+        this.productRepo = productRepo;
+        this.cartMapper = cartMapper;
+    }
+
+    @Override
+    public CartDto createCart() {
+        return cartMapper.makeCartDto(cartRepo.create());
+    }
+
+    @Override
+    public CartDto getCart(UUID id) {
+        return cartRepo.findById(id)
+                .map(cartMapper::makeCartDto)
+                .orElseThrow(() -> new NoSuchElementException("Cart not found: " + id));
+    }
+
+    // The cart keeps the product as it was when added; a product added again refreshes it.
+    @Override
+    public CartDto addItem(UUID cartId, CartItemRequestDto item) {
+        Product product = productRepo.findById(item.getProductId())
+                .orElseThrow(() -> new NoSuchElementException("Product not found: " + item.getProductId()));
+        return cartMapper.makeCartDto(cartRepo.addItem(cartId, product, item.getQuantity()));
+    }
+
+    @Override
+    public CartDto removeItem(UUID cartId, UUID productId) {
+        return cartMapper.makeCartDto(cartRepo.removeItem(cartId, productId));
+    }
+
+    @Override
+    public void deleteCart(UUID id) {
+        if (!cartRepo.existsById(id)) {
+            throw new NoSuchElementException("Cart not found: " + id);
+        }
+        cartRepo.deleteById(id);
+    }
+}
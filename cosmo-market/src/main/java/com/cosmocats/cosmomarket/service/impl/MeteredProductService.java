@@ -0,0 +1,179 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.metrics.OperationTimers;
+import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Times every product service method ({@value #TIMER_NAME}, tagged by method), failures included.
+ * {@code exportProducts} only builds a lazy stream, so its timer measures setup, not the walk.
+ */
+public class MeteredProductService implements ProductServiceInterface {
+
+    public static final String TIMER_NAME = "cosmo.service.calls";
+
+    enum Method {
+        CREATE_NEW_PRODUCT, CREATE_PRODUCTS, GET_ALL_PRODUCTS, GET_PRODUCT_PAGE, SEARCH_PRODUCTS, EXPORT_PRODUCTS,
+        GET_PRODUCT_BY_ID, GET_PRODUCT_VERSION, GET_CATALOG_VERSION, UPDATE_PRODUCT, UPDATE_PRODUCTS,
+        RESERVE_STOCK, RELEASE_STOCK, DELETE_PRODUCT
+    }
+
+    private final ProductServiceInterface delegate;
+    private final OperationTimers<Method> timers;
+
+    public MeteredProductService(ProductServiceInterface delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timers = new OperationTimers<>(registry, TIMER_NAME, "Latency of product service methods", "method", Method.class);
+    }
+
+    @Override
+    public ProductReturnDto createNewProduct(ProductCreateDto dto) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createNewProduct(dto);
+        } finally {
+            timers.record(Method.CREATE_NEW_PRODUCT, start);
+        }
+    }
+
+    @Override
+    public List<ProductBatchResultDto> createProducts(List<ProductCreateDto> dtos) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createProducts(dtos);
+        } finally {
+            timers.record(Method.CREATE_PRODUCTS, start);
+        }
+    }
+
+    @Override
+    public List<ProductReturnDto> getAllProducts() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getAllProducts();
+        } finally {
+            timers.record(Method.GET_ALL_PRODUCTS, start);
+        }
+    }
+
+    @Override
+    public ProductPageDto getProductPage(ProductFilter filter, String cursor, int limit, ProductSort sort) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProductPage(filter, cursor, limit, sort);
+        } finally {
+            timers.record(Method.GET_PRODUCT_PAGE, start);
+        }
+    }
+
+    @Override
+    public List<ProductReturnDto> searchProducts(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.searchProducts(query, limit);
+        } finally {
+            timers.record(Method.SEARCH_PRODUCTS, start);
+        }
+    }
+
+    @Override
+    public Stream<ProductReturnDto> exportProducts() {
+        long start = System.nanoTime();
+        try {
+            return delegate.exportProducts();
+        } finally {
+            timers.record(Method.EXPORT_PRODUCTS, start);
+        }
+    }
+
+    @Override
+    public ProductReturnDto getProductById(UUID id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProductById(id);
+        } finally {
+            timers.record(Method.GET_PRODUCT_BY_ID, start);
+        }
+    }
+
+    @Override
+    public long getProductVersion(UUID id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProductVersion(id);
+        } finally {
+            timers.record(Method.GET_PRODUCT_VERSION, start);
+        }
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCatalogVersion();
+        } finally {
+            timers.record(Method.GET_CATALOG_VERSION, start);
+        }
+    }
+
+    @Override
+    public ProductReturnDto updateProduct(UUID id, ProductUpdateDto dto, Long expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateProduct(id, dto, expectedVersion);
+        } finally {
+            timers.record(Method.UPDATE_PRODUCT, start);
+        }
+    }
+
+    @Override
+    public List<ProductBatchResultDto> updateProducts(List<ProductBatchUpdateDto> items) {
+        long start = System.nanoTime();
+        try {
+            return delegate.updateProducts(items);
+        } finally {
+            timers.record(Method.UPDATE_PRODUCTS, start);
+        }
+    }
+
+    @Override
+    public ProductReturnDto reserveStock(UUID id, int quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.reserveStock(id, quantity);
+        } finally {
+            timers.record(Method.RESERVE_STOCK, start);
+        }
+    }
+
+    @Override
+    public ProductReturnDto releaseStock(UUID id, int quantity) {
+        long start = System.nanoTime();
+        try {
+            return delegate.releaseStock(id, quantity);
+        } finally {
+            timers.record(Method.RELEASE_STOCK, start);
+        }
+    }
+
+    @Override
+    public void deleteProduct(UUID id) {
+        long start = System.nanoTime();
+        try {
+            delegate.deleteProduct(id);
+        } finally {
+            timers.record(Method.DELETE_PRODUCT, start);
+        }
+    }
+}
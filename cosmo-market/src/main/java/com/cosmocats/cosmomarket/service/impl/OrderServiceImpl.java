@@ -0,0 +1,88 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.cart.CartItem;
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.dto.order.OrderCreateDto;
+import com.cosmocats.cosmomarket.dto.order.OrderDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.repository.CartRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.OrderRepositoryInterface;
+import com.cosmocats.cosmomarket.service.OrderServiceInterface;
+import com.cosmocats.cosmomarket.service.checkout.CheckoutPipeline;
+import com.cosmocats.cosmomarket.service.mapper.OrderMapper;
+import org.springframework.stereotype.Service;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+@Service
+public class OrderServiceImpl implements OrderServiceInterface {
+
+    private final CartRepositoryInterface cartRepo;
+    private final OrderRepositoryInterface orderRepo;
+    private final CheckoutPipeline checkout;
+    private final OrderMapper orderMapper;
+
+    public OrderServiceImpl(CartRepositoryInterface cartRepo, OrderRepositoryInterface orderRepo,
+                            CheckoutPipeline checkout, OrderMapper orderMapper) {
+        this.cartRepo = cartRepo;
+        this.orderRepo = orderRepo;
+        this.checkout = checkout;
+        this.orderMapper = orderMapper;
+    }
+
+    // The cart is taken out of the store before checkout, so two orders for one cart cannot both go through and an
+    // item added meanwhile is refused rather than lost. A failed checkout puts the cart back for another try.
+    @Override
+    public OrderDto placeOrder(OrderCreateDto request) {
+        Cart cart = cartRepo.take(request.getCartId())
+                .orElseThrow(() -> new NoSuchElementException("Cart not found: " + request.getCartId()));
+        Order order;
+        try {
+            order = checkOut(cart);
+        } catch (RuntimeException failure) {
+            cartRepo.putBack(cart);
+            throw failure;
+        }
+        return orderMapper.makeOrderDto(order);
+    }
+
+    @Override
+    public OrderDto getOrder(UUID id) {
+        return orderRepo.findById(id)
+                .map(orderMapper::makeOrderDto)
+                .orElseThrow(() -> new NoSuchElementException("Order not found: " + id));
+    }
+
+    // Lazy end to end: orders are mapped one at a time as the caller consumes the stream.
+    @Override
+    public Stream<OrderDto> streamOrders(OffsetDateTime from, OffsetDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to': %s, %s".formatted(from, to));
+        }
+        return orderRepo.findByCreatedAt(from, to).map(orderMapper::makeOrderDto);
+    }
+
+    private Order checkOut(Cart cart) {
+        if (cart.getItems().isEmpty()) {
+            throw new BadRequestException("Cart is empty: " + cart.getId());
+        }
+        Map<UUID, Integer> lines = new LinkedHashMap<>();
+        for (CartItem item : cart.getItems()) {
+            lines.put(item.getProduct().getId(), item.getQuantity());
+        }
+        try {
+            return checkout.submit(lines).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.dto.product.ProductChangeDto;
+import com.cosmocats.cosmomarket.repository.change.ChangePosition;
+import com.cosmocats.cosmomarket.repository.change.ChangeSubscription;
+import com.cosmocats.cosmomarket.repository.change.ProductChange;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import com.cosmocats.cosmomarket.service.ProductChangeFeed;
+import com.cosmocats.cosmomarket.service.ProductChangeServiceInterface;
+import com.cosmocats.cosmomarket.service.mapper.ProductMapper;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.List;
+
+@Service
+public class ProductChangeServiceImpl implements ProductChangeServiceInterface {
+
+    // Changes handed out per read, so a resume from far back streams in steps instead of one huge list.
+    static final int BATCH_SIZE = 256;
+
+    private final ProductChangeLog changeLog;
+    private final ProductMapper productMapper;
+
+    public ProductChangeServiceImpl(ProductChangeLog changeLog, ProductMapper productMapper) {
+        this.changeLog = changeLog;
+        this.productMapper = productMapper;
+    }
+
+    @Override
+    public ProductChangeFeed openFeed(String since) {
+        ChangeSubscription subscription = changeLog.resume(since == null ? null : ChangePosition.parse(since));
+        return new ProductChangeFeed() {
+            @Override
+            public List<ProductChangeDto> next(Duration timeout) throws InterruptedException {
+                return subscription.poll(BATCH_SIZE, timeout).stream().map(ProductChangeServiceImpl.this::toDto).toList();
+            }
+
+            @Override
+            public void close() {
+                subscription.close();
+            }
+        };
+    }
+
+    private ProductChangeDto toDto(ProductChange change) {
+        return ProductChangeDto.builder()
+                .sequence(change.sequence())
+                .position(changeLog.position(change.sequence()).toString())
+                .type(change.type())
+                .productId(change.productId())
+                .product(change.product() == null ? null : productMapper.makeProductReturnDto(change.product()))
+                .build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductImportErrorDto;
+import com.cosmocats.cosmomarket.dto.product.ProductImportReportDto;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.ProductImportServiceInterface;
+import com.cosmocats.cosmomarket.service.importer.CsvProductParser;
+import com.cosmocats.cosmomarket.service.importer.ImportFormat;
+import com.cosmocats.cosmomarket.service.importer.ProductRecordParser;
+import com.cosmocats.cosmomarket.service.mapper.ProductMapper;
+import com.cosmocats.cosmomarket.validation.ViolationMessages;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports products from an NDJSON or CSV body without holding the body in memory.
+ * The calling thread reads lines into chunks; worker threads parse, validate and map each chunk;
+ * the calling thread saves finished chunks in order with {@code saveAll}. At most a few chunks per
+ * worker are in flight, so memory stays bounded however large the upload is.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportServiceInterface {
+
+    public static final int CHUNK_LINES = 1000;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductRepositoryInterface repo;
+    private final ProductMapper productMapper;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final ExecutorService workers;
+    private final int maxChunksInFlight;
+
+    public ProductImportServiceImpl(ProductRepositoryInterface repo, ProductMapper mapper, Validator validator, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.productMapper = mapper;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(ProductCreateDto.class);
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "product-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxChunksInFlight = threads * 2;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public ProductImportReportDto importProducts(InputStream body, ImportFormat format) {
+        long started = System.nanoTime();
+        Tally tally = new Tally();
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            ProductRecordParser parser = format == ImportFormat.CSV
+                    ? CsvProductParser.fromHeader(reader.readLine())
+                    : ndjsonReader::readValue;
+            long lineNumber = format == ImportFormat.CSV ? 1 : 0;
+            List<String> lines = new ArrayList<>(CHUNK_LINES);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                lines.add(line);
+                if (lines.size() == CHUNK_LINES) {
+                    submit(inFlight, lines, lineNumber - lines.size() + 1, parser, tally);
+                    lines = new ArrayList<>(CHUNK_LINES);
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(inFlight, lines, lineNumber - lines.size() + 1, parser, tally);
+            }
+            while (!inFlight.isEmpty()) {
+                store(inFlight.poll(), tally);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read import body", exception);
+        } finally {
+            inFlight.forEach(pending -> pending.cancel(true));
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        return ProductImportReportDto.builder()
+                .records(tally.records)
+                .imported(tally.imported)
+                .rejected(tally.rejected)
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .productsPerSecond(elapsedNanos == 0 ? 0 : tally.imported * 1e9 / elapsedNanos)
+                .errors(tally.errors)
+                .errorsTruncated(tally.rejected > tally.errors.size())
+                .build();
+    }
+
+    private void submit(Deque<Future<Chunk>> inFlight, List<String> lines, long firstLine, ProductRecordParser parser, Tally tally) {
+        inFlight.add(workers.submit(() -> parse(lines, firstLine, parser)));
+        if (inFlight.size() >= maxChunksInFlight) {
+            store(inFlight.poll(), tally);
+        }
+    }
+
+    private Chunk parse(List<String> lines, long firstLine, ProductRecordParser parser) {
+        List<Product> products = new ArrayList<>(lines.size());
+        List<ProductImportErrorDto> errors = new ArrayList<>();
+        int records = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            records++;
+            String error;
+            try {
+                ProductCreateDto dto = parser.parse(line);
+                error = dto == null ? "Record must not be null" : ViolationMessages.describe(validator.validate(dto));
+                if (error == null) {
+                    products.add(productMapper.makeProduct(dto));
+                }
+            } catch (JsonProcessingException exception) {
+                error = "Unreadable record: " + exception.getOriginalMessage();
+            } catch (IOException | IllegalArgumentException exception) {
+                error = "Unreadable record: " + exception.getMessage();
+            }
+            if (error != null) {
+                errors.add(ProductImportErrorDto.builder().line(firstLine + i).message(error).build());
+            }
+        }
+        return new Chunk(products, records, errors);
+    }
+
+    private void store(Future<Chunk> pending, Tally tally) {
+        Chunk chunk;
+        try {
+            chunk = pending.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Import chunk failed", exception.getCause());
+        }
+        if (!chunk.products().isEmpty()) {
+            repo.saveAll(chunk.products());
+        }
+        tally.add(chunk);
+    }
+
+    private record Chunk(List<Product> products, int records, List<ProductImportErrorDto> errors) {
+    }
+
+    private static final class Tally {
+        private final List<ProductImportErrorDto> errors = new ArrayList<>();
+        private long records;
+        private long imported;
+        private long rejected;
+
+        private void add(Chunk chunk) {
+            records += chunk.records();
+            imported += chunk.products().size();
+            rejected += chunk.errors().size();
+            for (ProductImportErrorDto error : chunk.errors()) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+    }
+}
@@ -1,54 +1,191 @@
 package com.cosmocats.cosmomarket.service.impl;
 
 import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
 import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
 import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
 import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.metrics.OperationTimers;
 import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
 import com.cosmocats.cosmomarket.service.ProductServiceInterface;
 import com.cosmocats.cosmomarket.service.mapper.ProductMapper;
-import org.springframework.stereotype.Service;
-import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.UUID;
+import com.cosmocats.cosmomarket.validation.ViolationMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
-@Service
+/**
+ * Product use cases on top of the repository. Mapping and batch validation are timed here
+ * ({@value #MAPPING_TIMER_NAME}, {@value #VALIDATION_TIMER_NAME}); whole-method timings come from
+ * {@link MeteredProductService}, which wraps this class in the application context.
+ */
 public class ProductServiceImpl implements ProductServiceInterface {
 
+    public static final String MAPPING_TIMER_NAME = "cosmo.product.mapping";
+    public static final String VALIDATION_TIMER_NAME = "cosmo.product.validation";
+
+    enum Mapping {
+        TO_DTO, TO_DTO_LIST, FROM_CREATE_DTO, APPLY_UPDATE
+    }
+
     private final ProductRepositoryInterface repo;
     private final ProductMapper productMapper;
+    private final Validator validator;
+    private final OperationTimers<Mapping> mappingTimers;
+    private final Timer validationTimer;
 
-    public ProductServiceImpl(ProductRepositoryInterface repo, ProductMapper mapper) {
+    public ProductServiceImpl(ProductRepositoryInterface repo, ProductMapper mapper, Validator validator, MeterRegistry registry) {
         this.repo = repo;
         this.productMapper = mapper;
+        this.validator = validator;
+        this.mappingTimers = new OperationTimers<>(registry, MAPPING_TIMER_NAME, "Time spent mapping between products and DTOs", "mapping", Mapping.class);
+        this.validationTimer = Timer.builder(VALIDATION_TIMER_NAME)
+                .description("Time spent validating batch items")
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     @Override
     public ProductReturnDto createNewProduct(ProductCreateDto dto) {
-        Product toSaveProduct = productMapper.makeProduct(dto);
+        Product toSaveProduct = toProduct(dto);
         Product savedProduct = repo.saveProduct(toSaveProduct);
-        return productMapper.makeProductReturnDto(savedProduct);
+        return toDto(savedProduct);
+    }
+
+    @Override
+    public List<ProductBatchResultDto> createProducts(List<ProductCreateDto> dtos) {
+        ProductBatchResultDto[] results = new ProductBatchResultDto[dtos.size()];
+        List<Product> toSave = new ArrayList<>(dtos.size());
+        int[] positions = new int[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validationError(dtos.get(i));
+            if (error != null) {
+                results[i] = batchResult(i, ProductBatchResultDto.Status.INVALID, null).error(error).build();
+                continue;
+            }
+            positions[toSave.size()] = i;
+            toSave.add(toProduct(dtos.get(i)));
+        }
+
+        List<Product> savedProducts = repo.saveAll(toSave);
+        for (int i = 0; i < savedProducts.size(); i++) {
+            results[positions[i]] = batchResult(positions[i], ProductBatchResultDto.Status.CREATED, savedProducts.get(i)).build();
+        }
+        return Arrays.asList(results);
     }
 
     @Override
     public List<ProductReturnDto> getAllProducts() {
-        return productMapper.makeListProductReturnDto(repo.getAllProducts());
+        return toDtos(repo.getAllProducts());
+    }
+
+    @Override
+    public ProductPageDto getProductPage(ProductFilter filter, String cursor, int limit, ProductSort sort) {
+        ProductCursor after = cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor);
+        ProductPage page = filter == null || filter.isEmpty()
+                ? repo.findPage(after, limit, sort)
+                : ProductPage.slice(repo.findByFilter(filter), after, limit, sort);
+        return ProductPageDto.builder()
+                .items(toDtos(page.products()))
+                .nextCursor(page.nextCursor() == null ? null : page.nextCursor().encode())
+                .build();
+    }
+
+    @Override
+    public List<ProductReturnDto> searchProducts(String query, int limit) {
+        List<Product> products = repo.search(query, limit).stream()
+                .map(ProductSearchHit::product)
+                .toList();
+        return toDtos(products);
+    }
+
+    @Override
+    public Stream<ProductReturnDto> exportProducts() {
+        return repo.streamAll().map(this::toDto);
     }
 
     @Override
     public ProductReturnDto getProductById(UUID id) {
         Product product = repo.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
-        return productMapper.makeProductReturnDto(product);
+        return toDto(product);
+    }
+
+    @Override
+    public long getProductVersion(UUID id) {
+        return repo.findById(id)
+                .map(Product::getVersion)
+                .orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return repo.modificationCount();
     }
 
     @Override
-    public ProductReturnDto updateProduct(UUID id, ProductUpdateDto dto) {
-        Product existingProduct = repo.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
+    public ProductReturnDto updateProduct(UUID id, ProductUpdateDto dto, Long expectedVersion) {
+        return toDto(saveUpdate(id, dto, expectedVersion));
+    }
+
+    // Items run in order, each through the same compare-and-set as a single update, so later items see earlier
+    // ones and a write racing the batch is updated on top of rather than overwritten. Deletes run together at the end.
+    @Override
+    public List<ProductBatchResultDto> updateProducts(List<ProductBatchUpdateDto> items) {
+        List<ProductBatchResultDto> results = new ArrayList<>(items.size());
+        Set<UUID> toDelete = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            ProductBatchUpdateDto item = items.get(i);
+            String error = validationError(item);
+            if (error == null && !item.isDelete() && item.getChanges() == null) {
+                error = "Either 'changes' or 'delete' must be set";
+            }
+            if (error != null) {
+                results.add(batchResult(i, ProductBatchResultDto.Status.INVALID, null)
+                        .id(item == null ? null : item.getId())
+                        .error(error)
+                        .build());
+                continue;
+            }
+
+            UUID id = item.getId();
+            if (item.isDelete() && !toDelete.contains(id) && repo.existsById(id)) {
+                toDelete.add(id);
+                results.add(batchResult(i, ProductBatchResultDto.Status.DELETED, null).id(id).build());
+                continue;
+            }
+            Product saved = item.isDelete() || toDelete.contains(id) ? null : saveUpdateIfPresent(id, item.getChanges());
+            if (saved == null) {
+                results.add(batchResult(i, ProductBatchResultDto.Status.NOT_FOUND, null)
+                        .id(id)
+                        .error("Product not found: " + id)
+                        .build());
+            } else {
+                results.add(batchResult(i, ProductBatchResultDto.Status.UPDATED, saved).build());
+            }
+        }
+        repo.deleteAll(toDelete);
+        return results;
+    }
 
-        Product updatedProduct = productMapper.applyUpdate(existingProduct, dto);
-        Product savedProduct = repo.saveProduct(updatedProduct);
+    @Override
+    public ProductReturnDto reserveStock(UUID id, int quantity) {
+        return toDto(repo.reserve(id, quantity));
+    }
 
-        return productMapper.makeProductReturnDto(savedProduct);
+    @Override
+    public ProductReturnDto releaseStock(UUID id, int quantity) {
+        return toDto(repo.release(id, quantity));
     }
 
     @Override
@@ -58,4 +195,89 @@ public class ProductServiceImpl implements ProductServiceInterface {
         }
         repo.deleteById(id);
     }
+
+    // Optimistic: the update is applied to the version it was read from; if another writer got there first
+    // the update is re-applied to the newer version, unless the caller asked for a specific one.
+    private Product saveUpdate(UUID id, ProductUpdateDto dto, Long expectedVersion) {
+        while (true) {
+            Product existingProduct = repo.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found: " + id));
+            if (expectedVersion != null && expectedVersion != existingProduct.getVersion().longValue()) {
+                throw new VersionConflictException(id, expectedVersion, existingProduct.getVersion());
+            }
+
+            Product updatedProduct = applyUpdate(existingProduct, dto);
+            try {
+                return repo.saveProductIfVersion(updatedProduct, existingProduct.getVersion());
+            } catch (VersionConflictException conflict) {
+                if (expectedVersion != null) {
+                    throw conflict;
+                }
+            }
+        }
+    }
+
+    // Null once the product is gone, whether before the item ran or while it retried.
+    private Product saveUpdateIfPresent(UUID id, ProductUpdateDto dto) {
+        try {
+            return saveUpdate(id, dto, null);
+        } catch (NoSuchElementException notFound) {
+            return null;
+        }
+    }
+
+    private ProductBatchResultDto.ProductBatchResultDtoBuilder batchResult(int index, ProductBatchResultDto.Status status, Product product) {
+        return ProductBatchResultDto.builder()
+                .index(index)
+                .status(status)
+                .id(product == null ? null : product.getId())
+                .product(product == null ? null : toDto(product));
+    }
+
+    private String validationError(Object item) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+        long start = System.nanoTime();
+        try {
+            return ViolationMessages.describe(validator.validate(item));
+        } finally {
+            validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ProductReturnDto toDto(Product product) {
+        long start = System.nanoTime();
+        try {
+            return productMapper.makeProductReturnDto(product);
+        } finally {
+            mappingTimers.record(Mapping.TO_DTO, start);
+        }
+    }
+
+    private List<ProductReturnDto> toDtos(List<Product> products) {
+        long start = System.nanoTime();
+        try {
+            return productMapper.makeListProductReturnDto(products);
+        } finally {
+            mappingTimers.record(Mapping.TO_DTO_LIST, start);
+        }
+    }
+
+    private Product toProduct(ProductCreateDto dto) {
+        long start = System.nanoTime();
+        try {
+            return productMapper.makeProduct(dto);
+        } finally {
+            mappingTimers.record(Mapping.FROM_CREATE_DTO, start);
+        }
+    }
+
+    private Product applyUpdate(Product product, ProductUpdateDto dto) {
+        long start = System.nanoTime();
+        try {
+            return productMapper.applyUpdate(product, dto);
+        } finally {
+            mappingTimers.record(Mapping.APPLY_UPDATE, start);
+        }
+    }
 }
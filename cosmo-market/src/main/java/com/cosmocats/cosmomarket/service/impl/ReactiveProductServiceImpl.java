@@ -0,0 +1,113 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import com.cosmocats.cosmomarket.service.ReactiveProductServiceInterface;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Adapts the blocking product service for an event loop. Reads run on {@code readScheduler}: the subscribing
+ * thread when they only touch the in-memory store, or a thread that may block when the service below can make
+ * them wait, as a product cache does when a miss joins a load in flight. Writes may wait for the write-ahead log
+ * to reach the disk, so they run on {@code writeScheduler} and never hold an event-loop thread.
+ * The export walks the catalog lazily: each product is mapped only when the subscriber asks for it,
+ * so a slow client holds back the walk instead of filling a buffer.
+ */
+public class ReactiveProductServiceImpl implements ReactiveProductServiceInterface {
+
+    private final ProductServiceInterface delegate;
+    private final Scheduler readScheduler;
+    private final Scheduler writeScheduler;
+
+    public ReactiveProductServiceImpl(ProductServiceInterface delegate, Scheduler readScheduler, Scheduler writeScheduler) {
+        this.delegate = delegate;
+        this.readScheduler = readScheduler;
+        this.writeScheduler = writeScheduler;
+    }
+
+    @Override
+    public Mono<ProductReturnDto> createNewProduct(ProductCreateDto dto) {
+        return write(() -> delegate.createNewProduct(dto));
+    }
+
+    @Override
+    public Mono<List<ProductBatchResultDto>> createProducts(List<ProductCreateDto> dtos) {
+        return write(() -> delegate.createProducts(dtos));
+    }
+
+    @Override
+    public Mono<ProductPageDto> getProductPage(ProductFilter filter, String cursor, int limit, ProductSort sort) {
+        return read(() -> delegate.getProductPage(filter, cursor, limit, sort));
+    }
+
+    @Override
+    public Mono<List<ProductReturnDto>> searchProducts(String query, int limit) {
+        return read(() -> delegate.searchProducts(query, limit));
+    }
+
+    // fromStream pulls one element per request, reading one ahead to detect the end, and closes the stream on completion or cancel.
+    @Override
+    public Flux<ProductReturnDto> exportProducts() {
+        return Flux.fromStream(delegate::exportProducts);
+    }
+
+    @Override
+    public Mono<ProductReturnDto> getProductById(UUID id) {
+        return read(() -> delegate.getProductById(id));
+    }
+
+    @Override
+    public Mono<Long> getProductVersion(UUID id) {
+        return read(() -> delegate.getProductVersion(id));
+    }
+
+    @Override
+    public Mono<Long> getCatalogVersion() {
+        return read(delegate::getCatalogVersion);
+    }
+
+    @Override
+    public Mono<ProductReturnDto> updateProduct(UUID id, ProductUpdateDto dto, Long expectedVersion) {
+        return write(() -> delegate.updateProduct(id, dto, expectedVersion));
+    }
+
+    @Override
+    public Mono<List<ProductBatchResultDto>> updateProducts(List<ProductBatchUpdateDto> items) {
+        return write(() -> delegate.updateProducts(items));
+    }
+
+    @Override
+    public Mono<ProductReturnDto> reserveStock(UUID id, int quantity) {
+        return write(() -> delegate.reserveStock(id, quantity));
+    }
+
+    @Override
+    public Mono<ProductReturnDto> releaseStock(UUID id, int quantity) {
+        return write(() -> delegate.releaseStock(id, quantity));
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(UUID id) {
+        return Mono.fromRunnable(() -> delegate.deleteProduct(id)).subscribeOn(writeScheduler).then();
+    }
+
+    private <T> Mono<T> read(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(readScheduler);
+    }
+
+    private <T> Mono<T> write(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(writeScheduler);
+    }
+}
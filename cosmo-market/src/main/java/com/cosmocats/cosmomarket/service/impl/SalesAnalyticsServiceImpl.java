@@ -0,0 +1,61 @@
+package com.cosmocats.cosmomarket.service.impl;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.PriceCents;
+import com.cosmocats.cosmomarket.dto.analytics.ProductSalesDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesFigureDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesReportDto;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.SalesAnalyticsServiceInterface;
+import com.cosmocats.cosmomarket.service.analytics.SalesAggregator;
+import com.cosmocats.cosmomarket.service.analytics.SalesFigure;
+import com.cosmocats.cosmomarket.service.analytics.SalesWindow;
+import org.springframework.stereotype.Service;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsServiceInterface {
+
+    private final SalesAggregator aggregator;
+    private final ProductRepositoryInterface productRepo;
+
+    public SalesAnalyticsServiceImpl(SalesAggregator aggregator, ProductRepositoryInterface productRepo) {
+        this.aggregator = aggregator;
+        this.productRepo = productRepo;
+    }
+
+    @Override
+    public SalesReportDto getSalesReport(String window) {
+        SalesWindow salesWindow = SalesWindow.ofLabel(window);
+        Map<Category, SalesFigureDto> categories = new EnumMap<>(Category.class);
+        aggregator.byCategory(salesWindow).forEach((category, figure) -> categories.put(category, toDto(figure)));
+        return SalesReportDto.builder()
+                .window(salesWindow.label())
+                .total(toDto(aggregator.total(salesWindow)))
+                .categories(categories)
+                .build();
+    }
+
+    @Override
+    public ProductSalesDto getProductSales(UUID productId, String window) {
+        SalesWindow salesWindow = SalesWindow.ofLabel(window);
+        if (!productRepo.existsById(productId)) {
+            throw new NoSuchElementException("Product not found: " + productId);
+        }
+        return ProductSalesDto.builder()
+                .productId(productId)
+                .window(salesWindow.label())
+                .sales(toDto(aggregator.product(productId, salesWindow)))
+                .build();
+    }
+
+    private static SalesFigureDto toDto(SalesFigure figure) {
+        return SalesFigureDto.builder()
+                .units(figure.units())
+                .revenue(PriceCents.fromCents(figure.revenueCents()))
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.cosmocats.cosmomarket.service.importer;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses CSV product records whose columns are named by a header line.
+ * Fields may be quoted, with {@code ""} for a literal quote; each record must fit on one line.
+ * Unknown columns are ignored and missing ones are left empty for validation to report.
+ */
+public final class CsvProductParser implements ProductRecordParser {
+
+    private static final List<String> COLUMNS = List.of("name", "description", "category", "availableQuantity", "price");
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int CATEGORY = 2;
+    private static final int AVAILABLE_QUANTITY = 3;
+    private static final int PRICE = 4;
+    private static final int ABSENT = -1;
+
+    // Position of each of COLUMNS in a record, or ABSENT.
+    private final int[] positions;
+
+    private CsvProductParser(int[] positions) {
+        this.positions = positions;
+    }
+
+    public static CsvProductParser fromHeader(String header) {
+        if (header == null) {
+            throw new BadRequestException("CSV import must start with a header line");
+        }
+        int[] positions = new int[COLUMNS.size()];
+        Arrays.fill(positions, ABSENT);
+        List<String> names = split(header);
+        boolean known = false;
+        for (int i = 0; i < names.size(); i++) {
+            for (int column = 0; column < COLUMNS.size(); column++) {
+                if (COLUMNS.get(column).equalsIgnoreCase(names.get(i).trim())) {
+                    positions[column] = i;
+                    known = true;
+                }
+            }
+        }
+        if (!known) {
+            throw new BadRequestException("CSV header has none of the columns " + COLUMNS);
+        }
+        return new CsvProductParser(positions);
+    }
+
+    @Override
+    public ProductCreateDto parse(String line) {
+        List<String> fields = split(line);
+        String category = field(fields, CATEGORY);
+        String quantity = field(fields, AVAILABLE_QUANTITY);
+        String price = field(fields, PRICE);
+        return ProductCreateDto.builder()
+                .name(field(fields, NAME))
+                .description(field(fields, DESCRIPTION))
+                .category(category == null ? null : category(category))
+                .availableQuantity(quantity == null ? null : Integer.valueOf(quantity))
+                .price(price == null ? null : new BigDecimal(price))
+                .build();
+    }
+
+    private static Category category(String value) {
+        try {
+            return Category.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Unknown category '%s'".formatted(value));
+        }
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        if (position == ABSENT || position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
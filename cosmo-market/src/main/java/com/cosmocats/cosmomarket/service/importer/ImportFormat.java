@@ -0,0 +1,26 @@
+package com.cosmocats.cosmomarket.service.importer;
+
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ImportFormat of(MediaType contentType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+}
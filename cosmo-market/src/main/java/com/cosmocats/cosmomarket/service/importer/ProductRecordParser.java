@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.service.importer;
+
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import java.io.IOException;
+
+/**
+ * Turns one line of an import body into a product. Implementations are called from several
+ * threads at once and must not keep per-call state.
+ */
+@FunctionalInterface
+public interface ProductRecordParser {
+    ProductCreateDto parse(String line) throws IOException;
+}
@@ -14,9 +14,11 @@ public interface ProductMapper {
     List<ProductReturnDto> makeListProductReturnDto(List<Product> products);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Product makeProduct(ProductCreateDto dto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateBuilderFromDto(ProductUpdateDto dto, @MappingTarget Product.ProductBuilder builder);
 
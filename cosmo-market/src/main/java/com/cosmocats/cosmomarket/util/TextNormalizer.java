@@ -0,0 +1,13 @@
+package com.cosmocats.cosmomarket.util;
+
+import java.util.Locale;
+
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
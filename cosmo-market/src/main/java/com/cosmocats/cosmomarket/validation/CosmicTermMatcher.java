@@ -0,0 +1,155 @@
+package com.cosmocats.cosmomarket.validation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Finds whether a text contains any of a fixed set of terms, ignoring case, in one pass over the text.
+ * The terms are compiled into an Aho-Corasick automaton whose failure links are folded into a full
+ * transition table, so every character costs one table lookup and matching allocates nothing.
+ * Characters are folded one at a time with {@link Character#toLowerCase(char)}, which agrees with
+ * {@code toLowerCase(Locale.ROOT)} except for the few characters that lower-case to two.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class CosmicTermMatcher {
+
+    private static final int ASCII = 128;
+    private static final int OTHER = 0;
+
+    private final List<String> terms;
+    // Character class of each ASCII character, already folded; OTHER for characters in no term.
+    private final int[] asciiClasses = new int[ASCII];
+    // Sorted non-ASCII term characters; the class of the one at index i is firstNonAsciiClass + i.
+    private final char[] nonAscii;
+    private final int firstNonAsciiClass;
+    private final int width;
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    private CosmicTermMatcher(List<String> terms) {
+        this.terms = terms;
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                alphabet.add(term.charAt(i));
+            }
+        }
+        int classes = 1;
+        List<Character> others = new ArrayList<>();
+        for (char c : alphabet) {
+            if (c < ASCII) {
+                asciiClasses[c] = classes++;
+            } else {
+                others.add(c);
+            }
+        }
+        this.firstNonAsciiClass = classes;
+        this.nonAscii = new char[others.size()];
+        for (int i = 0; i < nonAscii.length; i++) {
+            nonAscii[i] = others.get(i);
+        }
+        this.width = classes + nonAscii.length;
+
+        int maxStates = 1 + terms.stream().mapToInt(String::length).sum();
+        int[] trie = new int[maxStates * width];
+        Arrays.fill(trie, -1);
+        boolean[] ends = new boolean[maxStates];
+        int states = 1;
+        for (String term : terms) {
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int slot = state * width + classOf(term.charAt(i));
+                if (trie[slot] < 0) {
+                    trie[slot] = states++;
+                }
+                state = trie[slot];
+            }
+            ends[state] = true;
+        }
+
+        // Breadth-first, so a state's failure target is complete before the state itself is filled in.
+        this.transitions = Arrays.copyOf(trie, states * width);
+        this.accepting = Arrays.copyOf(ends, states);
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < width; c++) {
+            if (transitions[c] < 0) {
+                transitions[c] = 0;
+            } else {
+                queue.add(transitions[c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] |= accepting[failure[state]];
+            for (int c = 0; c < width; c++) {
+                int slot = state * width + c;
+                int fallback = transitions[failure[state] * width + c];
+                if (transitions[slot] < 0) {
+                    transitions[slot] = fallback;
+                } else {
+                    failure[transitions[slot]] = fallback;
+                    queue.add(transitions[slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles {@code terms}, stripped and folded the same way as the text they are matched against.
+     *
+     * @throws IllegalArgumentException if there are no terms or one of them is blank
+     */
+    public static CosmicTermMatcher compile(List<String> terms) {
+        if (terms == null || terms.isEmpty()) {
+            throw new IllegalArgumentException("At least one cosmic term is required");
+        }
+        List<String> folded = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            if (term == null || term.isBlank()) {
+                throw new IllegalArgumentException("Cosmic terms must not be blank: " + terms);
+            }
+            String stripped = term.strip();
+            char[] chars = new char[stripped.length()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = fold(stripped.charAt(i));
+            }
+            folded.add(new String(chars));
+        }
+        return new CosmicTermMatcher(List.copyOf(folded));
+    }
+
+    public List<String> terms() {
+        return terms;
+    }
+
+    public boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * width + classOf(fold(text.charAt(i)))];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int classOf(char c) {
+        if (c < ASCII) {
+            return asciiClasses[c];
+        }
+        int index = Arrays.binarySearch(nonAscii, c);
+        return index < 0 ? OTHER : firstNonAsciiClass + index;
+    }
+
+    private static char fold(char c) {
+        if (c < ASCII) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,104 @@
+package com.cosmocats.cosmomarket.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The compiled cosmic terms that {@link CosmicWordValidator} checks names against.
+ * When a terms file is given, its {@value #TERMS_KEY} property replaces the configured terms and the file is
+ * checked for changes every reload interval; a changed list is compiled off to the side and swapped in,
+ * so validations in flight keep the matcher they started with. A file that is missing or holds an invalid
+ * list leaves the current terms in place.
+ */
+@Slf4j
+public class CosmicTerms implements AutoCloseable {
+
+    public static final String TERMS_KEY = "cosmo.validation.cosmic-words.terms";
+    public static final List<String> DEFAULT_TERMS = List.of("star", "galaxy", "comet", "cosmo", "cosmic", "space", "asteroid");
+
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+    private volatile CosmicTermMatcher matcher;
+    private FileTime loadedVersion;
+
+    public CosmicTerms(List<String> terms, Path file, Duration reloadInterval) {
+        this.matcher = CosmicTermMatcher.compile(terms);
+        this.file = file;
+        if (file == null) {
+            scheduler = null;
+            return;
+        }
+        reload();
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            scheduler = null;
+        } else {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "cosmic-terms-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = reloadInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::reload, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static CosmicTerms defaults() {
+        return new CosmicTerms(DEFAULT_TERMS, null, Duration.ZERO);
+    }
+
+    public CosmicTermMatcher matcher() {
+        return matcher;
+    }
+
+    /**
+     * Reads the terms file again if it changed since the last load.
+     *
+     * @return whether new terms were swapped in
+     */
+    public synchronized boolean reload() {
+        if (file == null || !Files.exists(file)) {
+            return false;
+        }
+        try {
+            FileTime version = Files.getLastModifiedTime(file);
+            if (version.equals(loadedVersion)) {
+                return false;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            loadedVersion = version;
+            String value = properties.getProperty(TERMS_KEY);
+            if (value == null) {
+                log.warn("{} has no {}, keeping {}", file, TERMS_KEY, matcher.terms());
+                return false;
+            }
+            matcher = CosmicTermMatcher.compile(Arrays.asList(value.split(",")));
+            log.info("Loaded cosmic terms {} from {}", matcher.terms(), file);
+            return true;
+        } catch (IOException | IllegalArgumentException exception) {
+            log.warn("Cannot load cosmic terms from {}, keeping {}: {}", file, matcher.terms(), exception.toString());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
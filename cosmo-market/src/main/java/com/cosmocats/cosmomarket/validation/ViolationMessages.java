@@ -0,0 +1,24 @@
+package com.cosmocats.cosmomarket.validation;
+
+import jakarta.validation.ConstraintViolation;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class ViolationMessages {
+
+    private ViolationMessages() {
+    }
+
+    /**
+     * Joins violations into one stable, field-ordered message, or returns {@code null} if there are none.
+     */
+    public static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> "field '%s' %s".formatted(violation.getPropertyPath(), violation.getMessage()))
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,50 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.dto.cart.CartDto;
+import com.cosmocats.cosmomarket.dto.cart.CartItemRequestDto;
+import com.cosmocats.cosmomarket.service.CartServiceInterface;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import java.util.UUID;
+
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
+@RestController
+@RequestMapping("/api/carts")
+public class CartController {
+
+    private final CartServiceInterface service;
+
+    public CartController(CartServiceInterface service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public CartDto create() {
+        return service.createCart();
+    }
+
+    @GetMapping("/{id}")
+    public CartDto get(@PathVariable UUID id) {
+        return service.getCart(id);
+    }
+
+    @PostMapping("/{id}/items")
+    public CartDto addItem(@PathVariable UUID id, @Valid @RequestBody CartItemRequestDto item) {
+        return service.addItem(id, item);
+    }
+
+    @DeleteMapping("/{id}/items/{productId}")
+    public CartDto removeItem(@PathVariable UUID id, @PathVariable UUID productId) {
+        return service.removeItem(id, productId);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable UUID id) {
+        service.deleteCart(id);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cosmocats.cosmomarket.web;
+
+/**
+ * Strong entity tags built from product versions, e.g. {@code "7"}, and from the catalog modification counter.
+ */
+final class ETags {
+
+    // Stored versions start at 1, so a precondition naming no usable version can never match.
+    static final long UNMATCHABLE_VERSION = 0;
+
+    // The modification counter starts over on restart; the start time keeps old catalog tags from matching again.
+    private static final String CATALOG_EPOCH = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofCatalog(long modificationCount) {
+        return "\"c" + CATALOG_EPOCH + "-" + modificationCount + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header names {@code current}. The header uses weak comparison,
+     * so {@code W/"7"} matches {@code "7"}, and {@code *} matches whatever is current.
+     */
+    static boolean noneMatchHits(String ifNoneMatch, String current) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.strip();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version an {@code If-Match} header asks for: {@code null} when the header is absent or {@code *},
+     * {@link #UNMATCHABLE_VERSION} when it is not a single strong tag of a version.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        return parseVersion(ifMatch.strip());
+    }
+
+    private static long parseVersion(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return UNMATCHABLE_VERSION;
+        }
+        try {
+            return Math.max(UNMATCHABLE_VERSION, Long.parseLong(tag, 1, tag.length() - 1, 10));
+        } catch (NumberFormatException exception) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+}
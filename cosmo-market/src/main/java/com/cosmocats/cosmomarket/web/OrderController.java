@@ -0,0 +1,68 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.dto.order.OrderCreateDto;
+import com.cosmocats.cosmomarket.dto.order.OrderDto;
+import com.cosmocats.cosmomarket.service.OrderServiceInterface;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private final OrderServiceInterface service;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter streamWriter;
+
+    public OrderController(OrderServiceInterface service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+        this.streamWriter = objectMapper.writerFor(OrderDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public OrderDto place(@Valid @RequestBody OrderCreateDto request) {
+        return service.placeOrder(request);
+    }
+
+    // Orders created in [from, to), oldest first, one JSON object per line; "to" defaults to now.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void list(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+                     HttpServletResponse response) throws IOException {
+        try (Stream<OrderDto> orders = service.streamOrders(from, to == null ? OffsetDateTime.now() : to)) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.setRootValueSeparator(null);
+                Iterator<OrderDto> iterator = orders.iterator();
+                while (iterator.hasNext()) {
+                    streamWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        }
+    }
+
+    @GetMapping("/{id}")
+    public OrderDto get(@PathVariable UUID id) {
+        return service.getOrder(id);
+    }
+}
@@ -0,0 +1,166 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.ProductWebProperties;
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.dto.product.ProductChangeDto;
+import com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException;
+import com.cosmocats.cosmomarket.exception.TooManySubscribersException;
+import com.cosmocats.cosmomarket.service.ProductChangeFeed;
+import com.cosmocats.cosmomarket.service.ProductChangeServiceInterface;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
+@RestController
+@RequestMapping("/api/products")
+public class ProductChangeController {
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    public static final String RESET_EVENT = "reset";
+
+    // An idle stream gets a comment this often, so proxies keep it open and a gone client is noticed.
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final ProductChangeServiceInterface service;
+    private final SimpleAsyncTaskExecutor executor;
+    private final int maxSubscribers;
+    private final Semaphore permits;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Boot's builder applies spring.threads.virtual.enabled, so on Java 21 each stream waits on a virtual thread.
+    public ProductChangeController(ProductChangeServiceInterface service, SimpleAsyncTaskExecutorBuilder executorBuilder,
+                                   ProductWebProperties properties) {
+        this.service = service;
+        this.executor = executorBuilder.threadNamePrefix("product-changes-").build();
+        this.executor.setDaemon(true);
+        this.maxSubscribers = properties.changeStream().maxSubscribers();
+        this.permits = new Semaphore(maxSubscribers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::cancel);
+    }
+
+    // Each event carries its position, <epoch>:<sequence>, as the SSE id, so a reconnecting EventSource resumes through
+    // Last-Event-ID, which wins over ?since=. Without either the stream starts at the next change. A position the log
+    // no longer covers, or one from before a restart, is a 410 before the stream opens, or a "reset" event once it is
+    // running; both mean reload and resubscribe from the latest position they carry. Beyond max-subscribers open
+    // streams a new one is a 503.
+    @GetMapping("/changes")
+    public SseEmitter changes(@RequestParam(required = false) String since,
+                              @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        if (!permits.tryAcquire()) {
+            throw new TooManySubscribersException(maxSubscribers);
+        }
+        ProductChangeFeed feed;
+        try {
+            feed = service.openFeed(lastEventId != null ? lastEventId : since);
+        } catch (RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+        Subscriber subscriber = new Subscriber(feed, new SseEmitter(0L));
+        try {
+            executor.execute(subscriber);
+        } catch (RuntimeException exception) {
+            subscriber.finish();
+            throw exception;
+        }
+        subscriber.emitter.onCompletion(subscriber::cancel);
+        subscriber.emitter.onError(error -> subscriber.cancel());
+        return subscriber.emitter;
+    }
+
+    /**
+     * One open stream: the task that feeds its emitter, and the feed and permit it holds until that task ends.
+     * A cancel before the task starts makes it end at once, so the feed and permit are still given back.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final ProductChangeFeed feed;
+        private final SseEmitter emitter;
+        private volatile Thread runner;
+        private volatile boolean cancelled;
+
+        Subscriber(ProductChangeFeed feed, SseEmitter emitter) {
+            this.feed = feed;
+            this.emitter = emitter;
+            subscribers.add(this);
+        }
+
+        @Override
+        public void run() {
+            runner = Thread.currentThread();
+            try {
+                if (!cancelled) {
+                    stream(feed, emitter);
+                }
+            } finally {
+                runner = null;
+                finish();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Thread thread = runner;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        // Once, when the task ends or could not be started.
+        void finish() {
+            feed.close();
+            subscribers.remove(this);
+            permits.release();
+        }
+    }
+
+    private static void stream(ProductChangeFeed feed, SseEmitter emitter) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<ProductChangeDto> changes = feed.next(HEARTBEAT_INTERVAL);
+                if (changes.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                for (ProductChangeDto change : changes) {
+                    emitter.send(SseEmitter.event()
+                            .id(change.getPosition())
+                            .name(change.getType().name().toLowerCase(Locale.ROOT))
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (ChangeLogTruncatedException exception) {
+            reset(emitter, exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException exception) {
+            // The client is gone or the emitter already completed; the container cleans up the request.
+        }
+    }
+
+    private static void reset(SseEmitter emitter, ChangeLogTruncatedException exception) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(RESET_EVENT)
+                    .data(exception.getLatestPosition()));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ignored) {
+            // Nothing left to tell a client that is gone.
+        }
+    }
+}
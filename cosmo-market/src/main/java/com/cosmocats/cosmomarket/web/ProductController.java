@@ -1,25 +1,65 @@
 package com.cosmocats.cosmomarket.web;
 
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
 import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
 import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
 import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
 import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
 @RestController
 @Validated
 @RequestMapping("/api/products")
 public class ProductController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    // Clients may keep a response but must revalidate it; an unchanged product or catalog then costs only a 304.
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
     private final ProductServiceInterface service;
+    private final ProductJsonCache jsonCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
 
-    public ProductController(ProductServiceInterface service) {
+    public ProductController(ProductServiceInterface service, ProductJsonCache jsonCache, ObjectMapper objectMapper) {
         this.service = service;
+        this.jsonCache = jsonCache;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writerFor(ProductReturnDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @PostMapping
@@ -28,24 +68,124 @@ public class ProductController {
         return service.createNewProduct(dto);
     }
 
+    @PostMapping("/batch")
+    public List<ProductBatchResultDto> createBatch(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<ProductCreateDto> dtos) {
+        return service.createProducts(dtos);
+    }
+
+    @PatchMapping("/batch")
+    public List<ProductBatchResultDto> updateBatch(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<ProductBatchUpdateDto> items) {
+        return service.updateProducts(items);
+    }
+
+    // The tag is read before the page, so a write racing the read can only make the tag older, never newer, than the body.
     @GetMapping
-    public List<ProductReturnDto> list() {
-        return service.getAllProducts();
+    public ResponseEntity<List<ProductReturnDto>> list(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit,
+                                                       @RequestParam(defaultValue = "ID") ProductSort sort,
+                                                       @RequestParam(required = false) Category category,
+                                                       @RequestParam(required = false) BigDecimal minPrice,
+                                                       @RequestParam(required = false) BigDecimal maxPrice,
+                                                       @RequestParam(required = false) Boolean inStock) {
+        String catalogTag = ETags.ofCatalog(service.getCatalogVersion());
+        if (ifNoneMatch != null && ETags.noneMatchHits(ifNoneMatch, catalogTag)) {
+            return notModified(catalogTag);
+        }
+        ProductFilter filter = ProductFilter.builder()
+                .category(category)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(inStock)
+                .build();
+        ProductPageDto page = service.getProductPage(filter, cursor, limit, sort);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(catalogTag).cacheControl(CACHE_CONTROL);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    @GetMapping("/search")
+    public List<ProductReturnDto> search(@RequestParam @NotBlank String q,
+                                         @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return service.searchProducts(q, limit);
+    }
+
+    // Writes one JSON object per line straight to the response; a slow client blocks the walk instead of growing a buffer.
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (Stream<ProductReturnDto> products = service.exportProducts();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            Iterator<ProductReturnDto> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
     }
 
+    // Only the stored version is looked up: a matching If-None-Match is answered with 304, and a version
+    // already rendered is served as cached bytes. Mapping and serialisation run once per version.
     @GetMapping("/{id}")
-    public ProductReturnDto get(@PathVariable UUID id) {
-        return service.getProductById(id);
+    public ResponseEntity<byte[]> get(@PathVariable UUID id,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = service.getProductVersion(id);
+        String current = ETags.of(version);
+        if (ifNoneMatch != null && ETags.noneMatchHits(ifNoneMatch, current)) {
+            return notModified(current);
+        }
+        ProductJsonCache.ProductJson product = jsonCache.get(id, version, () -> service.getProductById(id));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CACHE_CONTROL).contentType(MediaType.APPLICATION_JSON);
+        if (product.version() != null) {
+            response.eTag(ETags.of(product.version()));
+        }
+        return response.body(product.json());
     }
 
+    // If-Match makes the update conditional on the version the client read; a mismatch is answered with 412.
     @PutMapping("/{id}")
-    public ProductReturnDto update(@PathVariable UUID id, @Valid @RequestBody ProductUpdateDto dto) {
-        return service.updateProduct(id, dto);
+    public ResponseEntity<ProductReturnDto> update(@PathVariable UUID id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @Valid @RequestBody ProductUpdateDto dto) {
+        return withETag(invalidated(id, service.updateProduct(id, dto, ETags.expectedVersion(ifMatch))));
+    }
+
+    // Stock changes are atomic in the store, so concurrent checkouts can never oversell; a shortfall is answered with 409.
+    @PostMapping("/{id}/reserve")
+    public ResponseEntity<ProductReturnDto> reserve(@PathVariable UUID id, @RequestParam @Min(1) int qty) {
+        return withETag(invalidated(id, service.reserveStock(id, qty)));
+    }
+
+    @PostMapping("/{id}/release")
+    public ResponseEntity<ProductReturnDto> release(@PathVariable UUID id, @RequestParam @Min(1) int qty) {
+        return withETag(invalidated(id, service.releaseStock(id, qty)));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable UUID id) {
         service.deleteProduct(id);
+        jsonCache.invalidate(id);
+    }
+
+    // Cached JSON of an older version would never be served, but dropping it right away frees the space.
+    private ProductReturnDto invalidated(UUID id, ProductReturnDto changed) {
+        jsonCache.invalidate(id);
+        return changed;
+    }
+
+    private static ResponseEntity<ProductReturnDto> withETag(ProductReturnDto product) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CACHE_CONTROL);
+        if (product.getVersion() != null) {
+            response.eTag(ETags.of(product.getVersion()));
+        }
+        return response.body(product);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CACHE_CONTROL).build();
     }
 }
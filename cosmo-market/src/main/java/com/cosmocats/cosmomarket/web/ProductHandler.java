@@ -0,0 +1,292 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.exception.ErrorRecord;
+import com.cosmocats.cosmomarket.exception.GlobalErrorHandler;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.service.ReactiveProductServiceInterface;
+import com.cosmocats.cosmomarket.validation.ViolationMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * WebFlux edition of {@link ProductController}, served under the {@code reactive} profile with the same paths,
+ * parameters, entity tags and error bodies. Listings and the export are written as a {@link Flux}, so the
+ * server asks the service for more products only as the connection drains and a slow client holds no thread.
+ */
+public class ProductHandler {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+    private static final ParameterizedTypeReference<List<ProductCreateDto>> CREATE_BATCH = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<ProductBatchUpdateDto>> UPDATE_BATCH = new ParameterizedTypeReference<>() {
+    };
+
+    private final ReactiveProductServiceInterface service;
+    private final ProductJsonCache jsonCache;
+    private final Validator validator;
+    private final MeterRegistry registry;
+
+    public ProductHandler(ReactiveProductServiceInterface service, ProductJsonCache jsonCache, Validator validator, MeterRegistry registry) {
+        this.service = service;
+        this.jsonCache = jsonCache;
+        this.validator = validator;
+        this.registry = registry;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return body(request, ProductCreateDto.class)
+                .flatMap(service::createNewProduct)
+                .flatMap(product -> ServerResponse.status(HttpStatus.CREATED).bodyValue(product));
+    }
+
+    public Mono<ServerResponse> createBatch(ServerRequest request) {
+        return request.bodyToMono(CREATE_BATCH)
+                .map(ProductHandler::checkBatchSize)
+                .flatMap(service::createProducts)
+                .flatMap(results -> ServerResponse.ok().bodyValue(results));
+    }
+
+    public Mono<ServerResponse> updateBatch(ServerRequest request) {
+        return request.bodyToMono(UPDATE_BATCH)
+                .map(ProductHandler::checkBatchSize)
+                .flatMap(service::updateProducts)
+                .flatMap(results -> ServerResponse.ok().bodyValue(results));
+    }
+
+    // The tag is read before the page, so a write racing the read can only make the tag older, never newer, than the body.
+    public Mono<ServerResponse> list(ServerRequest request) {
+        String cursor = request.queryParam("cursor").orElse(null);
+        int limit = intParam(request, "limit", 50, 1, 500);
+        ProductSort sort = request.queryParam("sort").map(value -> parse("sort", value, ProductSort::valueOf)).orElse(ProductSort.ID);
+        ProductFilter filter = ProductFilter.builder()
+                .category(request.queryParam("category").map(value -> parse("category", value, Category::valueOf)).orElse(null))
+                .minPrice(request.queryParam("minPrice").map(value -> parse("minPrice", value, BigDecimal::new)).orElse(null))
+                .maxPrice(request.queryParam("maxPrice").map(value -> parse("maxPrice", value, BigDecimal::new)).orElse(null))
+                .inStock(request.queryParam("inStock").map(ProductHandler::parseBoolean).orElse(null))
+                .build();
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        return service.getCatalogVersion().flatMap(catalogVersion -> {
+            String catalogTag = ETags.ofCatalog(catalogVersion);
+            if (ifNoneMatch != null && ETags.noneMatchHits(ifNoneMatch, catalogTag)) {
+                return notModified(catalogTag);
+            }
+            return service.getProductPage(filter, cursor, limit, sort).flatMap(page -> {
+                ServerResponse.BodyBuilder response = ServerResponse.ok().eTag(catalogTag).cacheControl(CACHE_CONTROL)
+                        .contentType(MediaType.APPLICATION_JSON);
+                if (page.getNextCursor() != null) {
+                    response.header(ProductController.NEXT_CURSOR_HEADER, page.getNextCursor());
+                }
+                return response.body(Flux.fromIterable(page.getItems()), ProductReturnDto.class);
+            });
+        });
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        String query = request.queryParam("q").filter(q -> !q.isBlank())
+                .orElseThrow(() -> new BadRequestException("Parameter 'q' must not be blank"));
+        int limit = intParam(request, "limit", 20, 1, 100);
+        return service.searchProducts(query, limit).flatMap(hits -> ServerResponse.ok().bodyValue(hits));
+    }
+
+    // One JSON object per line, each pulled from the catalog walk only when the connection can take it.
+    public Mono<ServerResponse> export(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(service.exportProducts(), ProductReturnDto.class);
+    }
+
+    // Only the stored version is looked up: a matching If-None-Match is answered with 304, and a version
+    // already rendered is served as cached bytes.
+    public Mono<ServerResponse> get(ServerRequest request) {
+        UUID id = pathId(request);
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        return service.getProductVersion(id).flatMap(version -> {
+            String current = ETags.of(version);
+            if (ifNoneMatch != null && ETags.noneMatchHits(ifNoneMatch, current)) {
+                return notModified(current);
+            }
+            ProductJsonCache.ProductJson cached = jsonCache.getIfCurrent(id, version);
+            Mono<ProductJsonCache.ProductJson> json = cached != null
+                    ? Mono.just(cached)
+                    : service.getProductById(id).map(product -> jsonCache.store(id, product));
+            return json.flatMap(product -> {
+                ServerResponse.BodyBuilder response = ServerResponse.ok().cacheControl(CACHE_CONTROL).contentType(MediaType.APPLICATION_JSON);
+                if (product.version() != null) {
+                    response.eTag(ETags.of(product.version()));
+                }
+                return response.bodyValue(product.json());
+            });
+        });
+    }
+
+    // If-Match makes the update conditional on the version the client read; a mismatch is answered with 412.
+    public Mono<ServerResponse> update(ServerRequest request) {
+        UUID id = pathId(request);
+        Long expectedVersion = ETags.expectedVersion(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return body(request, ProductUpdateDto.class)
+                .flatMap(dto -> service.updateProduct(id, dto, expectedVersion))
+                .flatMap(product -> withETag(id, product));
+    }
+
+    public Mono<ServerResponse> reserve(ServerRequest request) {
+        UUID id = pathId(request);
+        int quantity = intParam(request, "qty", null, 1, Integer.MAX_VALUE);
+        return service.reserveStock(id, quantity).flatMap(product -> withETag(id, product));
+    }
+
+    public Mono<ServerResponse> release(ServerRequest request) {
+        UUID id = pathId(request);
+        int quantity = intParam(request, "qty", null, 1, Integer.MAX_VALUE);
+        return service.releaseStock(id, quantity).flatMap(product -> withETag(id, product));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        UUID id = pathId(request);
+        return service.deleteProduct(id)
+                .then(Mono.fromRunnable(() -> jsonCache.invalidate(id)))
+                .then(ServerResponse.noContent().build());
+    }
+
+    /**
+     * Route filter answering failures with the same statuses and {@link ErrorRecord} bodies as {@link GlobalErrorHandler}.
+     * Parameter checks throw before a publisher exists, so the handler call is deferred to turn them into error signals too.
+     */
+    public Mono<ServerResponse> handleErrors(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request)).onErrorResume(error -> error(error, request));
+    }
+
+    private Mono<ServerResponse> error(Throwable error, ServerRequest request) {
+        if (error instanceof NoSuchElementException) {
+            return errorResponse("not_found", HttpStatus.NOT_FOUND, error.getMessage(), request);
+        }
+        if (error instanceof VersionConflictException) {
+            return errorResponse("version_conflict", HttpStatus.PRECONDITION_FAILED, error.getMessage(), request);
+        }
+        if (error instanceof InsufficientStockException) {
+            return errorResponse("insufficient_stock", HttpStatus.CONFLICT, error.getMessage(), request);
+        }
+        if (error instanceof ConstraintViolationException) {
+            return errorResponse("constraint", HttpStatus.BAD_REQUEST, error.getMessage(), request);
+        }
+        if (error instanceof BadRequestException) {
+            return errorResponse("bad_request", HttpStatus.BAD_REQUEST, error.getMessage(), request);
+        }
+        if (error instanceof UnsupportedMediaTypeStatusException) {
+            return errorResponse("unsupported_media_type", HttpStatus.UNSUPPORTED_MEDIA_TYPE, error.getMessage(), request);
+        }
+        if (error instanceof ServerWebInputException input) {
+            return errorResponse("not_readable", HttpStatus.BAD_REQUEST, "Incorrect JSON body: %s".formatted(input.getReason()), request);
+        }
+        return errorResponse("unexpected", HttpStatus.INTERNAL_SERVER_ERROR, error.getMessage(), request);
+    }
+
+    private Mono<ServerResponse> errorResponse(String handler, HttpStatus status, String message, ServerRequest request) {
+        Counter.builder(GlobalErrorHandler.ERROR_COUNTER_NAME)
+                .description("Errors turned into responses, by handler")
+                .tag("handler", handler)
+                .tag("status", String.valueOf(status.value()))
+                .register(registry)
+                .increment();
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorRecord(status.value(), status.getReasonPhrase(), message, request.path()));
+    }
+
+    private <T> Mono<T> body(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .doOnNext(this::validate);
+    }
+
+    private void validate(Object dto) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("Validation failed for object '%s': %s"
+                    .formatted(dto.getClass().getSimpleName(), ViolationMessages.describe(violations)), violations);
+        }
+    }
+
+    // Cached JSON of an older version would never be served, but dropping it right away frees the space.
+    private Mono<ServerResponse> withETag(UUID id, ProductReturnDto product) {
+        jsonCache.invalidate(id);
+        ServerResponse.BodyBuilder response = ServerResponse.ok().cacheControl(CACHE_CONTROL);
+        if (product.getVersion() != null) {
+            response.eTag(ETags.of(product.getVersion()));
+        }
+        return response.bodyValue(product);
+    }
+
+    private static Mono<ServerResponse> notModified(String eTag) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CACHE_CONTROL).build();
+    }
+
+    private static <T> List<T> checkBatchSize(List<T> items) {
+        if (items.isEmpty() || items.size() > ProductController.MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch must hold 1 to %d products, got %d"
+                    .formatted(ProductController.MAX_BATCH_SIZE, items.size()));
+        }
+        return items;
+    }
+
+    private static UUID pathId(ServerRequest request) {
+        return parse("id", request.pathVariable("id"), UUID::fromString);
+    }
+
+    private static int intParam(ServerRequest request, String name, Integer defaultValue, int min, int max) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null && defaultValue == null) {
+            throw new BadRequestException("Required parameter '%s' is not present".formatted(name));
+        }
+        int parsed = value == null ? defaultValue : parse(name, value, Integer::valueOf);
+        if (parsed < min || parsed > max) {
+            throw new BadRequestException("Parameter '%s' must be between %d and %d, got %d".formatted(name, min, max, parsed));
+        }
+        return parsed;
+    }
+
+    // The same message as a type mismatch on the servlet side; the parsers' own exceptions would be answered with 500.
+    private static <T> T parse(String name, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid value '%s' for parameter '%s'".formatted(value, name));
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new BadRequestException("Invalid value '%s' for parameter 'inStock'".formatted(value));
+        }
+        return Boolean.valueOf(value);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.dto.product.ProductImportReportDto;
+import com.cosmocats.cosmomarket.service.ProductImportServiceInterface;
+import com.cosmocats.cosmomarket.service.importer.ImportFormat;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import java.io.InputStream;
+
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
+@RestController
+@RequestMapping("/api/products")
+public class ProductImportController {
+
+    private final ProductImportServiceInterface importService;
+
+    public ProductImportController(ProductImportServiceInterface importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ImportFormat.CSV_VALUE})
+    public ProductImportReportDto importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        return importService.importProducts(body, ImportFormat.of(MediaType.parseMediaType(contentType)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Serialised product responses, so a hot product is mapped and written to JSON once per version.
+ * Entries are keyed by id and remember the version they were rendered from; asking for any other version
+ * renders the product again and replaces the entry. Caffeine bounds the total size in bytes and evicts
+ * with W-TinyLFU, so products that are read once do not push out the hot ones.
+ */
+public class ProductJsonCache {
+
+    public static final String CACHE_NAME = "product_json";
+
+    public record ProductJson(Long version, byte[] json) {
+    }
+
+    private final Cache<UUID, ProductJson> cache;
+    private final ObjectWriter writer;
+
+    public ProductJsonCache(ObjectMapper objectMapper, long maxBytes, MeterRegistry registry) {
+        this.writer = objectMapper.writerFor(ProductReturnDto.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<UUID, ProductJson>weigher((id, entry) -> entry.json().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * JSON of the product at {@code version}, rendered with {@code render} on a miss. The rendered product
+     * may be newer than {@code version} if a write raced the read; it is cached and returned under its own version.
+     */
+    public ProductJson get(UUID id, long version, Supplier<ProductReturnDto> render) {
+        ProductJson cached = getIfCurrent(id, version);
+        return cached != null ? cached : store(id, render.get());
+    }
+
+    /**
+     * JSON of the product at {@code version}, or {@code null} if that version is not cached.
+     */
+    public ProductJson getIfCurrent(UUID id, long version) {
+        ProductJson cached = cache.getIfPresent(id);
+        return cached != null && cached.version() != null && cached.version() == version ? cached : null;
+    }
+
+    /**
+     * Serialises {@code product} and caches it under its own version, for callers that render it themselves.
+     */
+    public ProductJson store(UUID id, ProductReturnDto product) {
+        ProductJson rendered = new ProductJson(product.getVersion(), serialise(product));
+        if (rendered.version() != null) {
+            cache.asMap().merge(id, rendered, ProductJsonCache::newer);
+        }
+        return rendered;
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Two readers rendering different versions at once must not leave the older one cached.
+    private static ProductJson newer(ProductJson current, ProductJson candidate) {
+        return current.version() != null && current.version() > candidate.version() ? current : candidate;
+    }
+
+    private byte[] serialise(ProductReturnDto product) {
+        try {
+            return writer.writeValueAsBytes(product);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
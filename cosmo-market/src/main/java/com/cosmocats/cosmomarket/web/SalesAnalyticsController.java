@@ -0,0 +1,31 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.dto.analytics.ProductSalesDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesReportDto;
+import com.cosmocats.cosmomarket.service.SalesAnalyticsServiceInterface;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import java.util.UUID;
+
+@Profile("!" + ReactiveProductWebConfiguration.PROFILE)
+@RestController
+@RequestMapping("/api/analytics/sales")
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsServiceInterface service;
+
+    public SalesAnalyticsController(SalesAnalyticsServiceInterface service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public SalesReportDto report(@RequestParam(defaultValue = "1h") String window) {
+        return service.getSalesReport(window);
+    }
+
+    @GetMapping("/products/{id}")
+    public ProductSalesDto product(@PathVariable UUID id, @RequestParam(defaultValue = "1h") String window) {
+        return service.getProductSales(id, window);
+    }
+}
@@ -0,0 +1,62 @@
+package com.cosmocats.cosmomarket.config;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Product Repository Configuration Tests")
+public class ProductRepositoryConfigurationTest {
+
+    @TempDir
+    Path directory;
+
+    private ApplicationContextRunner durableContext() {
+        return new ApplicationContextRunner()
+                .withUserConfiguration(ProductRepositoryConfiguration.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues(
+                        "cosmo.repository.persistence.enabled=true",
+                        "cosmo.repository.persistence.directory=" + directory,
+                        "cosmo.repository.persistence.snapshot-interval=0s");
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave a snapshot and an empty log tail when the context closes")
+    void shouldSnapshotWhenContextCloses() throws IOException {
+        AtomicReference<Set<Product>> stored = new AtomicReference<>();
+        durableContext().run(context -> {
+            ProductRepositoryInterface repository = context.getBean(ProductRepositoryInterface.class);
+            Product seeded = repository.findPage(null, 1, ProductSort.ID).products().get(0);
+            repository.saveProduct(seeded.toBuilder().name("Renamed " + seeded.getName()).build());
+            stored.set(new HashSet<>(repository.getAllProducts()));
+        });
+
+        assertEquals(1, files(".snapshot").size());
+        assertEquals(1, files(".wal").size());
+        assertEquals(0, Files.size(files(".wal").get(0)));
+
+        durableContext().run(context ->
+                assertEquals(stored.get(), new HashSet<>(context.getBean(ProductRepositoryInterface.class).getAllProducts())));
+    }
+}
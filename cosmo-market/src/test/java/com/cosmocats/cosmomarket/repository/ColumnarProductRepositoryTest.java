@@ -0,0 +1,294 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Columnar Product Repository Tests")
+public class ColumnarProductRepositoryTest {
+
+    private ColumnarProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarProductRepository();
+    }
+
+    private static Product buildProduct(int number) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name("Galaxy item " + (number % 100))
+                .description("Shipped from sector " + (number % 10))
+                .category(Category.values()[number % Category.values().length])
+                .availableQuantity(number % 3)
+                .price(BigDecimal.valueOf(100 + number % 1000, 2))
+                .build();
+    }
+
+    private static List<Product> readAllPages(ProductRepositoryInterface repository, ProductSort sort) {
+        List<Product> products = new ArrayList<>();
+        ProductCursor cursor = null;
+        do {
+            ProductPage page = repository.findPage(cursor, 7, sort);
+            products.addAll(page.products());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return products;
+    }
+
+    @Test
+    @DisplayName("Should store, update and materialise products field by field")
+    void shouldRoundTripProducts() {
+        Product product = buildProduct(7);
+
+        Product saved = repository.saveProduct(product);
+        Product updated = repository.saveProduct(saved.toBuilder().name("Comet item").availableQuantity(9).build());
+
+        assertEquals(product.toBuilder().version(Product.FIRST_VERSION).build(), saved);
+        assertEquals(updated, repository.findById(product.getId()).orElseThrow());
+        assertEquals(Product.FIRST_VERSION + 1, updated.getVersion());
+        assertEquals(1, repository.getAllProducts().size());
+    }
+
+    @Test
+    @DisplayName("Should keep null fields and assign missing ids")
+    void shouldKeepNullFields() {
+        Product saved = repository.saveProduct(Product.builder().name("Star").build());
+
+        Product found = repository.findById(saved.getId()).orElseThrow();
+        assertNull(found.getPrice());
+        assertNull(found.getCategory());
+        assertNull(found.getAvailableQuantity());
+        assertNull(found.getDescription());
+    }
+
+    @Test
+    @DisplayName("Should reject prices with fractions of a cent")
+    void shouldRejectFractionalCents() {
+        Product product = buildProduct(1).toBuilder().price(new BigDecimal("1.005")).build();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.saveProduct(product));
+        assertFalse(repository.existsById(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Should reject the whole bulk save when one price has fractions of a cent")
+    void shouldRejectBulkSaveAtomically() {
+        Product valid = buildProduct(1);
+        Product invalid = buildProduct(2).toBuilder().price(new BigDecimal("2.001")).build();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(List.of(valid, invalid)));
+        assertTrue(repository.getAllProducts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should save and delete products in bulk")
+    void shouldSaveAndDeleteInBulk() {
+        List<Product> saved = repository.saveAll(List.of(buildProduct(1), buildProduct(2), buildProduct(3)));
+
+        repository.deleteAll(List.of(saved.get(0).getId(), saved.get(1).getId()));
+
+        assertEquals(List.of(saved.get(2)), repository.getAllProducts());
+    }
+
+    @Test
+    @DisplayName("Should reuse slots of deleted products and keep lookups correct")
+    void shouldReuseDeletedSlots() {
+        List<Product> saved = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            saved.add(repository.saveProduct(buildProduct(i)));
+        }
+        for (int i = 0; i < saved.size(); i += 2) {
+            repository.deleteById(saved.get(i).getId());
+        }
+        for (int i = 0; i < 1500; i++) {
+            repository.saveProduct(buildProduct(i));
+        }
+
+        assertEquals(3000, repository.getAllProducts().size());
+        assertEquals(3000, repository.count());
+        for (int i = 0; i < saved.size(); i++) {
+            assertEquals(i % 2 == 1, repository.existsById(saved.get(i).getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream products chunk by chunk and tolerate writes during the walk")
+    void shouldStreamAllProducts() {
+        List<Product> saved = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            saved.add(repository.saveProduct(buildProduct(i)));
+        }
+
+        List<Product> streamed = new ArrayList<>();
+        repository.streamAll().forEach(product -> {
+            if (streamed.isEmpty()) {
+                repository.deleteById(saved.get(saved.size() - 1).getId());
+            }
+            streamed.add(product);
+        });
+
+        assertEquals(saved.subList(0, saved.size() - 1), streamed);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    @DisplayName("Should page in the same order as the map repository")
+    void shouldPageLikeMapRepository(ProductSort sort) {
+        InMemoryProductRepository reference = new InMemoryProductRepository();
+        for (int i = 0; i < 100; i++) {
+            Product product = buildProduct(i);
+            reference.saveProduct(product);
+            repository.saveProduct(product);
+        }
+
+        assertEquals(readAllPages(reference, sort), readAllPages(repository, sort));
+    }
+
+    @Test
+    @DisplayName("Should filter by category, price range and stock with column scans")
+    void shouldFilterProducts() {
+        for (int i = 0; i < 50; i++) {
+            repository.saveProduct(buildProduct(i));
+        }
+        ProductFilter filter = ProductFilter.builder()
+                .category(Category.FOOD)
+                .minPrice(new BigDecimal("1.05"))
+                .maxPrice(new BigDecimal("1.400"))
+                .inStock(true)
+                .build();
+
+        List<Product> expected = repository.getAllProducts().stream().filter(filter::matches).toList();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, repository.findByFilter(filter));
+    }
+
+    @Test
+    @DisplayName("Should clamp price bounds beyond the stored range instead of failing")
+    void shouldClampOutOfRangePriceBounds() {
+        for (int i = 0; i < 20; i++) {
+            repository.saveProduct(buildProduct(i));
+        }
+        List<Product> all = repository.getAllProducts();
+
+        assertEquals(all, repository.findByFilter(ProductFilter.builder().maxPrice(new BigDecimal("1e30")).build()));
+        assertEquals(all, repository.findByFilter(ProductFilter.builder()
+                .minPrice(new BigDecimal("-1e999999999")).maxPrice(new BigDecimal("1e999999999")).build()));
+        assertTrue(repository.findByFilter(ProductFilter.builder().minPrice(new BigDecimal("1e999999999")).build()).isEmpty());
+        assertTrue(repository.findByFilter(ProductFilter.builder().maxPrice(new BigDecimal("1e-999999999")).build()).isEmpty());
+        assertEquals(all, repository.findByFilter(ProductFilter.builder().minPrice(new BigDecimal("1e-999999999")).build()));
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches in search")
+    void shouldSearchProducts() {
+        Product inName = repository.saveProduct(buildProduct(1).toBuilder().name("Nebula Tea").build());
+        Product inDescription = repository.saveProduct(buildProduct(2).toBuilder().description("smells like nebula").build());
+
+        List<UUID> ids = repository.search("nebu", 10).stream().map(hit -> hit.product().getId()).toList();
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids);
+        assertTrue(repository.search("nebula tea coffee", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should save only when the stored version matches")
+    void shouldSaveIfVersionMatches() {
+        Product saved = repository.saveProduct(buildProduct(1));
+
+        Product updated = repository.saveProductIfVersion(saved.toBuilder().availableQuantity(5).build(), saved.getVersion());
+        VersionConflictException conflict = assertThrows(VersionConflictException.class,
+                () -> repository.saveProductIfVersion(saved.toBuilder().availableQuantity(6).build(), saved.getVersion()));
+
+        assertEquals(saved.getVersion() + 1, updated.getVersion());
+        assertEquals(updated.getVersion(), conflict.getActualVersion());
+        assertEquals(updated, repository.findById(saved.getId()).orElseThrow());
+        assertThrows(NoSuchElementException.class, () -> repository.saveProductIfVersion(buildProduct(2), Product.FIRST_VERSION));
+    }
+
+    @Test
+    @DisplayName("Should restore a product with its version and count on from it")
+    void shouldRestoreVersion() {
+        Product restored = buildProduct(1).toBuilder().version(41L).build();
+
+        repository.restore(restored);
+        Product saved = repository.saveProduct(restored);
+
+        assertEquals(42L, saved.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should reserve and release stock in place")
+    void shouldReserveAndReleaseStock() {
+        Product saved = repository.saveProduct(buildProduct(1).toBuilder().availableQuantity(2).build());
+        Product sparse = repository.saveProduct(Product.builder().name("Star").build());
+
+        Product reserved = repository.reserve(saved.getId(), 2);
+        Product released = repository.release(sparse.getId(), 5);
+
+        assertEquals(0, reserved.getAvailableQuantity());
+        assertEquals(saved.getVersion() + 1, reserved.getVersion());
+        assertEquals(5, released.getAvailableQuantity());
+        assertEquals(reserved, repository.findById(saved.getId()).orElseThrow());
+        assertThrows(InsufficientStockException.class, () -> repository.reserve(saved.getId(), 1));
+        assertThrows(NoSuchElementException.class, () -> repository.release(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    @DisplayName("Should reserve each order of a batch in full or not at all")
+    void shouldReserveBatchPerOrder() {
+        Product first = repository.saveProduct(buildProduct(1).toBuilder().availableQuantity(3).build());
+        Product second = repository.saveProduct(buildProduct(2).toBuilder().availableQuantity(1).build());
+        long before = repository.modificationCount();
+
+        List<StockReservation> results = repository.reserveBatch(List.of(
+                Map.of(first.getId(), 2, second.getId(), 1),
+                Map.of(first.getId(), 1, second.getId(), 1),
+                Map.of(first.getId(), 1, UUID.randomUUID(), 1)));
+
+        assertEquals(2, results.get(0).products().size());
+        assertInstanceOf(InsufficientStockException.class, results.get(1).failure());
+        assertInstanceOf(NoSuchElementException.class, results.get(2).failure());
+        assertEquals(1, repository.findById(first.getId()).orElseThrow().getAvailableQuantity());
+        assertEquals(first.getVersion() + 1, repository.findById(first.getId()).orElseThrow().getVersion());
+        assertEquals(0, repository.findById(second.getId()).orElseThrow().getAvailableQuantity());
+        assertEquals(before + 1, repository.modificationCount());
+    }
+
+    @Test
+    @DisplayName("Should count successful writes only")
+    void shouldCountModifications() {
+        Product saved = repository.saveProduct(buildProduct(1).toBuilder().availableQuantity(1).build());
+        repository.reserve(saved.getId(), 1);
+        long afterWrites = repository.modificationCount();
+
+        repository.findPage(null, 10, ProductSort.ID);
+        assertThrows(InsufficientStockException.class, () -> repository.reserve(saved.getId(), 1));
+        repository.deleteById(UUID.randomUUID());
+
+        assertEquals(2, afterWrites);
+        assertEquals(afterWrites, repository.modificationCount());
+
+        repository.deleteAll(List.of(saved.getId()));
+
+        assertEquals(afterWrites + 1, repository.modificationCount());
+    }
+}
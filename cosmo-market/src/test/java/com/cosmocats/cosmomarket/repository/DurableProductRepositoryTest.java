@@ -0,0 +1,268 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.persistence.DurabilityMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Durable Product Repository Tests")
+public class DurableProductRepositoryTest {
+
+    private static final int WRITER_THREADS = 8;
+    private static final int WRITES_PER_THREAD = 250;
+
+    @TempDir
+    Path directory;
+
+    private DurableProductRepository open(ProductRepositoryInterface store, DurabilityMode durability) {
+        return DurableProductRepository.open(store, directory, durability, Duration.ZERO);
+    }
+
+    private DurableProductRepository open(DurabilityMode durability) {
+        return open(new InMemoryProductRepository(), durability);
+    }
+
+    private static Product buildProduct(String name, String price) {
+        return Product.builder()
+                .name(name)
+                .description("Delivered by cosmo cats")
+                .category(Category.ACCESSORY)
+                .availableQuantity(4)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    private static Set<Product> contents(ProductRepositoryInterface repository) {
+        return new HashSet<>(repository.getAllProducts());
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay saves, updates and deletes from the log after a crash")
+    void shouldRecoverFromLog() {
+        DurableProductRepository repository = open(DurabilityMode.PER_WRITE);
+        Product kept = repository.saveProduct(buildProduct("Star Map", "12.50"));
+        Product removed = repository.saveProduct(buildProduct("Moon Rock", "3.00"));
+        repository.saveProduct(kept.toBuilder().availableQuantity(0).build());
+        repository.deleteById(removed.getId());
+
+        DurableProductRepository recovered = open(DurabilityMode.PER_WRITE);
+
+        assertEquals(contents(repository), contents(recovered));
+        assertEquals(0, recovered.findById(kept.getId()).orElseThrow().getAvailableQuantity());
+        assertFalse(recovered.existsById(removed.getId()));
+    }
+
+    @Test
+    @DisplayName("Should log bulk saves and deletes")
+    void shouldRecoverBulkWrites() {
+        DurableProductRepository repository = open(DurabilityMode.GROUP_COMMIT);
+        List<Product> saved = repository.saveAll(List.of(buildProduct("Star Map", "12.50"), buildProduct("Moon Rock", "3.00")));
+        repository.deleteAll(List.of(saved.get(1).getId(), UUID.randomUUID()));
+
+        DurableProductRepository recovered = open(DurabilityMode.GROUP_COMMIT);
+
+        assertEquals(Set.of(saved.get(0)), contents(recovered));
+    }
+
+    @Test
+    @DisplayName("Should hand a batch to the store's saveAll and log what it applied before failing")
+    void shouldLogPartiallyAppliedBatch() {
+        AtomicInteger batches = new AtomicInteger();
+        InMemoryProductRepository store = new InMemoryProductRepository() {
+            @Override
+            public List<Product> saveAll(Collection<Product> products) {
+                batches.incrementAndGet();
+                List<Product> saved = new ArrayList<>();
+                for (Product product : products) {
+                    if (product.getName().equals("Broken Comet")) {
+                        throw new IllegalStateException("store failed mid-batch");
+                    }
+                    saved.add(saveProduct(product));
+                }
+                return saved;
+            }
+        };
+        DurableProductRepository repository = open(store, DurabilityMode.PER_WRITE);
+        List<Product> saved = repository.saveAll(List.of(buildProduct("Star Map", "12.50"), buildProduct("Moon Rock", "3.00")));
+
+        assertThrows(IllegalStateException.class, () -> repository.saveAll(List.of(
+                buildProduct("Sun Dial", "7.00"), buildProduct("Broken Comet", "1.00"))));
+
+        assertEquals(2, batches.get());
+        DurableProductRepository recovered = open(DurabilityMode.PER_WRITE);
+        assertEquals(contents(repository), contents(recovered));
+        assertEquals(3, recovered.count());
+        assertTrue(recovered.getAllProducts().containsAll(saved));
+    }
+
+    @Test
+    @DisplayName("Should keep null fields and price scale across recovery")
+    void shouldRecoverNullFields() {
+        DurableProductRepository repository = open(DurabilityMode.PER_WRITE);
+        Product sparse = repository.saveProduct(Product.builder().name("Nameless Nebula").build());
+        Product scaled = repository.saveProduct(buildProduct("Dust", "1.500"));
+
+        DurableProductRepository recovered = open(DurabilityMode.PER_WRITE);
+
+        assertEquals(sparse, recovered.findById(sparse.getId()).orElseThrow());
+        assertEquals(new BigDecimal("1.500"), recovered.findById(scaled.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    @DisplayName("Should load the snapshot and replay only the log written after it")
+    void shouldRecoverFromSnapshotAndLogTail() throws IOException {
+        DurableProductRepository repository = open(DurabilityMode.GROUP_COMMIT);
+        Product first = repository.saveProduct(buildProduct("Comet Tail", "5.00"));
+        for (int i = 0; i < 20; i++) {
+            repository.saveProduct(buildProduct("Asteroid " + i, "1.00"));
+        }
+
+        assertEquals(21, repository.snapshot());
+        repository.deleteById(first.getId());
+        repository.saveProduct(buildProduct("Solar Sail", "99.99"));
+
+        assertEquals(1, files(".snapshot").size());
+        assertEquals(1, files(".wal").size());
+
+        DurableProductRepository recovered = open(DurabilityMode.GROUP_COMMIT);
+
+        assertEquals(contents(repository), contents(recovered));
+        assertFalse(recovered.existsById(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Should write a final snapshot on close and recover a columnar store from it")
+    void shouldSnapshotOnClose() throws IOException {
+        DurableProductRepository repository = open(new ColumnarProductRepository(), DurabilityMode.GROUP_COMMIT);
+        repository.saveProduct(buildProduct("Orbit Lamp", "15.00"));
+        repository.saveProduct(buildProduct("Orbit Chair", "45.10"));
+        Set<Product> expected = contents(repository);
+
+        repository.close();
+
+        assertEquals(0, Files.size(files(".wal").get(0)));
+        DurableProductRepository recovered = open(new ColumnarProductRepository(), DurabilityMode.GROUP_COMMIT);
+        assertEquals(expected, contents(recovered));
+    }
+
+    @Test
+    @DisplayName("Should cut a torn record off the end of the log and keep appending after it")
+    void shouldTruncateTornTail() throws IOException {
+        DurableProductRepository repository = open(DurabilityMode.PER_WRITE);
+        repository.saveProduct(buildProduct("Star Dust", "2.00"));
+        Path segment = files(".wal").get(0);
+        long intactSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        DurableProductRepository recovered = open(DurabilityMode.PER_WRITE);
+        assertEquals(intactSize, Files.size(segment));
+        assertEquals(contents(repository), contents(recovered));
+
+        recovered.saveProduct(buildProduct("Star Light", "4.00"));
+        assertEquals(contents(recovered), contents(open(DurabilityMode.PER_WRITE)));
+    }
+
+    @Test
+    @DisplayName("Should keep every acknowledged write from concurrent writers with group commit")
+    void shouldKeepConcurrentWrites() throws Exception {
+        DurableProductRepository repository = open(DurabilityMode.GROUP_COMMIT);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITER_THREADS);
+        try {
+            List<Future<?>> writers = Stream.<Future<?>>generate(() -> executor.submit(() -> {
+                for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                    Product saved = repository.saveProduct(buildProduct("Meteor " + i, "1.00"));
+                    if (i % 10 == 0) {
+                        repository.deleteById(saved.getId());
+                    }
+                }
+            })).limit(WRITER_THREADS).toList();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        DurableProductRepository recovered = open(DurabilityMode.GROUP_COMMIT);
+
+        assertEquals(WRITER_THREADS * WRITES_PER_THREAD * 9 / 10, recovered.getAllProducts().size());
+        assertEquals(contents(repository), contents(recovered));
+    }
+
+    @Test
+    @DisplayName("Should log conditional saves and keep versions across snapshot and replay")
+    void shouldRecoverVersions() {
+        DurableProductRepository repository = open(DurabilityMode.GROUP_COMMIT);
+        Product saved = repository.saveProduct(buildProduct("Star Map", "12.50"));
+        Product updated = repository.saveProduct(saved.toBuilder().availableQuantity(1).build());
+        repository.snapshot();
+        Product conditional = repository.saveProductIfVersion(updated.toBuilder().availableQuantity(0).build(), updated.getVersion());
+
+        DurableProductRepository recovered = open(DurabilityMode.GROUP_COMMIT);
+
+        assertEquals(conditional, recovered.findById(saved.getId()).orElseThrow());
+        assertThrows(VersionConflictException.class, () -> recovered.saveProductIfVersion(conditional, updated.getVersion()));
+        assertEquals(conditional.getVersion() + 1, recovered.saveProduct(conditional).getVersion());
+    }
+
+    @Test
+    @DisplayName("Should log stock reservations and releases")
+    void shouldRecoverStockChanges() {
+        DurableProductRepository repository = open(DurabilityMode.PER_WRITE);
+        Product saved = repository.saveProduct(buildProduct("Star Map", "12.50"));
+        repository.reserve(saved.getId(), 3);
+        Product released = repository.release(saved.getId(), 1);
+
+        DurableProductRepository recovered = open(DurabilityMode.PER_WRITE);
+
+        assertEquals(released, recovered.findById(saved.getId()).orElseThrow());
+        assertEquals(2, released.getAvailableQuantity());
+    }
+
+    @Test
+    @DisplayName("Should log a reserved batch and recover the same stock and versions")
+    void shouldRecoverReservedBatch() {
+        DurableProductRepository repository = open(DurabilityMode.PER_WRITE);
+        Product map = repository.saveProduct(buildProduct("Star Map", "12.50"));
+        Product compass = repository.saveProduct(buildProduct("Comet Compass", "3.00"));
+
+        List<StockReservation> results = repository.reserveBatch(List.of(
+                Map.of(map.getId(), 3, compass.getId(), 4),
+                Map.of(map.getId(), 1, compass.getId(), 1)));
+
+        DurableProductRepository recovered = open(DurabilityMode.PER_WRITE);
+
+        assertTrue(results.get(0).succeeded());
+        assertFalse(results.get(1).succeeded());
+        assertEquals(contents(repository), contents(recovered));
+        assertEquals(1, recovered.findById(map.getId()).orElseThrow().getAvailableQuantity());
+    }
+}
@@ -0,0 +1,212 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.cart.CartItem;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In-Memory Cart Repository Tests")
+public class InMemoryCartRepositoryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private InMemoryCartRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryCartRepository(TTL, 1000, nanos::get, new SimpleMeterRegistry());
+    }
+
+    private static Product buildProduct(String name, String price) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .category(Category.FOOD)
+                .availableQuantity(10)
+                .price(new BigDecimal(price))
+                .version(Product.FIRST_VERSION)
+                .build();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should merge lines of the same product and remove lines by product id")
+    void shouldAddMergeAndRemoveLines() {
+        Cart cart = repository.create();
+        Product tea = buildProduct("Star Tea", "2.50");
+        Product jam = buildProduct("Comet Jam", "4.00");
+
+        repository.addItem(cart.getId(), tea, 2);
+        repository.addItem(cart.getId(), jam, 1);
+        Product repriced = tea.toBuilder().price(new BigDecimal("3.00")).build();
+        Cart merged = repository.addItem(cart.getId(), repriced, 3);
+
+        assertEquals(List.of(CartItem.builder().product(repriced).quantity(5).build(), CartItem.builder().product(jam).quantity(1).build()),
+                merged.getItems());
+        assertEquals(new BigDecimal("19.00"), merged.totalCartPrice());
+
+        Cart removed = repository.removeItem(cart.getId(), repriced.getId());
+        Cart unchanged = repository.removeItem(cart.getId(), UUID.randomUUID());
+
+        assertEquals(List.of(jam), removed.getItems().stream().map(CartItem::getProduct).toList());
+        assertEquals(removed, unchanged);
+        assertEquals(removed, repository.findById(cart.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive quantities and unknown carts")
+    void shouldRejectInvalidChanges() {
+        Cart cart = repository.create();
+        Product tea = buildProduct("Star Tea", "2.50");
+
+        assertThrows(IllegalArgumentException.class, () -> repository.addItem(cart.getId(), tea, 0));
+        repository.addItem(cart.getId(), tea, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> repository.addItem(cart.getId(), tea, 1));
+        assertThrows(NoSuchElementException.class, () -> repository.addItem(UUID.randomUUID(), tea, 1));
+        assertThrows(NoSuchElementException.class, () -> repository.removeItem(UUID.randomUUID(), tea.getId()));
+    }
+
+    @Test
+    @DisplayName("Should expire carts that were not touched for the TTL")
+    void shouldExpireIdleCarts() {
+        Cart idle = repository.create();
+        Cart active = repository.create();
+
+        advance(TTL.minusMinutes(1));
+        repository.addItem(active.getId(), buildProduct("Star Tea", "2.50"), 1);
+        advance(Duration.ofMinutes(2));
+
+        assertFalse(repository.existsById(idle.getId()));
+        assertTrue(repository.findById(active.getId()).isPresent());
+        assertThrows(NoSuchElementException.class, () -> repository.addItem(idle.getId(), buildProduct("Moon Tea", "1.00"), 1));
+
+        repository.deleteById(active.getId());
+
+        assertTrue(repository.findById(active.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not lose units when many threads add to one cart")
+    void shouldNotLoseConcurrentAdds() throws Exception {
+        int threads = 16;
+        int addsPerThread = 1000;
+        Cart cart = repository.create();
+        Product tea = buildProduct("Star Tea", "2.50");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerThread; i++) {
+                        repository.addItem(cart.getId(), tea, 1);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<CartItem> items = repository.findById(cart.getId()).orElseThrow().getItems();
+        assertEquals(1, items.size());
+        assertEquals(threads * addsPerThread, items.get(0).getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should keep the running total equal to a full recomputation")
+    void shouldKeepRunningTotal() {
+        Cart cart = repository.create();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(buildProduct("Star item " + i, BigDecimal.valueOf(99 + i * 137L, 2).toPlainString()));
+        }
+        Random random = new Random(7);
+
+        for (int i = 0; i < 500; i++) {
+            Product product = products.get(random.nextInt(products.size()));
+            Cart current = random.nextInt(4) == 0
+                    ? repository.removeItem(cart.getId(), product.getId())
+                    : repository.addItem(cart.getId(), product, 1 + random.nextInt(5));
+            BigDecimal recomputed = current.toBuilder().totalCents(null).build().totalCartPrice();
+
+            assertEquals(0, recomputed.compareTo(current.totalCartPrice()), "after change " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a price with fractions of a cent and leave the cart unchanged")
+    void shouldRejectFractionalCentPrice() {
+        Cart cart = repository.create();
+        Cart before = repository.addItem(cart.getId(), buildProduct("Star Tea", "2.50"), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> repository.addItem(cart.getId(), buildProduct("Comet Tea", "1.005"), 1));
+        assertEquals(before, repository.findById(cart.getId()).orElseThrow());
+        assertEquals(new BigDecimal("2.50"), before.totalCartPrice());
+    }
+
+    @Test
+    @DisplayName("Should hand a cart to one taker only, refuse later changes and take back a returned cart")
+    void shouldTakeCartOnce() {
+        Cart cart = repository.create();
+        Product tea = buildProduct("Star Tea", "2.50");
+        repository.addItem(cart.getId(), tea, 2);
+
+        Cart taken = repository.take(cart.getId()).orElseThrow();
+
+        assertEquals(2, taken.getItems().get(0).getQuantity());
+        assertTrue(repository.take(cart.getId()).isEmpty());
+        assertFalse(repository.existsById(cart.getId()));
+        assertThrows(NoSuchElementException.class, () -> repository.addItem(cart.getId(), tea, 1));
+
+        repository.putBack(taken);
+
+        assertEquals(taken, repository.findById(cart.getId()).orElseThrow());
+        Cart changed = repository.addItem(cart.getId(), tea, 1);
+        assertEquals(3, changed.getItems().get(0).getQuantity());
+        assertEquals(new BigDecimal("7.50"), changed.totalCartPrice());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent takers have the cart")
+    void shouldTakeCartOnceUnderContention() throws Exception {
+        int takers = 16;
+        Cart cart = repository.create();
+        repository.addItem(cart.getId(), buildProduct("Star Tea", "2.50"), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(takers);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int t = 0; t < takers; t++) {
+                attempts.add(executor.submit(() -> repository.take(cart.getId()).isPresent()));
+            }
+            int winners = 0;
+            for (Future<Boolean> attempt : attempts) {
+                winners += attempt.get() ? 1 : 0;
+            }
+            assertEquals(1, winners);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
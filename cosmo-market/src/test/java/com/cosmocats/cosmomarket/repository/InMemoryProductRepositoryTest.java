@@ -0,0 +1,420 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In-Memory Product Repository Tests")
+public class InMemoryProductRepositoryTest {
+
+    private InMemoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository();
+    }
+
+    private static Product buildProduct(String name, String price) {
+        return buildProduct(name, price, Category.OTHER, 1);
+    }
+
+    private static Product buildProduct(String name, String price, Category category, int quantity) {
+        return Product.builder()
+                .name(name)
+                .description("Test product")
+                .category(category)
+                .availableQuantity(quantity)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    private List<Product> readAllPages(int limit, ProductSort sort) {
+        List<Product> products = new ArrayList<>();
+        ProductCursor cursor = null;
+        do {
+            ProductPage page = repository.findPage(cursor, limit, sort);
+            assertTrue(page.products().size() <= limit);
+            products.addAll(page.products());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return products;
+    }
+
+    @Test
+    @DisplayName("Should assign id on save and find product by id")
+    void shouldAssignIdAndFindById() {
+        Product saved = repository.saveProduct(buildProduct("Star Tea", "3.50"));
+
+        assertNotNull(saved.getId());
+        assertEquals(saved, repository.findById(saved.getId()).orElseThrow());
+        assertTrue(repository.existsById(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Should walk every product exactly once in price order")
+    void shouldPageThroughAllProductsInPriceOrder() {
+        for (int i = 0; i < 25; i++) {
+            repository.saveProduct(buildProduct("Comet " + i, (i % 7) + ".25"));
+        }
+
+        List<Product> products = readAllPages(4, ProductSort.PRICE);
+
+        assertEquals(25, products.size());
+        assertEquals(products.size(), new HashSet<>(products).size());
+        for (int i = 1; i < products.size(); i++) {
+            assertTrue(ProductSort.PRICE.comparator().compare(products.get(i - 1), products.get(i)) < 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep cursor stable when products are inserted and deleted between pages")
+    void shouldKeepCursorStableUnderWrites() {
+        List<Product> saved = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            saved.add(repository.saveProduct(buildProduct("Galaxy " + (char) ('a' + i), "1.00")));
+        }
+
+        ProductPage first = repository.findPage(null, 5, ProductSort.NAME);
+        Product lastSeen = first.products().get(first.products().size() - 1);
+        repository.saveProduct(buildProduct("Aaa Star", "1.00"));
+        repository.deleteById(lastSeen.getId());
+
+        ProductPage second = repository.findPage(first.nextCursor(), 100, ProductSort.NAME);
+
+        Set<UUID> firstIds = new HashSet<>();
+        first.products().forEach(product -> firstIds.add(product.getId()));
+        second.products().forEach(product -> assertFalse(firstIds.contains(product.getId())));
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should move updated product to its new position in the sorted index")
+    void shouldReindexUpdatedProduct() {
+        Product saved = repository.saveProduct(buildProduct("Asteroid Cake", "1.00"));
+        repository.saveProduct(saved.toBuilder().price(new BigDecimal("999.00")).build());
+
+        List<Product> products = readAllPages(100, ProductSort.PRICE);
+
+        Product last = products.get(products.size() - 1);
+        assertEquals(saved.getId(), last.getId());
+        assertEquals(new BigDecimal("999.00"), last.getPrice());
+        assertEquals(1, products.size());
+    }
+
+    @Test
+    @DisplayName("Should remove deleted product from primary storage and indexes")
+    void shouldRemoveDeletedProduct() {
+        Product saved = repository.saveProduct(buildProduct("Space Gum", "2.00"));
+
+        repository.deleteById(saved.getId());
+
+        assertFalse(repository.existsById(saved.getId()));
+        assertTrue(repository.getAllProducts().isEmpty());
+        assertTrue(readAllPages(1, ProductSort.ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject cursor issued for another sort order")
+    void shouldRejectCursorOfAnotherSort() {
+        repository.saveProduct(buildProduct("Star Tea", "3.50"));
+        repository.saveProduct(buildProduct("Moon Tea", "4.50"));
+        ProductCursor cursor = repository.findPage(null, 1, ProductSort.NAME).nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage(cursor, 1, ProductSort.PRICE));
+    }
+
+    @Test
+    @DisplayName("Should filter products by category, price range and stock")
+    void shouldFilterByCategoryPriceAndStock() {
+        Product match = repository.saveProduct(buildProduct("Star Pill", "5.00", Category.MEDICAL, 3));
+        repository.saveProduct(buildProduct("Comet Pill", "50.00", Category.MEDICAL, 3));
+        repository.saveProduct(buildProduct("Cosmic Pill", "6.00", Category.MEDICAL, 0));
+        repository.saveProduct(buildProduct("Space Hat", "5.50", Category.CLOTHES, 3));
+
+        List<Product> result = repository.findByFilter(ProductFilter.builder()
+                .category(Category.MEDICAL)
+                .minPrice(new BigDecimal("1"))
+                .maxPrice(new BigDecimal("10"))
+                .inStock(true)
+                .build());
+
+        assertEquals(List.of(match), result);
+    }
+
+    @Test
+    @DisplayName("Should use inclusive price bounds and find out-of-stock products")
+    void shouldFilterByPriceBoundsAndOutOfStock() {
+        Product lower = repository.saveProduct(buildProduct("Galaxy Mug", "2.00", Category.OTHER, 0));
+        Product upper = repository.saveProduct(buildProduct("Galaxy Cup", "3.00", Category.OTHER, 5));
+
+        List<Product> inRange = repository.findByFilter(ProductFilter.builder()
+                .minPrice(new BigDecimal("2"))
+                .maxPrice(new BigDecimal("3.000"))
+                .build());
+        List<Product> outOfStock = repository.findByFilter(ProductFilter.builder().inStock(false).build());
+
+        assertEquals(List.of(lower, upper), inRange);
+        assertEquals(List.of(lower), outOfStock);
+    }
+
+    @Test
+    @DisplayName("Should keep secondary indexes consistent after update and delete")
+    void shouldKeepSecondaryIndexesConsistent() {
+        Product saved = repository.saveProduct(buildProduct("Star Scarf", "7.00", Category.CLOTHES, 2));
+        repository.saveProduct(saved.toBuilder().category(Category.ACCESSORY).availableQuantity(0).build());
+
+        ProductFilter clothesInStock = ProductFilter.builder().category(Category.CLOTHES).inStock(true).build();
+        ProductFilter accessories = ProductFilter.builder().category(Category.ACCESSORY).build();
+
+        assertTrue(repository.findByFilter(clothesInStock).stream().noneMatch(product -> product.getId().equals(saved.getId())));
+        assertEquals(1, repository.findByFilter(accessories).size());
+
+        repository.deleteById(saved.getId());
+
+        assertTrue(repository.findByFilter(accessories).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should save and delete products in bulk keeping indexes in sync")
+    void shouldSaveAndDeleteInBulk() {
+        List<Product> saved = repository.saveAll(List.of(
+                buildProduct("Star Tea", "3.50", Category.FOOD, 1),
+                buildProduct("Comet Tea", "4.50", Category.FOOD, 0),
+                buildProduct("Moon Tea", "5.50", Category.FOOD, 2)));
+
+        assertTrue(saved.stream().allMatch(product -> product.getId() != null));
+        assertEquals(3, repository.findByFilter(ProductFilter.builder().category(Category.FOOD).build()).size());
+
+        repository.deleteAll(List.of(saved.get(0).getId(), saved.get(2).getId(), UUID.randomUUID()));
+
+        assertEquals(List.of(saved.get(1)), repository.getAllProducts());
+        assertEquals(1, repository.count());
+        assertEquals(List.of(saved.get(1)), readAllPages(10, ProductSort.NAME));
+    }
+
+    @Test
+    @DisplayName("Should stream every stored product")
+    void shouldStreamAllProducts() {
+        List<Product> saved = repository.saveAll(List.of(buildProduct("Star Tea", "3.50"), buildProduct("Comet Tea", "4.50")));
+
+        assertEquals(new HashSet<>(saved), repository.streamAll().collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Should give every save a new version and save conditionally on it")
+    void shouldVersionSaves() {
+        Product saved = repository.saveProduct(buildProduct("Star Tea", "3.50"));
+        Product updated = repository.saveProduct(saved.toBuilder().price(new BigDecimal("4.00")).build());
+
+        Product conditional = repository.saveProductIfVersion(updated.toBuilder().availableQuantity(7).build(), updated.getVersion());
+        VersionConflictException conflict = assertThrows(VersionConflictException.class,
+                () -> repository.saveProductIfVersion(updated.toBuilder().availableQuantity(8).build(), updated.getVersion()));
+
+        assertEquals(Product.FIRST_VERSION, saved.getVersion());
+        assertEquals(Product.FIRST_VERSION + 1, updated.getVersion());
+        assertEquals(Product.FIRST_VERSION + 2, conditional.getVersion());
+        assertEquals(conditional.getVersion(), conflict.getActualVersion());
+        assertEquals(conditional, repository.findById(saved.getId()).orElseThrow());
+        assertThrows(NoSuchElementException.class,
+                () -> repository.saveProductIfVersion(saved.toBuilder().id(UUID.randomUUID()).build(), Product.FIRST_VERSION));
+    }
+
+    @Test
+    @DisplayName("Should not lose increments when many writers update one product with compare-and-set")
+    void shouldNotLoseConcurrentConditionalUpdates() throws Exception {
+        int threads = 8;
+        int incrementsPerThread = 500;
+        Product saved = repository.saveProduct(buildProduct("Comet Candy", "1.00", Category.FOOD, 0));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < incrementsPerThread; i++) {
+                        while (true) {
+                            Product current = repository.findById(saved.getId()).orElseThrow();
+                            try {
+                                repository.saveProductIfVersion(current.toBuilder()
+                                        .availableQuantity(current.getAvailableQuantity() + 1)
+                                        .build(), current.getVersion());
+                                break;
+                            } catch (VersionConflictException retry) {
+                                // another writer won; read again
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Product result = repository.findById(saved.getId()).orElseThrow();
+        assertEquals(threads * incrementsPerThread, result.getAvailableQuantity());
+        assertEquals(Product.FIRST_VERSION + threads * incrementsPerThread, result.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should reserve and release stock, keeping the stock index in sync")
+    void shouldReserveAndReleaseStock() {
+        Product saved = repository.saveProduct(buildProduct("Star Jam", "2.00", Category.FOOD, 3));
+        ProductFilter inStock = ProductFilter.builder().inStock(true).build();
+
+        Product reserved = repository.reserve(saved.getId(), 3);
+        InsufficientStockException shortfall = assertThrows(InsufficientStockException.class, () -> repository.reserve(saved.getId(), 1));
+
+        assertEquals(0, reserved.getAvailableQuantity());
+        assertEquals(saved.getVersion() + 1, reserved.getVersion());
+        assertEquals(0, shortfall.getAvailable());
+        assertTrue(repository.findByFilter(inStock).isEmpty());
+
+        Product released = repository.release(saved.getId(), 2);
+
+        assertEquals(2, released.getAvailableQuantity());
+        assertEquals(List.of(released), repository.findByFilter(inStock));
+        assertThrows(IllegalArgumentException.class, () -> repository.reserve(saved.getId(), 0));
+        assertThrows(IllegalArgumentException.class, () -> repository.release(saved.getId(), Integer.MAX_VALUE));
+        assertThrows(NoSuchElementException.class, () -> repository.reserve(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    @DisplayName("Should reserve each order of a batch in full or not at all")
+    void shouldReserveBatchPerOrder() {
+        Product jam = repository.saveProduct(buildProduct("Star Jam", "2.00", Category.FOOD, 3));
+        Product tea = repository.saveProduct(buildProduct("Star Tea", "1.00", Category.FOOD, 1));
+
+        List<StockReservation> results = repository.reserveBatch(List.of(
+                Map.of(jam.getId(), 2, tea.getId(), 1),
+                Map.of(jam.getId(), 1, tea.getId(), 1),
+                Map.of(jam.getId(), 1)));
+
+        assertTrue(results.get(0).succeeded());
+        assertInstanceOf(InsufficientStockException.class, results.get(1).failure());
+        assertTrue(results.get(1).products().isEmpty());
+        assertTrue(results.get(2).succeeded());
+        assertEquals(0, repository.findById(jam.getId()).orElseThrow().getAvailableQuantity());
+        assertEquals(0, repository.findById(tea.getId()).orElseThrow().getAvailableQuantity());
+    }
+
+    @Test
+    @DisplayName("Should never oversell when 64 threads reserve the same product")
+    void shouldNeverOversellUnderContention() throws Exception {
+        int threads = 64;
+        int stock = 1000;
+        Product saved = repository.saveProduct(buildProduct("Comet Cookie", "1.00", Category.FOOD, stock));
+        AtomicInteger reservedUnits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> buyers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                buyers.add(executor.submit(() -> {
+                    while (true) {
+                        try {
+                            repository.reserve(saved.getId(), 1);
+                            reservedUnits.incrementAndGet();
+                        } catch (InsufficientStockException soldOut) {
+                            return;
+                        }
+                    }
+                }));
+            }
+            for (Future<?> buyer : buyers) {
+                buyer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Product result = repository.findById(saved.getId()).orElseThrow();
+        assertEquals(stock, reservedUnits.get());
+        assertEquals(0, result.getAvailableQuantity());
+        assertEquals(saved.getVersion() + stock, result.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should page every product exactly once while reserves run in the background")
+    void shouldPageEveryProductWhileReservesRun() throws Exception {
+        int productCount = 200;
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            ids.add(repository.saveProduct(buildProduct("Nebula " + i, (i % 13) + ".50", Category.FOOD, 1_000_000)).getId());
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = offset; running.get(); i++) {
+                        UUID id = ids.get(i % productCount);
+                        repository.reserve(id, 1);
+                        repository.release(id, 1);
+                    }
+                }));
+            }
+
+            for (int round = 0; round < 50; round++) {
+                for (ProductSort sort : ProductSort.values()) {
+                    List<UUID> paged = readAllPages(7, sort).stream().map(Product::getId).toList();
+                    assertEquals(productCount, paged.size(), sort.name());
+                    assertEquals(Set.copyOf(ids), Set.copyOf(paged), sort.name());
+                }
+            }
+
+            running.set(false);
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count successful writes only")
+    void shouldCountModifications() {
+        Product saved = repository.saveProduct(buildProduct("Star Tea", "3.50"));
+        repository.reserve(saved.getId(), 1);
+        long afterWrites = repository.modificationCount();
+
+        repository.findById(saved.getId());
+        repository.getAllProducts();
+        assertThrows(VersionConflictException.class, () -> repository.saveProductIfVersion(saved, Product.FIRST_VERSION));
+        repository.deleteById(UUID.randomUUID());
+
+        assertEquals(2, afterWrites);
+        assertEquals(afterWrites, repository.modificationCount());
+
+        repository.deleteById(saved.getId());
+
+        assertEquals(afterWrites + 1, repository.modificationCount());
+    }
+}
@@ -0,0 +1,94 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Metered Product Repository Tests")
+public class MeteredProductRepositoryTest {
+
+    private SimpleMeterRegistry registry;
+    private MeteredProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new MeteredProductRepository(new InMemoryProductRepository(), registry);
+    }
+
+    private static Product buildProduct(String name) {
+        return Product.builder()
+                .name(name)
+                .category(Category.FOOD)
+                .availableQuantity(1)
+                .price(new BigDecimal("2.50"))
+                .build();
+    }
+
+    private long calls(String operation) {
+        Timer timer = registry.find(MeteredProductRepository.TIMER_NAME).tag("operation", operation).timer();
+        assertNotNull(timer, operation);
+        return timer.count();
+    }
+
+    @Test
+    @DisplayName("Should time every operation under its own tag")
+    void shouldTimeEveryOperation() {
+        Product saved = repository.saveProduct(buildProduct("Star Tea"));
+        List<Product> bulk = repository.saveAll(List.of(buildProduct("Comet Tea"), buildProduct("Moon Tea")));
+        repository.findById(saved.getId());
+        repository.getAllProducts();
+        repository.findPage(null, 10, ProductSort.NAME);
+        repository.findByFilter(ProductFilter.builder().category(Category.FOOD).build());
+        repository.search("tea", 5);
+        repository.existsById(saved.getId());
+        repository.reserve(saved.getId(), 1);
+        repository.release(saved.getId(), 1);
+        repository.reserveBatch(List.of(Map.of(saved.getId(), 1)));
+        repository.deleteById(saved.getId());
+        repository.deleteAll(List.of(bulk.get(0).getId(), UUID.randomUUID()));
+
+        for (String operation : List.of("save_product", "save_all", "reserve", "release", "reserve_batch", "find_by_id", "get_all_products", "find_page",
+                "find_by_filter", "search", "exists_by_id", "delete_by_id", "delete_all")) {
+            assertEquals(1, calls(operation), operation);
+        }
+        assertEquals(1, repository.streamAll().count());
+    }
+
+    @Test
+    @DisplayName("Should record a failed call and rethrow its exception")
+    void shouldRecordFailedCall() {
+        ProductRepositoryInterface failing = new DelegatingProductRepository(new InMemoryProductRepository()) {
+            @Override
+            public Product saveProduct(Product product) {
+                throw new IllegalStateException("disk full");
+            }
+        };
+        registry = new SimpleMeterRegistry();
+        repository = new MeteredProductRepository(failing, registry);
+
+        assertThrows(IllegalStateException.class, () -> repository.saveProduct(buildProduct("Star Tea")));
+        assertEquals(1, calls("save_product"));
+    }
+
+    @Test
+    @DisplayName("Should report catalog size as a gauge")
+    void shouldReportCatalogSize() {
+        repository.saveAll(List.of(buildProduct("Star Tea"), buildProduct("Comet Tea")));
+
+        assertEquals(2.0, registry.get(MeteredProductRepository.SIZE_GAUGE_NAME).gauge().value());
+        assertEquals(2, repository.count());
+        assertEquals(2, repository.modificationCount());
+    }
+}
@@ -0,0 +1,168 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Partitioned Order Repository Tests")
+public class PartitionedOrderRepositoryTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 3, 14, 9, 0, 0, 0, ZoneOffset.UTC);
+    private static final Duration SEAL_DELAY = Duration.ofMinutes(5);
+
+    private final MutableClock clock = new MutableClock(START.toInstant());
+    private PartitionedOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PartitionedOrderRepository(Duration.ofHours(1), SEAL_DELAY, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(OffsetDateTime time) {
+            now = time.toInstant();
+        }
+
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static Order buildOrder(OffsetDateTime createdAt) {
+        return Order.builder()
+                .createdAt(createdAt)
+                .item(OrderItem.builder()
+                        .product(Product.builder().id(UUID.randomUUID()).name("Star Tea").build())
+                        .quantity(1)
+                        .itemPrice(new BigDecimal("2.50"))
+                        .build())
+                .build();
+    }
+
+    private List<Order> range(OffsetDateTime from, OffsetDateTime to) {
+        return repository.findByCreatedAt(from, to).toList();
+    }
+
+    @Test
+    @DisplayName("Should return a time range across segments, oldest first, with an exclusive end")
+    void shouldQueryRangesAcrossSegments() {
+        List<Order> saved = new ArrayList<>();
+        for (int minute = 170; minute >= 0; minute -= 10) {
+            saved.add(repository.save(buildOrder(START.plusMinutes(minute))));
+        }
+
+        List<Order> window = range(START.plusMinutes(50), START.plusMinutes(130));
+
+        assertEquals(8, window.size());
+        assertEquals(START.plusMinutes(50), window.get(0).getCreatedAt());
+        assertEquals(START.plusMinutes(120), window.get(window.size() - 1).getCreatedAt());
+        assertEquals(window.stream().sorted(Comparator.comparing(Order::getCreatedAt)).toList(), window);
+        assertEquals(saved.size(), range(START.minusDays(1), START.plusDays(1)).size());
+        assertTrue(range(START.plusMinutes(30), START.plusMinutes(30)).isEmpty());
+        assertEquals(saved.size(), repository.count());
+    }
+
+    @Test
+    @DisplayName("Should accept times with any offset and compare them as instants")
+    void shouldCompareInstantsAcrossOffsets() {
+        Order order = repository.save(buildOrder(START.plusMinutes(15)));
+        OffsetDateTime sameInstantInKyiv = START.plusMinutes(15).withOffsetSameInstant(ZoneOffset.ofHours(2));
+
+        assertEquals(List.of(order), range(sameInstantInKyiv, sameInstantInKyiv.plusNanos(1)));
+    }
+
+    @Test
+    @DisplayName("Should seal a segment once its bucket has been over for the seal delay, and keep serving it")
+    void shouldSealExpiredSegments() {
+        Order first = repository.save(buildOrder(START.plusMinutes(10)));
+        Order second = repository.save(buildOrder(START.plusMinutes(40)));
+
+        clock.set(START.plusHours(1).plusMinutes(4));
+        repository.save(buildOrder(START.plusHours(1).plusMinutes(4)));
+        assertEquals(0, repository.sealedSegmentCount());
+
+        clock.set(START.plusHours(1).plusMinutes(6));
+        repository.save(buildOrder(START.plusHours(1).plusMinutes(6)));
+
+        assertEquals(1, repository.sealedSegmentCount());
+        assertEquals(List.of(first, second), range(START, START.plusHours(1)));
+        assertEquals(List.of(second), range(START.plusMinutes(11), START.plusHours(1)));
+        assertEquals(first, repository.findById(first.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should merge an order stored after its segment was sealed")
+    void shouldMergeLateOrders() {
+        Order early = repository.save(buildOrder(START.plusMinutes(10)));
+        clock.set(START.plusHours(3));
+        repository.save(buildOrder(START.plusHours(3)));
+
+        Order late = repository.save(buildOrder(START.plusMinutes(5)));
+        Order lateInEmptyBucket = repository.save(buildOrder(START.plusHours(1).plusMinutes(30)));
+
+        assertEquals(List.of(late, early), range(START, START.plusHours(1)));
+        assertEquals(List.of(lateInEmptyBucket), range(START.plusHours(1), START.plusHours(2)));
+        assertEquals(2, repository.sealedSegmentCount());
+    }
+
+    @Test
+    @DisplayName("Should not lose orders written while segments are being sealed")
+    void shouldNotLoseOrdersWhileSealing() throws Exception {
+        int threads = 8;
+        int ordersPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < ordersPerThread; i++) {
+                        OffsetDateTime createdAt = START.plusMinutes(i);
+                        clock.set(createdAt);
+                        repository.save(buildOrder(createdAt));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * ordersPerThread, repository.count());
+        assertEquals(threads * ordersPerThread, range(START, START.plusDays(1)).size());
+        assertTrue(repository.sealedSegmentCount() > 0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.repository.change.ChangeSubscription;
+import com.cosmocats.cosmomarket.repository.change.ProductChange;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Publishing Product Repository Tests")
+public class PublishingProductRepositoryTest {
+
+    private ProductChangeLog changeLog;
+    private ChangeSubscription subscription;
+    private PublishingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new ProductChangeLog(100_000);
+        subscription = changeLog.subscribe(null);
+        repository = new PublishingProductRepository(new InMemoryProductRepository(), changeLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subscription.close();
+    }
+
+    private static Product buildProduct(String name, int quantity) {
+        return Product.builder()
+                .name(name)
+                .category(Category.FOOD)
+                .availableQuantity(quantity)
+                .price(new BigDecimal("2.50"))
+                .build();
+    }
+
+    private List<ProductChange> published() throws InterruptedException {
+        return subscription.poll(1000, Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should publish every save with the product as stored")
+    void shouldPublishSaves() throws InterruptedException {
+        Product saved = repository.saveProduct(buildProduct("Star Tea", 5));
+        Product updated = repository.saveProductIfVersion(saved.toBuilder().name("Comet Tea").build(), saved.getVersion());
+        Product reserved = repository.reserve(saved.getId(), 2);
+        Product released = repository.release(saved.getId(), 1);
+        List<Product> bulk = repository.saveAll(List.of(buildProduct("Moon Tea", 1), buildProduct("Sun Tea", 1)));
+
+        List<ProductChange> changes = published();
+        assertEquals(List.of(saved, updated, reserved, released, bulk.get(0), bulk.get(1)),
+                changes.stream().map(ProductChange::product).toList());
+        assertTrue(changes.stream().allMatch(change -> change.type() == ProductChangeType.SAVED));
+        assertEquals(saved.getId(), changes.get(0).productId());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), changes.stream().map(ProductChange::sequence).toList());
+    }
+
+    @Test
+    @DisplayName("Should publish a delete only for a product that existed")
+    void shouldPublishDeletes() throws InterruptedException {
+        Product first = repository.saveProduct(buildProduct("Star Tea", 1));
+        Product second = repository.saveProduct(buildProduct("Comet Tea", 1));
+        published();
+
+        repository.deleteById(first.getId());
+        repository.deleteById(UUID.randomUUID());
+        repository.deleteAll(List.of(second.getId(), first.getId()));
+
+        List<ProductChange> changes = published();
+        assertEquals(List.of(first.getId(), second.getId()), changes.stream().map(ProductChange::productId).toList());
+        assertTrue(changes.stream().allMatch(change -> change.type() == ProductChangeType.DELETED && change.product() == null));
+    }
+
+    @Test
+    @DisplayName("Should publish nothing for a write that fails")
+    void shouldNotPublishFailedWrites() throws InterruptedException {
+        Product saved = repository.saveProduct(buildProduct("Star Tea", 1));
+        published();
+
+        assertThrows(VersionConflictException.class,
+                () -> repository.saveProductIfVersion(saved.toBuilder().name("Comet Tea").build(), saved.getVersion() + 1));
+        assertThrows(InsufficientStockException.class, () -> repository.reserve(saved.getId(), 5));
+
+        assertEquals(List.of(), published());
+    }
+
+    @Test
+    @DisplayName("Should publish the reserved products of each order in a batch")
+    void shouldPublishBatchReservations() throws InterruptedException {
+        Product tea = repository.saveProduct(buildProduct("Star Tea", 3));
+        Product cake = repository.saveProduct(buildProduct("Moon Cake", 1));
+        published();
+
+        List<StockReservation> results = repository.reserveBatch(List.of(
+                Map.of(tea.getId(), 1, cake.getId(), 1),
+                Map.of(cake.getId(), 1)));
+
+        assertTrue(results.get(0).succeeded());
+        assertFalse(results.get(1).succeeded());
+        Map<UUID, Integer> lastQuantities = new HashMap<>();
+        published().forEach(change -> lastQuantities.put(change.productId(), change.product().getAvailableQuantity()));
+        assertEquals(Map.of(tea.getId(), 2, cake.getId(), 0), lastQuantities);
+    }
+
+    @Test
+    @DisplayName("Should publish concurrent writes to one product in the order they were applied")
+    void shouldPublishConcurrentWritesInOrder() throws Exception {
+        Product saved = repository.saveProduct(buildProduct("Star Tea", 10_000));
+        published();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                writes.add(executor.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        repository.reserve(saved.getId(), 1);
+                    }
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Product> products = new ArrayList<>();
+        List<ProductChange> batch;
+        while (!(batch = published()).isEmpty()) {
+            batch.forEach(change -> products.add(change.product()));
+        }
+        assertEquals(2000, products.size());
+        for (int i = 1; i < products.size(); i++) {
+            assertTrue(products.get(i).getVersion() > products.get(i - 1).getVersion());
+        }
+        assertEquals(repository.findById(saved.getId()).orElseThrow(), products.get(products.size() - 1));
+    }
+}
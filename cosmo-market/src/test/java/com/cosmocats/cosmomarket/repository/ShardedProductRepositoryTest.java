@@ -0,0 +1,254 @@
+package com.cosmocats.cosmomarket.repository;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sharded Product Repository Tests")
+public class ShardedProductRepositoryTest {
+
+    private Map<String, InMemoryProductRepository> shards;
+    private ShardedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        shards = new LinkedHashMap<>();
+        for (int shard = 0; shard < 3; shard++) {
+            shards.put("shard-" + shard, new InMemoryProductRepository());
+        }
+        repository = new ShardedProductRepository(shards);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    private static Product buildProduct(String name, Category category, int quantity) {
+        return Product.builder()
+                .name(name)
+                .category(category)
+                .availableQuantity(quantity)
+                .price(new BigDecimal("3.00"))
+                .build();
+    }
+
+    private List<Product> saveMany(int count) {
+        return repository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> buildProduct("Star Item " + i, i % 2 == 0 ? Category.FOOD : Category.CLOTHES, i % 5))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should keep each product in exactly one shard and find it there")
+    void shouldRouteById() {
+        List<Product> saved = saveMany(300);
+
+        for (Product product : saved) {
+            long holders = shards.values().stream().filter(shard -> shard.existsById(product.getId())).count();
+            assertEquals(1, holders);
+            assertEquals(product, repository.findById(product.getId()).orElseThrow());
+        }
+        assertEquals(300, repository.count());
+        assertTrue(repository.shardSizes().values().stream().allMatch(size -> size > 50));
+
+        Product updated = repository.saveProductIfVersion(saved.get(0).toBuilder().name("Comet Item").build(),
+                saved.get(0).getVersion());
+        assertEquals("Comet Item", repository.findById(updated.getId()).orElseThrow().getName());
+
+        repository.deleteById(saved.get(1).getId());
+        repository.deleteAll(saved.subList(2, 10).stream().map(Product::getId).toList());
+        assertFalse(repository.existsById(saved.get(1).getId()));
+        assertEquals(291, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should return saved batches in argument order with their ids")
+    void shouldSaveBatchInOrder() {
+        UUID given = UUID.randomUUID();
+        List<Product> batch = List.of(buildProduct("Moon Tea", Category.FOOD, 1),
+                buildProduct("Sun Tea", Category.FOOD, 1).toBuilder().id(given).build(),
+                buildProduct("Star Tea", Category.FOOD, 1));
+
+        List<Product> saved = repository.saveAll(batch);
+
+        assertEquals(List.of("Moon Tea", "Sun Tea", "Star Tea"), saved.stream().map(Product::getName).toList());
+        assertEquals(given, saved.get(1).getId());
+        assertTrue(saved.stream().allMatch(product -> repository.existsById(product.getId())));
+    }
+
+    @Test
+    @DisplayName("Should gather listings and filters from every shard")
+    void shouldScatterQueries() {
+        List<Product> saved = saveMany(60);
+
+        assertEquals(new HashSet<>(saved), new HashSet<>(repository.getAllProducts()));
+        assertEquals(new HashSet<>(saved), new HashSet<>(repository.streamAll().toList()));
+
+        ProductFilter foodInStock = ProductFilter.builder().category(Category.FOOD).inStock(true).build();
+        Set<Product> expected = new HashSet<>(saved.stream().filter(foodInStock::matches).toList());
+        assertEquals(expected, new HashSet<>(repository.findByFilter(foodInStock)));
+    }
+
+    @Test
+    @DisplayName("Should answer many concurrent scatter reads from a bounded pool")
+    void shouldBoundScatterThreads() throws Exception {
+        Set<String> scatterThreads = ConcurrentHashMap.newKeySet();
+        Map<String, InMemoryProductRepository> recording = new LinkedHashMap<>();
+        for (int shard = 0; shard < 4; shard++) {
+            recording.put("shard-" + shard, new InMemoryProductRepository() {
+                @Override
+                public List<Product> getAllProducts() {
+                    scatterThreads.add(Thread.currentThread().getName());
+                    return super.getAllProducts();
+                }
+            });
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try (ShardedProductRepository bounded = new ShardedProductRepository(recording, 2)) {
+            Set<Product> saved = new HashSet<>(bounded.saveAll(IntStream.range(0, 40)
+                    .mapToObj(i -> buildProduct("Comet Item " + i, Category.FOOD, 1))
+                    .toList()));
+
+            List<Future<List<Product>>> reads = IntStream.range(0, 200)
+                    .mapToObj(i -> callers.submit(bounded::getAllProducts))
+                    .toList();
+            for (Future<List<Product>> read : reads) {
+                assertEquals(saved, new HashSet<>(read.get()));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertTrue(scatterThreads.stream().filter(name -> name.startsWith("product-shard-")).count() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should page through every shard in one global order")
+    void shouldMergePages() {
+        List<Product> saved = saveMany(50);
+        List<Product> read = new ArrayList<>();
+        ProductCursor cursor = null;
+        do {
+            ProductPage page = repository.findPage(cursor, 7, ProductSort.NAME);
+            assertTrue(page.products().size() <= 7);
+            read.addAll(page.products());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(saved.stream().sorted(ProductSort.NAME.comparator()).toList(), read);
+    }
+
+    @Test
+    @DisplayName("Should merge search hits by score")
+    void shouldMergeSearchHits() {
+        saveMany(30);
+        repository.saveProduct(buildProduct("Nebula Nebula Scarf", Category.CLOTHES, 1));
+        repository.saveProduct(buildProduct("Nebula Mittens", Category.CLOTHES, 1));
+
+        List<ProductSearchHit> hits = repository.search("nebula", 10);
+        assertEquals(2, hits.size());
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+
+        List<ProductSearchHit> limited = repository.search("star", 5);
+        assertEquals(5, limited.size());
+        assertEquals(limited.stream().sorted(Comparator.comparingDouble(ProductSearchHit::score).reversed()).toList(),
+                limited);
+    }
+
+    @Test
+    @DisplayName("Should reserve orders spanning shards and undo a failed one")
+    void shouldReserveAcrossShards() {
+        List<Product> saved = repository.saveAll(IntStream.range(0, 12)
+                .mapToObj(i -> buildProduct("Star Rope " + i, Category.CLOTHES, 2))
+                .toList());
+        Map<UUID, Integer> fits = new LinkedHashMap<>();
+        saved.subList(0, 6).forEach(product -> fits.put(product.getId(), 1));
+        Map<UUID, Integer> tooMuch = new LinkedHashMap<>();
+        saved.subList(6, 11).forEach(product -> tooMuch.put(product.getId(), 1));
+        tooMuch.put(saved.get(11).getId(), 3);
+
+        List<StockReservation> results = repository.reserveBatch(List.of(fits, tooMuch));
+
+        assertTrue(results.get(0).succeeded());
+        assertInstanceOf(InsufficientStockException.class, results.get(1).failure());
+        saved.subList(0, 6).forEach(product ->
+                assertEquals(1, repository.findById(product.getId()).orElseThrow().getAvailableQuantity()));
+        saved.subList(6, 12).forEach(product ->
+                assertEquals(2, repository.findById(product.getId()).orElseThrow().getAvailableQuantity()));
+    }
+
+    @Test
+    @DisplayName("Should move only the new shard's share when a shard is added")
+    void shouldRebalanceOnAddedShard() {
+        List<Product> saved = saveMany(2000);
+        InMemoryProductRepository added = new InMemoryProductRepository();
+
+        long moved = repository.addShard("shard-3", added);
+
+        assertEquals(added.count(), moved);
+        assertTrue(moved > 300 && moved < 700, "moved " + moved);
+        assertEquals(2000, repository.count());
+        assertEquals(2000, shards.values().stream().mapToLong(InMemoryProductRepository::count).sum() + added.count());
+        for (Product product : saved) {
+            assertEquals(product, repository.findById(product.getId()).orElseThrow());
+        }
+        assertEquals(4, repository.shardSizes().size());
+
+        Product later = repository.saveProduct(buildProduct("Late Star", Category.FOOD, 1));
+        assertTrue(repository.existsById(later.getId()));
+        assertThrows(IllegalArgumentException.class, () -> repository.addShard("shard-3", new InMemoryProductRepository()));
+    }
+
+    @Test
+    @DisplayName("Should leave the ring as it was and remove the copies when adding a shard fails")
+    void shouldRollBackFailedRebalance() {
+        List<Product> saved = saveMany(500);
+        AtomicInteger restores = new AtomicInteger();
+        InMemoryProductRepository failing = new InMemoryProductRepository() {
+            @Override
+            public void restore(Product product) {
+                if (restores.incrementAndGet() > 10) {
+                    throw new IllegalStateException("shard went away");
+                }
+                super.restore(product);
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> repository.addShard("shard-3", failing));
+
+        assertEquals(0, failing.count());
+        assertEquals(shards.keySet(), repository.shardSizes().keySet());
+        assertEquals(500, repository.count());
+        for (Product product : saved) {
+            assertEquals(product, repository.findById(product.getId()).orElseThrow());
+        }
+        assertTrue(repository.addShard("shard-3", new InMemoryProductRepository()) > 0);
+        assertEquals(500, repository.count());
+    }
+}
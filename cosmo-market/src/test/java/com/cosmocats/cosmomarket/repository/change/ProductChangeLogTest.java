@@ -0,0 +1,219 @@
+package com.cosmocats.cosmomarket.repository.change;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Product Change Log Tests")
+public class ProductChangeLogTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    private static long publishSaved(ProductChangeLog log) {
+        UUID id = UUID.randomUUID();
+        return log.publish(ProductChangeType.SAVED, id, Product.builder().id(id).name("Star Tea").build());
+    }
+
+    private static List<Long> sequences(List<ProductChange> changes) {
+        return changes.stream().map(ProductChange::sequence).toList();
+    }
+
+    @Test
+    @DisplayName("Should number changes from 1 in publication order")
+    void shouldNumberChangesInOrder() {
+        ProductChangeLog log = new ProductChangeLog(10);
+        assertEquals(0, log.lastSequence());
+
+        assertEquals(1, publishSaved(log));
+        assertEquals(2, log.publish(ProductChangeType.DELETED, UUID.randomUUID(), null));
+        assertEquals(3, publishSaved(log));
+        assertEquals(3, log.lastSequence());
+    }
+
+    @Test
+    @DisplayName("Should replay the retained backlog after since, then deliver live changes")
+    void shouldReplayBacklogThenDeliverLive() throws InterruptedException {
+        ProductChangeLog log = new ProductChangeLog(10);
+        for (int i = 0; i < 5; i++) {
+            publishSaved(log);
+        }
+
+        try (ChangeSubscription subscription = log.subscribe(2L)) {
+            assertEquals(List.of(3L, 4L, 5L), sequences(subscription.poll(10, NO_WAIT)));
+            assertEquals(List.of(), subscription.poll(10, NO_WAIT));
+
+            publishSaved(log);
+            publishSaved(log);
+            assertEquals(List.of(6L, 7L), sequences(subscription.poll(10, NO_WAIT)));
+            assertEquals(7, subscription.cursor());
+        }
+    }
+
+    @Test
+    @DisplayName("Should start after the latest change when no sequence is given")
+    void shouldStartAtTheLatestChange() throws InterruptedException {
+        ProductChangeLog log = new ProductChangeLog(10);
+        publishSaved(log);
+
+        try (ChangeSubscription subscription = log.subscribe(null)) {
+            assertEquals(List.of(), subscription.poll(10, NO_WAIT));
+            publishSaved(log);
+            assertEquals(List.of(2L), sequences(subscription.poll(10, NO_WAIT)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out at most max changes per poll")
+    void shouldBoundEachPoll() throws InterruptedException {
+        ProductChangeLog log = new ProductChangeLog(10);
+        for (int i = 0; i < 5; i++) {
+            publishSaved(log);
+        }
+
+        try (ChangeSubscription subscription = log.subscribe(0L)) {
+            assertEquals(List.of(1L, 2L), sequences(subscription.poll(2, NO_WAIT)));
+            assertEquals(List.of(3L, 4L), sequences(subscription.poll(2, NO_WAIT)));
+            assertEquals(List.of(5L), sequences(subscription.poll(2, NO_WAIT)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a sequence the ring no longer holds or that was never published")
+    void shouldRefuseUnavailableSequences() {
+        ProductChangeLog log = new ProductChangeLog(3);
+        for (int i = 0; i < 5; i++) {
+            publishSaved(log);
+        }
+
+        assertDoesNotThrow(() -> log.subscribe(2L).close());
+        ChangeLogTruncatedException tooOld = assertThrows(ChangeLogTruncatedException.class, () -> log.subscribe(1L));
+        assertEquals(1, tooOld.getRequestedSequence());
+        assertEquals(5, tooOld.getLatestSequence());
+        assertThrows(ChangeLogTruncatedException.class, () -> log.subscribe(6L));
+    }
+
+    @Test
+    @DisplayName("Should resume from a position of its own epoch and refuse one from before a restart")
+    void shouldRefuseForeignEpoch() throws InterruptedException {
+        ProductChangeLog log = new ProductChangeLog(10);
+        for (int i = 0; i < 3; i++) {
+            publishSaved(log);
+        }
+
+        try (ChangeSubscription subscription = log.resume(log.position(1))) {
+            assertEquals(List.of(2L, 3L), sequences(subscription.poll(10, NO_WAIT)));
+        }
+        ChangePosition beforeRestart = new ChangePosition(log.epoch() + "0", 1);
+        ChangeLogTruncatedException foreign = assertThrows(ChangeLogTruncatedException.class, () -> log.resume(beforeRestart));
+        assertEquals(3, foreign.getLatestSequence());
+        assertEquals(log.epoch() + ":3", foreign.getLatestPosition());
+        assertEquals(new ChangePosition(log.epoch(), 3), ChangePosition.parse(foreign.getLatestPosition()));
+        assertThrows(BadRequestException.class, () -> ChangePosition.parse("3"));
+        assertThrows(BadRequestException.class, () -> ChangePosition.parse(log.epoch() + ":-1"));
+    }
+
+    @Test
+    @DisplayName("Should hand a subscriber everything written while it was not polling")
+    void shouldCatchUpAfterIdling() throws InterruptedException {
+        ProductChangeLog log = new ProductChangeLog(100);
+        try (ChangeSubscription subscription = log.subscribe(null)) {
+            assertEquals(List.of(), subscription.poll(10, NO_WAIT));
+            for (int i = 0; i < 5; i++) {
+                publishSaved(log);
+            }
+
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sequences(subscription.poll(10, NO_WAIT)));
+            publishSaved(log);
+            assertEquals(List.of(6L), sequences(subscription.poll(10, NO_WAIT)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report truncation to a subscriber that fell further behind than the ring keeps")
+    void shouldReportTruncationToASlowSubscriber() throws InterruptedException {
+        ProductChangeLog log = new ProductChangeLog(3);
+        try (ChangeSubscription subscription = log.subscribe(null)) {
+            assertEquals(List.of(), subscription.poll(10, NO_WAIT));
+            for (int i = 0; i < 6; i++) {
+                publishSaved(log);
+            }
+
+            assertThrows(ChangeLogTruncatedException.class, () -> subscription.poll(10, NO_WAIT));
+        }
+    }
+
+    @Test
+    @DisplayName("Should wake a waiting subscriber when a change arrives")
+    void shouldWakeAWaitingSubscriber() throws Exception {
+        ProductChangeLog log = new ProductChangeLog(10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ChangeSubscription subscription = log.subscribe(null)) {
+            assertEquals(List.of(), subscription.poll(10, NO_WAIT));
+            Future<List<ProductChange>> waiting = executor.submit(() -> subscription.poll(10, Duration.ofSeconds(10)));
+
+            publishSaved(log);
+            assertEquals(List.of(1L), sequences(waiting.get(5, TimeUnit.SECONDS)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give every subscriber each concurrent change exactly once and in sequence order")
+    void shouldDeliverConcurrentChangesInOrder() throws Exception {
+        int writers = 4;
+        int readers = 4;
+        int perWriter = 2000;
+        ProductChangeLog log = new ProductChangeLog(writers * perWriter);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+        try {
+            List<Future<List<Long>>> reads = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                ChangeSubscription subscription = log.subscribe(null);
+                reads.add(executor.submit(() -> {
+                    try (subscription) {
+                        List<Long> received = new ArrayList<>();
+                        while (received.size() < writers * perWriter) {
+                            received.addAll(sequences(subscription.poll(100, Duration.ofSeconds(5))));
+                        }
+                        return received;
+                    }
+                }));
+            }
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                writes.add(executor.submit(() -> {
+                    for (int j = 0; j < perWriter; j++) {
+                        publishSaved(log);
+                    }
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get(5, TimeUnit.SECONDS);
+            }
+
+            for (Future<List<Long>> read : reads) {
+                List<Long> received = read.get(5, TimeUnit.SECONDS);
+                assertEquals(writers * perWriter, received.size());
+                for (int i = 0; i < received.size(); i++) {
+                    assertEquals(i + 1, received.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            log.close();
+        }
+    }
+}
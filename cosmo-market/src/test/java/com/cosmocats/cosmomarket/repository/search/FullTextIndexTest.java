@@ -0,0 +1,164 @@
+package com.cosmocats.cosmomarket.repository.search;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Full-Text Index Tests")
+public class FullTextIndexTest {
+
+    private FullTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FullTextIndex();
+    }
+
+    private Product indexProduct(String name, String description) {
+        Product product = Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description(description)
+                .category(Category.OTHER)
+                .availableQuantity(1)
+                .price(BigDecimal.ONE)
+                .build();
+        index.update(null, product);
+        return product;
+    }
+
+    private static List<UUID> ids(List<ProductSearchHit> hits) {
+        return hits.stream().map(hit -> hit.product().getId()).toList();
+    }
+
+    @Test
+    @DisplayName("Should split text on punctuation and lowercase tokens")
+    void shouldTokenizeText() {
+        assertEquals(List.of("star", "tea", "2000", "galaxy"), TextTokenizer.tokenize("Star-TEA, 2000 (Galaxy)"));
+        assertTrue(TextTokenizer.tokenize("  ").isEmpty());
+        assertTrue(TextTokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void shouldRankNameMatchesFirst() {
+        Product inDescription = indexProduct("Warm Coat", "a coat with a star pattern");
+        Product inName = indexProduct("Star Tea", "hot drink");
+        indexProduct("Comet Cake", "sweet");
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()), ids(index.search("STAR", 10)));
+    }
+
+    @Test
+    @DisplayName("Should match prefixes and require every query token")
+    void shouldMatchPrefixesWithAllTokens() {
+        Product galaxyCoat = indexProduct("Galaxy Coat", "warm");
+        indexProduct("Galaxy Tea", "hot");
+
+        assertEquals(2, index.search("gal", 10).size());
+        assertEquals(List.of(galaxyCoat.getId()), ids(index.search("gal co", 10)));
+        assertTrue(index.search("g", 10).isEmpty());
+        assertTrue(index.search("galaxy nebula", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return at most limit hits ordered by score")
+    void shouldLimitHits() {
+        for (int i = 0; i < 10; i++) {
+            indexProduct("Cosmic item " + i, i % 2 == 0 ? "cosmic cosmic" : "plain");
+        }
+
+        List<ProductSearchHit> hits = index.search("cosmic", 3);
+
+        assertEquals(3, hits.size());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).score() >= hits.get(i).score());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reflect renamed and deleted products")
+    void shouldReflectUpdatesAndDeletes() {
+        Product product = indexProduct("Asteroid Candy", "sweet");
+        Product renamed = product.toBuilder().name("Nebula Candy").build();
+
+        index.update(product, renamed);
+
+        assertTrue(index.search("asteroid", 10).isEmpty());
+        assertEquals("Nebula Candy", index.search("nebula", 10).get(0).product().getName());
+
+        index.update(renamed, null);
+
+        assertTrue(index.search("candy", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should serve latest product state when only non-text fields change")
+    void shouldServeLatestProductState() {
+        Product product = indexProduct("Space Gum", "chewy");
+        index.update(product, product.toBuilder().availableQuantity(0).build());
+
+        assertEquals(0, index.search("gum", 10).get(0).product().getAvailableQuantity());
+    }
+
+    @Test
+    @DisplayName("Should return the same top hits as scoring every match")
+    void shouldMatchFullScoringWhenPruning() {
+        for (int i = 0; i < 200; i++) {
+            indexProduct("Comet " + (i % 3 == 0 ? "comet " : "") + "item " + i,
+                    "comet dust " + "comet ".repeat(i % 5) + (i % 7 == 0 ? "core" : "tail"));
+        }
+
+        for (String query : List.of("comet", "com", "comet core", "item co")) {
+            List<ProductSearchHit> all = index.search(query, Integer.MAX_VALUE);
+            List<ProductSearchHit> top = index.search(query, 5);
+
+            assertEquals(5, top.size());
+            for (int i = 0; i < top.size(); i++) {
+                assertEquals(all.get(i).score(), top.get(i).score(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep every product of a term while others leave it concurrently")
+    void shouldKeepTermPostingsUnderConcurrentChurn() throws Exception {
+        int threads = 8;
+        int rounds = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Product> kept = new ArrayList<>();
+        try {
+            List<Future<Product>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int writer = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < rounds; i++) {
+                        Product passing = indexProduct("Meteor", "passing " + writer);
+                        index.update(passing, null);
+                    }
+                    return indexProduct("Meteor", "kept " + writer);
+                }));
+            }
+            for (Future<Product> writer : writers) {
+                kept.add(writer.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(Set.copyOf(kept.stream().map(Product::getId).toList()), Set.copyOf(ids(index.search("meteor", 100))));
+        assertTrue(index.search("passing", 100).isEmpty());
+    }
+}
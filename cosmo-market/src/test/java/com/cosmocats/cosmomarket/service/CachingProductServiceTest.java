@@ -0,0 +1,141 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.service.cache.ProductCache;
+import com.cosmocats.cosmomarket.service.impl.CachingProductService;
+import com.cosmocats.cosmomarket.web.ProductController;
+import com.cosmocats.cosmomarket.web.ProductJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Caching Product Service Tests")
+public class CachingProductServiceTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final ProductReturnDto FIRST = ProductReturnDto.builder().id(PRODUCT_ID).name("Star Tea").version(1L).build();
+    private static final ProductReturnDto SECOND = FIRST.toBuilder().version(2L).build();
+
+    private ProductServiceInterface delegate;
+    private ProductCache cache;
+    private ProductServiceInterface service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ProductServiceInterface.class);
+        cache = new ProductCache(1_000_000, Duration.ofMinutes(10), null, new SimpleMeterRegistry());
+        service = new CachingProductService(delegate, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    @DisplayName("Should read a product from the delegate once and then from the cache")
+    void shouldCacheProductReads() {
+        when(delegate.getProductById(PRODUCT_ID)).thenReturn(FIRST);
+
+        assertEquals(FIRST, service.getProductById(PRODUCT_ID));
+        assertEquals(FIRST, service.getProductById(PRODUCT_ID));
+
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated GETs by id, version lookups included, from one delegate read")
+    void shouldServeProductRequestsFromOneDelegateRead() {
+        when(delegate.getProductById(PRODUCT_ID)).thenReturn(FIRST);
+        ObjectMapper objectMapper = new ObjectMapper();
+        ProductController controller = new ProductController(service,
+                new ProductJsonCache(objectMapper, 1_000_000, new SimpleMeterRegistry()), objectMapper);
+
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<byte[]> response = controller.get(PRODUCT_ID, null);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals("\"1\"", response.getHeaders().getETag());
+        }
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.get(PRODUCT_ID, "\"1\"").getStatusCode());
+
+        verify(delegate, times(1)).getProductById(PRODUCT_ID);
+        verify(delegate, never()).getProductVersion(any());
+    }
+
+    @Test
+    @DisplayName("Should load the version of a missing product through the cache and cache nothing")
+    void shouldNotCacheMissingProductVersion() {
+        UUID unknown = UUID.randomUUID();
+        when(delegate.getProductById(unknown)).thenThrow(new NoSuchElementException("Product not found: " + unknown));
+
+        assertThrows(NoSuchElementException.class, () -> service.getProductVersion(unknown));
+        assertThrows(NoSuchElementException.class, () -> service.getProductVersion(unknown));
+
+        verify(delegate, times(2)).getProductById(unknown);
+        verify(delegate, never()).getProductVersion(any());
+    }
+
+    @Test
+    @DisplayName("Should drop the cached product on every write, including a failed one")
+    void shouldInvalidateOnWrites() {
+        ProductUpdateDto changes = ProductUpdateDto.builder().build();
+        when(delegate.getProductById(PRODUCT_ID)).thenReturn(FIRST, SECOND, FIRST, SECOND, FIRST, SECOND);
+        when(delegate.reserveStock(PRODUCT_ID, 5)).thenThrow(new InsufficientStockException(PRODUCT_ID, 5, 1));
+
+        assertEquals(FIRST, service.getProductById(PRODUCT_ID));
+        service.updateProduct(PRODUCT_ID, changes, 1L);
+        assertEquals(SECOND, service.getProductById(PRODUCT_ID));
+        assertThrows(InsufficientStockException.class, () -> service.reserveStock(PRODUCT_ID, 5));
+        assertEquals(FIRST, service.getProductById(PRODUCT_ID));
+        service.releaseStock(PRODUCT_ID, 1);
+        assertEquals(SECOND, service.getProductById(PRODUCT_ID));
+        service.updateProducts(List.of(ProductBatchUpdateDto.builder().id(PRODUCT_ID).changes(changes).build(),
+                ProductBatchUpdateDto.builder().build()));
+        assertEquals(FIRST, service.getProductById(PRODUCT_ID));
+        service.deleteProduct(PRODUCT_ID);
+        assertEquals(SECOND, service.getProductById(PRODUCT_ID));
+
+        verify(delegate, times(6)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    @DisplayName("Should pass every other method straight to the delegate")
+    void shouldPassThroughOtherMethods() {
+        ProductCreateDto createDto = ProductCreateDto.builder().build();
+        ProductFilter filter = ProductFilter.builder().build();
+        when(delegate.createNewProduct(createDto)).thenReturn(FIRST);
+        when(delegate.getAllProducts()).thenReturn(List.of(FIRST));
+        when(delegate.searchProducts("tea", 5)).thenReturn(List.of(FIRST));
+        when(delegate.exportProducts()).thenReturn(Stream.of(FIRST));
+        when(delegate.getCatalogVersion()).thenReturn(9L);
+
+        assertEquals(FIRST, service.createNewProduct(createDto));
+        service.createProducts(List.of(createDto));
+        assertEquals(List.of(FIRST), service.getAllProducts());
+        service.getProductPage(filter, null, 10, ProductSort.ID);
+        assertEquals(List.of(FIRST), service.searchProducts("tea", 5));
+        assertEquals(List.of(FIRST), service.exportProducts().toList());
+        assertEquals(9L, service.getCatalogVersion());
+
+        verify(delegate).createProducts(List.of(createDto));
+        verify(delegate).getProductPage(filter, null, 10, ProductSort.ID);
+    }
+}
@@ -0,0 +1,128 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.cart.CartItem;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.dto.cart.CartDto;
+import com.cosmocats.cosmomarket.dto.cart.CartItemRequestDto;
+import com.cosmocats.cosmomarket.repository.CartRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.impl.CartServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CartServiceImpl.class})
+@Import(MappersTestConfiguration.class)
+@DisplayName("Cart Service Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CartServiceImplTest {
+
+    private static final UUID CART_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final BigDecimal PRICE = new BigDecimal("2.50");
+
+    @MockitoBean
+    private CartRepositoryInterface cartRepo;
+
+    @MockitoBean
+    private ProductRepositoryInterface productRepo;
+
+    @Autowired
+    private CartServiceInterface cartService;
+
+    private static Product buildProduct() {
+        return Product.builder()
+                .id(PRODUCT_ID)
+                .name("Star Tea")
+                .category(Category.FOOD)
+                .availableQuantity(10)
+                .price(PRICE)
+                .version(Product.FIRST_VERSION)
+                .build();
+    }
+
+    private static Cart buildCart(int quantity) {
+        return Cart.builder().id(CART_ID).item(CartItem.builder().product(buildProduct()).quantity(quantity).build()).build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should create an empty cart")
+    void shouldCreateCart() {
+        when(cartRepo.create()).thenReturn(Cart.builder().id(CART_ID).build());
+
+        CartDto cart = cartService.createCart();
+
+        assertEquals(CART_ID, cart.getId());
+        assertTrue(cart.getItems().isEmpty());
+        assertEquals(BigDecimal.ZERO, cart.getTotalCartPrice());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should add the current product to the cart and return the new total")
+    void shouldAddItem() {
+        when(productRepo.findById(PRODUCT_ID)).thenReturn(Optional.of(buildProduct()));
+        when(cartRepo.addItem(CART_ID, buildProduct(), 3)).thenReturn(buildCart(3));
+
+        CartDto cart = cartService.addItem(CART_ID, CartItemRequestDto.builder().productId(PRODUCT_ID).quantity(3).build());
+
+        assertEquals(1, cart.getItems().size());
+        assertEquals(PRODUCT_ID, cart.getItems().get(0).getProduct().getId());
+        assertEquals(0, new BigDecimal("7.50").compareTo(cart.getTotalCartPrice()));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should not touch the cart when the product does not exist")
+    void shouldRejectUnknownProduct() {
+        when(productRepo.findById(PRODUCT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class,
+                () -> cartService.addItem(CART_ID, CartItemRequestDto.builder().productId(PRODUCT_ID).quantity(1).build()));
+
+        verify(cartRepo, never()).addItem(any(), any(), anyInt());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should get a cart and report missing ones")
+    void shouldGetCart() {
+        when(cartRepo.findById(CART_ID)).thenReturn(Optional.of(buildCart(2)));
+
+        assertEquals(2, cartService.getCart(CART_ID).getItems().get(0).getQuantity());
+        assertThrows(NoSuchElementException.class, () -> cartService.getCart(UUID.randomUUID()));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should remove items and delete only existing carts")
+    void shouldRemoveItemAndDeleteCart() {
+        when(cartRepo.removeItem(CART_ID, PRODUCT_ID)).thenReturn(Cart.builder().id(CART_ID).build());
+        when(cartRepo.existsById(CART_ID)).thenReturn(true);
+
+        assertTrue(cartService.removeItem(CART_ID, PRODUCT_ID).getItems().isEmpty());
+        cartService.deleteCart(CART_ID);
+        assertThrows(NoSuchElementException.class, () -> cartService.deleteCart(UUID.randomUUID()));
+
+        verify(cartRepo).deleteById(CART_ID);
+        verify(cartRepo, times(1)).deleteById(any());
+    }
+}
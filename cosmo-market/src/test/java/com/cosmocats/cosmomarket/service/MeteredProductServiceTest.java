@@ -0,0 +1,90 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.service.impl.MeteredProductService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Metered Product Service Tests")
+public class MeteredProductServiceTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    private ProductServiceInterface delegate;
+    private SimpleMeterRegistry registry;
+    private MeteredProductService service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ProductServiceInterface.class);
+        registry = new SimpleMeterRegistry();
+        service = new MeteredProductService(delegate, registry);
+    }
+
+    private long calls(String method) {
+        Timer timer = registry.find(MeteredProductService.TIMER_NAME).tag("method", method).timer();
+        assertNotNull(timer, method);
+        return timer.count();
+    }
+
+    @Test
+    @DisplayName("Should forward every call and time it under the method tag")
+    void shouldForwardAndTimeEveryMethod() {
+        ProductReturnDto dto = ProductReturnDto.builder().id(PRODUCT_ID).build();
+        ProductCreateDto createDto = ProductCreateDto.builder().build();
+        ProductUpdateDto updateDto = ProductUpdateDto.builder().build();
+        ProductFilter filter = ProductFilter.builder().build();
+        when(delegate.getProductById(PRODUCT_ID)).thenReturn(dto);
+        when(delegate.exportProducts()).thenReturn(Stream.of(dto));
+
+        service.createNewProduct(createDto);
+        service.createProducts(List.of(createDto));
+        service.getAllProducts();
+        service.getProductPage(filter, null, 10, ProductSort.ID);
+        service.searchProducts("star", 5);
+        assertEquals(List.of(dto), service.exportProducts().toList());
+        assertEquals(dto, service.getProductById(PRODUCT_ID));
+        service.getProductVersion(PRODUCT_ID);
+        service.getCatalogVersion();
+        service.updateProduct(PRODUCT_ID, updateDto, 2L);
+        service.updateProducts(List.of());
+        service.reserveStock(PRODUCT_ID, 2);
+        service.releaseStock(PRODUCT_ID, 1);
+        service.deleteProduct(PRODUCT_ID);
+
+        verify(delegate).createNewProduct(createDto);
+        verify(delegate).getProductPage(filter, null, 10, ProductSort.ID);
+        verify(delegate).updateProduct(PRODUCT_ID, updateDto, 2L);
+        verify(delegate).deleteProduct(PRODUCT_ID);
+        verify(delegate).reserveStock(PRODUCT_ID, 2);
+        verify(delegate).releaseStock(PRODUCT_ID, 1);
+        for (String method : List.of("create_new_product", "create_products", "get_all_products", "get_product_page",
+                "search_products", "export_products", "get_product_by_id", "get_product_version", "get_catalog_version",
+                "update_product", "update_products",
+                "reserve_stock", "release_stock", "delete_product")) {
+            assertEquals(1, calls(method), method);
+        }
+    }
+
+    @Test
+    @DisplayName("Should time failed calls too")
+    void shouldTimeFailedCalls() {
+        when(delegate.getProductById(PRODUCT_ID)).thenThrow(new NoSuchElementException("Product not found"));
+
+        assertThrows(NoSuchElementException.class, () -> service.getProductById(PRODUCT_ID));
+        assertEquals(1, calls("get_product_by_id"));
+    }
+}
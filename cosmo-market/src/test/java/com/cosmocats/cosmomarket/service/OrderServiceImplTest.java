@@ -0,0 +1,150 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.domain.cart.Cart;
+import com.cosmocats.cosmomarket.domain.cart.CartItem;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.dto.order.OrderCreateDto;
+import com.cosmocats.cosmomarket.dto.order.OrderDto;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.repository.CartRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.OrderRepositoryInterface;
+import com.cosmocats.cosmomarket.service.checkout.CheckoutPipeline;
+import com.cosmocats.cosmomarket.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {OrderServiceImpl.class})
+@Import(MappersTestConfiguration.class)
+@DisplayName("Order Service Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OrderServiceImplTest {
+
+    private static final UUID CART_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final BigDecimal PRICE = new BigDecimal("2.50");
+
+    @MockitoBean
+    private CartRepositoryInterface cartRepo;
+
+    @MockitoBean
+    private OrderRepositoryInterface orderRepo;
+
+    @MockitoBean
+    private CheckoutPipeline checkout;
+
+    @Autowired
+    private OrderServiceInterface orderService;
+
+    private static Product buildProduct(int stock) {
+        return Product.builder()
+                .id(PRODUCT_ID)
+                .name("Star Tea")
+                .category(Category.FOOD)
+                .availableQuantity(stock)
+                .price(PRICE)
+                .version(Product.FIRST_VERSION)
+                .build();
+    }
+
+    private static com.cosmocats.cosmomarket.domain.order.Order buildOrder(int quantity) {
+        return com.cosmocats.cosmomarket.domain.order.Order.builder()
+                .item(OrderItem.builder().product(buildProduct(10 - quantity)).quantity(quantity).itemPrice(PRICE).build())
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should take the cart out of the store and check out its lines")
+    void shouldPlaceOrder() {
+        when(cartRepo.take(CART_ID)).thenReturn(Optional.of(
+                Cart.builder().id(CART_ID).item(CartItem.builder().product(buildProduct(10)).quantity(3).build()).build()));
+        when(checkout.submit(Map.of(PRODUCT_ID, 3))).thenReturn(CompletableFuture.completedFuture(buildOrder(3)));
+
+        OrderDto order = orderService.placeOrder(OrderCreateDto.builder().cartId(CART_ID).build());
+
+        assertEquals(3, order.getItems().get(0).getQuantity());
+        assertEquals(PRICE, order.getItems().get(0).getItemPrice());
+        assertEquals(0, new BigDecimal("7.50").compareTo(order.getTotalOrderPrice()));
+        verify(cartRepo).take(CART_ID);
+        verify(cartRepo, never()).putBack(any());
+        verify(cartRepo, never()).findById(any());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should rethrow the stock failure and put the cart back")
+    void shouldKeepCartWhenStockIsShort() {
+        Cart cart = Cart.builder().id(CART_ID).item(CartItem.builder().product(buildProduct(1)).quantity(2).build()).build();
+        when(cartRepo.take(CART_ID)).thenReturn(Optional.of(cart));
+        when(checkout.submit(any())).thenReturn(CompletableFuture.failedFuture(new InsufficientStockException(PRODUCT_ID, 2, 1)));
+
+        assertThrows(InsufficientStockException.class, () -> orderService.placeOrder(OrderCreateDto.builder().cartId(CART_ID).build()));
+
+        verify(cartRepo).putBack(cart);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should reject missing and empty carts without checking out")
+    void shouldRejectMissingAndEmptyCarts() {
+        UUID emptyCart = UUID.randomUUID();
+        Cart empty = Cart.builder().id(emptyCart).build();
+        when(cartRepo.take(emptyCart)).thenReturn(Optional.of(empty));
+
+        assertThrows(NoSuchElementException.class, () -> orderService.placeOrder(OrderCreateDto.builder().cartId(UUID.randomUUID()).build()));
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(OrderCreateDto.builder().cartId(emptyCart).build()));
+
+        verify(checkout, never()).submit(any());
+        verify(cartRepo).putBack(empty);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should get an order and report missing ones")
+    void shouldGetOrder() {
+        com.cosmocats.cosmomarket.domain.order.Order stored = buildOrder(1);
+        when(orderRepo.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+        assertEquals(stored.getId(), orderService.getOrder(stored.getId()).getId());
+        assertThrows(NoSuchElementException.class, () -> orderService.getOrder(UUID.randomUUID()));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should stream the orders of a time window and reject an empty window")
+    void shouldStreamOrders() {
+        OffsetDateTime from = OffsetDateTime.now().minusHours(1);
+        OffsetDateTime to = from.plusHours(1);
+        com.cosmocats.cosmomarket.domain.order.Order first = buildOrder(1);
+        com.cosmocats.cosmomarket.domain.order.Order second = buildOrder(2);
+        when(orderRepo.findByCreatedAt(from, to)).thenReturn(Stream.of(first, second));
+
+        List<UUID> ids = orderService.streamOrders(from, to).map(OrderDto::getId).toList();
+
+        assertEquals(List.of(first.getId(), second.getId()), ids);
+        assertThrows(IllegalArgumentException.class, () -> orderService.streamOrders(to, from));
+        assertThrows(IllegalArgumentException.class, () -> orderService.streamOrders(from, from));
+    }
+}
@@ -0,0 +1,84 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import com.cosmocats.cosmomarket.dto.product.ProductChangeDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.exception.ChangeLogTruncatedException;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import com.cosmocats.cosmomarket.service.impl.ProductChangeServiceImpl;
+import com.cosmocats.cosmomarket.service.mapper.ProductMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Product Change Service Tests")
+public class ProductChangeServiceImplTest {
+
+    private ProductChangeLog changeLog;
+    private ProductChangeServiceInterface service;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new ProductChangeLog(3);
+        service = new ProductChangeServiceImpl(changeLog, Mappers.getMapper(ProductMapper.class));
+    }
+
+    private static Product buildProduct() {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name("Star Tea")
+                .category(Category.FOOD)
+                .availableQuantity(4)
+                .price(new BigDecimal("2.50"))
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should map saves with the product and deletes with only the id")
+    void shouldMapChanges() throws InterruptedException {
+        Product product = buildProduct();
+        try (ProductChangeFeed feed = service.openFeed(null)) {
+            changeLog.publish(ProductChangeType.SAVED, product.getId(), product);
+            changeLog.publish(ProductChangeType.DELETED, product.getId(), null);
+
+            List<ProductChangeDto> changes = feed.next(Duration.ZERO);
+
+            assertEquals(2, changes.size());
+            assertEquals(1, changes.get(0).getSequence());
+            assertEquals(changeLog.epoch() + ":1", changes.get(0).getPosition());
+            assertEquals(ProductChangeType.SAVED, changes.get(0).getType());
+            assertEquals(product.getId(), changes.get(0).getProduct().getId());
+            assertEquals("Star Tea", changes.get(0).getProduct().getName());
+            assertEquals(2, changes.get(1).getSequence());
+            assertEquals(ProductChangeType.DELETED, changes.get(1).getType());
+            assertEquals(product.getId(), changes.get(1).getProductId());
+            assertNull(changes.get(1).getProduct());
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume after the given position and refuse one the log no longer holds or cannot read")
+    void shouldResumeFromSequence() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            Product product = buildProduct();
+            changeLog.publish(ProductChangeType.SAVED, product.getId(), product);
+        }
+
+        try (ProductChangeFeed feed = service.openFeed(changeLog.epoch() + ":3")) {
+            assertEquals(List.of(4L, 5L), feed.next(Duration.ZERO).stream().map(ProductChangeDto::getSequence).toList());
+            assertEquals(List.of(), feed.next(Duration.ZERO));
+        }
+        assertThrows(ChangeLogTruncatedException.class, () -> service.openFeed(changeLog.epoch() + ":1"));
+        assertThrows(ChangeLogTruncatedException.class, () -> service.openFeed("0:3"));
+        assertThrows(BadRequestException.class, () -> service.openFeed("3"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.dto.product.ProductImportErrorDto;
+import com.cosmocats.cosmomarket.dto.product.ProductImportReportDto;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.importer.ImportFormat;
+import com.cosmocats.cosmomarket.service.impl.ProductImportServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {ProductImportServiceImpl.class, LocalValidatorFactoryBean.class, JacksonAutoConfiguration.class})
+@Import(MappersTestConfiguration.class)
+@DisplayName("Product Import Service Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ProductImportServiceImplTest {
+
+    private static final String VALID_JSON = """
+            {"name":"Cosmic Socks","description":"Warm","category":"CLOTHES","availableQuantity":5,"price":10.50}""";
+    private static final String CSV_HEADER = "price,name,category,availableQuantity,description";
+
+    @MockitoBean
+    private ProductRepositoryInterface repo;
+
+    @Captor
+    private ArgumentCaptor<Collection<Product>> productsCaptor;
+
+    @Autowired
+    private ProductImportServiceImpl importService;
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String lines(int count, String line) {
+        return IntStream.range(0, count).mapToObj(i -> line).collect(Collectors.joining("\n"));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should import valid NDJSON records and report invalid and unreadable lines")
+    void shouldImportNdjson() {
+        String content = String.join("\n",
+                VALID_JSON,
+                "",
+                VALID_JSON.replace("Cosmic Socks", "Plain Socks"),
+                "{not json",
+                VALID_JSON.replace("10.50", "10.505"));
+
+        ProductImportReportDto report = importService.importProducts(body(content), ImportFormat.NDJSON);
+
+        assertEquals(4, report.getRecords());
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getRejected());
+        assertFalse(report.isErrorsTruncated());
+        assertEquals(List.of(3L, 4L, 5L), report.getErrors().stream().map(ProductImportErrorDto::getLine).toList());
+        assertTrue(report.getErrors().get(0).getMessage().contains("'name'"));
+        assertTrue(report.getErrors().get(1).getMessage().startsWith("Unreadable record"));
+        assertTrue(report.getErrors().get(2).getMessage().contains("'price'"));
+
+        verify(repo, times(1)).saveAll(productsCaptor.capture());
+        Product imported = productsCaptor.getValue().iterator().next();
+        assertEquals("Cosmic Socks", imported.getName());
+        assertNull(imported.getId());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should map CSV columns by header and unquote fields")
+    void shouldImportCsv() {
+        String content = CSV_HEADER + "\n"
+                + "9.99,\"Star Map, folded\",accessory,3,\"Shows the \"\"best\"\" stars\"\n"
+                + "1.00,Comet Dust,SPACESHIPS,1,\n"
+                + "abc,Comet Dust,food,1,";
+
+        ProductImportReportDto report = importService.importProducts(body(content), ImportFormat.CSV);
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(3L, 4L), report.getErrors().stream().map(ProductImportErrorDto::getLine).toList());
+        assertTrue(report.getErrors().get(0).getMessage().contains("Unknown category 'SPACESHIPS'"));
+
+        verify(repo).saveAll(productsCaptor.capture());
+        Product imported = productsCaptor.getValue().iterator().next();
+        assertEquals("Star Map, folded", imported.getName());
+        assertEquals("Shows the \"best\" stars", imported.getDescription());
+        assertEquals(Category.ACCESSORY, imported.getCategory());
+        assertEquals(new BigDecimal("9.99"), imported.getPrice());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should save chunks in upload order with one saveAll per chunk")
+    void shouldSaveChunksInOrder() {
+        int total = ProductImportServiceImpl.CHUNK_LINES * 2 + 500;
+        String content = IntStream.range(0, total)
+                .mapToObj(i -> VALID_JSON.replace("\"availableQuantity\":5", "\"availableQuantity\":" + i))
+                .collect(Collectors.joining("\n"));
+
+        ProductImportReportDto report = importService.importProducts(body(content), ImportFormat.NDJSON);
+
+        assertEquals(total, report.getImported());
+        assertTrue(report.getProductsPerSecond() > 0);
+        verify(repo, times(3)).saveAll(productsCaptor.capture());
+        List<Integer> quantities = productsCaptor.getAllValues().stream()
+                .flatMap(Collection::stream)
+                .map(Product::getAvailableQuantity)
+                .toList();
+        assertEquals(IntStream.range(0, total).boxed().toList(), quantities);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should cap reported errors but count every rejected line")
+    void shouldCapReportedErrors() {
+        int invalid = ProductImportServiceImpl.MAX_REPORTED_ERRORS + 200;
+
+        ProductImportReportDto report = importService.importProducts(body(lines(invalid, "{}")), ImportFormat.NDJSON);
+
+        assertEquals(invalid, report.getRejected());
+        assertEquals(ProductImportServiceImpl.MAX_REPORTED_ERRORS, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        verify(repo, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should reject CSV without a usable header")
+    void shouldRejectCsvWithoutHeader() {
+        assertThrows(IllegalArgumentException.class, () -> importService.importProducts(body(""), ImportFormat.CSV));
+        assertThrows(IllegalArgumentException.class, () -> importService.importProducts(body("sku,colour\n1,red"), ImportFormat.CSV));
+    }
+}
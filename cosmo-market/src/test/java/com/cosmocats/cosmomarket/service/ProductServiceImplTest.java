@@ -3,11 +3,21 @@ package com.cosmocats.cosmomarket.service;
 import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
 import com.cosmocats.cosmomarket.domain.category.Category;
 import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
 import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
 import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
 import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
 import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.query.ProductCursor;
+import com.cosmocats.cosmomarket.repository.query.ProductPage;
+import com.cosmocats.cosmomarket.repository.query.ProductSearchHit;
 import com.cosmocats.cosmomarket.service.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -21,17 +31,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest(classes = {ProductServiceImpl.class})
+@SpringBootTest(classes = {ProductServiceImpl.class, LocalValidatorFactoryBean.class, SimpleMeterRegistry.class})
 @Import(MappersTestConfiguration.class)
 @DisplayName("Product Service Tests")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -47,6 +63,7 @@ public class ProductServiceImplTest {
     private static final Integer AVAILABLE_QUANTITY = 100;
     private static final Integer UPDATED_QUANTITY = 50;
     private static final Category CATEGORY = Category.CLOTHES;
+    private static final long PRODUCT_VERSION = 3;
 
     @MockitoBean
     private ProductRepositoryInterface repo;
@@ -54,6 +71,12 @@ public class ProductServiceImplTest {
     @Captor
     private ArgumentCaptor<Product> productCaptor;
 
+    @Captor
+    private ArgumentCaptor<Collection<Product>> productsCaptor;
+
+    @Captor
+    private ArgumentCaptor<Collection<UUID>> idsCaptor;
+
     @Autowired
     private ProductServiceImpl productService;
 
@@ -191,7 +214,7 @@ public class ProductServiceImplTest {
     @Order(6)
     @DisplayName("Should update provided product fields successfully and no change others fields")
     void shouldUpdateProductSuccessfully() {
-        Product existingProduct = buildProduct(PRODUCT_NAME, PRICE);
+        Product existingProduct = buildProduct(PRODUCT_NAME, PRICE).toBuilder().version(PRODUCT_VERSION).build();
         ProductUpdateDto updateDto = buildProductUpdateDto();
         Product updatedProduct = Product.builder()
                 .id(existingProduct.getId())
@@ -203,9 +226,9 @@ public class ProductServiceImplTest {
                 .build();
 
         when(repo.findById(PRODUCT_ID)).thenReturn(Optional.of(existingProduct));
-        when(repo.saveProduct(any(Product.class))).thenReturn(updatedProduct);
+        when(repo.saveProductIfVersion(any(Product.class), eq(PRODUCT_VERSION))).thenReturn(updatedProduct);
 
-        ProductReturnDto result = productService.updateProduct(PRODUCT_ID, updateDto);
+        ProductReturnDto result = productService.updateProduct(PRODUCT_ID, updateDto, null);
 
         assertNotNull(result);
         assertAll(
@@ -218,7 +241,7 @@ public class ProductServiceImplTest {
         );
 
         verify(repo, times(1)).findById(PRODUCT_ID);
-        verify(repo, times(1)).saveProduct(productCaptor.capture());
+        verify(repo, times(1)).saveProductIfVersion(productCaptor.capture(), eq(PRODUCT_VERSION));
 
         Product capturedProduct = productCaptor.getValue();
         assertNotNull(capturedProduct);
@@ -238,11 +261,11 @@ public class ProductServiceImplTest {
         ProductUpdateDto updateDto = buildProductUpdateDto();
 
         when(repo.findById(PRODUCT_ID)).thenReturn(Optional.empty());
-        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> productService.updateProduct(PRODUCT_ID, updateDto));
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> productService.updateProduct(PRODUCT_ID, updateDto, null));
 
         assertTrue(exception.getMessage().contains("Product not found"));
         verify(repo, times(1)).findById(PRODUCT_ID);
-        verify(repo, never()).saveProduct(any(Product.class));
+        verify(repo, never()).saveProductIfVersion(any(Product.class), anyLong());
     }
 
     @Test
@@ -269,4 +292,267 @@ public class ProductServiceImplTest {
         verify(repo, times(1)).existsById(PRODUCT_ID);
         verify(repo, never()).deleteById(PRODUCT_ID);
     }
+
+    @Test
+    @Order(10)
+    @DisplayName("Should return product page with opaque next cursor")
+    void shouldReturnProductPageWithNextCursor() {
+        Product product = buildProduct(PRODUCT_NAME, PRICE);
+        ProductCursor nextCursor = ProductCursor.after(product, ProductSort.PRICE);
+
+        when(repo.findPage(null, 1, ProductSort.PRICE)).thenReturn(new ProductPage(List.of(product), nextCursor));
+
+        ProductPageDto result = productService.getProductPage(null, null, 1, ProductSort.PRICE);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(PRODUCT_ID, result.getItems().get(0).getId());
+        assertNotNull(result.getNextCursor());
+        assertEquals(nextCursor, ProductCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Should pass decoded cursor to repository and return no next cursor on last page")
+    void shouldPassDecodedCursorToRepository() {
+        ProductCursor cursor = ProductCursor.after(buildProduct(PRODUCT_NAME, PRICE), ProductSort.NAME);
+
+        when(repo.findPage(cursor, 10, ProductSort.NAME)).thenReturn(new ProductPage(List.of(), null));
+
+        ProductPageDto result = productService.getProductPage(ProductFilter.builder().build(), cursor.encode(), 10, ProductSort.NAME);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(repo, times(1)).findPage(cursor, 10, ProductSort.NAME);
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Should throw IllegalArgumentException for malformed cursor")
+    void shouldThrowExceptionForMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage(null, "not-a-cursor", 10, ProductSort.ID));
+        verify(repo, never()).findPage(any(), anyInt(), any());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Should page filtered products in requested sort order")
+    void shouldPageFilteredProducts() {
+        ProductFilter filter = ProductFilter.builder().category(CATEGORY).build();
+        Product cheap = buildProduct(PRODUCT_NAME, PRICE);
+        Product expensive = buildProduct(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME).toBuilder().price(UPDATED_PRICE).build();
+
+        when(repo.findByFilter(filter)).thenReturn(List.of(expensive, cheap));
+
+        ProductPageDto first = productService.getProductPage(filter, null, 1, ProductSort.PRICE);
+        ProductPageDto second = productService.getProductPage(filter, first.getNextCursor(), 1, ProductSort.PRICE);
+
+        assertEquals(PRODUCT_ID, first.getItems().get(0).getId());
+        assertEquals(ANOTHER_PRODUCT_ID, second.getItems().get(0).getId());
+        assertNull(second.getNextCursor());
+        verify(repo, never()).findPage(any(), anyInt(), any());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Should map search hits in relevance order")
+    void shouldMapSearchHitsInRelevanceOrder() {
+        Product best = buildProduct(PRODUCT_ID, PRODUCT_NAME);
+        Product other = buildProduct(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME);
+
+        when(repo.search("cosmic", 5)).thenReturn(List.of(new ProductSearchHit(best, 2.0), new ProductSearchHit(other, 1.0)));
+
+        List<ProductReturnDto> result = productService.searchProducts("cosmic", 5);
+
+        assertEquals(List.of(PRODUCT_ID, ANOTHER_PRODUCT_ID), result.stream().map(ProductReturnDto::getId).toList());
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Should create valid batch items with one saveAll and report invalid ones")
+    void shouldCreateProductsInBatch() {
+        List<ProductCreateDto> dtos = List.of(
+                buildProductCreateDto(PRODUCT_NAME, PRICE),
+                buildProductCreateDto("Plain Socks", PRICE),
+                buildProductCreateDto(UPDATED_PRODUCT_NAME, PRICE));
+        when(repo.saveAll(anyCollection())).thenReturn(List.of(
+                buildProduct(PRODUCT_ID, PRODUCT_NAME),
+                buildProduct(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME)));
+
+        List<ProductBatchResultDto> results = productService.createProducts(dtos);
+
+        assertEquals(List.of(ProductBatchResultDto.Status.CREATED, ProductBatchResultDto.Status.INVALID, ProductBatchResultDto.Status.CREATED),
+                results.stream().map(ProductBatchResultDto::getStatus).toList());
+        assertEquals(List.of(0, 1, 2), results.stream().map(ProductBatchResultDto::getIndex).toList());
+        assertEquals(ANOTHER_PRODUCT_ID, results.get(2).getId());
+        assertTrue(results.get(1).getError().contains("'name'"));
+
+        verify(repo, times(1)).saveAll(productsCaptor.capture());
+        assertEquals(2, productsCaptor.getValue().size());
+        verify(repo, never()).saveProduct(any());
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Should save batch updates as compare-and-set writes and run deletes with one deleteAll")
+    void shouldUpdateAndDeleteProductsInBatch() {
+        UUID missingId = UUID.randomUUID();
+        Map<UUID, Product> stored = new HashMap<>();
+        stored.put(PRODUCT_ID, buildProduct(PRODUCT_ID, PRODUCT_NAME).toBuilder().version(PRODUCT_VERSION).build());
+        stored.put(ANOTHER_PRODUCT_ID, buildProduct(ANOTHER_PRODUCT_ID, PRODUCT_NAME).toBuilder().version(PRODUCT_VERSION).build());
+        when(repo.findById(any(UUID.class))).thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<UUID>getArgument(0))));
+        when(repo.existsById(any(UUID.class))).thenAnswer(invocation -> stored.containsKey(invocation.<UUID>getArgument(0)));
+        when(repo.saveProductIfVersion(any(Product.class), anyLong())).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            long expected = invocation.getArgument(1);
+            assertEquals(expected, stored.get(product.getId()).getVersion());
+            Product saved = product.toBuilder().version(expected + 1).build();
+            stored.put(saved.getId(), saved);
+            return saved;
+        });
+
+        List<ProductBatchResultDto> results = productService.updateProducts(List.of(
+                ProductBatchUpdateDto.builder().id(PRODUCT_ID).changes(buildProductUpdateDto()).build(),
+                ProductBatchUpdateDto.builder().id(ANOTHER_PRODUCT_ID).delete(true).build(),
+                ProductBatchUpdateDto.builder().id(missingId).delete(true).build(),
+                ProductBatchUpdateDto.builder().id(PRODUCT_ID).changes(ProductUpdateDto.builder().availableQuantity(1).build()).build(),
+                ProductBatchUpdateDto.builder().id(ANOTHER_PRODUCT_ID).changes(buildProductUpdateDto()).build()));
+
+        assertEquals(List.of(ProductBatchResultDto.Status.UPDATED, ProductBatchResultDto.Status.DELETED,
+                        ProductBatchResultDto.Status.NOT_FOUND, ProductBatchResultDto.Status.UPDATED,
+                        ProductBatchResultDto.Status.NOT_FOUND),
+                results.stream().map(ProductBatchResultDto::getStatus).toList());
+        assertEquals(PRODUCT_VERSION + 1, results.get(0).getProduct().getVersion());
+        assertEquals(PRODUCT_VERSION + 2, results.get(3).getProduct().getVersion());
+        assertEquals(UPDATED_PRODUCT_NAME, results.get(3).getProduct().getName());
+        assertEquals(1, results.get(3).getProduct().getAvailableQuantity());
+        assertEquals(stored.get(PRODUCT_ID).getVersion(), results.get(3).getProduct().getVersion());
+
+        verify(repo, never()).saveAll(anyCollection());
+        verify(repo, times(1)).deleteAll(idsCaptor.capture());
+        assertEquals(List.of(ANOTHER_PRODUCT_ID), List.copyOf(idsCaptor.getValue()));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Should report batch updates without id, changes or with invalid fields")
+    void shouldRejectInvalidBatchUpdates() {
+        List<ProductBatchResultDto> results = productService.updateProducts(List.of(
+                ProductBatchUpdateDto.builder().changes(buildProductUpdateDto()).build(),
+                ProductBatchUpdateDto.builder().id(PRODUCT_ID).build(),
+                ProductBatchUpdateDto.builder().id(PRODUCT_ID).changes(ProductUpdateDto.builder().availableQuantity(-1).build()).build()));
+
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == ProductBatchResultDto.Status.INVALID));
+        assertTrue(results.get(0).getError().contains("'id'"));
+        assertTrue(results.get(2).getError().contains("'changes.availableQuantity'"));
+        verify(repo, never()).findById(any());
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Should map exported products lazily from the repository stream")
+    void shouldExportProducts() {
+        when(repo.streamAll()).thenReturn(Stream.of(buildProduct(PRODUCT_ID, PRODUCT_NAME), buildProduct(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME)));
+
+        try (Stream<ProductReturnDto> exported = productService.exportProducts()) {
+            assertEquals(List.of(PRODUCT_ID, ANOTHER_PRODUCT_ID), exported.map(ProductReturnDto::getId).toList());
+        }
+        verify(repo, never()).getAllProducts();
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Should re-apply update to the newer version after a concurrent change")
+    void shouldRetryUpdateAfterConcurrentChange() {
+        Product readProduct = buildProduct(PRODUCT_NAME, PRICE).toBuilder().version(PRODUCT_VERSION).build();
+        Product concurrentlyChanged = readProduct.toBuilder().description("Changed meanwhile").version(PRODUCT_VERSION + 1).build();
+        when(repo.findById(PRODUCT_ID)).thenReturn(Optional.of(readProduct), Optional.of(concurrentlyChanged));
+        when(repo.saveProductIfVersion(any(Product.class), eq(PRODUCT_VERSION)))
+                .thenThrow(new VersionConflictException(PRODUCT_ID, PRODUCT_VERSION, PRODUCT_VERSION + 1));
+        when(repo.saveProductIfVersion(any(Product.class), eq(PRODUCT_VERSION + 1)))
+                .thenAnswer(invocation -> invocation.<Product>getArgument(0).toBuilder().version(PRODUCT_VERSION + 2).build());
+
+        ProductReturnDto result = productService.updateProduct(PRODUCT_ID, buildProductUpdateDto(), null);
+
+        assertEquals(UPDATED_PRODUCT_NAME, result.getName());
+        assertEquals("Changed meanwhile", result.getDescription());
+        assertEquals(PRODUCT_VERSION + 2, result.getVersion());
+        verify(repo, times(2)).findById(PRODUCT_ID);
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Should reject update when the product is no longer at the expected version")
+    void shouldRejectUpdateOfStaleVersion() {
+        when(repo.findById(PRODUCT_ID)).thenReturn(Optional.of(buildProduct(PRODUCT_NAME, PRICE).toBuilder().version(PRODUCT_VERSION).build()));
+
+        VersionConflictException exception = assertThrows(VersionConflictException.class,
+                () -> productService.updateProduct(PRODUCT_ID, buildProductUpdateDto(), PRODUCT_VERSION - 1));
+
+        assertEquals(PRODUCT_VERSION, exception.getActualVersion());
+        verify(repo, never()).saveProductIfVersion(any(Product.class), anyLong());
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Should not retry a conditional update that loses the race")
+    void shouldNotRetryConditionalUpdate() {
+        when(repo.findById(PRODUCT_ID)).thenReturn(Optional.of(buildProduct(PRODUCT_NAME, PRICE).toBuilder().version(PRODUCT_VERSION).build()));
+        when(repo.saveProductIfVersion(any(Product.class), eq(PRODUCT_VERSION)))
+                .thenThrow(new VersionConflictException(PRODUCT_ID, PRODUCT_VERSION, PRODUCT_VERSION + 1));
+
+        assertThrows(VersionConflictException.class, () -> productService.updateProduct(PRODUCT_ID, buildProductUpdateDto(), PRODUCT_VERSION));
+
+        verify(repo, times(1)).findById(PRODUCT_ID);
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Should reserve and release stock through the repository")
+    void shouldReserveAndReleaseStock() {
+        Product product = buildProduct(PRODUCT_NAME, PRICE);
+        when(repo.reserve(PRODUCT_ID, 5)).thenReturn(product.toBuilder().availableQuantity(AVAILABLE_QUANTITY - 5).build());
+        when(repo.release(PRODUCT_ID, 5)).thenReturn(product);
+
+        assertEquals(AVAILABLE_QUANTITY - 5, productService.reserveStock(PRODUCT_ID, 5).getAvailableQuantity());
+        assertEquals(AVAILABLE_QUANTITY, productService.releaseStock(PRODUCT_ID, 5).getAvailableQuantity());
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Should read product and catalog versions from the repository")
+    void shouldReadVersions() {
+        when(repo.findById(PRODUCT_ID)).thenReturn(Optional.of(buildProduct(PRODUCT_NAME, PRICE).toBuilder().version(PRODUCT_VERSION).build()));
+        when(repo.modificationCount()).thenReturn(42L);
+
+        assertEquals(PRODUCT_VERSION, productService.getProductVersion(PRODUCT_ID));
+        assertEquals(42L, productService.getCatalogVersion());
+        assertThrows(NoSuchElementException.class, () -> productService.getProductVersion(UUID.randomUUID()));
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Should re-apply a batch update on top of a racing write and report a product deleted meanwhile")
+    void shouldRetryBatchUpdateAfterConcurrentChange() {
+        Product readProduct = buildProduct(PRODUCT_NAME, PRICE).toBuilder().version(PRODUCT_VERSION).build();
+        Product concurrentlyChanged = readProduct.toBuilder().availableQuantity(7).version(PRODUCT_VERSION + 1).build();
+        when(repo.findById(PRODUCT_ID)).thenReturn(Optional.of(readProduct), Optional.of(concurrentlyChanged));
+        when(repo.saveProductIfVersion(argThat(product -> product.getId().equals(PRODUCT_ID)), eq(PRODUCT_VERSION)))
+                .thenThrow(new VersionConflictException(PRODUCT_ID, PRODUCT_VERSION, PRODUCT_VERSION + 1));
+        when(repo.saveProductIfVersion(argThat(product -> product.getId().equals(PRODUCT_ID)), eq(PRODUCT_VERSION + 1)))
+                .thenAnswer(invocation -> invocation.<Product>getArgument(0).toBuilder().version(PRODUCT_VERSION + 2).build());
+        when(repo.findById(ANOTHER_PRODUCT_ID)).thenReturn(Optional.of(buildProduct(ANOTHER_PRODUCT_ID, PRODUCT_NAME).toBuilder().version(1L).build()));
+        when(repo.saveProductIfVersion(argThat(product -> product.getId().equals(ANOTHER_PRODUCT_ID)), eq(1L)))
+                .thenThrow(new NoSuchElementException("Product not found: " + ANOTHER_PRODUCT_ID));
+
+        List<ProductBatchResultDto> results = productService.updateProducts(List.of(
+                ProductBatchUpdateDto.builder().id(PRODUCT_ID).changes(ProductUpdateDto.builder().name(UPDATED_PRODUCT_NAME).build()).build(),
+                ProductBatchUpdateDto.builder().id(ANOTHER_PRODUCT_ID).changes(buildProductUpdateDto()).build()));
+
+        assertEquals(ProductBatchResultDto.Status.UPDATED, results.get(0).getStatus());
+        assertEquals(7, results.get(0).getProduct().getAvailableQuantity());
+        assertEquals(UPDATED_PRODUCT_NAME, results.get(0).getProduct().getName());
+        assertEquals(PRODUCT_VERSION + 2, results.get(0).getProduct().getVersion());
+        assertEquals(ProductBatchResultDto.Status.NOT_FOUND, results.get(1).getStatus());
+        verify(repo, never()).saveAll(anyCollection());
+    }
 }
@@ -0,0 +1,185 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.service.impl.ReactiveProductServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Reactive Product Service Tests")
+public class ReactiveProductServiceImplTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final String READ_THREAD = "product-reads";
+    private static final String WRITE_THREAD = "product-writes";
+
+    private ProductServiceInterface delegate;
+    private Scheduler writeScheduler;
+    private ReactiveProductServiceInterface service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ProductServiceInterface.class);
+        writeScheduler = Schedulers.newSingle(WRITE_THREAD);
+        service = new ReactiveProductServiceImpl(delegate, Schedulers.immediate(), writeScheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeScheduler.dispose();
+    }
+
+    private static ProductReturnDto buildProduct(int number) {
+        return ProductReturnDto.builder().id(UUID.randomUUID()).name("Star Tea " + number).version(1L).build();
+    }
+
+    @Test
+    @DisplayName("Should map exported products only as fast as the subscriber requests them, and close the walk on cancel")
+    void shouldExportWithBackpressure() {
+        // The iterator is read one element ahead to detect the end, so each step may pull one more than requested.
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        when(delegate.exportProducts()).thenAnswer(invocation -> IntStream.range(0, 1000)
+                .mapToObj(number -> {
+                    pulled.incrementAndGet();
+                    return buildProduct(number);
+                })
+                .onClose(() -> closed.set(true)));
+
+        StepVerifier.create(service.exportProducts(), 0)
+                .expectSubscription()
+                .then(() -> assertTrue(pulled.get() <= 1))
+                .thenRequest(3)
+                .expectNextCount(3)
+                .then(() -> assertTrue(pulled.get() <= 4))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+
+        assertTrue(pulled.get() <= 6);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Should run reads on the subscribing thread and only once subscribed")
+    void shouldRunReadsLazilyOnTheCaller() {
+        ProductPageDto page = ProductPageDto.builder().items(List.of(buildProduct(1))).build();
+        ProductFilter filter = ProductFilter.builder().build();
+        AtomicReference<String> readThread = new AtomicReference<>();
+        when(delegate.getProductPage(filter, null, 10, ProductSort.ID)).thenAnswer(invocation -> {
+            readThread.set(Thread.currentThread().getName());
+            return page;
+        });
+        when(delegate.getProductVersion(PRODUCT_ID)).thenReturn(4L);
+        when(delegate.getCatalogVersion()).thenReturn(9L);
+        when(delegate.searchProducts("tea", 5)).thenReturn(page.getItems());
+
+        Mono<ProductPageDto> pending = service.getProductPage(filter, null, 10, ProductSort.ID);
+        verify(delegate, never()).getProductPage(any(), any(), anyInt(), any());
+
+        assertEquals(page, pending.block());
+        assertEquals(Thread.currentThread().getName(), readThread.get());
+        assertEquals(4L, service.getProductVersion(PRODUCT_ID).block());
+        assertEquals(9L, service.getCatalogVersion().block());
+        assertEquals(page.getItems(), service.searchProducts("tea", 5).block());
+    }
+
+    @Test
+    @DisplayName("Should run reads on the read scheduler when the service below may block them")
+    void shouldRunReadsOnTheReadScheduler() {
+        Scheduler readScheduler = Schedulers.newSingle(READ_THREAD);
+        try {
+            ReactiveProductServiceInterface blockingReads = new ReactiveProductServiceImpl(delegate, readScheduler, writeScheduler);
+            List<String> readThreads = new CopyOnWriteArrayList<>();
+            ProductReturnDto product = buildProduct(1);
+            when(delegate.getProductById(PRODUCT_ID)).thenAnswer(invocation -> {
+                readThreads.add(Thread.currentThread().getName());
+                return product;
+            });
+            when(delegate.getProductVersion(PRODUCT_ID)).thenAnswer(invocation -> {
+                readThreads.add(Thread.currentThread().getName());
+                return 1L;
+            });
+
+            assertEquals(product, blockingReads.getProductById(PRODUCT_ID).block());
+            assertEquals(1L, blockingReads.getProductVersion(PRODUCT_ID).block());
+
+            assertEquals(2, readThreads.size());
+            assertTrue(readThreads.stream().allMatch(name -> name.startsWith(READ_THREAD)), readThreads.toString());
+        } finally {
+            readScheduler.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run every write on the write scheduler")
+    void shouldRunWritesOnTheWriteScheduler() {
+        ProductReturnDto product = buildProduct(1);
+        List<String> writeThreads = new CopyOnWriteArrayList<>();
+        ProductCreateDto createDto = ProductCreateDto.builder().build();
+        ProductUpdateDto updateDto = ProductUpdateDto.builder().build();
+        when(delegate.createNewProduct(createDto)).thenAnswer(invocation -> {
+            writeThreads.add(Thread.currentThread().getName());
+            return product;
+        });
+        when(delegate.updateProduct(PRODUCT_ID, updateDto, 3L)).thenAnswer(invocation -> {
+            writeThreads.add(Thread.currentThread().getName());
+            return product;
+        });
+        when(delegate.reserveStock(PRODUCT_ID, 2)).thenAnswer(invocation -> {
+            writeThreads.add(Thread.currentThread().getName());
+            return product;
+        });
+        doAnswer(invocation -> writeThreads.add(Thread.currentThread().getName())).when(delegate).deleteProduct(PRODUCT_ID);
+
+        assertEquals(product, service.createNewProduct(createDto).block());
+        assertEquals(product, service.updateProduct(PRODUCT_ID, updateDto, 3L).block());
+        assertEquals(product, service.reserveStock(PRODUCT_ID, 2).block());
+        service.releaseStock(PRODUCT_ID, 2).block();
+        service.createProducts(List.of(createDto)).block();
+        service.updateProducts(List.of()).block();
+        service.deleteProduct(PRODUCT_ID).block();
+
+        assertEquals(4, writeThreads.size());
+        assertTrue(writeThreads.stream().allMatch(name -> name.startsWith(WRITE_THREAD)), writeThreads.toString());
+        verify(delegate).releaseStock(PRODUCT_ID, 2);
+        verify(delegate).createProducts(List.of(createDto));
+        verify(delegate).updateProducts(List.of());
+    }
+
+    @Test
+    @DisplayName("Should deliver service failures as error signals")
+    void shouldSignalFailures() {
+        when(delegate.getProductById(PRODUCT_ID)).thenThrow(new NoSuchElementException("Product not found: " + PRODUCT_ID));
+        when(delegate.reserveStock(PRODUCT_ID, 5)).thenThrow(new InsufficientStockException(PRODUCT_ID, 5, 1));
+
+        StepVerifier.create(service.getProductById(PRODUCT_ID))
+                .expectError(NoSuchElementException.class)
+                .verify();
+        StepVerifier.create(service.reserveStock(PRODUCT_ID, 5))
+                .expectError(InsufficientStockException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,78 @@
+package com.cosmocats.cosmomarket.service;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.dto.analytics.ProductSalesDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesReportDto;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.service.analytics.SalesAggregator;
+import com.cosmocats.cosmomarket.service.analytics.SalesFigure;
+import com.cosmocats.cosmomarket.service.analytics.SalesWindow;
+import com.cosmocats.cosmomarket.service.impl.SalesAnalyticsServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {SalesAnalyticsServiceImpl.class})
+@DisplayName("Sales Analytics Service Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SalesAnalyticsServiceImplTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @MockitoBean
+    private SalesAggregator aggregator;
+
+    @MockitoBean
+    private ProductRepositoryInterface productRepo;
+
+    @Autowired
+    private SalesAnalyticsServiceInterface salesService;
+
+    @Test
+    @Order(1)
+    @DisplayName("Should report the total and every category for the requested window")
+    void shouldReportSales() {
+        Map<Category, SalesFigure> categories = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            categories.put(category, SalesFigure.NONE);
+        }
+        categories.put(Category.FOOD, new SalesFigure(3, 750));
+        when(aggregator.byCategory(SalesWindow.ONE_DAY)).thenReturn(categories);
+        when(aggregator.total(SalesWindow.ONE_DAY)).thenReturn(new SalesFigure(3, 750));
+
+        SalesReportDto report = salesService.getSalesReport("24h");
+
+        assertEquals("24h", report.getWindow());
+        assertEquals(3, report.getTotal().getUnits());
+        assertEquals(new BigDecimal("7.50"), report.getCategories().get(Category.FOOD).getRevenue());
+        assertEquals(Category.values().length, report.getCategories().size());
+        assertThrows(IllegalArgumentException.class, () -> salesService.getSalesReport("1w"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should report a product's sales and reject unknown products")
+    void shouldReportProductSales() {
+        when(productRepo.existsById(PRODUCT_ID)).thenReturn(true);
+        when(aggregator.product(PRODUCT_ID, SalesWindow.ONE_MINUTE)).thenReturn(new SalesFigure(2, 500));
+
+        ProductSalesDto sales = salesService.getProductSales(PRODUCT_ID, "1m");
+
+        assertEquals(PRODUCT_ID, sales.getProductId());
+        assertEquals(2, sales.getSales().getUnits());
+        assertEquals(new BigDecimal("5.00"), sales.getSales().getRevenue());
+        assertThrows(NoSuchElementException.class, () -> salesService.getProductSales(UUID.randomUUID(), "1m"));
+    }
+}
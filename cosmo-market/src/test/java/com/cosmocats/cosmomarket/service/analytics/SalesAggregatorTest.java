@@ -0,0 +1,169 @@
+package com.cosmocats.cosmomarket.service.analytics;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sales Aggregator Tests")
+public class SalesAggregatorTest {
+
+    private static final Product TEA = buildProduct("Star Tea", Category.FOOD);
+    private static final Product CAPE = buildProduct("Comet Cape", Category.CLOTHES);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-14T09:00:00Z"));
+    private final SalesAggregator aggregator = new SalesAggregator(clock);
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static Product buildProduct(String name, Category category) {
+        return Product.builder().id(UUID.randomUUID()).name(name).category(category).build();
+    }
+
+    private static Order buildOrder(Product product, int quantity, String price) {
+        return Order.builder()
+                .item(OrderItem.builder().product(product).quantity(quantity).itemPrice(new BigDecimal(price)).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should add up units and revenue per product, per category and in total")
+    void shouldAggregateOrders() {
+        aggregator.ordersPlaced(List.of(buildOrder(TEA, 2, "2.50"), buildOrder(CAPE, 1, "40.00")));
+        aggregator.ordersPlaced(List.of(Order.builder()
+                .item(OrderItem.builder().product(TEA).quantity(1).itemPrice(new BigDecimal("2.50")).build())
+                .item(OrderItem.builder().product(CAPE).quantity(3).itemPrice(new BigDecimal("39.99")).build())
+                .build()));
+
+        assertEquals(new SalesFigure(3, 750), aggregator.product(TEA.getId(), SalesWindow.ONE_MINUTE));
+        assertEquals(new SalesFigure(4, 15_997), aggregator.byCategory(SalesWindow.ONE_HOUR).get(Category.CLOTHES));
+        assertEquals(SalesFigure.NONE, aggregator.byCategory(SalesWindow.ONE_HOUR).get(Category.MEDICAL));
+        assertEquals(new SalesFigure(7, 16_747), aggregator.total(SalesWindow.ONE_DAY));
+        assertEquals(SalesFigure.NONE, aggregator.product(UUID.randomUUID(), SalesWindow.ONE_DAY));
+    }
+
+    @Test
+    @DisplayName("Should drop sales from each window once they slide out of it")
+    void shouldSlideWindows() {
+        aggregator.ordersPlaced(List.of(buildOrder(TEA, 1, "2.50")));
+        clock.advance(Duration.ofSeconds(30));
+        aggregator.ordersPlaced(List.of(buildOrder(TEA, 2, "2.50")));
+
+        assertEquals(3, aggregator.total(SalesWindow.ONE_MINUTE).units());
+
+        clock.advance(Duration.ofSeconds(31));
+        assertEquals(2, aggregator.total(SalesWindow.ONE_MINUTE).units());
+        assertEquals(3, aggregator.total(SalesWindow.ONE_HOUR).units());
+
+        clock.advance(Duration.ofMinutes(61));
+        assertEquals(SalesFigure.NONE, aggregator.total(SalesWindow.ONE_MINUTE));
+        assertEquals(SalesFigure.NONE, aggregator.total(SalesWindow.ONE_HOUR));
+        assertEquals(3, aggregator.total(SalesWindow.ONE_DAY).units());
+
+        clock.advance(Duration.ofHours(24));
+        aggregator.ordersPlaced(List.of(buildOrder(TEA, 5, "2.50")));
+        assertEquals(new SalesFigure(5, 1250), aggregator.product(TEA.getId(), SalesWindow.ONE_DAY));
+    }
+
+    @Test
+    @DisplayName("Should forget products that sold nothing for the longest window")
+    void shouldEvictIdleProducts() {
+        aggregator.ordersPlaced(List.of(buildOrder(TEA, 1, "2.50"), buildOrder(CAPE, 1, "40.00")));
+        clock.advance(Duration.ofHours(12));
+        aggregator.ordersPlaced(List.of(buildOrder(CAPE, 1, "40.00")));
+
+        assertEquals(2, aggregator.trackedProducts());
+
+        clock.advance(Duration.ofHours(13));
+        Product lamp = buildProduct("Orbit Lamp", Category.ACCESSORY);
+        aggregator.ordersPlaced(List.of(buildOrder(lamp, 2, "15.00")));
+
+        assertEquals(2, aggregator.trackedProducts());
+        assertEquals(SalesFigure.NONE, aggregator.product(TEA.getId(), SalesWindow.ONE_DAY));
+        assertEquals(new SalesFigure(1, 4000), aggregator.product(CAPE.getId(), SalesWindow.ONE_DAY));
+        assertEquals(new SalesFigure(2, 3000), aggregator.product(lamp.getId(), SalesWindow.ONE_DAY));
+    }
+
+    @Test
+    @DisplayName("Should serve reads while orders are recorded and end with exact totals")
+    void shouldReadWhileIngesting() throws Exception {
+        int writers = 4;
+        int ordersPerWriter = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            Future<Long> reader = executor.submit(() -> {
+                long reads = 0;
+                while (!done.get()) {
+                    long units = aggregator.total(SalesWindow.ONE_HOUR).units();
+                    assertTrue(units >= 0 && units <= (long) writers * ordersPerWriter);
+                    reads++;
+                }
+                return reads;
+            });
+            List<Future<?>> ingest = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                ingest.add(executor.submit(() -> {
+                    for (int i = 0; i < ordersPerWriter; i++) {
+                        aggregator.ordersPlaced(List.of(buildOrder(i % 2 == 0 ? TEA : CAPE, 1, "1.00")));
+                    }
+                }));
+            }
+            for (Future<?> writer : ingest) {
+                writer.get();
+            }
+            done.set(true);
+            assertTrue(reader.get() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(new SalesFigure((long) writers * ordersPerWriter, 100L * writers * ordersPerWriter), aggregator.total(SalesWindow.ONE_HOUR));
+        assertEquals(writers * ordersPerWriter / 2, aggregator.product(TEA.getId(), SalesWindow.ONE_MINUTE).units());
+    }
+
+    @Test
+    @DisplayName("Should accept only the known window labels")
+    void shouldParseWindowLabels() {
+        assertEquals(SalesWindow.ONE_DAY, SalesWindow.ofLabel("24h"));
+        assertThrows(IllegalArgumentException.class, () -> SalesWindow.ofLabel("7d"));
+    }
+}
@@ -0,0 +1,161 @@
+package com.cosmocats.cosmomarket.service.cache;
+
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.domain.product.ProductChangeType;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Product Cache Tests")
+public class ProductCacheTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    private SimpleMeterRegistry registry;
+    private ProductChangeLog changeLog;
+    private ProductCache cache;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        changeLog = new ProductChangeLog(1000);
+        cache = new ProductCache(1_000_000, Duration.ofMinutes(10), changeLog, registry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+        executor.shutdownNow();
+    }
+
+    private static ProductReturnDto buildProduct(long version) {
+        return ProductReturnDto.builder().id(PRODUCT_ID).name("Star Tea").version(version).build();
+    }
+
+    private static double cacheGets(SimpleMeterRegistry registry, String result) {
+        return registry.get("cache.gets").tag("cache", ProductCache.CACHE_NAME).tag("result", result).functionCounter().count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    @DisplayName("Should load a product once and serve it from the cache afterwards, counting hits and misses")
+    void shouldReadThrough() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(buildProduct(1), cache.get(PRODUCT_ID, id -> {
+                loads.incrementAndGet();
+                return buildProduct(1);
+            }));
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(2, cacheGets(registry, "hit"));
+        assertEquals(1, cacheGets(registry, "miss"));
+    }
+
+    @Test
+    @DisplayName("Should let concurrent misses on one id share a single load, failures included")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<ProductReturnDto>> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            readers.add(executor.submit(() -> cache.get(PRODUCT_ID, id -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                throw new NoSuchElementException("Product not found: " + id);
+            })));
+        }
+        awaitTrue(() -> registry.find(ProductCache.COALESCED_COUNTER_NAME).counter().count() == 7);
+        release.countDown();
+
+        for (Future<ProductReturnDto> reader : readers) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> reader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NoSuchElementException.class, failure.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(buildProduct(2), cache.get(PRODUCT_ID, id -> buildProduct(2)));
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that an invalidation overtook")
+    void shouldDiscardLoadsRacingAnInvalidation() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ProductReturnDto> stale = executor.submit(() -> cache.get(PRODUCT_ID, id -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return buildProduct(1);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        cache.invalidate(PRODUCT_ID);
+        release.countDown();
+
+        assertEquals(buildProduct(1), stale.get(5, TimeUnit.SECONDS));
+        assertEquals(buildProduct(2), cache.get(PRODUCT_ID, id -> buildProduct(2)));
+    }
+
+    @Test
+    @DisplayName("Should drop a product written through the repository once the change arrives")
+    void shouldInvalidateOnRepositoryChanges() throws InterruptedException {
+        cache.get(PRODUCT_ID, id -> buildProduct(1));
+
+        changeLog.publish(ProductChangeType.SAVED, PRODUCT_ID, Product.builder().id(PRODUCT_ID).version(2L).build());
+
+        awaitTrue(() -> cache.get(PRODUCT_ID, id -> buildProduct(2)).getVersion() == 2);
+    }
+
+    @Test
+    @DisplayName("Should evict by estimated size and count the evictions")
+    void shouldEvictBySize() throws InterruptedException {
+        SimpleMeterRegistry smallRegistry = new SimpleMeterRegistry();
+        ProductCache small = new ProductCache(10_000, Duration.ofMinutes(10), null, smallRegistry);
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+            small.get(id, key -> ProductReturnDto.builder().id(key).name("Comet Tea " + key).version(1L).build());
+        }
+
+        // Caffeine evicts in the background, shortly after the writes that overflowed it.
+        awaitTrue(() -> smallRegistry.get("cache.evictions").functionCounter().count() > 0);
+        small.invalidateAll();
+        small.close();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.cosmocats.cosmomarket.service.checkout;
+
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.order.Order;
+import com.cosmocats.cosmomarket.domain.order.OrderItem;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.repository.DelegatingProductRepository;
+import com.cosmocats.cosmomarket.repository.InMemoryProductRepository;
+import com.cosmocats.cosmomarket.repository.PartitionedOrderRepository;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.StockReservation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Checkout Pipeline Tests")
+public class CheckoutPipelineTest {
+
+    private final CountDownLatch firstBatchGate = new CountDownLatch(1);
+    private final List<Order> notified = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry registry;
+    private PartitionedOrderRepository orderRepo;
+    private ProductRepositoryInterface productRepo;
+    private CheckoutPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        orderRepo = new PartitionedOrderRepository(Duration.ofHours(1), Duration.ofMinutes(5), Clock.systemUTC());
+        // Holds the first batch until the test has queued the rest, so they have to share the next one.
+        productRepo = new DelegatingProductRepository(new InMemoryProductRepository()) {
+            @Override
+            public List<StockReservation> reserveBatch(List<Map<UUID, Integer>> orders) {
+                try {
+                    firstBatchGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.reserveBatch(orders);
+            }
+        };
+        pipeline = new CheckoutPipeline(productRepo, orderRepo, 256, List.of(notified::addAll), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    private Product saveProduct(String name, String price, int stock) {
+        return productRepo.saveProduct(Product.builder()
+                .name(name)
+                .category(Category.FOOD)
+                .availableQuantity(stock)
+                .price(new BigDecimal(price))
+                .build());
+    }
+
+    private static Map<UUID, Integer> lines(Product first, int firstQuantity, Product second, int secondQuantity) {
+        Map<UUID, Integer> lines = new LinkedHashMap<>();
+        lines.put(first.getId(), firstQuantity);
+        lines.put(second.getId(), secondQuantity);
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Should store an order priced from the reserved products, in cart order")
+    void shouldPlaceOrder() {
+        firstBatchGate.countDown();
+        Product tea = saveProduct("Star Tea", "2.50", 5);
+        Product jam = saveProduct("Moon Jam", "4.00", 5);
+
+        Order order = pipeline.submit(lines(jam, 1, tea, 2)).join();
+
+        assertEquals(List.of(jam.getId(), tea.getId()), order.getItems().stream().map(item -> item.getProduct().getId()).toList());
+        OrderItem teaLine = order.getItems().get(1);
+        assertEquals(2, teaLine.getQuantity());
+        assertEquals(new BigDecimal("2.50"), teaLine.getItemPrice());
+        assertEquals(3, teaLine.getProduct().getAvailableQuantity());
+        assertEquals(0, new BigDecimal("9.00").compareTo(order.totalOrderPrice()));
+        assertEquals(order, orderRepo.findById(order.getId()).orElseThrow());
+        pipeline.close();
+        assertEquals(List.of(order), notified);
+    }
+
+    @Test
+    @DisplayName("Should batch queued checkouts and never oversell")
+    void shouldBatchQueuedCheckouts() {
+        Product tea = saveProduct("Star Tea", "2.50", 40);
+        Product jam = saveProduct("Moon Jam", "4.00", 100);
+        List<CompletableFuture<Order>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(pipeline.submit(lines(tea, 1, jam, 2)));
+        }
+        firstBatchGate.countDown();
+
+        int placed = 0;
+        int soldOut = 0;
+        for (CompletableFuture<Order> result : results) {
+            try {
+                result.join();
+                placed++;
+            } catch (CompletionException exception) {
+                assertInstanceOf(InsufficientStockException.class, exception.getCause());
+                soldOut++;
+            }
+        }
+
+        DistributionSummary batches = registry.find(CheckoutPipeline.BATCH_SIZE_METRIC).summary();
+        assertNotNull(batches);
+        assertTrue(batches.max() > 1, "largest batch " + batches.max());
+        assertEquals(40, placed);
+        assertEquals(10, soldOut);
+        assertEquals(40, orderRepo.count());
+        assertEquals(0, productRepo.findById(tea.getId()).orElseThrow().getAvailableQuantity());
+        assertEquals(20, productRepo.findById(jam.getId()).orElseThrow().getAvailableQuantity());
+    }
+
+    @Test
+    @DisplayName("Should fail an order with an unknown product and leave the others' stock alone")
+    void shouldFailUnknownProduct() {
+        firstBatchGate.countDown();
+        Product tea = saveProduct("Star Tea", "2.50", 5);
+        Map<UUID, Integer> lines = new LinkedHashMap<>();
+        lines.put(tea.getId(), 1);
+        lines.put(UUID.randomUUID(), 1);
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> pipeline.submit(lines).join());
+
+        assertInstanceOf(java.util.NoSuchElementException.class, failure.getCause());
+        assertEquals(5, productRepo.findById(tea.getId()).orElseThrow().getAvailableQuantity());
+        assertEquals(0, orderRepo.count());
+        pipeline.close();
+        assertTrue(notified.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse checkouts once closed")
+    void shouldRefuseAfterClose() {
+        firstBatchGate.countDown();
+        pipeline.close();
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> pipeline.submit(Map.of(UUID.randomUUID(), 1)).join());
+
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+}
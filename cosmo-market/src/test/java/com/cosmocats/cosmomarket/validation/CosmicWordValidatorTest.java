@@ -0,0 +1,118 @@
+package com.cosmocats.cosmomarket.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cosmic Word Validator Tests")
+public class CosmicWordValidatorTest {
+
+    private final CosmicWordValidator validator = new CosmicWordValidator();
+
+    private static void writeTerms(Path file, String terms, Instant modified) throws IOException {
+        Files.writeString(file, CosmicTerms.TERMS_KEY + "=" + terms + "\n");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+    }
+
+    @Test
+    @DisplayName("Should accept names containing a cosmic term in any case, anywhere in a word")
+    void shouldAcceptCosmicNames() {
+        for (String name : List.of("Star Socks", "GALAXY pizza", "Supercomet", "Warm asteroid blanket", "cOsMoS tea")) {
+            assertTrue(validator.isValid(name, null), name);
+        }
+        assertTrue(validator.isValid(null, null));
+        assertTrue(validator.isValid("   ", null));
+    }
+
+    @Test
+    @DisplayName("Should reject names without a cosmic term, including near misses")
+    void shouldRejectOtherNames() {
+        for (String name : List.of("Plain woollen socks", "Sta r", "spac", "galax y", "comte")) {
+            assertFalse(validator.isValid(name, null), name);
+        }
+    }
+
+    @Test
+    @DisplayName("Should find terms that overlap or sit inside a longer partial match")
+    void shouldMatchOverlappingTerms() {
+        CosmicTermMatcher matcher = CosmicTermMatcher.compile(List.of("he", "she", "hers", "asteroid", "steroids"));
+
+        assertTrue(matcher.containsAny("USHERS"));
+        assertTrue(matcher.containsAny("xxastersteroids"));
+        assertTrue(matcher.containsAny("asteroi asteroid"));
+        assertFalse(matcher.containsAny("asteroi"));
+        assertFalse(matcher.containsAny("xyz"));
+    }
+
+    @Test
+    @DisplayName("Should fold non-ASCII letters like Locale.ROOT lower-casing does")
+    void shouldFoldNonAsciiLetters() {
+        CosmicTermMatcher matcher = CosmicTermMatcher.compile(List.of("\u0417\u043e\u0440\u044f", " \u00c9toile "));
+
+        assertEquals(List.of("\u0437\u043e\u0440\u044f", "\u00e9toile"), matcher.terms());
+        assertTrue(matcher.containsAny("\u041d\u043e\u0432\u0430 \u0417\u041e\u0420\u042f"));
+        assertTrue(matcher.containsAny("L'\u00c9TOILE du nord"));
+        assertFalse(matcher.containsAny("\u0417\u043e\u0440 \u044f"));
+    }
+
+    @Test
+    @DisplayName("Should agree with a plain substring scan on random text")
+    void shouldAgreeWithSubstringScan() {
+        CosmicTermMatcher matcher = CosmicTermMatcher.compile(CosmicTerms.DEFAULT_TERMS);
+        String alphabet = "starGALXYcometCOSMICpacdi ";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(20); j > 0; j--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String lower = text.toString().toLowerCase(Locale.ROOT);
+            boolean expected = CosmicTerms.DEFAULT_TERMS.stream().anyMatch(lower::contains);
+            assertEquals(expected, matcher.containsAny(text), text.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse an empty or blank term list")
+    void shouldRefuseInvalidTerms() {
+        assertThrows(IllegalArgumentException.class, () -> CosmicTermMatcher.compile(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> CosmicTermMatcher.compile(Arrays.asList("star", " ")));
+    }
+
+    @Test
+    @DisplayName("Should swap in the terms file when it changes and keep the last good list otherwise")
+    void shouldReloadTermsFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("cosmic-words.properties");
+        try (CosmicTerms terms = new CosmicTerms(CosmicTerms.DEFAULT_TERMS, file, Duration.ZERO)) {
+            CosmicWordValidator fileValidator = new CosmicWordValidator(terms);
+            assertTrue(fileValidator.isValid("Star Socks", null));
+            assertFalse(terms.reload());
+
+            Instant modified = Instant.now().minusSeconds(60);
+            writeTerms(file, "nebula, quasar", modified);
+            assertTrue(terms.reload());
+            assertEquals(List.of("nebula", "quasar"), terms.matcher().terms());
+            assertTrue(fileValidator.isValid("Quasar Lamp", null));
+            assertFalse(fileValidator.isValid("Star Socks", null));
+            assertFalse(terms.reload());
+
+            writeTerms(file, "nebula, ,quasar", modified.plusSeconds(1));
+            assertFalse(terms.reload());
+            Files.writeString(file, "other.key=star\n");
+            Files.setLastModifiedTime(file, FileTime.from(modified.plusSeconds(2)));
+            assertFalse(terms.reload());
+            assertEquals(List.of("nebula", "quasar"), terms.matcher().terms());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.dto.cart.CartDto;
+import com.cosmocats.cosmomarket.dto.cart.CartItemDto;
+import com.cosmocats.cosmomarket.dto.cart.CartItemRequestDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.service.CartServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(MappersTestConfiguration.class)
+@DisplayName("Cart Controller Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CartControllerIT {
+
+    private static final UUID CART_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CartServiceInterface cartService;
+
+    @BeforeEach
+    void setUp() {
+        reset(cartService);
+    }
+
+    private static CartDto buildCartDto(int quantity) {
+        return CartDto.builder()
+                .id(CART_ID)
+                .item(CartItemDto.builder()
+                        .product(ProductReturnDto.builder().id(PRODUCT_ID).name("Star Tea").price(new BigDecimal("2.50")).build())
+                        .quantity(quantity)
+                        .build())
+                .totalCartPrice(new BigDecimal("2.50").multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should create a cart")
+    @SneakyThrows
+    void shouldCreateCart() {
+        when(cartService.createCart()).thenReturn(CartDto.builder().id(CART_ID).totalCartPrice(BigDecimal.ZERO).build());
+
+        mockMvc.perform(post("/api/carts"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(CART_ID.toString()))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should add an item and return the updated cart")
+    @SneakyThrows
+    void shouldAddItem() {
+        CartItemRequestDto item = CartItemRequestDto.builder().productId(PRODUCT_ID).quantity(2).build();
+        when(cartService.addItem(CART_ID, item)).thenReturn(buildCartDto(2));
+
+        mockMvc.perform(post("/api/carts/{id}/items", CART_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].product.id").value(PRODUCT_ID.toString()))
+                .andExpect(jsonPath("$.items[0].quantity").value(2))
+                .andExpect(jsonPath("$.totalCartPrice").value(5.0));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should reject an item without product or with a non-positive quantity")
+    @SneakyThrows
+    void shouldRejectInvalidItem() {
+        mockMvc.perform(post("/api/carts/{id}/items", CART_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CartItemRequestDto.builder().productId(PRODUCT_ID).quantity(0).build())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/carts/{id}/items", CART_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CartItemRequestDto.builder().quantity(1).build())))
+                .andExpect(status().isBadRequest());
+
+        verify(cartService, never()).addItem(any(), any());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should get a cart and return 404 for an unknown or expired one")
+    @SneakyThrows
+    void shouldGetCart() {
+        UUID expired = UUID.randomUUID();
+        when(cartService.getCart(CART_ID)).thenReturn(buildCartDto(1));
+        when(cartService.getCart(expired)).thenThrow(new NoSuchElementException("Cart not found: " + expired));
+
+        mockMvc.perform(get("/api/carts/{id}", CART_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].quantity").value(1));
+        mockMvc.perform(get("/api/carts/{id}", expired))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should remove an item and delete a cart")
+    @SneakyThrows
+    void shouldRemoveItemAndDeleteCart() {
+        when(cartService.removeItem(CART_ID, PRODUCT_ID)).thenReturn(CartDto.builder().id(CART_ID).totalCartPrice(BigDecimal.ZERO).build());
+
+        mockMvc.perform(delete("/api/carts/{id}/items/{productId}", CART_ID, PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+        mockMvc.perform(delete("/api/carts/{id}", CART_ID))
+                .andExpect(status().isNoContent());
+
+        verify(cartService).deleteCart(CART_ID);
+    }
+}
@@ -0,0 +1,184 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.dto.order.OrderCreateDto;
+import com.cosmocats.cosmomarket.dto.order.OrderDto;
+import com.cosmocats.cosmomarket.dto.order.OrderItemDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.service.OrderServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(MappersTestConfiguration.class)
+@DisplayName("Order Controller Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OrderControllerIT {
+
+    private static final UUID CART_ID = UUID.randomUUID();
+    private static final UUID ORDER_ID = UUID.randomUUID();
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private OrderServiceInterface orderService;
+
+    @BeforeEach
+    void setUp() {
+        reset(orderService);
+    }
+
+    private static OrderDto buildOrderDto() {
+        return OrderDto.builder()
+                .id(ORDER_ID)
+                .item(OrderItemDto.builder()
+                        .product(ProductReturnDto.builder().id(PRODUCT_ID).name("Star Tea").price(new BigDecimal("2.50")).build())
+                        .quantity(2)
+                        .itemPrice(new BigDecimal("2.50"))
+                        .build())
+                .totalOrderPrice(new BigDecimal("5.00"))
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should place an order from a cart")
+    @SneakyThrows
+    void shouldPlaceOrder() {
+        OrderCreateDto request = OrderCreateDto.builder().cartId(CART_ID).build();
+        when(orderService.placeOrder(request)).thenReturn(buildOrderDto());
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(ORDER_ID.toString()))
+                .andExpect(jsonPath("$.items[0].itemPrice").value(2.5))
+                .andExpect(jsonPath("$.totalOrderPrice").value(5.0));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should reject an order without a cart")
+    @SneakyThrows
+    void shouldRejectMissingCartId() {
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).placeOrder(any());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should answer 409 when stock runs out and 404 for an unknown cart")
+    @SneakyThrows
+    void shouldMapCheckoutFailures() {
+        UUID unknownCart = UUID.randomUUID();
+        when(orderService.placeOrder(OrderCreateDto.builder().cartId(CART_ID).build()))
+                .thenThrow(new InsufficientStockException(PRODUCT_ID, 2, 1));
+        when(orderService.placeOrder(OrderCreateDto.builder().cartId(unknownCart).build()))
+                .thenThrow(new NoSuchElementException("Cart not found: " + unknownCart));
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderCreateDto.builder().cartId(CART_ID).build())))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderCreateDto.builder().cartId(unknownCart).build())))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should get an order by id")
+    @SneakyThrows
+    void shouldGetOrder() {
+        when(orderService.getOrder(ORDER_ID)).thenReturn(buildOrderDto());
+
+        mockMvc.perform(get("/api/orders/{id}", ORDER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should stream the orders of a time window as newline-delimited JSON")
+    @SneakyThrows
+    void shouldStreamOrdersInWindow() {
+        OffsetDateTime from = OffsetDateTime.of(2025, 3, 14, 9, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime to = from.plusHours(1);
+        OrderDto other = OrderDto.builder().id(UUID.randomUUID()).totalOrderPrice(BigDecimal.ZERO).build();
+        when(orderService.streamOrders(from, to)).thenReturn(Stream.of(buildOrderDto(), other));
+
+        String body = mockMvc.perform(get("/api/orders")
+                        .param("from", "2025-03-14T09:00:00Z")
+                        .param("to", "2025-03-14T10:00:00Z")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(ORDER_ID, objectMapper.readValue(lines[0], OrderDto.class).getId());
+        assertEquals(other.getId(), objectMapper.readValue(lines[1], OrderDto.class).getId());
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Should reject a window without a start or with a start after its end")
+    @SneakyThrows
+    void shouldRejectInvalidWindow() {
+        when(orderService.streamOrders(any(), any())).thenThrow(new BadRequestException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/api/orders"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/orders")
+                        .param("from", "2025-03-14T10:00:00Z")
+                        .param("to", "2025-03-14T09:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+}
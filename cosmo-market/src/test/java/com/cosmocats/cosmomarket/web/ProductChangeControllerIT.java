@@ -0,0 +1,158 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.Product;
+import com.cosmocats.cosmomarket.repository.ProductRepositoryInterface;
+import com.cosmocats.cosmomarket.repository.change.ProductChangeLog;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.math.BigDecimal;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "cosmo.web.change-stream.max-subscribers=" + ProductChangeControllerIT.MAX_SUBSCRIBERS)
+@AutoConfigureMockMvc
+@Import(MappersTestConfiguration.class)
+@DisplayName("Product Change Controller Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ProductChangeControllerIT {
+
+    static final int MAX_SUBSCRIBERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepositoryInterface productRepo;
+
+    @Autowired
+    private ProductChangeLog changeLog;
+
+    private Product saveProduct(String name) {
+        return productRepo.saveProduct(Product.builder()
+                .name(name)
+                .category(Category.FOOD)
+                .availableQuantity(3)
+                .price(new BigDecimal("2.50"))
+                .build());
+    }
+
+    // The stream never ends, so its content is read while it is still open.
+    @SneakyThrows
+    private static String awaitContent(MvcResult result, String expected) {
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!response.getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return response.getContentAsString();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should stream a save made after subscribing as a saved event identified by its position")
+    @SneakyThrows
+    void shouldStreamNewChanges() {
+        MvcResult result = mockMvc.perform(get("/api/products/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Product saved = saveProduct("Star Tea");
+        long sequence = changeLog.lastSequence();
+
+        String content = awaitContent(result, saved.getId().toString());
+        assertTrue(content.contains("id:" + changeLog.position(sequence)), content);
+        assertTrue(content.contains("event:saved"), content);
+        assertTrue(content.contains("\"name\":\"Star Tea\""), content);
+        assertTrue(result.getResponse().getContentType().startsWith("text/event-stream"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should replay the changes after Last-Event-ID, which wins over since")
+    @SneakyThrows
+    void shouldResumeFromLastEventId() {
+        long before = changeLog.lastSequence();
+        Product saved = saveProduct("Comet Tea");
+        productRepo.deleteById(saved.getId());
+
+        MvcResult result = mockMvc.perform(get("/api/products/changes")
+                        .param("since", changeLog.position(before + 1).toString())
+                        .header(ProductChangeController.LAST_EVENT_ID_HEADER, changeLog.position(before).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = awaitContent(result, "event:deleted");
+        assertTrue(content.contains("id:" + changeLog.position(before + 1)), content);
+        assertTrue(content.contains("event:saved"), content);
+        assertTrue(content.contains("id:" + changeLog.position(before + 2)), content);
+        assertTrue(content.contains("event:deleted"), content);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should answer 410 for a sequence the log does not hold")
+    @SneakyThrows
+    void shouldRejectUnknownSequence() {
+        mockMvc.perform(get("/api/products/changes").param("since", changeLog.position(changeLog.lastSequence() + 100).toString()))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status").value(410));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should answer 410 for a position from before a restart, naming where to resume")
+    @SneakyThrows
+    void shouldRejectPositionFromAnotherEpoch() {
+        String latest = changeLog.position(changeLog.lastSequence()).toString();
+        String body = mockMvc.perform(get("/api/products/changes")
+                        .header(ProductChangeController.LAST_EVENT_ID_HEADER, "0:" + changeLog.lastSequence()))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status").value(410))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("resume from " + latest), body);
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should return 400 for a negative sequence or a position without an epoch")
+    @SneakyThrows
+    void shouldRejectMalformedPosition() {
+        mockMvc.perform(get("/api/products/changes").param("since", changeLog.epoch() + ":-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/changes").param("since", "7"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Streams opened by the tests above stay open until the context closes and count towards the limit.
+    @Test
+    @Order(6)
+    @DisplayName("Should answer 503 once max-subscribers streams are open")
+    @SneakyThrows
+    void shouldCapOpenStreams() {
+        int opened = 0;
+        MvcResult result;
+        while ((result = mockMvc.perform(get("/api/products/changes")).andReturn()).getRequest().isAsyncStarted()) {
+            opened++;
+            assertTrue(opened <= MAX_SUBSCRIBERS, "Opened more streams than allowed");
+        }
+
+        assertEquals(503, result.getResponse().getStatus());
+        assertTrue(result.getResponse().getContentAsString().contains("maximum of " + MAX_SUBSCRIBERS), result.getResponse().getContentAsString());
+    }
+}
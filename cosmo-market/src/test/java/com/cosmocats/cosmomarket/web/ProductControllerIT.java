@@ -2,11 +2,21 @@ package com.cosmocats.cosmomarket.web;
 
 import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
 import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchResultDto;
+import com.cosmocats.cosmomarket.dto.product.ProductBatchUpdateDto;
 import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
 import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
 import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.exception.GlobalErrorHandler;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
 import com.cosmocats.cosmomarket.service.ProductServiceInterface;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,16 +34,28 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,6 +76,7 @@ public class ProductControllerIT {
     private static final Integer AVAILABLE_QUANTITY = 100;
     private static final Integer UPDATED_QUANTITY = 50;
     private static final Category CATEGORY = Category.CLOTHES;
+    private static final ProductFilter NO_FILTER = ProductFilter.builder().build();
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -61,12 +84,19 @@ public class ProductControllerIT {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductJsonCache productJsonCache;
+
     @MockitoBean
     private ProductServiceInterface productService;
 
     @BeforeEach
     void setUp() {
         reset(productService);
+        productJsonCache.invalidateAll();
     }
 
     private static ProductCreateDto buildProductCreateDto(String name, BigDecimal price) {
@@ -273,8 +303,10 @@ public class ProductControllerIT {
     @DisplayName("Should return all products successfully")
     @SneakyThrows
     void shouldReturnAllProductsSuccessfully() {
-        when(productService.getAllProducts()).thenReturn(java.util.List.of( buildProductReturnDto(PRODUCT_ID, PRODUCT_NAME),
-                buildProductReturnDto(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME)));
+        when(productService.getProductPage(eq(NO_FILTER), isNull(), eq(50), eq(ProductSort.ID))).thenReturn(ProductPageDto.builder()
+                .items(List.of(buildProductReturnDto(PRODUCT_ID, PRODUCT_NAME),
+                        buildProductReturnDto(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME)))
+                .build());
 
         mockMvc.perform(get("/api/products")
                 .accept(MediaType.APPLICATION_JSON))
@@ -290,14 +322,17 @@ public class ProductControllerIT {
     @DisplayName("Should return empty list when no products exist")
     @SneakyThrows
     void shouldReturnEmptyList() {
-        when(productService.getAllProducts()).thenReturn(java.util.List.of());
+        when(productService.getProductPage(eq(NO_FILTER), isNull(), eq(50), eq(ProductSort.ID))).thenReturn(ProductPageDto.builder()
+                .items(List.of())
+                .build());
 
         mockMvc.perform(get("/api/products")
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.length()").value(0))
+                .andExpect(header().doesNotExist(ProductController.NEXT_CURSOR_HEADER));
     }
 
     @Test
@@ -344,7 +379,7 @@ public class ProductControllerIT {
                 .price(UPDATED_PRICE)
                 .build();
 
-        when(productService.updateProduct(PRODUCT_ID, updateDto)).thenReturn(returnDto);
+        when(productService.updateProduct(PRODUCT_ID, updateDto, null)).thenReturn(returnDto);
 
         mockMvc.perform(put("/api/products/{id}", PRODUCT_ID)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -396,7 +431,7 @@ public class ProductControllerIT {
     @SneakyThrows
     void shouldReturn404WhenUpdatingNonExistentProduct() {
         ProductUpdateDto updateDto = buildProductUpdateDto();
-        when(productService.updateProduct(PRODUCT_ID, updateDto)).thenThrow(new java.util.NoSuchElementException("Product not found: " + PRODUCT_ID));
+        when(productService.updateProduct(PRODUCT_ID, updateDto, null)).thenThrow(new java.util.NoSuchElementException("Product not found: " + PRODUCT_ID));
 
         mockMvc.perform(put("/api/products/{id}", PRODUCT_ID)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -414,4 +449,387 @@ public class ProductControllerIT {
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @Order(17)
+    @DisplayName("Should return requested page with next cursor header")
+    @SneakyThrows
+    void shouldReturnPageWithNextCursor() {
+        when(productService.getProductPage(NO_FILTER, "current-cursor", 1, ProductSort.PRICE)).thenReturn(ProductPageDto.builder()
+                .items(List.of(buildProductReturnDto(PRODUCT_ID, PRODUCT_NAME)))
+                .nextCursor("next-cursor")
+                .build());
+
+        mockMvc.perform(get("/api/products")
+                .param("cursor", "current-cursor")
+                .param("limit", "1")
+                .param("sort", "PRICE")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(ProductController.NEXT_CURSOR_HEADER, "next-cursor"));
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Should reject page request with limit out of range")
+    @SneakyThrows
+    void shouldRejectPageLimitOutOfRange() {
+        mockMvc.perform(get("/api/products")
+                .param("limit", "0")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("Should reject page request with invalid cursor")
+    @SneakyThrows
+    void shouldRejectInvalidCursor() {
+        when(productService.getProductPage(eq(NO_FILTER), eq("broken"), eq(50), eq(ProductSort.ID)))
+                .thenThrow(new BadRequestException("Invalid cursor: broken"));
+
+        mockMvc.perform(get("/api/products")
+                .param("cursor", "broken")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("Should pass category, price and stock filters to service")
+    @SneakyThrows
+    void shouldPassFiltersToService() {
+        ProductFilter filter = ProductFilter.builder()
+                .category(CATEGORY)
+                .minPrice(new BigDecimal("5"))
+                .maxPrice(new BigDecimal("20"))
+                .inStock(true)
+                .build();
+        when(productService.getProductPage(eq(filter), isNull(), eq(50), eq(ProductSort.ID))).thenReturn(ProductPageDto.builder()
+                .items(List.of(buildProductReturnDto()))
+                .build());
+
+        mockMvc.perform(get("/api/products")
+                .param("category", CATEGORY.name())
+                .param("minPrice", "5")
+                .param("maxPrice", "20")
+                .param("inStock", "true")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(PRODUCT_ID.toString()));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("Should reject unknown category filter")
+    @SneakyThrows
+    void shouldRejectUnknownCategoryFilter() {
+        mockMvc.perform(get("/api/products")
+                .param("category", "SPACESHIPS")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("Should return ranked search results")
+    @SneakyThrows
+    void shouldReturnSearchResults() {
+        when(productService.searchProducts("cosmic so", 20)).thenReturn(List.of(buildProductReturnDto()));
+
+        mockMvc.perform(get("/api/products/search")
+                .param("q", "cosmic so")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value(PRODUCT_NAME));
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("Should reject search without query")
+    @SneakyThrows
+    void shouldRejectSearchWithoutQuery() {
+        mockMvc.perform(get("/api/products/search")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/products/search")
+                .param("q", " ")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(24)
+    @DisplayName("Should create products in batch and return per-item results")
+    @SneakyThrows
+    void shouldCreateProductsInBatch() {
+        List<ProductCreateDto> dtos = List.of(buildProductCreateDto(PRODUCT_NAME, PRICE), buildProductCreateDto(UPDATED_PRODUCT_NAME, UPDATED_PRICE));
+        when(productService.createProducts(anyList())).thenReturn(List.of(
+                ProductBatchResultDto.builder().index(0).status(ProductBatchResultDto.Status.CREATED).id(PRODUCT_ID).product(buildProductReturnDto()).build(),
+                ProductBatchResultDto.builder().index(1).status(ProductBatchResultDto.Status.INVALID).error("field 'name' is invalid").build()));
+
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].product.name").value(PRODUCT_NAME))
+                .andExpect(jsonPath("$[1].status").value("INVALID"));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Should reject empty batch")
+    @SneakyThrows
+    void shouldRejectEmptyBatch() {
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).createProducts(anyList());
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Should update and delete products in batch")
+    @SneakyThrows
+    void shouldUpdateProductsInBatch() {
+        List<ProductBatchUpdateDto> items = List.of(
+                ProductBatchUpdateDto.builder().id(PRODUCT_ID).changes(ProductUpdateDto.builder().price(UPDATED_PRICE).build()).build(),
+                ProductBatchUpdateDto.builder().id(ANOTHER_PRODUCT_ID).delete(true).build());
+        when(productService.updateProducts(items)).thenReturn(List.of(
+                ProductBatchResultDto.builder().index(0).status(ProductBatchResultDto.Status.UPDATED).id(PRODUCT_ID).build(),
+                ProductBatchResultDto.builder().index(1).status(ProductBatchResultDto.Status.DELETED).id(ANOTHER_PRODUCT_ID).build()));
+
+        mockMvc.perform(patch("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$[1].id").value(ANOTHER_PRODUCT_ID.toString()))
+                .andExpect(jsonPath("$[1].status").value("DELETED"));
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("Should stream the catalog as newline-delimited JSON")
+    @SneakyThrows
+    void shouldExportProductsAsNdjson() {
+        when(productService.exportProducts()).thenReturn(Stream.of(
+                buildProductReturnDto(PRODUCT_ID, PRODUCT_NAME),
+                buildProductReturnDto(ANOTHER_PRODUCT_ID, UPDATED_PRODUCT_NAME)));
+
+        String body = mockMvc.perform(get("/api/products/export")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(PRODUCT_ID, objectMapper.readValue(lines[0], ProductReturnDto.class).getId());
+        assertEquals(UPDATED_PRODUCT_NAME, objectMapper.readValue(lines[1], ProductReturnDto.class).getName());
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("Should count errors by handler")
+    @SneakyThrows
+    void shouldCountErrorsByHandler() {
+        when(productService.getProductById(PRODUCT_ID)).thenThrow(new NoSuchElementException("Product not found"));
+        double before = meterRegistry.counter(GlobalErrorHandler.ERROR_COUNTER_NAME, "handler", "not_found", "status", "404").count();
+
+        mockMvc.perform(get("/api/products/{id}", PRODUCT_ID))
+                .andExpect(status().isNotFound());
+
+        assertEquals(before + 1, meterRegistry.counter(GlobalErrorHandler.ERROR_COUNTER_NAME, "handler", "not_found", "status", "404").count());
+    }
+
+    @Test
+    @Order(29)
+    @DisplayName("Should pass If-Match version to the service and return the new ETag")
+    @SneakyThrows
+    void shouldUpdateConditionallyWithIfMatch() {
+        ProductUpdateDto updateDto = buildProductUpdateDto();
+        ProductReturnDto returnDto = buildProductReturnDto().toBuilder().version(4L).build();
+        when(productService.updateProduct(PRODUCT_ID, updateDto, 3L)).thenReturn(returnDto);
+
+        mockMvc.perform(put("/api/products/{id}", PRODUCT_ID)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @Order(30)
+    @DisplayName("Should return 412 when If-Match names a stale or unusable version")
+    @SneakyThrows
+    void shouldReturn412OnVersionConflict() {
+        ProductUpdateDto updateDto = buildProductUpdateDto();
+        when(productService.updateProduct(eq(PRODUCT_ID), eq(updateDto), any()))
+                .thenAnswer(invocation -> {
+                    throw new VersionConflictException(PRODUCT_ID, invocation.getArgument(2), 4);
+                });
+
+        mockMvc.perform(put("/api/products/{id}", PRODUCT_ID)
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+        mockMvc.perform(put("/api/products/{id}", PRODUCT_ID)
+                .header("If-Match", "W/\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(productService).updateProduct(PRODUCT_ID, updateDto, 3L);
+        verify(productService).updateProduct(PRODUCT_ID, updateDto, 0L);
+    }
+
+    @Test
+    @Order(31)
+    @DisplayName("Should return the product version as ETag")
+    @SneakyThrows
+    void shouldReturnETagOnGet() {
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(buildProductReturnDto().toBuilder().version(7L).build());
+
+        mockMvc.perform(get("/api/products/{id}", PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @Test
+    @Order(32)
+    @DisplayName("Should reserve and release stock")
+    @SneakyThrows
+    void shouldReserveAndReleaseStock() {
+        when(productService.reserveStock(PRODUCT_ID, 5)).thenReturn(buildProductReturnDto().toBuilder().availableQuantity(95).version(2L).build());
+        when(productService.releaseStock(PRODUCT_ID, 5)).thenReturn(buildProductReturnDto().toBuilder().version(3L).build());
+
+        mockMvc.perform(post("/api/products/{id}/reserve", PRODUCT_ID).param("qty", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.availableQuantity").value(95));
+        mockMvc.perform(post("/api/products/{id}/release", PRODUCT_ID).param("qty", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableQuantity").value(AVAILABLE_QUANTITY));
+    }
+
+    @Test
+    @Order(33)
+    @DisplayName("Should return 409 when stock is short and 400 for a non-positive quantity")
+    @SneakyThrows
+    void shouldRejectUnfulfillableReservation() {
+        when(productService.reserveStock(PRODUCT_ID, 500)).thenThrow(new InsufficientStockException(PRODUCT_ID, 500, 100));
+
+        mockMvc.perform(post("/api/products/{id}/reserve", PRODUCT_ID).param("qty", "500"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+        mockMvc.perform(post("/api/products/{id}/reserve", PRODUCT_ID).param("qty", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).reserveStock(PRODUCT_ID, 0);
+    }
+
+    @Test
+    @Order(34)
+    @DisplayName("Should answer a matching If-None-Match with 304 without loading the product")
+    @SneakyThrows
+    void shouldReturnNotModifiedForUnchangedProduct() {
+        when(productService.getProductVersion(PRODUCT_ID)).thenReturn(7L);
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(buildProductReturnDto().toBuilder().version(8L).build());
+
+        mockMvc.perform(get("/api/products/{id}", PRODUCT_ID).header("If-None-Match", "W/\"6\", \"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductById(PRODUCT_ID);
+
+        mockMvc.perform(get("/api/products/{id}", PRODUCT_ID).header("If-None-Match", "\"6\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(8));
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("Should tag product pages with the catalog version and answer 304 while it is unchanged")
+    @SneakyThrows
+    void shouldReturnNotModifiedForUnchangedCatalog() {
+        when(productService.getCatalogVersion()).thenReturn(5L);
+        when(productService.getProductPage(any(), isNull(), eq(50), eq(ProductSort.ID)))
+                .thenReturn(ProductPageDto.builder().items(List.of(buildProductReturnDto())).build());
+
+        String catalogTag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", catalogTag))
+                .andExpect(status().isNotModified());
+        when(productService.getCatalogVersion()).thenReturn(6L);
+        mockMvc.perform(get("/api/products").header("If-None-Match", catalogTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(PRODUCT_ID.toString()));
+
+        verify(productService, times(2)).getProductPage(any(), isNull(), eq(50), eq(ProductSort.ID));
+    }
+
+    @Test
+    @Order(36)
+    @DisplayName("Should serve a product version from cached JSON and render again once it changes")
+    @SneakyThrows
+    void shouldServeCachedJsonPerVersion() {
+        when(productService.getProductVersion(PRODUCT_ID)).thenReturn(4L, 4L, 5L);
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(
+                buildProductReturnDto().toBuilder().version(4L).build(),
+                buildProductReturnDto().toBuilder().name(UPDATED_PRODUCT_NAME).version(5L).build());
+        double hitsBefore = cacheHits();
+
+        String first = mockMvc.perform(get("/api/products/{id}", PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/products/{id}", PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(first));
+        mockMvc.perform(get("/api/products/{id}", PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.name").value(UPDATED_PRODUCT_NAME));
+
+        verify(productService, times(2)).getProductById(PRODUCT_ID);
+        assertEquals(hitsBefore + 1, cacheHits());
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("Should answer an internal illegal argument with 500, not 400")
+    @SneakyThrows
+    void shouldNotBlameClientForInternalIllegalArgument() {
+        when(productService.getProductPage(eq(NO_FILTER), isNull(), eq(50), eq(ProductSort.ID)))
+                .thenThrow(new IllegalArgumentException("Shards shard-1 and shard-2 hash to the same point"));
+
+        mockMvc.perform(get("/api/products")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value(500));
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", ProductJsonCache.CACHE_NAME).tag("result", "hit").functionCounter().count();
+    }
 }
@@ -0,0 +1,85 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.dto.product.ProductImportErrorDto;
+import com.cosmocats.cosmomarket.dto.product.ProductImportReportDto;
+import com.cosmocats.cosmomarket.service.ProductImportServiceInterface;
+import com.cosmocats.cosmomarket.service.importer.ImportFormat;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(MappersTestConfiguration.class)
+@DisplayName("Product Import Controller Integration Tests")
+public class ProductImportControllerIT {
+
+    private static final ProductImportReportDto REPORT = ProductImportReportDto.builder()
+            .records(2)
+            .imported(1)
+            .rejected(1)
+            .errors(List.of(ProductImportErrorDto.builder().line(2).message("field 'name' is invalid").build()))
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductImportServiceInterface importService;
+
+    @Test
+    @DisplayName("Should import NDJSON body and return the report")
+    @SneakyThrows
+    void shouldImportNdjson() {
+        when(importService.importProducts(any(), eq(ImportFormat.NDJSON))).thenReturn(REPORT);
+
+        mockMvc.perform(post("/api/products/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{}\n{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    @DisplayName("Should import CSV body")
+    @SneakyThrows
+    void shouldImportCsv() {
+        when(importService.importProducts(any(), eq(ImportFormat.CSV))).thenReturn(REPORT);
+
+        mockMvc.perform(post("/api/products/import")
+                .contentType("text/csv; charset=UTF-8")
+                .content("name,price\nCosmic Socks,1.00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported content type")
+    @SneakyThrows
+    void shouldRejectUnsupportedContentType() {
+        mockMvc.perform(post("/api/products/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(importService, never()).importProducts(any(), any());
+    }
+}
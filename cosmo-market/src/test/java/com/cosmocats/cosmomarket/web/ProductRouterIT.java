@@ -0,0 +1,281 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.config.ReactiveProductWebConfiguration;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.domain.product.ProductFilter;
+import com.cosmocats.cosmomarket.domain.product.ProductSort;
+import com.cosmocats.cosmomarket.dto.product.ProductCreateDto;
+import com.cosmocats.cosmomarket.dto.product.ProductPageDto;
+import com.cosmocats.cosmomarket.dto.product.ProductReturnDto;
+import com.cosmocats.cosmomarket.dto.product.ProductUpdateDto;
+import com.cosmocats.cosmomarket.exception.GlobalErrorHandler;
+import com.cosmocats.cosmomarket.exception.InsufficientStockException;
+import com.cosmocats.cosmomarket.exception.VersionConflictException;
+import com.cosmocats.cosmomarket.service.ProductServiceInterface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(ReactiveProductWebConfiguration.PROFILE)
+@AutoConfigureWebTestClient
+@Import(MappersTestConfiguration.class)
+@DisplayName("Reactive Product Router Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ProductRouterIT {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final ProductFilter NO_FILTER = ProductFilter.builder().build();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ProductJsonCache productJsonCache;
+
+    @MockitoBean
+    private ProductServiceInterface productService;
+
+    @BeforeEach
+    void setUp() {
+        reset(productService);
+        productJsonCache.invalidateAll();
+    }
+
+    private static ProductReturnDto buildProductReturnDto(UUID id, String name, long version) {
+        return ProductReturnDto.builder()
+                .id(id)
+                .name(name)
+                .category(Category.CLOTHES)
+                .availableQuantity(10)
+                .price(new BigDecimal("10.50"))
+                .version(version)
+                .build();
+    }
+
+    private static ProductCreateDto buildProductCreateDto(String name) {
+        return ProductCreateDto.builder()
+                .name(name)
+                .description("Comfortable space socks")
+                .category(Category.CLOTHES)
+                .availableQuantity(10)
+                .price(new BigDecimal("10.50"))
+                .build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should serve products from the router instead of the MVC controller")
+    void shouldReplaceMvcController() {
+        assertEquals(0, context.getBeanNamesForType(ProductController.class).length);
+        assertEquals(0, context.getBeanNamesForType(GlobalErrorHandler.class).length);
+        assertEquals(1, context.getBeanNamesForType(ProductHandler.class).length);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should stream a page with catalog ETag and next cursor, then answer a matching If-None-Match with 304")
+    void shouldListProducts() {
+        List<ProductReturnDto> items = List.of(buildProductReturnDto(PRODUCT_ID, "Cosmic Socks", 1), buildProductReturnDto(UUID.randomUUID(), "Cosmic Hat", 1));
+        when(productService.getCatalogVersion()).thenReturn(7L);
+        when(productService.getProductPage(NO_FILTER, null, 50, ProductSort.ID))
+                .thenReturn(ProductPageDto.builder().items(items).nextCursor("next-page").build());
+
+        String eTag = webTestClient.get().uri("/api/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ProductController.NEXT_CURSOR_HEADER, "next-page")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Cosmic Socks")
+                .returnResult()
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/products")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+        verify(productService, times(1)).getProductPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should reject invalid listing parameters with an error record")
+    void shouldRejectInvalidParameters() {
+        webTestClient.get().uri("/api/products?limit=501")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.path").isEqualTo("/api/products");
+        webTestClient.get().uri("/api/products?sort=COLOUR")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/products/search?q=")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(productService, never()).getProductPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should export the catalog as NDJSON")
+    void shouldExportProducts() {
+        when(productService.exportProducts()).thenReturn(Stream.of(
+                buildProductReturnDto(PRODUCT_ID, "Cosmic Socks", 1),
+                buildProductReturnDto(UUID.randomUUID(), "Cosmic Hat", 2),
+                buildProductReturnDto(UUID.randomUUID(), "Cosmic Scarf", 3)));
+
+        List<ProductReturnDto> exported = webTestClient.get().uri("/api/products/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ProductReturnDto.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(3, exported.size());
+        assertEquals("Cosmic Scarf", exported.get(2).getName());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should get a product with its ETag, serve it from the JSON cache and return 404 for an unknown id")
+    void shouldGetProduct() {
+        UUID unknown = UUID.randomUUID();
+        when(productService.getProductVersion(PRODUCT_ID)).thenReturn(3L);
+        when(productService.getProductById(PRODUCT_ID)).thenReturn(buildProductReturnDto(PRODUCT_ID, "Cosmic Socks", 3));
+        when(productService.getProductVersion(unknown)).thenThrow(new NoSuchElementException("Product not found: " + unknown));
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get().uri("/api/products/{id}", PRODUCT_ID)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                    .expectBody()
+                    .jsonPath("$.name").isEqualTo("Cosmic Socks");
+        }
+        webTestClient.get().uri("/api/products/{id}", PRODUCT_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified();
+        webTestClient.get().uri("/api/products/{id}", unknown)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+
+        verify(productService, times(1)).getProductById(PRODUCT_ID);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Should create a valid product and reject an invalid one without calling the service")
+    void shouldCreateProduct() {
+        ProductCreateDto valid = buildProductCreateDto("Cosmic Socks");
+        when(productService.createNewProduct(valid)).thenReturn(buildProductReturnDto(PRODUCT_ID, "Cosmic Socks", 1));
+
+        webTestClient.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(valid)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(PRODUCT_ID.toString());
+        webTestClient.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildProductCreateDto(" "))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400);
+        webTestClient.post().uri("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(productService, times(1)).createNewProduct(any());
+        verify(productService, never()).createProducts(any());
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Should update with If-Match, reserve stock and map conflicts to 412 and 409")
+    void shouldUpdateAndReserve() {
+        ProductUpdateDto update = ProductUpdateDto.builder().name("Cosmic Socks").price(new BigDecimal("12.00")).build();
+        when(productService.updateProduct(PRODUCT_ID, update, 3L)).thenReturn(buildProductReturnDto(PRODUCT_ID, "Cosmic Socks", 4));
+        when(productService.updateProduct(PRODUCT_ID, update, 2L)).thenThrow(new VersionConflictException(PRODUCT_ID, 2, 4));
+        when(productService.reserveStock(PRODUCT_ID, 2)).thenReturn(buildProductReturnDto(PRODUCT_ID, "Cosmic Socks", 5));
+        when(productService.reserveStock(PRODUCT_ID, 50)).thenThrow(new InsufficientStockException(PRODUCT_ID, 50, 8));
+
+        webTestClient.put().uri("/api/products/{id}", PRODUCT_ID)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+        webTestClient.put().uri("/api/products/{id}", PRODUCT_ID)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.post().uri("/api/products/{id}/reserve?qty=2", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5\"");
+        webTestClient.post().uri("/api/products/{id}/reserve?qty=50", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        webTestClient.post().uri("/api/products/{id}/reserve?qty=0", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(productService, never()).reserveStock(PRODUCT_ID, 0);
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Should delete a product")
+    void shouldDeleteProduct() {
+        webTestClient.delete().uri("/api/products/{id}", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(productService).deleteProduct(PRODUCT_ID);
+    }
+}
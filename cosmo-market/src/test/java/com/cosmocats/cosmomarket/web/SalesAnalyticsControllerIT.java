@@ -0,0 +1,97 @@
+package com.cosmocats.cosmomarket.web;
+
+import com.cosmocats.cosmomarket.config.MappersTestConfiguration;
+import com.cosmocats.cosmomarket.domain.category.Category;
+import com.cosmocats.cosmomarket.dto.analytics.ProductSalesDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesFigureDto;
+import com.cosmocats.cosmomarket.dto.analytics.SalesReportDto;
+import com.cosmocats.cosmomarket.exception.BadRequestException;
+import com.cosmocats.cosmomarket.service.SalesAnalyticsServiceInterface;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(MappersTestConfiguration.class)
+@DisplayName("Sales Analytics Controller Integration Tests")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SalesAnalyticsControllerIT {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesAnalyticsServiceInterface salesService;
+
+    @BeforeEach
+    void setUp() {
+        reset(salesService);
+    }
+
+    private static SalesFigureDto figure(long units, String revenue) {
+        return SalesFigureDto.builder().units(units).revenue(new BigDecimal(revenue)).build();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should report sales for the last hour by default")
+    @SneakyThrows
+    void shouldReportLastHourByDefault() {
+        when(salesService.getSalesReport("1h")).thenReturn(SalesReportDto.builder()
+                .window("1h")
+                .total(figure(3, "7.50"))
+                .categories(Map.of(Category.FOOD, figure(3, "7.50")))
+                .build());
+
+        mockMvc.perform(get("/api/analytics/sales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("1h"))
+                .andExpect(jsonPath("$.total.units").value(3))
+                .andExpect(jsonPath("$.categories.FOOD.revenue").value(7.5));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should report a product's sales and map bad windows and unknown products")
+    @SneakyThrows
+    void shouldReportProductSales() {
+        UUID unknown = UUID.randomUUID();
+        when(salesService.getProductSales(PRODUCT_ID, "1m")).thenReturn(ProductSalesDto.builder()
+                .productId(PRODUCT_ID)
+                .window("1m")
+                .sales(figure(2, "5.00"))
+                .build());
+        when(salesService.getProductSales(unknown, "1m")).thenThrow(new NoSuchElementException("Product not found: " + unknown));
+        when(salesService.getSalesReport("7d")).thenThrow(new BadRequestException("Unknown window '7d'"));
+
+        mockMvc.perform(get("/api/analytics/sales/products/{id}", PRODUCT_ID).param("window", "1m"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sales.units").value(2));
+        mockMvc.perform(get("/api/analytics/sales/products/{id}", unknown).param("window", "1m"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/analytics/sales").param("window", "7d"))
+                .andExpect(status().isBadRequest());
+    }
+}